@@ -2,11 +2,13 @@ package com.uniconnect;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.http.ResponseEntity;
 
 @SpringBootApplication
+@EnableScheduling
 @RestController
 public class UniConnectBackendApplication {
     
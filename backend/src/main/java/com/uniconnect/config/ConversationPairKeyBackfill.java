@@ -0,0 +1,103 @@
+package com.uniconnect.config;
+
+import com.uniconnect.model.Conversation;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Sets pairKey on direct conversations created before it existed. When a pair already has several
+ * conversations, the most recently active one gets the key (and is what "start chat" opens from now
+ * on); the others keep their messages and stay in the inbox, just without a key.
+ * Idempotent: only conversations without a pairKey are looked at.
+ */
+@Component
+public class ConversationPairKeyBackfill implements CommandLineRunner {
+    private static final int WRITE_BATCH_SIZE = 500;
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${chat.conversations.backfill-pair-keys:true}")
+    private boolean backfillOnStartup;
+
+    public ConversationPairKeyBackfill(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public void run(String... args) {
+        if (!backfillOnStartup) {
+            return;
+        }
+        try {
+            Map<String, Object> result = backfill();
+            if ((int) result.get("keyed") > 0 || (int) result.get("duplicates") > 0) {
+                System.out.println("💬 Chat: Backfilled pairKey on " + result.get("keyed") + " conversation(s), "
+                        + result.get("duplicates") + " duplicate(s) left unkeyed");
+            }
+        } catch (Exception e) {
+            System.out.println("  ⚠️ Warning: Conversation pairKey backfill failed");
+            System.out.println("  Error: " + e.getMessage());
+        }
+    }
+
+    public Map<String, Object> backfill() {
+        // Keys already taken by conversations created through the upsert
+        Set<String> taken = new HashSet<>();
+        Query withKey = new Query(Criteria.where("pairKey").exists(true));
+        withKey.fields().include("pairKey");
+        try (Stream<Conversation> conversations = mongoTemplate.stream(withKey, Conversation.class)) {
+            conversations.forEach(c -> taken.add(c.getPairKey()));
+        }
+
+        // Most recently active first, so the first conversation seen for a pair is the one that gets the key
+        Query legacy = new Query(Criteria.where("pairKey").exists(false))
+                .with(Sort.by(Sort.Direction.DESC, "lastMessageTime", "updatedAt"));
+        legacy.fields().include("participantIds");
+
+        int keyed = 0;
+        int duplicates = 0;
+        BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Conversation.class);
+        int pending = 0;
+        try (Stream<Conversation> conversations = mongoTemplate.stream(legacy, Conversation.class)) {
+            for (Conversation conversation : (Iterable<Conversation>) conversations::iterator) {
+                List<String> participantIds = conversation.getParticipantIds();
+                if (participantIds == null || participantIds.size() != 2) continue;
+                String pairKey = Conversation.pairKey(participantIds.get(0), participantIds.get(1));
+                if (!taken.add(pairKey)) {
+                    duplicates++;
+                    continue;
+                }
+                ops.updateOne(new Query(Criteria.where("_id").is(conversation.getId()).and("pairKey").exists(false)),
+                        new Update().set("pairKey", pairKey));
+                keyed++;
+                if (++pending >= WRITE_BATCH_SIZE) {
+                    ops.execute();
+                    ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Conversation.class);
+                    pending = 0;
+                }
+            }
+        }
+        if (pending > 0) {
+            ops.execute();
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("keyed", keyed);
+        result.put("duplicates", duplicates);
+        return result;
+    }
+}
@@ -0,0 +1,97 @@
+package com.uniconnect.config;
+
+import com.mongodb.MongoCommandException;
+import com.uniconnect.model.ClusterNode;
+import com.uniconnect.model.Conversation;
+import com.uniconnect.model.JobApplication;
+import com.uniconnect.model.Message;
+import com.uniconnect.model.MessageSearchEntry;
+import com.uniconnect.model.PlacementStat;
+import com.uniconnect.model.Reel;
+import com.uniconnect.model.ReelComment;
+import com.uniconnect.model.ReelLike;
+import com.uniconnect.model.ReelRanking;
+import com.uniconnect.model.ReelSave;
+import com.uniconnect.model.Student;
+import com.uniconnect.model.UnreadCounter;
+import com.uniconnect.model.UserPresence;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Creates the indexes declared on the @Document classes listed in ENTITIES. Automatic index creation
+ * stays off: it would also build indexes nobody has checked the existing data against (e.g. the unique
+ * student and faculty emails), so collections are opted in here one by one instead.
+ *
+ * Runs before the other startup jobs, which rely on these (the reel engagement migration skips rows it
+ * already wrote through the unique reel_likes / reel_saves indexes). A non-unique index whose definition
+ * changed under the same name is dropped and rebuilt; any other failure stops startup.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class EntityIndexes implements CommandLineRunner {
+    static final List<Class<?>> ENTITIES = List.of(
+            Reel.class, ReelLike.class, ReelSave.class, ReelComment.class, ReelRanking.class,
+            ClusterNode.class, UserPresence.class, Message.class, UnreadCounter.class, Conversation.class,
+            MessageSearchEntry.class, JobApplication.class, PlacementStat.class);
+
+    private static final int INDEX_OPTIONS_CONFLICT = 85;
+    private static final int INDEX_KEY_SPECS_CONFLICT = 86;
+
+    private final MongoTemplate mongoTemplate;
+
+    public EntityIndexes(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public void run(String... args) {
+        MongoPersistentEntityIndexResolver resolver =
+                new MongoPersistentEntityIndexResolver(mongoTemplate.getConverter().getMappingContext());
+        for (Class<?> type : ENTITIES) {
+            IndexOperations indexOps = mongoTemplate.indexOps(type);
+            for (IndexDefinition index : resolver.resolveIndexFor(type)) {
+                ensure(indexOps, index, type);
+            }
+        }
+        // Only rollNumber: resolving Student would also bring its unique email index
+        ensure(mongoTemplate.indexOps(Student.class),
+                new Index().on("rollNumber", Sort.Direction.ASC).sparse().named("rollNumber"), Student.class);
+    }
+
+    private void ensure(IndexOperations indexOps, IndexDefinition index, Class<?> type) {
+        String name = index.getIndexOptions().getString("name");
+        try {
+            indexOps.ensureIndex(index);
+        } catch (RuntimeException e) {
+            boolean unique = Boolean.TRUE.equals(index.getIndexOptions().get("unique"));
+            if (unique || !isDefinitionConflict(e)) {
+                throw new IllegalStateException("Index " + name + " on " + mongoTemplate.getCollectionName(type)
+                        + " not created: " + e.getMessage(), e);
+            }
+            System.out.println("  Rebuilding index " + name + " on " + mongoTemplate.getCollectionName(type)
+                    + " with its new definition");
+            indexOps.dropIndex(name);
+            indexOps.ensureIndex(index);
+        }
+    }
+
+    private static boolean isDefinitionConflict(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof MongoCommandException command) {
+                return command.getErrorCode() == INDEX_OPTIONS_CONFLICT || command.getErrorCode() == INDEX_KEY_SPECS_CONFLICT;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,82 @@
+package com.uniconnect.config;
+
+import com.uniconnect.model.ChatGroup;
+import com.uniconnect.model.UnreadCounter;
+import com.uniconnect.service.UnreadCounterService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Seeds a read watermark for group members who have none, at the group's lastMessageTime: group read
+ * state lives in the watermarks alone, and without one the unread count would start from the group's
+ * first message. Messages from before the rollout count as read.
+ * Idempotent: members joining later get their watermark on join, so only members without one are touched.
+ */
+@Component
+public class GroupReadWatermarkBackfill implements CommandLineRunner {
+
+    private final MongoTemplate mongoTemplate;
+    private final UnreadCounterService unreadCounterService;
+
+    @Value("${chat.unread.seed-group-watermarks:true}")
+    private boolean seedOnStartup;
+
+    public GroupReadWatermarkBackfill(MongoTemplate mongoTemplate, UnreadCounterService unreadCounterService) {
+        this.mongoTemplate = mongoTemplate;
+        this.unreadCounterService = unreadCounterService;
+    }
+
+    @Override
+    public void run(String... args) {
+        if (!seedOnStartup) {
+            return;
+        }
+        try {
+            int seeded = backfill();
+            if (seeded > 0) {
+                System.out.println("💬 Chat: Seeded read watermarks for " + seeded + " group member(s)");
+            }
+        } catch (Exception e) {
+            System.out.println("  ⚠️ Warning: Group read watermark backfill failed");
+            System.out.println("  Error: " + e.getMessage());
+        }
+    }
+
+    public int backfill() {
+        // userId:chatId of every counter that already has a watermark
+        Set<String> withWatermark = new HashSet<>();
+        Query watermarks = new Query(Criteria.where("lastReadAt").ne(null));
+        watermarks.fields().include("_id");
+        try (Stream<UnreadCounter> counters = mongoTemplate.stream(watermarks, UnreadCounter.class)) {
+            counters.forEach(c -> withWatermark.add(c.getId()));
+        }
+
+        Query groups = new Query();
+        groups.fields().include("members.userId", "lastMessageTime");
+        int seeded = 0;
+        try (Stream<ChatGroup> stream = mongoTemplate.stream(groups, ChatGroup.class)) {
+            for (ChatGroup group : (Iterable<ChatGroup>) stream::iterator) {
+                List<String> missing = group.getMembers().stream()
+                        .map(ChatGroup.GroupMember::getUserId)
+                        .filter(userId -> userId != null && !withWatermark.contains(userId + ":" + group.getId()))
+                        .collect(Collectors.toList());
+                if (missing.isEmpty()) continue;
+                LocalDateTime readUpTo = group.getLastMessageTime() != null ? group.getLastMessageTime() : LocalDateTime.now();
+                unreadCounterService.seedWatermarks(group.getId(), missing, readUpTo);
+                seeded += missing.size();
+            }
+        }
+        return seeded;
+    }
+}
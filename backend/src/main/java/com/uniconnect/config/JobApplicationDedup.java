@@ -0,0 +1,91 @@
+package com.uniconnect.config;
+
+import com.uniconnect.model.JobApplication;
+import com.uniconnect.service.JobApplicationService;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.PartialIndexFilter;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Creates the unique {studentId, jobId} index on job_applications that makes applying idempotent, and
+ * fails startup if it cannot: without it duplicate applications (and double counted applicants) are
+ * possible again.
+ *
+ * Applications submitted twice before the index existed block its creation. With
+ * placement.applications.dedupe-on-startup they are collapsed first: the most recently updated one of
+ * each student and job is kept (it carries the latest faculty decision), the others are copied to
+ * job_applications_duplicates and then withdrawn through JobApplicationService so the placement stats
+ * and job counters follow. Idempotent: once the index exists there is nothing left to remove.
+ */
+@Component
+public class JobApplicationDedup implements CommandLineRunner {
+    public static final String INDEX_NAME = "student_job";
+    public static final String REMOVED_COLLECTION = "job_applications_duplicates";
+
+    private final MongoTemplate mongoTemplate;
+    private final JobApplicationService jobApplicationService;
+
+    @Value("${placement.applications.dedupe-on-startup:false}")
+    private boolean dedupeOnStartup;
+
+    public JobApplicationDedup(MongoTemplate mongoTemplate, JobApplicationService jobApplicationService) {
+        this.mongoTemplate = mongoTemplate;
+        this.jobApplicationService = jobApplicationService;
+    }
+
+    @Override
+    public void run(String... args) {
+        if (dedupeOnStartup) {
+            int removed = dedupe();
+            if (removed > 0) {
+                System.out.println("💼 Placements: Removed " + removed + " duplicate job application(s), copies kept in "
+                        + REMOVED_COLLECTION);
+            }
+        }
+        try {
+            mongoTemplate.indexOps(JobApplication.class).ensureIndex(new Index()
+                    .on("studentId", Sort.Direction.ASC).on("jobId", Sort.Direction.ASC)
+                    .unique()
+                    .partial(PartialIndexFilter.of(Criteria.where("studentId").exists(true).and("jobId").exists(true)))
+                    .named(INDEX_NAME));
+        } catch (Exception e) {
+            throw new IllegalStateException("Unique job application index not created (if job_applications holds "
+                    + "duplicates, start once with placement.applications.dedupe-on-startup=true): " + e.getMessage(), e);
+        }
+    }
+
+    public int dedupe() {
+        Aggregation duplicates = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("studentId").exists(true).and("jobId").exists(true)),
+                Aggregation.group("studentId", "jobId").count().as("count"),
+                Aggregation.match(Criteria.where("count").gt(1)));
+
+        int removed = 0;
+        for (Document group : mongoTemplate.aggregate(duplicates, JobApplication.class, Document.class).getMappedResults()) {
+            Document key = (Document) group.get("_id");
+            Query sameApplication = new Query(Criteria.where("studentId").is(key.get("studentId")).and("jobId").is(key.get("jobId")))
+                    .with(Sort.by(Sort.Direction.DESC, "updatedAt"));
+            // Raw documents, so the copy keeps every field even ones the model no longer maps
+            List<Document> applications = mongoTemplate.find(sameApplication, Document.class,
+                    mongoTemplate.getCollectionName(JobApplication.class));
+            for (Document duplicate : applications.subList(1, applications.size())) {
+                Object id = duplicate.get("_id");
+                mongoTemplate.save(duplicate, REMOVED_COLLECTION);
+                System.out.println("  Removing duplicate job application " + id + " (kept "
+                        + applications.get(0).get("_id") + "): " + duplicate.toJson());
+                if (jobApplicationService.withdraw(id.toString()).isPresent()) removed++;
+            }
+        }
+        return removed;
+    }
+}
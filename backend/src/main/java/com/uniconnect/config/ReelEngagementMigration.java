@@ -0,0 +1,144 @@
+package com.uniconnect.config;
+
+import com.uniconnect.model.Reel;
+import com.uniconnect.model.ReelComment;
+import com.uniconnect.model.ReelLike;
+import com.uniconnect.model.ReelSave;
+import com.uniconnect.service.ReelEngagementService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Splits likedByStudents / savedByStudents / commentList out of existing reel documents into the
+ * reel_likes / reel_saves / reel_comments collections and recounts the reel counters from them.
+ * Only runs when reels.engagement.migrate-on-startup is set; it rewrites every legacy reel, so it is
+ * an explicit step of the rollout rather than something each start does.
+ *
+ * A reel's arrays are only removed once every like, save and comment of it is found in the edge
+ * collections; a reel that cannot be confirmed keeps them and is picked up again by the next run.
+ * Idempotent: rows that already exist are skipped via the unique indexes, so it is safe to re-run.
+ */
+@Component
+public class ReelEngagementMigration implements CommandLineRunner {
+    private static final int DUPLICATE_KEY = 11000;
+
+    private final MongoTemplate mongoTemplate;
+    private final ReelEngagementService reelEngagementService;
+
+    @Value("${reels.engagement.migrate-on-startup:false}")
+    private boolean migrateOnStartup;
+
+    public ReelEngagementMigration(MongoTemplate mongoTemplate, ReelEngagementService reelEngagementService) {
+        this.mongoTemplate = mongoTemplate;
+        this.reelEngagementService = reelEngagementService;
+    }
+
+    @Override
+    public void run(String... args) {
+        if (!migrateOnStartup || !reelEngagementService.isSplitMode()) {
+            return;
+        }
+        try {
+            Map<String, Object> result = migrate();
+            if ((int) result.get("migratedReels") > 0) {
+                System.out.println("🎬 Reels: Migrated engagement of " + result.get("migratedReels") + " reel(s) to split collections");
+            }
+            if ((int) result.get("unconfirmedReels") > 0) {
+                System.out.println("  ⚠️ Warning: Kept legacy engagement on " + result.get("unconfirmedReels")
+                        + " reel(s) whose rows could not be confirmed, re-run the migration for them");
+            }
+        } catch (Exception e) {
+            System.out.println("  ⚠️ Warning: Reel engagement migration failed");
+            System.out.println("  Error: " + e.getMessage());
+        }
+    }
+
+    public Map<String, Object> migrate() {
+        Query legacy = new Query(new Criteria().orOperator(
+                Criteria.where("likedByStudents.0").exists(true),
+                Criteria.where("savedByStudents.0").exists(true),
+                Criteria.where("commentList.0").exists(true)));
+
+        int migratedReels = 0;
+        int unconfirmedReels = 0;
+        long likes = 0, saves = 0, comments = 0;
+
+        try (Stream<Reel> reels = mongoTemplate.stream(legacy, Reel.class)) {
+            for (Reel reel : (Iterable<Reel>) reels::iterator) {
+                String reelId = reel.getId();
+                List<String> likers = reel.getLikedByStudents().stream().distinct().collect(Collectors.toList());
+                List<String> savers = reel.getSavedByStudents().stream().distinct().collect(Collectors.toList());
+                likes += insertIgnoringDuplicates(ReelLike.class, likers.stream()
+                        .map(s -> new ReelLike(reelId, s)).collect(Collectors.toList()));
+                saves += insertIgnoringDuplicates(ReelSave.class, savers.stream()
+                        .map(s -> new ReelSave(reelId, s)).collect(Collectors.toList()));
+                comments += insertIgnoringDuplicates(ReelComment.class, reel.getCommentList().stream()
+                        .map(c -> new ReelComment(reelId, c)).collect(Collectors.toList()));
+
+                if (!allWritten(reelId, likers, savers, reel.getCommentList())) {
+                    unconfirmedReels++;
+                    continue;
+                }
+
+                Query byReel = new Query(Criteria.where("reelId").is(reelId));
+                Update update = new Update()
+                        .unset("likedByStudents")
+                        .unset("savedByStudents")
+                        .unset("commentList")
+                        .set("likes", mongoTemplate.count(byReel, ReelLike.class))
+                        .set("saves", mongoTemplate.count(byReel, ReelSave.class))
+                        .set("comments", mongoTemplate.count(byReel, ReelComment.class));
+                mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(reelId)), update, Reel.class);
+                migratedReels++;
+            }
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("migratedReels", migratedReels);
+        result.put("unconfirmedReels", unconfirmedReels);
+        result.put("likesInserted", likes);
+        result.put("savesInserted", saves);
+        result.put("commentsInserted", comments);
+        return result;
+    }
+
+    private <T> long insertIgnoringDuplicates(Class<T> type, List<T> rows) {
+        if (rows.isEmpty()) return 0;
+        try {
+            return mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, type)
+                    .insert(rows)
+                    .execute()
+                    .getInsertedCount();
+        } catch (BulkOperationException e) {
+            // Duplicate key errors mean the row was migrated by an earlier (interrupted) run; anything
+            // else aborts the migration before this reel's arrays are removed
+            boolean onlyDuplicates = e.getErrors().stream().allMatch(err -> err.getCode() == DUPLICATE_KEY);
+            if (!onlyDuplicates) throw e;
+            return e.getResult().getInsertedCount();
+        }
+    }
+
+    private boolean allWritten(String reelId, List<String> likers, List<String> savers, List<Reel.Comment> commentList) {
+        Query likeRows = new Query(Criteria.where("reelId").is(reelId).and("studentId").in(likers));
+        Query saveRows = new Query(Criteria.where("reelId").is(reelId).and("studentId").in(savers));
+        List<String> commentIds = commentList.stream().map(Reel.Comment::getId).filter(Objects::nonNull).collect(Collectors.toList());
+        Query commentRows = new Query(Criteria.where("_id").in(commentIds).and("reelId").is(reelId));
+        return mongoTemplate.count(likeRows, ReelLike.class) == likers.size()
+                && mongoTemplate.count(saveRows, ReelSave.class) == savers.size()
+                && mongoTemplate.count(commentRows, ReelComment.class) == commentIds.size();
+    }
+}
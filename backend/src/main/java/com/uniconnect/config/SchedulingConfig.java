@@ -0,0 +1,35 @@
+package com.uniconnect.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.task.ThreadPoolTaskSchedulerBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * Two schedulers for the @Scheduled jobs.
+ *
+ * taskScheduler (the default, sized by spring.task.scheduling.pool.size) runs the periodic scans:
+ * index rebuilds, stats recomputes, archiving, reconciles. Those can take minutes on large collections.
+ * REALTIME runs the short jobs whose rate other parts depend on: the chat write buffer flush, the
+ * presence tick and the cluster heartbeat, which other nodes use to decide this node is dead. They
+ * must never queue behind a scan.
+ */
+@Configuration
+public class SchedulingConfig {
+    public static final String REALTIME = "realtimeTaskScheduler";
+
+    // Named taskScheduler so @Scheduled picks it by default (the WebSocket config registers another one)
+    @Bean(name = "taskScheduler")
+    public ThreadPoolTaskScheduler taskScheduler(ThreadPoolTaskSchedulerBuilder builder) {
+        return builder.build();
+    }
+
+    @Bean(name = REALTIME)
+    public ThreadPoolTaskScheduler realtimeTaskScheduler(@Value("${scheduling.realtime.pool-size:2}") int poolSize) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(poolSize);
+        scheduler.setThreadNamePrefix("realtime-");
+        return scheduler;
+    }
+}
@@ -1,13 +1,19 @@
 package com.uniconnect.controller;
 
 import com.uniconnect.dto.ConversationResponse;
+import com.uniconnect.dto.MessagePageResponse;
 import com.uniconnect.dto.MessageResponse;
+import com.uniconnect.dto.MessageSearchResponse;
 import com.uniconnect.service.ChatService;
+import com.uniconnect.service.ChatUploadService;
+import com.uniconnect.websocket.OutboundSessions;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
 
@@ -17,9 +23,13 @@ import java.util.Map;
 public class ChatController {
 
     private final ChatService chatService;
+    private final ChatUploadService chatUploadService;
+    private final OutboundSessions outboundSessions;
 
-    public ChatController(ChatService chatService) {
+    public ChatController(ChatService chatService, ChatUploadService chatUploadService, OutboundSessions outboundSessions) {
         this.chatService = chatService;
+        this.chatUploadService = chatUploadService;
+        this.outboundSessions = outboundSessions;
     }
 
     // Search users by email
@@ -81,11 +91,24 @@ public class ChatController {
         }
     }
 
-    // Get conversation messages
+    // Search the content of the user's conversation and group messages (optionally one chat)
+    @GetMapping("/messages/search")
+    public ResponseEntity<MessageSearchResponse> searchMessages(
+            @RequestParam("userId") String userId,
+            @RequestParam("q") String query,
+            @RequestParam(value = "chatId", required = false) String chatId,
+            @RequestParam(value = "page", required = false) Integer page,
+            @RequestParam(value = "size", required = false) Integer size) {
+        return ResponseEntity.ok(chatService.searchMessages(userId, query, chatId, page, size));
+    }
+
+    // Get conversation messages (most recent page)
     @GetMapping("/conversations/{conversationId}/messages")
-    public ResponseEntity<List<MessageResponse>> getConversationMessages(@PathVariable("conversationId") String conversationId) {
+    public ResponseEntity<List<MessageResponse>> getConversationMessages(
+            @PathVariable("conversationId") String conversationId,
+            @RequestParam(value = "limit", required = false) Integer limit) {
         try {
-            List<MessageResponse> messages = chatService.getConversationMessages(conversationId);
+            List<MessageResponse> messages = chatService.getConversationMessages(conversationId, limit);
             return ResponseEntity.ok(messages);
         } catch (Exception e) {
             e.printStackTrace();
@@ -93,7 +116,26 @@ public class ChatController {
         }
     }
 
-    // Send message
+    // Scroll conversation history with ?before= / ?after= cursors
+    @GetMapping("/conversations/{conversationId}/messages/page")
+    public ResponseEntity<MessagePageResponse> getConversationMessagePage(
+            @PathVariable("conversationId") String conversationId,
+            @RequestParam(value = "before", required = false) String before,
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        return ResponseEntity.ok(chatService.getConversationMessagePage(conversationId, before, after, limit));
+    }
+
+    // Jump to a message: history centred on it
+    @GetMapping("/conversations/{conversationId}/messages/around/{messageId}")
+    public ResponseEntity<MessagePageResponse> getConversationMessagesAround(
+            @PathVariable("conversationId") String conversationId,
+            @PathVariable("messageId") String messageId,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        return ResponseEntity.ok(chatService.getConversationMessagesAround(conversationId, messageId, limit));
+    }
+
+    // Send message. Clients send over the WebSocket; this is the fallback while it is disconnected
     @PostMapping("/messages")
     public ResponseEntity<MessageResponse> sendMessage(@RequestBody Map<String, Object> request) {
         try {
@@ -106,8 +148,10 @@ public class ChatController {
             Long fileSize = request.get("fileSize") != null ? 
                 ((Number) request.get("fileSize")).longValue() : null;
             
+            String replyToMessageId = (String) request.get("replyToMessageId");
+            
             MessageResponse message = chatService.sendMessage(conversationId, senderId, content, type, 
-                                                             fileUrl, fileName, fileSize);
+                                                             fileUrl, fileName, fileSize, replyToMessageId);
             return ResponseEntity.ok(message);
         } catch (Exception e) {
             e.printStackTrace();
@@ -131,6 +175,48 @@ public class ChatController {
         }
     }
 
+    // Start a resumable upload; returns the uploadId and the chunk size to use
+    @PostMapping("/uploads")
+    public ResponseEntity<Map<String, Object>> startUpload(@RequestBody Map<String, Object> request) throws IOException {
+        String userId = (String) request.get("userId");
+        String fileName = (String) request.get("fileName");
+        long size = ((Number) request.get("size")).longValue();
+        return ResponseEntity.ok(chatUploadService.start(userId, fileName, size));
+    }
+
+    // Bytes received so far; resume by PUTting the next chunk at "received"
+    @GetMapping("/uploads/{uploadId}")
+    public ResponseEntity<Map<String, Object>> getUploadStatus(
+            @PathVariable("uploadId") String uploadId,
+            @RequestParam("userId") String userId) {
+        return ResponseEntity.ok(chatUploadService.status(uploadId, userId));
+    }
+
+    // Raw chunk bytes (application/octet-stream) at the given offset
+    @PutMapping("/uploads/{uploadId}")
+    public ResponseEntity<Map<String, Object>> uploadChunk(
+            @PathVariable("uploadId") String uploadId,
+            @RequestParam("userId") String userId,
+            @RequestParam("offset") long offset,
+            InputStream body) throws IOException {
+        return ResponseEntity.ok(chatUploadService.writeChunk(uploadId, userId, offset, body));
+    }
+
+    @PostMapping("/uploads/{uploadId}/complete")
+    public ResponseEntity<Map<String, String>> completeUpload(
+            @PathVariable("uploadId") String uploadId,
+            @RequestParam("userId") String userId) throws IOException {
+        return ResponseEntity.ok(chatUploadService.complete(uploadId, userId));
+    }
+
+    @DeleteMapping("/uploads/{uploadId}")
+    public ResponseEntity<Void> abortUpload(
+            @PathVariable("uploadId") String uploadId,
+            @RequestParam("userId") String userId) {
+        chatUploadService.abort(uploadId, userId);
+        return ResponseEntity.noContent().build();
+    }
+
     // Add reaction
     @PostMapping("/messages/{messageId}/reactions")
     public ResponseEntity<Void> addReaction(
@@ -203,4 +289,22 @@ public class ChatController {
     public ResponseEntity<List<String>> getOnlineUsers() {
         return ResponseEntity.ok(chatService.getOnlineUsers());
     }
+
+    // Queue depth and throughput of the WebSocket message write buffer
+    @GetMapping("/admin/write-buffer")
+    public ResponseEntity<Map<String, Object>> getWriteBufferStats() {
+        return ResponseEntity.ok(chatService.getWriteBufferStats());
+    }
+
+    // Outbound WebSocket queue depth, dropped frames and slow consumers closed (all handlers)
+    @GetMapping("/admin/websocket-outbound")
+    public ResponseEntity<Map<String, Object>> getOutboundStats() {
+        return ResponseEntity.ok(outboundSessions.stats());
+    }
+
+    // Messages moved out of the hot collection by the retention job
+    @GetMapping("/admin/message-archive")
+    public ResponseEntity<Map<String, Object>> getArchiveStats() {
+        return ResponseEntity.ok(chatService.getArchiveStats());
+    }
 }
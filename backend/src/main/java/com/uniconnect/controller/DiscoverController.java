@@ -7,6 +7,7 @@ import com.uniconnect.repository.FacultyRepository;
 import com.uniconnect.repository.JobRepository;
 import com.uniconnect.repository.StudentRepository;
 import com.uniconnect.repository.OpportunityApplicationRepository;
+import com.uniconnect.service.EligibilityIndex;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -22,15 +23,18 @@ public class DiscoverController {
     private final FacultyRepository facultyRepository;
     private final JobRepository jobRepository;
     private final OpportunityApplicationRepository appRepo;
+    private final EligibilityIndex eligibilityIndex;
 
     public DiscoverController(StudentRepository studentRepository,
                               FacultyRepository facultyRepository,
                               JobRepository jobRepository,
-                              OpportunityApplicationRepository appRepo) {
+                              OpportunityApplicationRepository appRepo,
+                              EligibilityIndex eligibilityIndex) {
         this.studentRepository = studentRepository;
         this.facultyRepository = facultyRepository;
         this.jobRepository = jobRepository;
         this.appRepo = appRepo;
+        this.eligibilityIndex = eligibilityIndex;
     }
 
     /* ───────────── PEOPLE: Students ───────────── */
@@ -140,6 +144,7 @@ public class DiscoverController {
         List<String> branch = (List<String>) body.getOrDefault("branch", List.of());
         job.setBranch(branch);
         jobRepository.save(job);
+        eligibilityIndex.jobChanged(job);
         return ResponseEntity.ok(Map.of("id", job.getId(), "status", "CREATED"));
     }
 
@@ -153,6 +158,7 @@ public class DiscoverController {
             return ResponseEntity.status(403).body(Map.of("error", "Only creator can delete"));
         }
         jobRepository.delete(job);
+        eligibilityIndex.jobRemoved(job.getId());
         return ResponseEntity.ok(Map.of("status", "DELETED"));
     }
 
@@ -171,6 +177,7 @@ public class DiscoverController {
         for (Student s : allStudents) {
             if (s.getName() == null || s.getName().trim().isEmpty()) {
                 studentRepository.delete(s);
+                eligibilityIndex.studentRemoved(s.getId());
                 removedStudents++;
             }
         }
@@ -1,6 +1,7 @@
 package com.uniconnect.controller;
 
 import com.uniconnect.dto.GroupResponse;
+import com.uniconnect.dto.MessagePageResponse;
 import com.uniconnect.dto.MessageResponse;
 import com.uniconnect.service.ChatService;
 import org.springframework.http.HttpStatus;
@@ -51,11 +52,13 @@ public class GroupController {
         }
     }
 
-    // Get group messages
+    // Get group messages (most recent page)
     @GetMapping("/{groupId}/messages")
-    public ResponseEntity<List<MessageResponse>> getGroupMessages(@PathVariable("groupId") String groupId) {
+    public ResponseEntity<List<MessageResponse>> getGroupMessages(
+            @PathVariable("groupId") String groupId,
+            @RequestParam(value = "limit", required = false) Integer limit) {
         try {
-            List<MessageResponse> messages = chatService.getGroupMessages(groupId);
+            List<MessageResponse> messages = chatService.getGroupMessages(groupId, limit);
             return ResponseEntity.ok(messages);
         } catch (Exception e) {
             e.printStackTrace();
@@ -63,6 +66,25 @@ public class GroupController {
         }
     }
 
+    // Scroll group history with ?before= / ?after= cursors
+    @GetMapping("/{groupId}/messages/page")
+    public ResponseEntity<MessagePageResponse> getGroupMessagePage(
+            @PathVariable("groupId") String groupId,
+            @RequestParam(value = "before", required = false) String before,
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        return ResponseEntity.ok(chatService.getGroupMessagePage(groupId, before, after, limit));
+    }
+
+    // Jump to a message: history centred on it
+    @GetMapping("/{groupId}/messages/around/{messageId}")
+    public ResponseEntity<MessagePageResponse> getGroupMessagesAround(
+            @PathVariable("groupId") String groupId,
+            @PathVariable("messageId") String messageId,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        return ResponseEntity.ok(chatService.getGroupMessagesAround(groupId, messageId, limit));
+    }
+
     // Send group message
     @PostMapping("/{groupId}/messages")
     public ResponseEntity<MessageResponse> sendGroupMessage(
@@ -86,6 +108,20 @@ public class GroupController {
         }
     }
 
+    // Members' read watermarks, for "seen by N" on every message
+    @GetMapping("/{groupId}/read-state")
+    public ResponseEntity<Map<String, Object>> getGroupReadState(@PathVariable("groupId") String groupId) {
+        return ResponseEntity.ok(chatService.getGroupReadState(groupId));
+    }
+
+    // Who has seen one message
+    @GetMapping("/{groupId}/messages/{messageId}/seen-by")
+    public ResponseEntity<Map<String, Object>> getMessageSeenBy(
+            @PathVariable("groupId") String groupId,
+            @PathVariable("messageId") String messageId) {
+        return ResponseEntity.ok(chatService.getGroupMessageSeenBy(groupId, messageId));
+    }
+
     // Add member to group
     @PostMapping("/{groupId}/members")
     public ResponseEntity<Void> addMember(
@@ -4,6 +4,7 @@ import com.uniconnect.model.JobApplication;
 import com.uniconnect.repository.JobApplicationRepository;
 import com.uniconnect.repository.StudentRepository;
 import com.uniconnect.model.Student;
+import com.uniconnect.service.JobApplicationService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -19,15 +20,19 @@ public class JobApplicationController {
 
     private final JobApplicationRepository jobApplicationRepository;
     private final StudentRepository studentRepository;
+    private final JobApplicationService jobApplicationService;
 
-    public JobApplicationController(JobApplicationRepository jobApplicationRepository, StudentRepository studentRepository) {
+    public JobApplicationController(JobApplicationRepository jobApplicationRepository, StudentRepository studentRepository,
+                                    JobApplicationService jobApplicationService) {
         this.jobApplicationRepository = jobApplicationRepository;
         this.studentRepository = studentRepository;
+        this.jobApplicationService = jobApplicationService;
     }
 
     // Apply for a job
     @PostMapping("/apply")
-    public ResponseEntity<?> applyForJob(@RequestBody Map<String, Object> request) {
+    public ResponseEntity<?> applyForJob(@RequestBody Map<String, Object> request,
+                                         @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
         try {
             String studentId = (String) request.get("studentId");
             String jobId = (String) request.get("jobId");
@@ -36,12 +41,6 @@ public class JobApplicationController {
             String coverLetter = (String) request.get("coverLetter");
             String resumeUrl = (String) request.get("resumeUrl");
 
-            // Check if already applied
-            Optional<JobApplication> existing = jobApplicationRepository.findByStudentIdAndJobId(studentId, jobId);
-            if (existing.isPresent()) {
-                return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", "Already applied to this job"));
-            }
-
             // Get student details
             Optional<Student> studentOpt = studentRepository.findById(studentId);
             if (!studentOpt.isPresent()) {
@@ -60,8 +59,12 @@ public class JobApplicationController {
             application.setCoverLetter(coverLetter);
             application.setResumeUrl(resumeUrl);
 
-            JobApplication saved = jobApplicationRepository.save(application);
-            return ResponseEntity.ok(saved);
+            // Already applied is decided by the unique index, not a prior lookup that a double click can race
+            JobApplicationService.Submission submission = jobApplicationService.submit(application, idempotencyKey);
+            if (submission.duplicate()) {
+                return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", "Already applied to this job"));
+            }
+            return ResponseEntity.ok(submission.application());
         } catch (Exception e) {
             e.printStackTrace();
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("error", e.getMessage()));
@@ -4,6 +4,9 @@ import com.cloudinary.Cloudinary;
 import com.cloudinary.utils.ObjectUtils;
 import com.uniconnect.model.*;
 import com.uniconnect.repository.*;
+import com.uniconnect.service.EligibilityIndex;
+import com.uniconnect.service.JobApplicationService;
+import com.uniconnect.service.PlacementAnalyticsService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -11,6 +14,7 @@ import org.springframework.web.multipart.MultipartFile;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @RestController
@@ -28,6 +32,11 @@ public class PlacementController {
     private final TrainingMaterialRepository trainingMaterialRepository;
     private final TrainingSessionRepository trainingSessionRepository;
     private final Cloudinary cloudinary;
+    private final PlacementAnalyticsService placementAnalyticsService;
+    private final JobApplicationService jobApplicationService;
+    private final EligibilityIndex eligibilityIndex;
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
 
     public PlacementController(
             JobRepository jobRepository,
@@ -39,7 +48,10 @@ public class PlacementController {
             StudentResumeReviewRepository studentResumeReviewRepository,
             TrainingMaterialRepository trainingMaterialRepository,
             TrainingSessionRepository trainingSessionRepository,
-            Cloudinary cloudinary) {
+            Cloudinary cloudinary,
+            PlacementAnalyticsService placementAnalyticsService,
+            JobApplicationService jobApplicationService,
+            EligibilityIndex eligibilityIndex) {
         this.jobRepository = jobRepository;
         this.jobApplicationRepository = jobApplicationRepository;
         this.interviewRepository = interviewRepository;
@@ -50,6 +62,9 @@ public class PlacementController {
         this.trainingMaterialRepository = trainingMaterialRepository;
         this.trainingSessionRepository = trainingSessionRepository;
         this.cloudinary = cloudinary;
+        this.placementAnalyticsService = placementAnalyticsService;
+        this.jobApplicationService = jobApplicationService;
+        this.eligibilityIndex = eligibilityIndex;
     }
 
     // ==================== JOB ENDPOINTS ====================
@@ -96,7 +111,11 @@ public class PlacementController {
         try {
             job.setCreatedAt(LocalDateTime.now());
             job.setUpdatedAt(LocalDateTime.now());
+            // Maintained from its applications
+            job.setApplicants(0);
+            job.setShortlisted(0);
             Job saved = jobRepository.save(job);
+            eligibilityIndex.jobChanged(saved);
             return ResponseEntity.ok(saved);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("error", e.getMessage()));
@@ -107,29 +126,12 @@ public class PlacementController {
     @PutMapping("/jobs/{id}")
     public ResponseEntity<?> updateJob(@PathVariable String id, @RequestBody Job jobUpdate) {
         try {
-            Optional<Job> existing = jobRepository.findById(id);
-            if (!existing.isPresent()) {
+            Optional<Job> updated = jobApplicationService.updateJob(id, jobUpdate);
+            if (!updated.isPresent()) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", "Job not found"));
             }
-            
-            Job job = existing.get();
-            if (jobUpdate.getCompany() != null) job.setCompany(jobUpdate.getCompany());
-            if (jobUpdate.getPosition() != null) job.setPosition(jobUpdate.getPosition());
-            if (jobUpdate.getSalary() != null) job.setSalary(jobUpdate.getSalary());
-            if (jobUpdate.getDeadline() != null) job.setDeadline(jobUpdate.getDeadline());
-            if (jobUpdate.getMinCGPA() > 0) job.setMinCGPA(jobUpdate.getMinCGPA());
-            if (jobUpdate.getBranch() != null) job.setBranch(jobUpdate.getBranch());
-            if (jobUpdate.getSkills() != null) job.setSkills(jobUpdate.getSkills());
-            if (jobUpdate.getMaxBacklogs() >= 0) job.setMaxBacklogs(jobUpdate.getMaxBacklogs());
-            if (jobUpdate.getStatus() != null) job.setStatus(jobUpdate.getStatus());
-            if (jobUpdate.getVisibility() != null) job.setVisibility(jobUpdate.getVisibility());
-            if (jobUpdate.getDescription() != null) job.setDescription(jobUpdate.getDescription());
-            if (jobUpdate.getLocation() != null) job.setLocation(jobUpdate.getLocation());
-            if (jobUpdate.getType() != null) job.setType(jobUpdate.getType());
-            if (jobUpdate.getExperience() != null) job.setExperience(jobUpdate.getExperience());
-            job.setUpdatedAt(LocalDateTime.now());
-
-            Job saved = jobRepository.save(job);
+            Job saved = updated.get();
+            eligibilityIndex.jobChanged(saved);
             return ResponseEntity.ok(saved);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("error", e.getMessage()));
@@ -144,6 +146,7 @@ public class PlacementController {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", "Job not found"));
             }
             jobRepository.deleteById(id);
+            eligibilityIndex.jobRemoved(id);
             return ResponseEntity.ok(Map.of("message", "Job deleted successfully"));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("error", e.getMessage()));
@@ -154,20 +157,76 @@ public class PlacementController {
     @PostMapping("/jobs/{id}/close")
     public ResponseEntity<?> closeJob(@PathVariable String id) {
         try {
-            Optional<Job> existing = jobRepository.findById(id);
-            if (!existing.isPresent()) {
+            Optional<Job> closed = jobApplicationService.closeJob(id);
+            if (!closed.isPresent()) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", "Job not found"));
             }
-            Job job = existing.get();
-            job.setStatus("Closed");
-            job.setUpdatedAt(LocalDateTime.now());
-            Job saved = jobRepository.save(job);
-            return ResponseEntity.ok(saved);
+            eligibilityIndex.jobRemoved(id);
+            return ResponseEntity.ok(closed.get());
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("error", e.getMessage()));
         }
     }
 
+    // Students who meet an open job's branch, year, CGPA and skill criteria (Faculty)
+    @GetMapping("/jobs/{id}/eligible-students")
+    public ResponseEntity<?> getEligibleStudents(@PathVariable String id,
+                                                 @RequestParam(required = false) Integer page,
+                                                 @RequestParam(required = false) Integer size) {
+        if (!jobRepository.existsById(id)) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", "Job not found"));
+        }
+        int pageSize = pageSize(size);
+        int pageNumber = page != null ? Math.max(page, 0) : 0;
+        EligibilityIndex.Result result = eligibilityIndex.eligibleStudents(id, pageNumber * pageSize, pageSize);
+
+        Map<String, Student> students = new HashMap<>();
+        studentRepository.findAllById(result.ids()).forEach(s -> students.put(s.getId(), s));
+        List<Map<String, Object>> items = new ArrayList<>();
+        for (String studentId : result.ids()) {
+            Student student = students.get(studentId);
+            if (student == null) continue;
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("id", student.getId());
+            item.put("name", student.getName());
+            item.put("email", student.getEmail());
+            item.put("rollNumber", student.getRollNumber());
+            item.put("branch", student.getBranch());
+            item.put("year", student.getYear());
+            item.put("cgpa", student.getCgpa());
+            items.add(item);
+        }
+        return ResponseEntity.ok(pageBody(items, result.total(), pageNumber, pageSize));
+    }
+
+    // Open jobs a student qualifies for (Student portal)
+    @GetMapping("/jobs/eligible/{studentId}")
+    public ResponseEntity<?> getEligibleJobs(@PathVariable String studentId,
+                                             @RequestParam(required = false) Integer page,
+                                             @RequestParam(required = false) Integer size) {
+        int pageSize = pageSize(size);
+        int pageNumber = page != null ? Math.max(page, 0) : 0;
+        EligibilityIndex.Result result = eligibilityIndex.eligibleJobs(studentId, pageNumber * pageSize, pageSize);
+
+        Map<String, Job> jobs = new HashMap<>();
+        jobRepository.findAllById(result.ids()).forEach(j -> jobs.put(j.getId(), j));
+        List<Job> items = result.ids().stream().map(jobs::get).filter(Objects::nonNull).collect(Collectors.toList());
+        return ResponseEntity.ok(pageBody(items, result.total(), pageNumber, pageSize));
+    }
+
+    private int pageSize(Integer size) {
+        return size == null || size <= 0 ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+    }
+
+    private Map<String, Object> pageBody(List<?> items, int total, int page, int size) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("items", items);
+        body.put("total", total);
+        body.put("page", page);
+        body.put("size", size);
+        return body;
+    }
+
     // ==================== APPLICATION ENDPOINTS ====================
 
     // Get all applications (Faculty)
@@ -216,22 +275,15 @@ public class PlacementController {
 
     // Create application (Student - Apply Now)
     @PostMapping("/applications")
-    public ResponseEntity<?> createApplication(@RequestBody JobApplication application) {
+    public ResponseEntity<?> createApplication(@RequestBody JobApplication application,
+                                               @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
         try {
-            // Check if student already applied to this job
-            Optional<JobApplication> existing = jobApplicationRepository.findByStudentIdAndJobId(
-                application.getStudentId(), application.getJobId());
-            if (existing.isPresent()) {
+            JobApplicationService.Submission submission = jobApplicationService.submit(application, idempotencyKey);
+            if (submission.duplicate()) {
                 return ResponseEntity.status(HttpStatus.CONFLICT)
-                    .body(Map.of("error", "You have already applied to this job", "application", existing.get()));
-            }
-            application.setAppliedAt(LocalDateTime.now());
-            application.setUpdatedAt(LocalDateTime.now());
-            if (application.getStatus() == null || application.getStatus().isEmpty()) {
-                application.setStatus("Applied");
+                    .body(Map.of("error", "You have already applied to this job", "application", submission.application()));
             }
-            JobApplication saved = jobApplicationRepository.save(application);
-            return ResponseEntity.ok(saved);
+            return ResponseEntity.ok(submission.application());
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("error", e.getMessage()));
         }
@@ -241,10 +293,9 @@ public class PlacementController {
     @DeleteMapping("/applications/{id}")
     public ResponseEntity<?> deleteApplication(@PathVariable String id) {
         try {
-            if (!jobApplicationRepository.existsById(id)) {
+            if (jobApplicationService.withdraw(id).isEmpty()) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", "Application not found"));
             }
-            jobApplicationRepository.deleteById(id);
             return ResponseEntity.ok(Map.of("message", "Application withdrawn successfully"));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("error", e.getMessage()));
@@ -255,25 +306,75 @@ public class PlacementController {
     @PutMapping("/applications/{id}/status")
     public ResponseEntity<?> updateApplicationStatus(@PathVariable String id, @RequestBody Map<String, String> request) {
         try {
-            Optional<JobApplication> existing = jobApplicationRepository.findById(id);
-            if (!existing.isPresent()) {
-                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", "Application not found"));
-            }
-            
-            JobApplication application = existing.get();
             String newStatus = request.get("status");
-            if (newStatus != null) {
-                application.setStatus(newStatus);
-                application.setUpdatedAt(LocalDateTime.now());
-                JobApplication saved = jobApplicationRepository.save(application);
-                return ResponseEntity.ok(saved);
+            if (newStatus == null) {
+                return ResponseEntity.badRequest().body(Map.of("error", "Status is required"));
             }
+            Optional<JobApplication> updated = jobApplicationService.updateStatus(id, newStatus);
+            if (updated.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", "Application not found"));
+            }
+            return ResponseEntity.ok(updated.get());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // Move many applications to one status, e.g. a company's shortlist (Faculty)
+    @PutMapping("/applications/status")
+    public ResponseEntity<?> updateApplicationStatuses(@RequestBody Map<String, Object> request) {
+        Object ids = request.get("ids");
+        Object status = request.get("status");
+        if (!(status instanceof String) || ((String) status).isEmpty()) {
             return ResponseEntity.badRequest().body(Map.of("error", "Status is required"));
+        }
+        if (!(ids instanceof List) || ((List<?>) ids).isEmpty()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "ids must be a non-empty list"));
+        }
+        if (((List<?>) ids).size() > JobApplicationService.MAX_BULK_ITEMS) {
+            return ResponseEntity.badRequest().body(Map.of("error",
+                    "At most " + JobApplicationService.MAX_BULK_ITEMS + " applications per request"));
+        }
+        List<String> applicationIds = ((List<?>) ids).stream().filter(Objects::nonNull).map(Object::toString).toList();
+        List<JobApplicationService.ItemResult> results = jobApplicationService.updateStatuses(applicationIds, (String) status);
+        return ResponseEntity.ok(bulkBody(results, JobApplicationService.ItemResult::result));
+    }
+
+    // Shortlist import: CSV of roll numbers or emails, one student per row (Faculty)
+    @PostMapping("/jobs/{id}/shortlist/import")
+    public ResponseEntity<?> importShortlist(@PathVariable String id,
+                                             @RequestParam("file") MultipartFile file,
+                                             @RequestParam(defaultValue = "under_review") String status) {
+        if (!jobRepository.existsById(id)) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", "Job not found"));
+        }
+        if (file.isEmpty()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "File is empty"));
+        }
+        if (file.getSize() > 5 * 1024 * 1024) {
+            return ResponseEntity.badRequest().body(Map.of("error", "File size exceeds 5MB limit"));
+        }
+        try {
+            List<JobApplicationService.ImportRow> rows = jobApplicationService.importShortlist(id, file.getInputStream(), status);
+            return ResponseEntity.ok(bulkBody(rows, JobApplicationService.ImportRow::result));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("error", e.getMessage()));
         }
     }
 
+    // Per-item results plus how many ended in each result
+    private <T> Map<String, Object> bulkBody(List<T> results, Function<T, String> result) {
+        Map<String, Long> summary = new LinkedHashMap<>();
+        results.forEach(r -> summary.merge(result.apply(r), 1L, Long::sum));
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("total", results.size());
+        body.put("summary", summary);
+        body.put("results", results);
+        return body;
+    }
+
     // ==================== RESUME BUILDER ENDPOINTS ====================
 
     // Save resume builder data
@@ -529,33 +630,7 @@ public class PlacementController {
     @GetMapping("/stats")
     public ResponseEntity<?> getPlacementStats() {
         try {
-            long totalStudents = studentRepository.count();
-            long totalApplications = jobApplicationRepository.count();
-            long totalJobs = jobRepository.count();
-            long activeJobs = jobRepository.countByStatus("Active");
-            long interviewsScheduled = interviewRepository.countByStatus("Scheduled");
-            long interviewsCompleted = interviewRepository.countByStatus("Completed");
-            long offersReleased = jobApplicationRepository.findByStatus("accepted").size();
-            long studentsPlaced = offersReleased; // Simplified
-
-            // Applications by status
-            List<JobApplication> allApps = jobApplicationRepository.findAll();
-            Map<String, Long> applicationsByStatus = allApps.stream()
-                    .collect(Collectors.groupingBy(JobApplication::getStatus, Collectors.counting()));
-
-            Map<String, Object> stats = new HashMap<>();
-            stats.put("totalEligibleStudents", totalStudents);
-            stats.put("totalApplications", totalApplications);
-            stats.put("totalJobs", totalJobs);
-            stats.put("activeJobs", activeJobs);
-            stats.put("interviewsScheduled", interviewsScheduled);
-            stats.put("interviewsCompleted", interviewsCompleted);
-            stats.put("offersReleased", offersReleased);
-            stats.put("studentsPlaced", studentsPlaced);
-            stats.put("applicationsByStatus", applicationsByStatus);
-            stats.put("averageReadinessScore", 72.5); // Placeholder - can be calculated from profiles
-
-            return ResponseEntity.ok(stats);
+            return ResponseEntity.ok(placementAnalyticsService.placementStats());
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("error", e.getMessage()));
         }
@@ -607,32 +682,17 @@ public class PlacementController {
     @GetMapping("/stats/companies")
     public ResponseEntity<?> getCompanyStats() {
         try {
-            List<Company> companies = companyRepository.findAll();
-            List<Job> jobs = jobRepository.findAll();
-            List<JobApplication> applications = jobApplicationRepository.findAll();
-
-            // Group applications by company
-            Map<String, Long> applicationsByCompany = applications.stream()
-                    .collect(Collectors.groupingBy(JobApplication::getCompany, Collectors.counting()));
-
-            // Group offers by company
-            Map<String, Long> offersByCompany = applications.stream()
-                    .filter(a -> a.getStatus().equals("accepted"))
-                    .collect(Collectors.groupingBy(JobApplication::getCompany, Collectors.counting()));
-
-            List<Map<String, Object>> companyStats = new ArrayList<>();
-            for (String company : applicationsByCompany.keySet()) {
-                Map<String, Object> stat = new HashMap<>();
-                stat.put("company", company);
-                stat.put("applications", applicationsByCompany.getOrDefault(company, 0L));
-                stat.put("offers", offersByCompany.getOrDefault(company, 0L));
-                stat.put("conversionRate", applicationsByCompany.get(company) > 0 
-                        ? (offersByCompany.getOrDefault(company, 0L) * 100.0 / applicationsByCompany.get(company))
-                        : 0);
-                companyStats.add(stat);
-            }
+            return ResponseEntity.ok(placementAnalyticsService.companyStats());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("error", e.getMessage()));
+        }
+    }
 
-            return ResponseEntity.ok(companyStats);
+    // Get branch-wise analytics
+    @GetMapping("/stats/branches")
+    public ResponseEntity<?> getBranchStats() {
+        try {
+            return ResponseEntity.ok(placementAnalyticsService.branchStats());
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("error", e.getMessage()));
         }
@@ -642,49 +702,7 @@ public class PlacementController {
     @GetMapping("/stats/trends")
     public ResponseEntity<?> getPlacementTrends() {
         try {
-            List<JobApplication> applications = jobApplicationRepository.findAll();
-            
-            // Group by month (simplified - using appliedAt date)
-            Map<String, Map<String, Long>> monthlyTrends = new LinkedHashMap<>();
-            String[] months = {"Jan", "Feb", "Mar", "Apr", "May", "Jun", "Jul", "Aug", "Sep", "Oct", "Nov", "Dec"};
-            
-            for (String month : months) {
-                Map<String, Long> monthData = new HashMap<>();
-                monthData.put("applications", 0L);
-                monthData.put("interviews", 0L);
-                monthData.put("offers", 0L);
-                monthData.put("placements", 0L);
-                monthlyTrends.put(month, monthData);
-            }
-
-            // Aggregate data by month
-            for (JobApplication app : applications) {
-                if (app.getAppliedAt() != null) {
-                    int monthIndex = app.getAppliedAt().getMonthValue() - 1;
-                    if (monthIndex >= 0 && monthIndex < 12) {
-                        String month = months[monthIndex];
-                        Map<String, Long> data = monthlyTrends.get(month);
-                        data.put("applications", data.get("applications") + 1);
-                        if (app.getStatus().equals("interview")) {
-                            data.put("interviews", data.get("interviews") + 1);
-                        }
-                        if (app.getStatus().equals("accepted")) {
-                            data.put("offers", data.get("offers") + 1);
-                            data.put("placements", data.get("placements") + 1);
-                        }
-                    }
-                }
-            }
-
-            List<Map<String, Object>> trends = new ArrayList<>();
-            for (Map.Entry<String, Map<String, Long>> entry : monthlyTrends.entrySet()) {
-                Map<String, Object> trend = new HashMap<>();
-                trend.put("month", entry.getKey());
-                trend.putAll(entry.getValue());
-                trends.add(trend);
-            }
-
-            return ResponseEntity.ok(trends);
+            return ResponseEntity.ok(placementAnalyticsService.monthlyTrends());
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("error", e.getMessage()));
         }
@@ -834,6 +852,22 @@ public class PlacementController {
                 return ResponseEntity.badRequest().body(Map.of("error", "File size exceeds 50MB limit"));
             }
 
+            String field;
+            switch (docType.toLowerCase()) {
+                case "resume":
+                    field = "resumeUrl";
+                    break;
+                case "certificates":
+                    field = "certificatesUrl";
+                    break;
+                case "idproof":
+                case "id proof":
+                    field = "idProofUrl";
+                    break;
+                default:
+                    return ResponseEntity.badRequest().body(Map.of("error", "Invalid document type: " + docType));
+            }
+
             // Upload to Cloudinary
             String originalFilename = file.getOriginalFilename();
             String baseName = originalFilename != null && originalFilename.contains(".")
@@ -848,29 +882,28 @@ public class PlacementController {
             ));
             String fileUrl = (String) uploadResult.get("secure_url");
 
-            // Update the application with the document URL
+            // Update only the document URL; the rest of the application may have changed meanwhile
+            LocalDateTime now = LocalDateTime.now();
+            if (!jobApplicationService.setDocumentUrl(id, field, fileUrl, now)) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", "Application not found"));
+            }
             JobApplication application = existing.get();
-            switch (docType.toLowerCase()) {
-                case "resume":
+            switch (field) {
+                case "resumeUrl":
                     application.setResumeUrl(fileUrl);
                     break;
-                case "certificates":
+                case "certificatesUrl":
                     application.setCertificatesUrl(fileUrl);
                     break;
-                case "idproof":
-                case "id proof":
-                    application.setIdProofUrl(fileUrl);
-                    break;
                 default:
-                    return ResponseEntity.badRequest().body(Map.of("error", "Invalid document type: " + docType));
+                    application.setIdProofUrl(fileUrl);
             }
-            application.setUpdatedAt(LocalDateTime.now());
-            JobApplication saved = jobApplicationRepository.save(application);
+            application.setUpdatedAt(now);
 
             return ResponseEntity.ok(Map.of(
                 "message", docType + " uploaded successfully",
                 "fileUrl", fileUrl,
-                "application", saved
+                "application", application
             ));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("error", e.getMessage()));
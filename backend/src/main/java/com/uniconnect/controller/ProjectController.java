@@ -2,12 +2,9 @@ package com.uniconnect.controller;
 
 import com.uniconnect.model.CollabProject;
 import com.uniconnect.model.ProjectJoinRequest;
-import com.uniconnect.model.Student;
-import com.uniconnect.model.Faculty;
 import com.uniconnect.repository.CollabProjectRepository;
 import com.uniconnect.repository.ProjectJoinRequestRepository;
-import com.uniconnect.repository.StudentRepository;
-import com.uniconnect.repository.FacultyRepository;
+import com.uniconnect.service.AuthorDirectory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -22,15 +19,13 @@ public class ProjectController {
 
     private final CollabProjectRepository projRepo;
     private final ProjectJoinRequestRepository joinRepo;
-    private final StudentRepository studentRepo;
-    private final FacultyRepository facultyRepo;
+    private final AuthorDirectory authorDirectory;
 
     public ProjectController(CollabProjectRepository projRepo, ProjectJoinRequestRepository joinRepo,
-                             StudentRepository studentRepo, FacultyRepository facultyRepo) {
+                             AuthorDirectory authorDirectory) {
         this.projRepo = projRepo;
         this.joinRepo = joinRepo;
-        this.studentRepo = studentRepo;
-        this.facultyRepo = facultyRepo;
+        this.authorDirectory = authorDirectory;
     }
 
     /* ───────── List all projects ───────── */
@@ -47,6 +42,13 @@ public class ProjectController {
             all = projRepo.findAllByOrderByCreatedAtDesc();
         }
 
+        // Warm the author cache for every member needing a lookup with one batched query
+        authorDirectory.findByEmails(all.stream()
+                .flatMap(p -> p.getMembers().stream())
+                .filter(m -> (m.getName() == null || m.getName().isEmpty()) && m.getEmail() != null)
+                .map(CollabProject.Member::getEmail)
+                .collect(Collectors.toSet()));
+
         return all.stream().map(p -> toMap(p, email)).collect(Collectors.toList());
     }
 
@@ -241,22 +243,13 @@ public class ProjectController {
     /** Look up name, rollNumber, branch from student DB (or faculty). Returns [name, rollNumber, branch]. */
     private String[] lookupPerson(String email) {
         if (email == null) return new String[]{"", "", ""};
-        Optional<Student> sOpt = studentRepo.findByEmail(email);
-        if (sOpt.isPresent()) {
-            Student s = sOpt.get();
-            return new String[]{
-                s.getName() != null ? s.getName() : "",
-                s.getRollNumber() != null ? s.getRollNumber() : "",
-                s.getBranch() != null ? s.getBranch() : ""
-            };
-        }
-        Optional<Faculty> fOpt = facultyRepo.findByEmail(email);
-        if (fOpt.isPresent()) {
-            Faculty f = fOpt.get();
+        Optional<AuthorDirectory.Author> author = authorDirectory.findByEmail(email);
+        if (author.isPresent()) {
+            AuthorDirectory.Author a = author.get();
             return new String[]{
-                f.getName() != null ? f.getName() : "",
-                "",
-                f.getDepartment() != null ? f.getDepartment() : ""
+                a.getName() != null ? a.getName() : "",
+                a.getRollNumber() != null ? a.getRollNumber() : "",
+                a.getBranch() != null ? a.getBranch() : ""
             };
         }
         return new String[]{"", "", ""};
@@ -3,8 +3,11 @@ package com.uniconnect.controller;
 import com.uniconnect.dto.AddCommentRequest;
 import com.uniconnect.dto.CreateReelRequest;
 import com.uniconnect.dto.FacultyFeedbackRequest;
+import com.uniconnect.dto.FacultyReelPageResponse;
 import com.uniconnect.dto.ReelResponse;
 import com.uniconnect.dto.ReelFeedResponse;
+import com.uniconnect.dto.ReelPageResponse;
+import com.uniconnect.config.ReelEngagementMigration;
 import com.uniconnect.service.FileUploadService;
 import com.uniconnect.service.ReelService;
 import jakarta.validation.Valid;
@@ -25,11 +28,14 @@ public class ReelController {
     private final ReelService reelService;
     private final FileUploadService fileUploadService;
     private final com.uniconnect.repository.ReelRepository reelRepository;
+    private final ReelEngagementMigration reelEngagementMigration;
 
-    public ReelController(ReelService reelService, FileUploadService fileUploadService, com.uniconnect.repository.ReelRepository reelRepository) {
+    public ReelController(ReelService reelService, FileUploadService fileUploadService, com.uniconnect.repository.ReelRepository reelRepository,
+                          ReelEngagementMigration reelEngagementMigration) {
         this.reelService = reelService;
         this.fileUploadService = fileUploadService;
         this.reelRepository = reelRepository;
+        this.reelEngagementMigration = reelEngagementMigration;
     }
 
     /**
@@ -38,8 +44,7 @@ public class ReelController {
      */
     @DeleteMapping("/admin/clear-all")
     public ResponseEntity<Map<String, Object>> clearAllReels() {
-        long count = reelRepository.count();
-        reelRepository.deleteAll();
+        long count = reelService.clearAllReels();
         Map<String, Object> response = new HashMap<>();
         response.put("success", true);
         response.put("deletedCount", count);
@@ -69,8 +74,7 @@ public class ReelController {
             // Fix if URL is a local upload path or broken Google sample URL
             if (videoUrl != null && (videoUrl.startsWith("/uploads/") || videoUrl.contains("commondatastorage.googleapis.com"))) {
                 String newUrl = sampleVideos.get(i % sampleVideos.size());
-                reel.setVideoUrl(newUrl);
-                reelRepository.save(reel);
+                reelService.replaceVideoUrl(reel.getId(), newUrl);
                 fixedCount++;
             }
         }
@@ -83,6 +87,17 @@ public class ReelController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Admin endpoint to move likes, saves and comments out of existing reel documents
+     * into the split engagement collections (safe to run more than once)
+     */
+    @PostMapping("/admin/migrate-engagement")
+    public ResponseEntity<Map<String, Object>> migrateEngagement() {
+        Map<String, Object> response = new HashMap<>(reelEngagementMigration.migrate());
+        response.put("success", true);
+        return ResponseEntity.ok(response);
+    }
+
     @PostMapping("/upload")
     public ResponseEntity<Map<String, Object>> uploadFiles(
             @RequestParam("video") MultipartFile videoFile,
@@ -141,11 +156,30 @@ public class ReelController {
         return ResponseEntity.ok(reelService.getAllReels(studentId, category, sortBy));
     }
 
+    @GetMapping("/feed")
+    public ResponseEntity<ReelPageResponse> getFeedPage(
+            @RequestParam(value = "category", required = false) String category,
+            @RequestParam(value = "sortBy", defaultValue = "recent") String sortBy,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestHeader(value = "X-Student-Id", required = false) String studentId) {
+        return ResponseEntity.ok(reelService.getFeedPage(studentId, category, sortBy, cursor, limit));
+    }
+
     @GetMapping("/search")
     public ResponseEntity<List<ReelResponse>> searchReels(
             @RequestParam(name = "query") String query,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
             @RequestHeader(value = "X-Student-Id", required = false) String studentId) {
-        return ResponseEntity.ok(reelService.searchReels(query, studentId));
+        return ResponseEntity.ok(reelService.searchReels(query, studentId, page, size));
+    }
+
+    @GetMapping("/search/suggest")
+    public ResponseEntity<List<String>> suggestSearchTerms(
+            @RequestParam(name = "prefix") String prefix,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(reelService.suggestSearchTerms(prefix, limit));
     }
 
     @GetMapping("/my-reels")
@@ -240,25 +274,34 @@ public class ReelController {
     }
 
     @GetMapping("/faculty/filter")
-    public ResponseEntity<List<ReelFeedResponse>> getReelsByFilter(
+    public ResponseEntity<FacultyReelPageResponse<ReelFeedResponse>> getReelsByFilter(
             @RequestHeader("X-Faculty-Id") String facultyId,
             @RequestParam(required = false) String subject,
             @RequestParam(required = false) String skill,
             @RequestParam(required = false) String year,
-            @RequestParam(required = false) String semester) {
-        return ResponseEntity.ok(reelService.getReelsByAcademicFilter(facultyId, subject, skill, year, semester));
+            @RequestParam(required = false) String semester,
+            @RequestParam(required = false) String academicStatus,
+            @RequestParam(required = false) String reelType,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(reelService.getReelsByAcademicFilter(facultyId, subject, skill, year, semester,
+                academicStatus, reelType, cursor, size));
     }
 
     @GetMapping("/faculty/review-queue")
-    public ResponseEntity<List<ReelFeedResponse>> getReelsForReview(
-            @RequestHeader("X-Faculty-Id") String facultyId) {
-        return ResponseEntity.ok(reelService.getReelsRequiringReview(facultyId));
+    public ResponseEntity<FacultyReelPageResponse<ReelFeedResponse>> getReelsForReview(
+            @RequestHeader("X-Faculty-Id") String facultyId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(reelService.getReelsRequiringReview(facultyId, cursor, size));
     }
 
     @GetMapping("/faculty/my-reels")
-    public ResponseEntity<List<ReelResponse>> getFacultyReels(
-            @RequestHeader("X-Faculty-Id") String facultyId) {
-        return ResponseEntity.ok(reelService.getFacultyReels(facultyId));
+    public ResponseEntity<FacultyReelPageResponse<ReelResponse>> getFacultyReels(
+            @RequestHeader("X-Faculty-Id") String facultyId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(reelService.getFacultyReels(facultyId, cursor, size));
     }
 }
 
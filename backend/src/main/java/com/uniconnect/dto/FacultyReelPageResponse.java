@@ -0,0 +1,12 @@
+package com.uniconnect.dto;
+
+import java.util.List;
+
+/**
+ * One page of a faculty reel list, newest first. Pass nextCursor back as ?cursor= to fetch the next page.
+ */
+public record FacultyReelPageResponse<T>(
+    List<T> items,
+    String nextCursor,
+    boolean hasMore
+) {}
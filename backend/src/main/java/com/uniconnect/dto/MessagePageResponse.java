@@ -0,0 +1,15 @@
+package com.uniconnect.dto;
+
+import java.util.List;
+
+/**
+ * A window of chat history, oldest message first. Pass olderCursor back as ?before= to scroll up and
+ * newerCursor as ?after= to scroll down.
+ */
+public record MessagePageResponse(
+    List<MessageResponse> items,
+    String olderCursor,
+    String newerCursor,
+    boolean hasOlder,
+    boolean hasNewer
+) {}
@@ -0,0 +1,18 @@
+package com.uniconnect.dto;
+
+import java.util.List;
+
+/**
+ * One page of chat search results, newest first. Highlight offsets are [start, end) character
+ * positions in the snippet.
+ */
+public record MessageSearchResponse(
+    List<Hit> items,
+    long total,
+    int page,
+    int size
+) {
+    public record Hit(MessageResponse message, String snippet, List<Highlight> highlights) {}
+
+    public record Highlight(int start, int end) {}
+}
@@ -0,0 +1,33 @@
+package com.uniconnect.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Lightweight reel card for paginated feeds: same fields as {@link ReelResponse}
+ * minus the comment list, which is only loaded when a single reel is opened.
+ */
+public record ReelListItemResponse(
+    String id,
+    String studentId,
+    String studentName,
+    String department,
+    String year,
+    String avatar,
+    String uploaderRole,  // "STUDENT" or "FACULTY"
+    String title,
+    String description,
+    String videoUrl,
+    String thumbnailUrl,
+    String category,
+    Instant createdAt,
+    int views,
+    int likes,
+    int comments,
+    int saves,
+    boolean verified,
+    boolean safe,
+    List<String> hashtags,
+    boolean isLiked,
+    boolean isSaved
+) {}
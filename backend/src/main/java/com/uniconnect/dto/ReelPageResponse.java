@@ -0,0 +1,12 @@
+package com.uniconnect.dto;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated reel feed. Pass nextCursor back as ?cursor= to fetch the next page.
+ */
+public record ReelPageResponse(
+    List<ReelListItemResponse> items,
+    String nextCursor,
+    boolean hasMore
+) {}
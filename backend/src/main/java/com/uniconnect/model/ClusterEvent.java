@@ -0,0 +1,68 @@
+package com.uniconnect.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * A WebSocket payload handed from one backend node to the others through the MessageBus.
+ * Stored in the capped cluster_events collection when the Mongo bus is used.
+ */
+@Document(collection = "cluster_events")
+public class ClusterEvent {
+    public static final String KIND_USER = "USER";           // all sessions of user `key`
+    public static final String KIND_BROADCAST = "BROADCAST"; // every session except excludeUserId
+    public static final String KIND_TOPIC = "TOPIC";         // subscribers of topic `key` (e.g. a reel id)
+    public static final String KIND_ROLE = "ROLE";           // sessions whose role is `key`
+
+    @Id
+    private String id;
+
+    private String channel; // chat, reels
+    private String kind;
+    private String key;
+    private String excludeUserId;
+    private List<String> targetNodes; // null = every node
+    private String payload;
+    private String originNode;
+    private Instant createdAt;
+
+    public ClusterEvent() {
+    }
+
+    public ClusterEvent(String channel, String kind, String key, String payload) {
+        this.channel = channel;
+        this.kind = kind;
+        this.key = key;
+        this.payload = payload;
+    }
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getChannel() { return channel; }
+    public void setChannel(String channel) { this.channel = channel; }
+
+    public String getKind() { return kind; }
+    public void setKind(String kind) { this.kind = kind; }
+
+    public String getKey() { return key; }
+    public void setKey(String key) { this.key = key; }
+
+    public String getExcludeUserId() { return excludeUserId; }
+    public void setExcludeUserId(String excludeUserId) { this.excludeUserId = excludeUserId; }
+
+    public List<String> getTargetNodes() { return targetNodes; }
+    public void setTargetNodes(List<String> targetNodes) { this.targetNodes = targetNodes; }
+
+    public String getPayload() { return payload; }
+    public void setPayload(String payload) { this.payload = payload; }
+
+    public String getOriginNode() { return originNode; }
+    public void setOriginNode(String originNode) { this.originNode = originNode; }
+
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+}
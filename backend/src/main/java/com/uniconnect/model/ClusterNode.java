@@ -0,0 +1,33 @@
+package com.uniconnect.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Heartbeat of a running backend node; nodes that stop heart-beating are reaped from user_presence.
+ */
+@Document(collection = "cluster_nodes")
+public class ClusterNode {
+    @Id
+    private String id;
+
+    @Indexed
+    private Instant lastSeen;
+
+    public ClusterNode() {
+    }
+
+    public ClusterNode(String id, Instant lastSeen) {
+        this.id = id;
+        this.lastSeen = lastSeen;
+    }
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public Instant getLastSeen() { return lastSeen; }
+    public void setLastSeen(Instant lastSeen) { this.lastSeen = lastSeen; }
+}
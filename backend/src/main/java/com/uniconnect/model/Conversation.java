@@ -1,6 +1,7 @@
 package com.uniconnect.model;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
@@ -12,6 +13,12 @@ public class Conversation {
     @Id
     private String id;
     private List<String> participantIds;
+
+    // Sorted "userA|userB"; unique so a pair can only ever have one direct conversation.
+    // Sparse because duplicates created before the key existed are left without one.
+    @Indexed(unique = true, sparse = true)
+    private String pairKey;
+
     private List<ParticipantInfo> participants;
     private String lastMessageId;
     private String lastMessage;
@@ -53,6 +60,10 @@ public class Conversation {
         public void setUnreadCount(int unreadCount) { this.unreadCount = unreadCount; }
     }
 
+    public static String pairKey(String userId1, String userId2) {
+        return userId1.compareTo(userId2) <= 0 ? userId1 + "|" + userId2 : userId2 + "|" + userId1;
+    }
+
     // Getters and Setters
     public String getId() { return id; }
     public void setId(String id) { this.id = id; }
@@ -60,6 +71,9 @@ public class Conversation {
     public List<String> getParticipantIds() { return participantIds; }
     public void setParticipantIds(List<String> participantIds) { this.participantIds = participantIds; }
 
+    public String getPairKey() { return pairKey; }
+    public void setPairKey(String pairKey) { this.pairKey = pairKey; }
+
     public List<ParticipantInfo> getParticipants() { return participants; }
     public void setParticipants(List<ParticipantInfo> participants) { this.participants = participants; }
 
@@ -30,6 +30,7 @@ public class Job {
     private String createdBy; // Faculty email
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private LocalDateTime countersUpdatedAt; // last $inc of applicants/shortlisted, the recount skips jobs touched after it started
 
     public Job() {
         this.createdAt = LocalDateTime.now();
@@ -100,4 +101,7 @@ public class Job {
 
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+
+    public LocalDateTime getCountersUpdatedAt() { return countersUpdatedAt; }
+    public void setCountersUpdatedAt(LocalDateTime countersUpdatedAt) { this.countersUpdatedAt = countersUpdatedAt; }
 }
@@ -1,11 +1,23 @@
 package com.uniconnect.model;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
 
 @Document(collection = "job_applications")
+@CompoundIndexes({
+    // PlacementStatsView.recompute() pipelines sort on these first, so each runs from its index
+    @CompoundIndex(name = "status", def = "{'status': 1}"),
+    @CompoundIndex(name = "company_status", def = "{'company': 1, 'status': 1}"),
+    @CompoundIndex(name = "applied_status", def = "{'appliedAt': 1, 'status': 1}"),
+    @CompoundIndex(name = "branch_status", def = "{'branch': 1, 'status': 1}"),
+    // Applicants of one job, shortlist import and the shortlisted recount
+    @CompoundIndex(name = "job_status", def = "{'jobId': 1, 'status': 1}")
+    // The unique student_job index is created by JobApplicationDedup once legacy duplicates are gone
+})
 public class JobApplication {
     @Id
     private String id;
@@ -15,11 +27,13 @@ public class JobApplication {
     private String company;
     private String studentName;
     private String studentEmail;
+    private String branch; // copied from the student when applying, for branch-wise placement stats
     private String coverLetter;
     private String resumeUrl;
     private String certificatesUrl;
     private String idProofUrl;
     private String status; // applied, under_review, interview, rejected, accepted
+    private String idempotencyKey; // Idempotency-Key header of the submission that created it
     private LocalDateTime appliedAt;
     private LocalDateTime updatedAt;
 
@@ -51,6 +65,9 @@ public class JobApplication {
     public String getStudentEmail() { return studentEmail; }
     public void setStudentEmail(String studentEmail) { this.studentEmail = studentEmail; }
 
+    public String getBranch() { return branch; }
+    public void setBranch(String branch) { this.branch = branch; }
+
     public String getCoverLetter() { return coverLetter; }
     public void setCoverLetter(String coverLetter) { this.coverLetter = coverLetter; }
 
@@ -63,6 +80,9 @@ public class JobApplication {
     public String getIdProofUrl() { return idProofUrl; }
     public void setIdProofUrl(String idProofUrl) { this.idProofUrl = idProofUrl; }
 
+    public String getIdempotencyKey() { return idempotencyKey; }
+    public void setIdempotencyKey(String idempotencyKey) { this.idempotencyKey = idempotencyKey; }
+
     public String getStatus() { return status; }
     public void setStatus(String status) { this.status = status; }
 
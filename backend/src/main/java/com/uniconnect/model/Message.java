@@ -1,6 +1,8 @@
 package com.uniconnect.model;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
@@ -8,6 +10,16 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Document(collection = "messages")
+@CompoundIndexes({
+    // Keyset history: (timestamp, _id) range scans within one conversation / group
+    @CompoundIndex(name = "conversation_history", def = "{'conversationId': 1, 'timestamp': 1, '_id': 1}"),
+    @CompoundIndex(name = "group_history", def = "{'groupId': 1, 'timestamp': 1, '_id': 1}"),
+    // Retention: oldest messages first when moving them to messages_archive
+    @CompoundIndex(name = "retention", def = "{'timestamp': 1, '_id': 1}"),
+    // Unread counter reconcile: legacy read = false conversation messages of users without a watermark
+    @CompoundIndex(name = "legacy_unread", def = "{'conversationId': 1, 'senderId': 1}",
+            partialFilter = "{'read': false, 'conversationId': {'$exists': true}}")
+})
 public class Message {
     @Id
     private String id;
@@ -0,0 +1,43 @@
+package com.uniconnect.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Search terms of one chat message (id = message id). The multikey index on terms is the inverted
+ * index: term -> messages, narrowed to the chats the searching user belongs to by chatId.
+ */
+@Document(collection = "message_search")
+@CompoundIndexes({
+    @CompoundIndex(name = "term_chat_recent", def = "{'terms': 1, 'chatId': 1, 'timestamp': -1}")
+})
+public class MessageSearchEntry {
+    @Id
+    private String id;
+
+    private String chatId;
+    private List<String> terms;
+    private LocalDateTime timestamp;
+
+    public MessageSearchEntry() {
+        this.terms = new ArrayList<>();
+    }
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getChatId() { return chatId; }
+    public void setChatId(String chatId) { this.chatId = chatId; }
+
+    public List<String> getTerms() { return terms; }
+    public void setTerms(List<String> terms) { this.terms = terms; }
+
+    public LocalDateTime getTimestamp() { return timestamp; }
+    public void setTimestamp(LocalDateTime timestamp) { this.timestamp = timestamp; }
+}
@@ -0,0 +1,51 @@
+package com.uniconnect.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * One row of the placement statistics view (id = "dimension:key"), e.g. "company:Google" or "month:3".
+ * applications counts the applications in the row; interviews and offers count those of them currently
+ * in the interview / accepted status. Maintained incrementally by PlacementStatsView.
+ */
+@Document(collection = "placement_stats")
+public class PlacementStat {
+    @Id
+    private String id;
+
+    @Indexed
+    private String dimension; // status, company, month, branch
+
+    private String key;
+    private long applications;
+    private long interviews;
+    private long offers;
+    private Instant updatedAt;
+
+    public PlacementStat() {
+    }
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getDimension() { return dimension; }
+    public void setDimension(String dimension) { this.dimension = dimension; }
+
+    public String getKey() { return key; }
+    public void setKey(String key) { this.key = key; }
+
+    public long getApplications() { return applications; }
+    public void setApplications(long applications) { this.applications = applications; }
+
+    public long getInterviews() { return interviews; }
+    public void setInterviews(long interviews) { this.interviews = interviews; }
+
+    public long getOffers() { return offers; }
+    public void setOffers(long offers) { this.offers = offers; }
+
+    public Instant getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(Instant updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -1,6 +1,8 @@
 package com.uniconnect.model;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.index.Indexed;
 
@@ -9,6 +11,17 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Document(collection = "reels")
+@CompoundIndexes({
+    // Keyset pagination for the feed: sort key + _id tie-breaker
+    @CompoundIndex(name = "feed_recent", def = "{'createdAt': -1, '_id': -1}"),
+    @CompoundIndex(name = "feed_category_recent", def = "{'category': 1, 'createdAt': -1, '_id': -1}"),
+    @CompoundIndex(name = "feed_likes", def = "{'likes': -1, '_id': -1}"),
+    @CompoundIndex(name = "feed_views", def = "{'views': -1, '_id': -1}"),
+    // Faculty review queries
+    @CompoundIndex(name = "review_status_recent", def = "{'academicStatus': 1, 'createdAt': -1, '_id': -1}"),
+    @CompoundIndex(name = "academic_filter", def = "{'subject': 1, 'skill': 1, 'year': 1, 'semester': 1, 'createdAt': -1, '_id': -1}"),
+    @CompoundIndex(name = "type_uploader_recent", def = "{'reelType': 1, 'studentId': 1, 'createdAt': -1, '_id': -1}")
+})
 public class Reel {
     @Id
     private String id;
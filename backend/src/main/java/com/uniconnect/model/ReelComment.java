@@ -0,0 +1,97 @@
+package com.uniconnect.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * A comment on a reel, stored in its own collection instead of the reel's commentList.
+ * Mirrors the fields of {@link Reel.Comment} so both storage modes map to the same response.
+ */
+@Document(collection = "reel_comments")
+@CompoundIndexes({
+    @CompoundIndex(name = "reel_comments_by_time", def = "{'reelId': 1, 'createdAt': 1}")
+})
+public class ReelComment {
+
+    @Id
+    private String id;
+
+    private String reelId;
+    private String studentId;
+    private String studentName;
+    private String avatar;
+    private String text;
+    private Instant createdAt;
+    private int likes;
+    private boolean isFromFaculty;
+    private String facultyId;
+    private String role; // "STUDENT" or "FACULTY"
+
+    public ReelComment() {}
+
+    public ReelComment(String reelId, Reel.Comment comment) {
+        this.id = comment.getId();
+        this.reelId = reelId;
+        this.studentId = comment.getStudentId();
+        this.studentName = comment.getStudentName();
+        this.avatar = comment.getAvatar();
+        this.text = comment.getText();
+        this.createdAt = comment.getCreatedAt();
+        this.likes = comment.getLikes();
+        this.isFromFaculty = comment.isFromFaculty();
+        this.facultyId = comment.getFacultyId();
+        this.role = comment.getRole();
+    }
+
+    public Reel.Comment toComment() {
+        Reel.Comment comment = new Reel.Comment();
+        comment.setId(id);
+        comment.setStudentId(studentId);
+        comment.setStudentName(studentName);
+        comment.setAvatar(avatar);
+        comment.setText(text);
+        comment.setCreatedAt(createdAt);
+        comment.setLikes(likes);
+        comment.setFromFaculty(isFromFaculty);
+        comment.setFacultyId(facultyId);
+        comment.setRole(role);
+        return comment;
+    }
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getReelId() { return reelId; }
+    public void setReelId(String reelId) { this.reelId = reelId; }
+
+    public String getStudentId() { return studentId; }
+    public void setStudentId(String studentId) { this.studentId = studentId; }
+
+    public String getStudentName() { return studentName; }
+    public void setStudentName(String studentName) { this.studentName = studentName; }
+
+    public String getAvatar() { return avatar; }
+    public void setAvatar(String avatar) { this.avatar = avatar; }
+
+    public String getText() { return text; }
+    public void setText(String text) { this.text = text; }
+
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+
+    public int getLikes() { return likes; }
+    public void setLikes(int likes) { this.likes = likes; }
+
+    public boolean isFromFaculty() { return isFromFaculty; }
+    public void setFromFaculty(boolean fromFaculty) { isFromFaculty = fromFaculty; }
+
+    public String getFacultyId() { return facultyId; }
+    public void setFacultyId(String facultyId) { this.facultyId = facultyId; }
+
+    public String getRole() { return role; }
+    public void setRole(String role) { this.role = role; }
+}
@@ -0,0 +1,65 @@
+package com.uniconnect.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Precomputed hotness score of a reel (id = reel id), refreshed periodically by ReelRankingService.
+ * Carries the reel's category and academic tags so ranked pages and personalization never touch
+ * the reels collection until the final page is loaded.
+ */
+@Document(collection = "reel_rankings")
+@CompoundIndexes({
+    @CompoundIndex(name = "rank_score", def = "{'score': -1, '_id': -1}"),
+    @CompoundIndex(name = "rank_category_score", def = "{'category': 1, 'score': -1, '_id': -1}")
+})
+public class ReelRanking {
+    @Id
+    private String id;
+
+    private double score;
+    private String category;
+    private String department;
+    private String year;
+    private String subject;
+    private String skill;
+    private Instant createdAt;
+
+    @Indexed
+    private Instant computedAt;
+
+    public ReelRanking() {
+    }
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public double getScore() { return score; }
+    public void setScore(double score) { this.score = score; }
+
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+
+    public String getDepartment() { return department; }
+    public void setDepartment(String department) { this.department = department; }
+
+    public String getYear() { return year; }
+    public void setYear(String year) { this.year = year; }
+
+    public String getSubject() { return subject; }
+    public void setSubject(String subject) { this.subject = subject; }
+
+    public String getSkill() { return skill; }
+    public void setSkill(String skill) { this.skill = skill; }
+
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+
+    public Instant getComputedAt() { return computedAt; }
+    public void setComputedAt(Instant computedAt) { this.computedAt = computedAt; }
+}
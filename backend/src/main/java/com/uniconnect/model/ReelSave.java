@@ -0,0 +1,47 @@
+package com.uniconnect.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * A single student bookmark (save) on a reel, stored outside the reel document so that
+ * popular reels do not carry an unbounded savedByStudents array.
+ */
+@Document(collection = "reel_saves")
+@CompoundIndexes({
+    @CompoundIndex(name = "unique_reel_save", def = "{'reelId': 1, 'studentId': 1}", unique = true),
+    @CompoundIndex(name = "student_saves", def = "{'studentId': 1, 'createdAt': -1}")
+})
+public class ReelSave {
+
+    @Id
+    private String id;
+
+    private String reelId;
+    private String studentId;
+    private Instant createdAt;
+
+    public ReelSave() {}
+
+    public ReelSave(String reelId, String studentId) {
+        this.reelId = reelId;
+        this.studentId = studentId;
+        this.createdAt = Instant.now();
+    }
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getReelId() { return reelId; }
+    public void setReelId(String reelId) { this.reelId = reelId; }
+
+    public String getStudentId() { return studentId; }
+    public void setStudentId(String studentId) { this.studentId = studentId; }
+
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+}
@@ -29,6 +29,7 @@ public class Student {
   private String bio;
   private String avatarUrl;
   private String coverUrl;
+  @Indexed(sparse = true)
   private String rollNumber;
   private String year;
 
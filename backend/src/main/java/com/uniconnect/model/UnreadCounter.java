@@ -0,0 +1,51 @@
+package com.uniconnect.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+/**
+ * Read state of one user in one conversation or group (id = "userId:chatId"): the number of unread
+ * messages and the read watermark. Every message at or before lastReadAt counts as read by the user.
+ * The counter is incremented when a message is sent, reset together with the watermark when the user
+ * reads the chat, and rebuilt by UnreadCounterService.reconcile().
+ */
+@Document(collection = "unread_counters")
+public class UnreadCounter {
+    @Id
+    private String id;
+
+    @Indexed
+    private String userId;
+
+    @Indexed
+    private String chatId;
+
+    private long count;
+    private LocalDateTime lastReadAt;
+    private Instant updatedAt;
+
+    public UnreadCounter() {
+    }
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getUserId() { return userId; }
+    public void setUserId(String userId) { this.userId = userId; }
+
+    public String getChatId() { return chatId; }
+    public void setChatId(String chatId) { this.chatId = chatId; }
+
+    public long getCount() { return count; }
+    public void setCount(long count) { this.count = count; }
+
+    public LocalDateTime getLastReadAt() { return lastReadAt; }
+    public void setLastReadAt(LocalDateTime lastReadAt) { this.lastReadAt = lastReadAt; }
+
+    public Instant getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(Instant updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -0,0 +1,42 @@
+package com.uniconnect.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Which backend nodes currently hold WebSocket sessions of a user (id = "scope:userId").
+ */
+@Document(collection = "user_presence")
+public class UserPresence {
+    @Id
+    private String id;
+
+    @Indexed
+    private String scope; // chat, reels
+    private String userId;
+    private List<String> nodes = new ArrayList<>();
+    private Instant updatedAt;
+
+    public UserPresence() {
+    }
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getScope() { return scope; }
+    public void setScope(String scope) { this.scope = scope; }
+
+    public String getUserId() { return userId; }
+    public void setUserId(String userId) { this.userId = userId; }
+
+    public List<String> getNodes() { return nodes; }
+    public void setNodes(List<String> nodes) { this.nodes = nodes; }
+
+    public Instant getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(Instant updatedAt) { this.updatedAt = updatedAt; }
+}
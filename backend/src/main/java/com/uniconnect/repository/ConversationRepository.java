@@ -10,5 +10,5 @@ import java.util.Optional;
 @Repository
 public interface ConversationRepository extends MongoRepository<Conversation, String> {
     List<Conversation> findByParticipantIdsContainingOrderByLastMessageTimeDesc(String userId);
-    Optional<Conversation> findByParticipantIdsContainingAllIgnoreCase(List<String> participantIds);
+    Optional<Conversation> findByPairKey(String pairKey);
 }
@@ -3,10 +3,14 @@ package com.uniconnect.repository;
 import com.uniconnect.model.Faculty;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface FacultyRepository extends MongoRepository<Faculty, String> {
     Optional<Faculty> findByEmail(String email);
 
     boolean existsByEmail(String email);
+
+    List<Faculty> findByEmailIn(Collection<String> emails);
 }
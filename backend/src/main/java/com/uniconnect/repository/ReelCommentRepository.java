@@ -0,0 +1,19 @@
+package com.uniconnect.repository;
+
+import com.uniconnect.model.ReelComment;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ReelCommentRepository extends MongoRepository<ReelComment, String> {
+    List<ReelComment> findByReelIdOrderByCreatedAtAsc(String reelId);
+
+    List<ReelComment> findByReelIdInOrderByCreatedAtAsc(Collection<String> reelIds);
+
+    long countByReelId(String reelId);
+
+    long deleteByReelId(String reelId);
+}
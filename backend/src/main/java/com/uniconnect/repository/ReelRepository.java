@@ -2,7 +2,6 @@ package com.uniconnect.repository;
 
 import com.uniconnect.model.Reel;
 import org.springframework.data.mongodb.repository.MongoRepository;
-import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -14,10 +13,4 @@ public interface ReelRepository extends MongoRepository<Reel, String> {
     List<Reel> findByCategoryOrderByCreatedAtDesc(String category);
     
     List<Reel> findByOrderByCreatedAtDesc();
-    
-    @Query("{ 'title': { $regex: ?0, $options: 'i' } }")
-    List<Reel> findByTitleContainingIgnoreCase(String title);
-    
-    @Query("{ $text: { $search: ?0 } }")
-    List<Reel> searchReels(String query);
 }
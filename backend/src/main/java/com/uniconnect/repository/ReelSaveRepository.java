@@ -0,0 +1,21 @@
+package com.uniconnect.repository;
+
+import com.uniconnect.model.ReelSave;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ReelSaveRepository extends MongoRepository<ReelSave, String> {
+    boolean existsByReelIdAndStudentId(String reelId, String studentId);
+
+    List<ReelSave> findByStudentIdAndReelIdIn(String studentId, Collection<String> reelIds);
+
+    long countByReelId(String reelId);
+
+    long deleteByReelIdAndStudentId(String reelId, String studentId);
+
+    long deleteByReelId(String reelId);
+}
@@ -3,6 +3,7 @@ package com.uniconnect.repository;
 import com.uniconnect.model.Student;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,4 +13,8 @@ public interface StudentRepository extends MongoRepository<Student, String> {
     boolean existsByEmail(String email);
 
     List<Student> findByEmailContainingIgnoreCase(String email);
+
+    List<Student> findByEmailIn(Collection<String> emails);
+
+    List<Student> findByRollNumberIn(Collection<String> rollNumbers);
 }
@@ -0,0 +1,215 @@
+package com.uniconnect.service;
+
+import com.uniconnect.model.Faculty;
+import com.uniconnect.model.Student;
+import com.uniconnect.repository.FacultyRepository;
+import com.uniconnect.repository.StudentRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Cached directory of display info (name, branch, year, avatar) for students and faculty.
+ *
+ * Mappers that render many authors at once (reel feed, chat, projects) resolve a whole page of
+ * ids/emails with one findAllById / findByEmailIn per collection; repeated lookups are served from
+ * a bounded TTL cache that the profile services invalidate on update.
+ */
+@Component
+public class AuthorDirectory {
+    public static final String ROLE_STUDENT = "STUDENT";
+    public static final String ROLE_FACULTY = "FACULTY";
+
+    private final StudentRepository studentRepository;
+    private final FacultyRepository facultyRepository;
+
+    private final long ttlMillis;
+    private final Map<String, CacheEntry> studentsById;
+    private final Map<String, CacheEntry> facultyById;
+    private final Map<String, CacheEntry> byEmail;
+
+    public AuthorDirectory(StudentRepository studentRepository,
+                           FacultyRepository facultyRepository,
+                           @Value("${authors.cache.max-entries:10000}") int maxEntries,
+                           @Value("${authors.cache.ttl-seconds:600}") long ttlSeconds) {
+        this.studentRepository = studentRepository;
+        this.facultyRepository = facultyRepository;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.studentsById = boundedCache(maxEntries);
+        this.facultyById = boundedCache(maxEntries);
+        this.byEmail = boundedCache(maxEntries);
+    }
+
+    /**
+     * Students by id; ids that do not exist are simply absent from the result.
+     */
+    public Map<String, Author> findStudentsByIds(Collection<String> ids) {
+        return resolve(ids, studentsById, missing -> {
+            List<Author> found = new ArrayList<>();
+            studentRepository.findAllById(missing).forEach(s -> found.add(Author.of(s)));
+            return found;
+        }, Author::getId);
+    }
+
+    /**
+     * Faculty by id; ids that do not exist are simply absent from the result.
+     */
+    public Map<String, Author> findFacultyByIds(Collection<String> ids) {
+        return resolve(ids, facultyById, missing -> {
+            List<Author> found = new ArrayList<>();
+            facultyRepository.findAllById(missing).forEach(f -> found.add(Author.of(f)));
+            return found;
+        }, Author::getId);
+    }
+
+    /**
+     * Students or faculty by email (students win if an email exists in both collections).
+     */
+    public Map<String, Author> findByEmails(Collection<String> emails) {
+        return resolve(emails, byEmail, missing -> {
+            List<Author> found = new ArrayList<>();
+            Set<String> seen = new HashSet<>();
+            for (Student s : studentRepository.findByEmailIn(missing)) {
+                if (seen.add(s.getEmail())) found.add(Author.of(s));
+            }
+            for (Faculty f : facultyRepository.findByEmailIn(missing)) {
+                if (seen.add(f.getEmail())) found.add(Author.of(f));
+            }
+            return found;
+        }, Author::getEmail);
+    }
+
+    public Optional<Author> findByEmail(String email) {
+        if (email == null) return Optional.empty();
+        return Optional.ofNullable(findByEmails(List.of(email)).get(email));
+    }
+
+    public Optional<Author> findStudentById(String id) {
+        if (id == null) return Optional.empty();
+        return Optional.ofNullable(findStudentsByIds(List.of(id)).get(id));
+    }
+
+    public Optional<Author> findFacultyById(String id) {
+        if (id == null) return Optional.empty();
+        return Optional.ofNullable(findFacultyByIds(List.of(id)).get(id));
+    }
+
+    /**
+     * Resolves a chat-style user id, which is usually an email but may be a student ObjectId.
+     */
+    public Optional<Author> findByUserId(String userId) {
+        if (userId == null) return Optional.empty();
+        Optional<Author> author = findByEmail(userId);
+        return author.isPresent() || userId.contains("@") ? author : findStudentById(userId);
+    }
+
+    public void invalidate(Student student) {
+        if (student == null) return;
+        if (student.getId() != null) studentsById.remove(student.getId());
+        if (student.getEmail() != null) byEmail.remove(student.getEmail());
+    }
+
+    public void invalidate(Faculty faculty) {
+        if (faculty == null) return;
+        if (faculty.getId() != null) facultyById.remove(faculty.getId());
+        if (faculty.getEmail() != null) byEmail.remove(faculty.getEmail());
+    }
+
+    private Map<String, Author> resolve(Collection<String> keys, Map<String, CacheEntry> cache,
+                                        Function<List<String>, List<Author>> loader,
+                                        Function<Author, String> keyOf) {
+        Map<String, Author> result = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+        long now = System.currentTimeMillis();
+        for (String key : new LinkedHashSet<>(keys)) {
+            if (key == null) continue;
+            CacheEntry entry = cache.get(key);
+            if (entry != null && entry.expiresAt > now) {
+                if (entry.author != null) result.put(key, entry.author);
+            } else {
+                missing.add(key);
+            }
+        }
+        if (missing.isEmpty()) return result;
+
+        long expiresAt = now + ttlMillis;
+        Map<String, Author> loaded = new HashMap<>();
+        for (Author author : loader.apply(missing)) {
+            loaded.put(keyOf.apply(author), author);
+        }
+        for (String key : missing) {
+            Author author = loaded.get(key);
+            // Unknown keys are cached too so a missing uploader is not re-queried on every page
+            cache.put(key, new CacheEntry(author, expiresAt));
+            if (author != null) result.put(key, author);
+        }
+        return result;
+    }
+
+    private static Map<String, CacheEntry> boundedCache(int maxEntries) {
+        return Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CacheEntry> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    private record CacheEntry(Author author, long expiresAt) {}
+
+    /**
+     * Display info of a student or faculty member. Fields may be null when not filled in.
+     */
+    public static class Author {
+        private final String id;
+        private final String email;
+        private final String name;
+        private final String branch;
+        private final String year;
+        private final String avatarUrl;
+        private final String rollNumber;
+        private final String role;
+
+        private Author(String id, String email, String name, String branch, String year,
+                       String avatarUrl, String rollNumber, String role) {
+            this.id = id;
+            this.email = email;
+            this.name = name;
+            this.branch = branch;
+            this.year = year;
+            this.avatarUrl = avatarUrl;
+            this.rollNumber = rollNumber;
+            this.role = role;
+        }
+
+        static Author of(Student s) {
+            return new Author(s.getId(), s.getEmail(), s.getName(), s.getBranch(), s.getYear(),
+                    s.getAvatarUrl(), s.getRollNumber(), ROLE_STUDENT);
+        }
+
+        static Author of(Faculty f) {
+            return new Author(f.getId(), f.getEmail(), f.getName(), f.getDepartment(), null,
+                    f.getAvatarUrl(), null, ROLE_FACULTY);
+        }
+
+        public String getId() { return id; }
+        public String getEmail() { return email; }
+        public String getName() { return name; }
+        public String getBranch() { return branch; }
+        public String getYear() { return year; }
+        public String getAvatarUrl() { return avatarUrl; }
+        public String getRollNumber() { return rollNumber; }
+        public String getRole() { return role; }
+        public boolean isFaculty() { return ROLE_FACULTY.equals(role); }
+
+        /**
+         * Name to show, falling back to the local part of the email.
+         */
+        public String getDisplayName() {
+            if (name != null && !name.isEmpty()) return name;
+            return email != null ? email.split("@")[0] : "";
+        }
+    }
+}
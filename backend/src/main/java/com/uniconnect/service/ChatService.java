@@ -1,10 +1,10 @@
 package com.uniconnect.service;
 
-import com.cloudinary.Cloudinary;
-import com.cloudinary.utils.ObjectUtils;
 import com.uniconnect.dto.ConversationResponse;
 import com.uniconnect.dto.GroupResponse;
+import com.uniconnect.dto.MessagePageResponse;
 import com.uniconnect.dto.MessageResponse;
+import com.uniconnect.dto.MessageSearchResponse;
 import com.uniconnect.model.ChatGroup;
 import com.uniconnect.model.Conversation;
 import com.uniconnect.model.Message;
@@ -16,13 +16,29 @@ import com.uniconnect.repository.FacultyRepository;
 import com.uniconnect.repository.FollowRequestRepository;
 import com.uniconnect.repository.MessageRepository;
 import com.uniconnect.repository.StudentRepository;
+import com.uniconnect.websocket.ChatWebSocketHandler;
+import com.uniconnect.websocket.GroupMembers;
+import com.uniconnect.websocket.PresenceRegistry;
+import com.uniconnect.websocket.PresenceSubscriptions;
+import org.bson.types.ObjectId;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.regex.Matcher;
 import java.util.stream.Collectors;
 
 @Service
@@ -34,7 +50,22 @@ public class ChatService {
     private final StudentRepository studentRepository;
     private final FacultyRepository facultyRepository;
     private final FollowRequestRepository followRequestRepository;
-    private final Cloudinary cloudinary;
+    private final ChatUploadService chatUploadService;
+    private final AuthorDirectory authorDirectory;
+    private final MessageWriteBuffer messageWriteBuffer;
+    private final PresenceRegistry presenceRegistry;
+    private final PresenceSubscriptions presenceSubscriptions;
+    private final MongoTemplate mongoTemplate;
+    private final UnreadCounterService unreadCounterService;
+    private final MessageArchive messageArchive;
+    private final MessageSearchIndex messageSearchIndex;
+    private final GroupMembers groupMembers;
+    private static final int DEFAULT_HISTORY_PAGE_SIZE = 50;
+    private static final int MAX_HISTORY_PAGE_SIZE = 200;
+    private static final int DEFAULT_SEARCH_PAGE_SIZE = 20;
+    private static final int MAX_SEARCH_PAGE_SIZE = 100;
+    private static final int SNIPPET_LENGTH = 160;
+    private static final int SNIPPET_LEAD = 40;
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("M/d/yyyy h:mm a");
 
     public ChatService(MessageRepository messageRepository, 
@@ -43,14 +74,32 @@ public class ChatService {
                       StudentRepository studentRepository,
                       FacultyRepository facultyRepository,
                       FollowRequestRepository followRequestRepository,
-                      Cloudinary cloudinary) {
+                      ChatUploadService chatUploadService,
+                      AuthorDirectory authorDirectory,
+                      MessageWriteBuffer messageWriteBuffer,
+                      PresenceRegistry presenceRegistry,
+                      PresenceSubscriptions presenceSubscriptions,
+                      MongoTemplate mongoTemplate,
+                      UnreadCounterService unreadCounterService,
+                      MessageArchive messageArchive,
+                      MessageSearchIndex messageSearchIndex,
+                      GroupMembers groupMembers) {
         this.messageRepository = messageRepository;
         this.conversationRepository = conversationRepository;
         this.chatGroupRepository = chatGroupRepository;
         this.studentRepository = studentRepository;
         this.facultyRepository = facultyRepository;
         this.followRequestRepository = followRequestRepository;
-        this.cloudinary = cloudinary;
+        this.chatUploadService = chatUploadService;
+        this.authorDirectory = authorDirectory;
+        this.messageWriteBuffer = messageWriteBuffer;
+        this.presenceRegistry = presenceRegistry;
+        this.presenceSubscriptions = presenceSubscriptions;
+        this.mongoTemplate = mongoTemplate;
+        this.unreadCounterService = unreadCounterService;
+        this.messageArchive = messageArchive;
+        this.messageSearchIndex = messageSearchIndex;
+        this.groupMembers = groupMembers;
     }
 
     // User Search - searches both students and faculty
@@ -95,79 +144,80 @@ public class ChatService {
         return results;
     }
 
-    // Helper to resolve user name from email
+    // Helper to resolve user name from email (or student id), served from the author cache
     private String resolveUserName(String userId) {
-        // Try finding by email first (most reliable)
-        Optional<Student> studentByEmail = studentRepository.findByEmail(userId);
-        if (studentByEmail.isPresent()) {
-            return studentByEmail.get().getName() != null ? studentByEmail.get().getName() : userId.split("@")[0];
-        }
-        // Try faculty
-        Optional<Faculty> faculty = facultyRepository.findByEmail(userId);
-        if (faculty.isPresent()) {
-            return userId.split("@")[0];
-        }
-        // Try by MongoDB ObjectId
-        Optional<Student> studentById = studentRepository.findById(userId);
-        if (studentById.isPresent()) {
-            return studentById.get().getName() != null ? studentById.get().getName() : studentById.get().getEmail().split("@")[0];
-        }
-        return userId.split("@")[0];
+        return authorDirectory.findByUserId(userId)
+                .map(AuthorDirectory.Author::getDisplayName)
+                .orElse(userId.split("@")[0]);
     }
 
     private String resolveUserEmail(String userId) {
         if (userId.contains("@")) return userId;
-        Optional<Student> student = studentRepository.findById(userId);
-        return student.map(Student::getEmail).orElse(userId);
+        return authorDirectory.findStudentById(userId)
+                .map(AuthorDirectory.Author::getEmail)
+                .orElse(userId);
     }
 
     // Get or Create Conversation
     public ConversationResponse getOrCreateConversation(String userId1, String userId2) {
+        String pairKey = Conversation.pairKey(userId1, userId2);
+        Conversation conversation = conversationRepository.findByPairKey(pairKey)
+                .orElseGet(() -> createConversation(pairKey, userId1, userId2));
+
+        return convertToConversationResponse(conversation, userId1,
+                unreadCounterService.unreadCount(userId1, conversation.getId()));
+    }
+
+    /**
+     * Inserts the pair's conversation unless it exists, as one upsert on the unique pairKey, so two
+     * concurrent "start chat" requests end up in the same conversation.
+     */
+    private Conversation createConversation(String pairKey, String userId1, String userId2) {
         List<String> participantIds = Arrays.asList(userId1, userId2);
         Collections.sort(participantIds);
 
-        // Check if conversation exists
-        List<Conversation> conversations = conversationRepository.findByParticipantIdsContainingOrderByLastMessageTimeDesc(userId1);
-        Optional<Conversation> existingConv = conversations.stream()
-                .filter(conv -> conv.getParticipantIds().containsAll(participantIds) && conv.getParticipantIds().size() == 2)
-                .findFirst();
-
-        Conversation conversation;
-        if (existingConv.isPresent()) {
-            conversation = existingConv.get();
-        } else {
-            // Create new conversation
-            conversation = new Conversation();
-            conversation.setParticipantIds(participantIds);
-            
-            // Resolve participant info from both student and faculty tables
-            String name1 = resolveUserName(userId1);
-            String email1 = resolveUserEmail(userId1);
-            String name2 = resolveUserName(userId2);
-            String email2 = resolveUserEmail(userId2);
-            
-            Conversation.ParticipantInfo p1 = new Conversation.ParticipantInfo(userId1, name1, email1);
-            Conversation.ParticipantInfo p2 = new Conversation.ParticipantInfo(userId2, name2, email2);
-            conversation.getParticipants().add(p1);
-            conversation.getParticipants().add(p2);
-            
-            conversation = conversationRepository.save(conversation);
+        // Resolve participant info from both student and faculty tables
+        List<Conversation.ParticipantInfo> participants = List.of(
+                new Conversation.ParticipantInfo(userId1, resolveUserName(userId1), resolveUserEmail(userId1)),
+                new Conversation.ParticipantInfo(userId2, resolveUserName(userId2), resolveUserEmail(userId2)));
+
+        LocalDateTime now = LocalDateTime.now();
+        Query byPair = new Query(Criteria.where("pairKey").is(pairKey));
+        Update insert = new Update()
+                .setOnInsert("participantIds", participantIds)
+                .setOnInsert("participants", participants)
+                .setOnInsert("createdAt", now)
+                .setOnInsert("updatedAt", now)
+                .setOnInsert("archived", false);
+        Conversation existing;
+        try {
+            existing = mongoTemplate.findAndModify(byPair, insert,
+                    FindAndModifyOptions.options().upsert(true).returnNew(false), Conversation.class);
+        } catch (DuplicateKeyException e) {
+            // Lost the race to a concurrent upsert of the same pair
+            existing = mongoTemplate.findOne(byPair, Conversation.class);
+        }
+        if (existing != null) {
+            return existing;
         }
 
-        return convertToConversationResponse(conversation, userId1);
+        presenceSubscriptions.addContacts(userId1, List.of(userId2));
+        presenceSubscriptions.addContacts(userId2, List.of(userId1));
+        return mongoTemplate.findOne(byPair, Conversation.class);
     }
 
     // Get User Conversations
     public List<ConversationResponse> getUserConversations(String userId) {
         List<Conversation> conversations = conversationRepository.findByParticipantIdsContainingOrderByLastMessageTimeDesc(userId);
+        Map<String, Integer> unreadCounts = unreadCounterService.unreadCounts(userId);
         return conversations.stream()
-                .map(conv -> convertToConversationResponse(conv, userId))
+                .map(conv -> convertToConversationResponse(conv, userId, unreadCounts.getOrDefault(conv.getId(), 0)))
                 .collect(Collectors.toList());
     }
 
     // Send Message
     public MessageResponse sendMessage(String conversationId, String senderId, String content, String type, 
-                                      String fileUrl, String fileName, Long fileSize) {
+                                      String fileUrl, String fileName, Long fileSize, String replyToMessageId) {
         Message message = new Message();
         message.setConversationId(conversationId);
         message.setSenderId(senderId);
@@ -176,23 +226,16 @@ public class ChatService {
         message.setFileUrl(fileUrl);
         message.setFileName(fileName);
         message.setFileSize(fileSize);
+        message.setReplyToMessageId(replyToMessageId);
 
         // Resolve sender info from student or faculty
         message.setSenderName(resolveUserName(senderId));
         message.setSenderEmail(resolveUserEmail(senderId));
 
         message = messageRepository.save(message);
-
-        // Update conversation
-        Optional<Conversation> convOpt = conversationRepository.findById(conversationId);
-        if (convOpt.isPresent()) {
-            Conversation conv = convOpt.get();
-            conv.setLastMessage(content);
-            conv.setLastMessageId(message.getId());
-            conv.setLastMessageTime(message.getTimestamp());
-            conv.setUpdatedAt(LocalDateTime.now());
-            conversationRepository.save(conv);
-        }
+        unreadCounterService.messagesSent(List.of(message));
+        messageSearchIndex.index(List.of(message));
+        updateLastMessage(Conversation.class, conversationId, message);
 
         return convertToMessageResponse(message);
     }
@@ -214,53 +257,266 @@ public class ChatService {
         message.setSenderEmail(resolveUserEmail(senderId));
 
         message = messageRepository.save(message);
+        unreadCounterService.messagesSent(List.of(message));
+        messageSearchIndex.index(List.of(message));
+        updateLastMessage(ChatGroup.class, groupId, message);
 
-        // Update group
-        Optional<ChatGroup> groupOpt = chatGroupRepository.findById(groupId);
-        if (groupOpt.isPresent()) {
-            ChatGroup group = groupOpt.get();
-            group.setLastMessage(content);
-            group.setLastMessageId(message.getId());
-            group.setLastMessageTime(message.getTimestamp());
-            group.setUpdatedAt(LocalDateTime.now());
-            chatGroupRepository.save(group);
-        }
+        return convertToMessageResponse(message);
+    }
 
+    // $set of the chat's lastMessage* fields only, so a concurrent member or name change is not overwritten;
+    // never moves them backwards past a newer message written by the WebSocket buffer
+    private void updateLastMessage(Class<?> type, String chatId, Message message) {
+        Query query = new Query(new Criteria().andOperator(
+                Criteria.where("_id").is(chatId),
+                new Criteria().orOperator(
+                        Criteria.where("lastMessageTime").is(null),
+                        Criteria.where("lastMessageTime").lte(message.getTimestamp()))));
+        mongoTemplate.updateFirst(query, new Update()
+                .set("lastMessage", message.getContent())
+                .set("lastMessageId", message.getId())
+                .set("lastMessageTime", message.getTimestamp())
+                .set("updatedAt", LocalDateTime.now()), type);
+    }
+
+    /**
+     * Persists a message received over the WebSocket through the write-behind buffer. The returned
+     * response already carries the message id and timestamp, so the sender can be acked right away.
+     * Exactly one of conversationId / groupId is expected to be set.
+     */
+    public MessageResponse queueMessage(String conversationId, String groupId, String senderId, String content,
+                                        String type, String fileUrl, String fileName, Long fileSize,
+                                        String replyToMessageId) {
+        Message message = new Message();
+        message.setId(new ObjectId().toHexString());
+        message.setConversationId(conversationId);
+        message.setGroupId(groupId);
+        message.setSenderId(senderId);
+        message.setContent(content);
+        message.setType(type != null ? type : "text");
+        message.setFileUrl(fileUrl);
+        message.setFileName(fileName);
+        message.setFileSize(fileSize);
+        message.setReplyToMessageId(replyToMessageId);
+        message.setSenderName(resolveUserName(senderId));
+        message.setSenderEmail(resolveUserEmail(senderId));
+
+        messageWriteBuffer.enqueue(message);
         return convertToMessageResponse(message);
     }
 
+    public Map<String, Object> getWriteBufferStats() {
+        return messageWriteBuffer.stats();
+    }
+
+    public Map<String, Object> getArchiveStats() {
+        return messageArchive.stats();
+    }
+
     // Upload File
     public String uploadFile(MultipartFile file) throws IOException {
-        String originalFilename = file.getOriginalFilename();
-        String baseName = originalFilename != null && originalFilename.contains(".")
-            ? originalFilename.substring(0, originalFilename.lastIndexOf(".")) : "file";
-        String publicId = "uniconnect/chat/" + UUID.randomUUID() + "_" + baseName;
-
-        @SuppressWarnings("unchecked")
-        Map<String, Object> uploadResult = cloudinary.uploader().upload(file.getBytes(), ObjectUtils.asMap(
-            "resource_type", "auto",
-            "public_id", publicId,
-            "folder", "uniconnect"
-        ));
-        return (String) uploadResult.get("secure_url");
-    }
-
-    // Get Messages
-    public List<MessageResponse> getConversationMessages(String conversationId) {
-        List<Message> messages = messageRepository.findByConversationIdOrderByTimestampAsc(conversationId);
-        return messages.stream()
-                .map(this::convertToMessageResponse)
+        return chatUploadService.upload(file);
+    }
+
+    /**
+     * Searches the content of messages in the user's conversations and groups (or just chatId),
+     * newest first, with a snippet and highlight offsets for every hit.
+     */
+    public MessageSearchResponse searchMessages(String userId, String text, String chatId, Integer page, Integer size) {
+        int pageNumber = page == null || page < 0 ? 0 : page;
+        int pageSize = size == null || size <= 0 ? DEFAULT_SEARCH_PAGE_SIZE : Math.min(size, MAX_SEARCH_PAGE_SIZE);
+        MessageSearchIndex.Result result = messageSearchIndex.search(userId, text, chatId, pageNumber * pageSize, pageSize);
+
+        Map<String, Message> byId = new HashMap<>();
+        messageRepository.findAllById(result.messageIds()).forEach(m -> byId.put(m.getId(), m));
+        List<String> archived = result.messageIds().stream().filter(id -> !byId.containsKey(id)).collect(Collectors.toList());
+        if (!archived.isEmpty()) {
+            messageArchive.find(new Query(Criteria.where("_id").in(archived))).forEach(m -> byId.put(m.getId(), m));
+        }
+
+        List<String> terms = MessageSearchIndex.tokenize(text);
+        List<MessageSearchResponse.Hit> hits = result.messageIds().stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .map(message -> toSearchHit(message, terms))
                 .collect(Collectors.toList());
+        return new MessageSearchResponse(hits, result.total(), pageNumber, pageSize);
+    }
+
+    private MessageSearchResponse.Hit toSearchHit(Message message, List<String> terms) {
+        String content = message.getContent() != null ? message.getContent() : "";
+        String prefix = terms.get(terms.size() - 1);
+        Set<String> exact = new HashSet<>(terms);
+
+        // Token spans in the full content that match a query term
+        List<int[]> spans = new ArrayList<>();
+        Matcher matcher = MessageSearchIndex.TOKEN.matcher(content);
+        while (matcher.find()) {
+            String token = matcher.group().toLowerCase(Locale.ROOT);
+            if (exact.contains(token) || token.startsWith(prefix)) {
+                spans.add(new int[]{matcher.start(), matcher.end()});
+            }
+        }
+
+        // Window of SNIPPET_LENGTH characters starting a little before the first match
+        int start = 0;
+        int end = content.length();
+        if (content.length() > SNIPPET_LENGTH) {
+            int first = spans.isEmpty() ? 0 : spans.get(0)[0];
+            start = Math.max(0, Math.min(first - SNIPPET_LEAD, content.length() - SNIPPET_LENGTH));
+            end = start + SNIPPET_LENGTH;
+        }
+        String lead = start > 0 ? "…" : "";
+        String snippet = lead + content.substring(start, end) + (end < content.length() ? "…" : "");
+
+        List<MessageSearchResponse.Highlight> highlights = new ArrayList<>();
+        for (int[] span : spans) {
+            if (span[0] >= start && span[1] <= end) {
+                highlights.add(new MessageSearchResponse.Highlight(
+                        span[0] - start + lead.length(), span[1] - start + lead.length()));
+            }
+        }
+        return new MessageSearchResponse.Hit(convertToMessageResponse(message), snippet, highlights);
     }
 
-    // Get Group Messages
-    public List<MessageResponse> getGroupMessages(String groupId) {
-        List<Message> messages = messageRepository.findByGroupIdOrderByTimestampAsc(groupId);
-        return messages.stream()
+    // Get Messages (most recent page, oldest first)
+    public List<MessageResponse> getConversationMessages(String conversationId, Integer limit) {
+        return getMessagePage("conversationId", conversationId, null, null, limit).items();
+    }
+
+    // Get Group Messages (most recent page, oldest first)
+    public List<MessageResponse> getGroupMessages(String groupId, Integer limit) {
+        return getMessagePage("groupId", groupId, null, null, limit).items();
+    }
+
+    public MessagePageResponse getConversationMessagePage(String conversationId, String before, String after, Integer limit) {
+        return getMessagePage("conversationId", conversationId, before, after, limit);
+    }
+
+    public MessagePageResponse getGroupMessagePage(String groupId, String before, String after, Integer limit) {
+        return getMessagePage("groupId", groupId, before, after, limit);
+    }
+
+    public MessagePageResponse getConversationMessagesAround(String conversationId, String messageId, Integer limit) {
+        return getMessagesAround("conversationId", conversationId, messageId, limit);
+    }
+
+    public MessagePageResponse getGroupMessagesAround(String groupId, String messageId, Integer limit) {
+        return getMessagesAround("groupId", groupId, messageId, limit);
+    }
+
+    /**
+     * Keyset-paginated history on (timestamp, _id). Without a cursor this is the newest page; "before"
+     * scrolls towards older messages and "after" towards newer ones. Each page is one range scan on the
+     * conversation_history / group_history index, however long the chat is.
+     */
+    private MessagePageResponse getMessagePage(String chatField, String chatId, String before, String after, Integer limit) {
+        int pageSize = historyPageSize(limit);
+        if (after != null && !after.isEmpty()) {
+            List<Message> newer = fetchHistory(chatField, chatId, decodeHistoryCursor(after), true, pageSize + 1);
+            boolean hasNewer = newer.size() > pageSize;
+            return toHistoryPage(hasNewer ? newer.subList(0, pageSize) : newer, true, hasNewer);
+        }
+        MessageKey olderThan = before != null && !before.isEmpty() ? decodeHistoryCursor(before) : null;
+        List<Message> older = fetchHistory(chatField, chatId, olderThan, false, pageSize + 1);
+        boolean hasOlder = older.size() > pageSize;
+        List<Message> page = new ArrayList<>(hasOlder ? older.subList(0, pageSize) : older);
+        Collections.reverse(page);
+        return toHistoryPage(page, hasOlder, olderThan != null);
+    }
+
+    /**
+     * "Jump to message": a page centred on the given message, with cursors to keep scrolling either way.
+     */
+    private MessagePageResponse getMessagesAround(String chatField, String chatId, String messageId, Integer limit) {
+        int pageSize = historyPageSize(limit);
+        Message target = messageRepository.findById(messageId)
+                .or(() -> messageArchive.findById(messageId))
+                .filter(m -> chatId.equals("groupId".equals(chatField) ? m.getGroupId() : m.getConversationId()))
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Message not found in this chat"));
+        MessageKey key = new MessageKey(target.getTimestamp(), target.getId());
+
+        int olderCount = (pageSize - 1) / 2;
+        int newerCount = pageSize - 1 - olderCount;
+        List<Message> older = fetchHistory(chatField, chatId, key, false, olderCount + 1);
+        List<Message> newer = fetchHistory(chatField, chatId, key, true, newerCount + 1);
+        boolean hasOlder = older.size() > olderCount;
+        boolean hasNewer = newer.size() > newerCount;
+
+        List<Message> page = new ArrayList<>(hasOlder ? older.subList(0, olderCount) : older);
+        Collections.reverse(page);
+        page.add(target);
+        page.addAll(hasNewer ? newer.subList(0, newerCount) : newer);
+        return toHistoryPage(page, hasOlder, hasNewer);
+    }
+
+    /**
+     * Messages strictly older (newest first) or strictly newer (oldest first) than the key. Archived
+     * messages are all older than the hot ones, so scrolling up continues into the archive once the hot
+     * collection runs out, and scrolling down from an archived message drains the archive first.
+     */
+    private List<Message> fetchHistory(String chatField, String chatId, MessageKey key, boolean newer, int limit) {
+        if (newer) {
+            List<Message> page = new ArrayList<>();
+            if (key != null && messageArchive.mayHoldAfter(key.timestamp())) {
+                page.addAll(messageArchive.find(historyQuery(chatField, chatId, key, true, limit)));
+            }
+            if (page.size() < limit) {
+                page.addAll(mongoTemplate.find(historyQuery(chatField, chatId, key, true, limit - page.size()), Message.class));
+            }
+            return page;
+        }
+        List<Message> page = new ArrayList<>(mongoTemplate.find(historyQuery(chatField, chatId, key, false, limit), Message.class));
+        // Not gated on the local horizon, which may not have seen another node's latest run yet
+        if (page.size() < limit) {
+            page.addAll(messageArchive.find(historyQuery(chatField, chatId, key, false, limit - page.size())));
+        }
+        return page;
+    }
+
+    private Query historyQuery(String chatField, String chatId, MessageKey key, boolean newer, int limit) {
+        Criteria criteria = Criteria.where(chatField).is(chatId);
+        if (key != null) {
+            Object id = ObjectId.isValid(key.id()) ? new ObjectId(key.id()) : key.id();
+            criteria = criteria.orOperator(
+                    newer ? Criteria.where("timestamp").gt(key.timestamp()) : Criteria.where("timestamp").lt(key.timestamp()),
+                    new Criteria().andOperator(Criteria.where("timestamp").is(key.timestamp()),
+                            newer ? Criteria.where("_id").gt(id) : Criteria.where("_id").lt(id)));
+        }
+        Sort.Direction direction = newer ? Sort.Direction.ASC : Sort.Direction.DESC;
+        return new Query(criteria).with(Sort.by(direction, "timestamp", "_id")).limit(limit);
+    }
+
+    private MessagePageResponse toHistoryPage(List<Message> page, boolean hasOlder, boolean hasNewer) {
+        List<MessageResponse> items = page.stream()
                 .map(this::convertToMessageResponse)
                 .collect(Collectors.toList());
+        String olderCursor = page.isEmpty() ? null : encodeHistoryCursor(page.get(0));
+        String newerCursor = page.isEmpty() ? null : encodeHistoryCursor(page.get(page.size() - 1));
+        return new MessagePageResponse(items, olderCursor, newerCursor, hasOlder, hasNewer);
+    }
+
+    private int historyPageSize(Integer limit) {
+        return limit == null || limit <= 0 ? DEFAULT_HISTORY_PAGE_SIZE : Math.min(limit, MAX_HISTORY_PAGE_SIZE);
+    }
+
+    // Cursor format (base64url): "<timestamp>|<messageId>"
+    static String encodeHistoryCursor(Message message) {
+        String raw = message.getTimestamp() + "|" + message.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static MessageKey decodeHistoryCursor(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", 2);
+            return new MessageKey(LocalDateTime.parse(parts[0]), parts[1]);
+        } catch (RuntimeException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
     }
 
+    record MessageKey(LocalDateTime timestamp, String id) {}
+
     // Create Group
     public GroupResponse createGroup(String name, String description, String createdBy, List<String> memberIds) {
         ChatGroup group = new ChatGroup();
@@ -269,6 +525,11 @@ public class ChatService {
         group.setCreatedBy(createdBy);
         group.getAdminIds().add(createdBy);
 
+        // Resolve all members in one batch instead of one lookup per member
+        List<String> lookupIds = new ArrayList<>(memberIds);
+        lookupIds.add(createdBy);
+        authorDirectory.findByEmails(lookupIds);
+
         // Add creator as admin (use email-based lookup)
         String creatorEmail = resolveUserEmail(createdBy);
         String creatorName = resolveUserName(createdBy);
@@ -296,7 +557,10 @@ public class ChatService {
         }
 
         group = chatGroupRepository.save(group);
-        return convertToGroupResponse(group, createdBy);
+        List<String> memberUserIds = group.getMembers().stream().map(ChatGroup.GroupMember::getUserId).collect(Collectors.toList());
+        unreadCounterService.seedWatermarks(group.getId(), memberUserIds, LocalDateTime.now());
+        memberUserIds.forEach(member -> presenceSubscriptions.addContacts(member, memberUserIds));
+        return convertToGroupResponse(group, createdBy, 0);
     }
 
     // Get User Groups
@@ -307,12 +571,13 @@ public class ChatService {
             
             List<ChatGroup> groups = chatGroupRepository.findByMembersUserId(userId);
             System.out.println("Found " + groups.size() + " groups");
+            Map<String, Integer> unreadCounts = unreadCounterService.unreadCounts(userId);
             
             List<GroupResponse> responses = new ArrayList<>();
             for (ChatGroup group : groups) {
                 try {
                     System.out.println("Converting group: " + group.getId() + " - " + group.getName());
-                    GroupResponse response = convertToGroupResponse(group, userId);
+                    GroupResponse response = convertToGroupResponse(group, userId, unreadCounts.getOrDefault(group.getId(), 0));
                     responses.add(response);
                 } catch (Exception e) {
                     System.err.println("Error converting group " + group.getId() + ": " + e.getMessage());
@@ -351,6 +616,13 @@ public class ChatService {
                 );
                 group.getMembers().add(newMember);
                 chatGroupRepository.save(group);
+                groupMembers.invalidate(groupId);
+                // Messages from before they joined are not unread for them
+                unreadCounterService.seedWatermarks(groupId, List.of(memberEmail), LocalDateTime.now());
+
+                List<String> memberUserIds = group.getMembers().stream().map(ChatGroup.GroupMember::getUserId).collect(Collectors.toList());
+                presenceSubscriptions.addContacts(memberEmail, memberUserIds);
+                memberUserIds.forEach(member -> presenceSubscriptions.addContacts(member, List.of(memberEmail)));
             }
         }
     }
@@ -362,6 +634,7 @@ public class ChatService {
             ChatGroup group = groupOpt.get();
             group.getMembers().removeIf(m -> m.getUserId().equals(userId));
             chatGroupRepository.save(group);
+            groupMembers.invalidate(groupId);
         }
     }
 
@@ -382,18 +655,74 @@ public class ChatService {
         }
     }
 
-    // Mark Messages as Read
+    /**
+     * Advances the reader's watermark with one upsert. The legacy Message.read flag (still shown by
+     * older clients) is set with a single updateMany instead of rewriting each message.
+     */
     public void markMessagesAsRead(String conversationId, String userId) {
-        List<Message> unreadMessages = messageRepository.findByConversationIdAndReadFalseAndSenderIdNot(conversationId, userId);
-        unreadMessages.forEach(msg -> msg.setRead(true));
-        messageRepository.saveAll(unreadMessages);
+        LocalDateTime now = LocalDateTime.now();
+        unreadCounterService.markRead(userId, conversationId, now);
+        Query unread = new Query(Criteria.where("conversationId").is(conversationId)
+                .and("read").is(false)
+                .and("senderId").ne(userId)
+                .and("timestamp").lte(now));
+        mongoTemplate.updateMulti(unread, new Update().set("read", true), Message.class);
     }
 
-    // Mark Group Messages as Read
+    /**
+     * Advances the member's watermark only. One flag cannot say which members have read a group
+     * message, so group read state lives in the watermarks alone (see getGroupReadState and
+     * getGroupMessageSeenBy) and Message.read stays false on group messages.
+     */
     public void markGroupMessagesAsRead(String groupId, String userId) {
-        List<Message> unreadMessages = messageRepository.findByGroupIdAndReadFalseAndSenderIdNot(groupId, userId);
-        unreadMessages.forEach(msg -> msg.setRead(true));
-        messageRepository.saveAll(unreadMessages);
+        unreadCounterService.markRead(userId, groupId, LocalDateTime.now());
+    }
+
+    /**
+     * Read state of a group from its members' watermarks: who has read up to when, so clients can
+     * show "seen by N" on every message without message documents being touched.
+     */
+    public Map<String, Object> getGroupReadState(String groupId) {
+        ChatGroup group = chatGroupRepository.findById(groupId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Group not found"));
+        List<String> memberIds = group.getMembers().stream().map(ChatGroup.GroupMember::getUserId).collect(Collectors.toList());
+        Map<String, String> lastReadAt = new LinkedHashMap<>();
+        unreadCounterService.readWatermarks(groupId, memberIds)
+                .forEach((userId, readAt) -> lastReadAt.put(userId, readAt.toString()));
+
+        Map<String, Object> state = new LinkedHashMap<>();
+        state.put("groupId", groupId);
+        state.put("memberCount", memberIds.size());
+        state.put("lastReadAt", lastReadAt);
+        return state;
+    }
+
+    /**
+     * Members (other than the sender) whose read watermark is at or after the message.
+     */
+    public Map<String, Object> getGroupMessageSeenBy(String groupId, String messageId) {
+        ChatGroup group = chatGroupRepository.findById(groupId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Group not found"));
+        Message message = messageRepository.findById(messageId)
+                .or(() -> messageArchive.findById(messageId))
+                .filter(m -> groupId.equals(m.getGroupId()))
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Message not found in this group"));
+        List<String> recipients = group.getMembers().stream()
+                .map(ChatGroup.GroupMember::getUserId)
+                .filter(userId -> !userId.equals(message.getSenderId()))
+                .collect(Collectors.toList());
+        List<String> seenBy = unreadCounterService.readWatermarks(groupId, recipients).entrySet().stream()
+                .filter(e -> !e.getValue().isBefore(message.getTimestamp()))
+                .map(Map.Entry::getKey)
+                .sorted()
+                .collect(Collectors.toList());
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("messageId", messageId);
+        summary.put("seenCount", seenBy.size());
+        summary.put("recipientCount", recipients.size());
+        summary.put("seenBy", seenBy);
+        return summary;
     }
 
     // Edit Message
@@ -406,19 +735,31 @@ public class ChatService {
                 message.setEdited(true);
                 message.setEditedAt(LocalDateTime.now());
                 message = messageRepository.save(message);
+                messageSearchIndex.index(List.of(message));
                 return convertToMessageResponse(message);
             }
+            return null;
         }
-        return null;
+        // Older than the hot window: edit it where it is
+        Optional<Message> archived = messageArchive.findById(messageId)
+                .filter(m -> m.getSenderId().equals(userId))
+                .flatMap(m -> messageArchive.edit(messageId, newContent, LocalDateTime.now()));
+        archived.ifPresent(message -> messageSearchIndex.index(List.of(message)));
+        return archived.map(this::convertToMessageResponse).orElse(null);
     }
 
     // Delete Message
     public boolean deleteMessage(String messageId, String userId) {
-        Optional<Message> messageOpt = messageRepository.findById(messageId);
+        Optional<Message> messageOpt = messageRepository.findById(messageId)
+                .or(() -> messageArchive.findById(messageId));
         if (messageOpt.isPresent()) {
             Message message = messageOpt.get();
             if (message.getSenderId().equals(userId)) {
                 messageRepository.delete(message);
+                // Also when found in messages: an archive run may have copied it already
+                messageArchive.remove(messageId);
+                messageSearchIndex.remove(messageId);
+                unreadCounterService.messageDeleted(message);
                 return true;
             }
         }
@@ -427,7 +768,7 @@ public class ChatService {
 
     // Get online users
     public List<String> getOnlineUsers() {
-        return com.uniconnect.websocket.ChatWebSocketHandler.getOnlineUsers();
+        return presenceRegistry.onlineUsers(ChatWebSocketHandler.SCOPE);
     }
 
     // Converters
@@ -471,7 +812,7 @@ public class ChatService {
         return response;
     }
 
-    private ConversationResponse convertToConversationResponse(Conversation conversation, String currentUserId) {
+    private ConversationResponse convertToConversationResponse(Conversation conversation, String currentUserId, int unreadCount) {
         ConversationResponse response = new ConversationResponse();
         response.setId(conversation.getId());
         response.setLastMessage(conversation.getLastMessage());
@@ -480,9 +821,7 @@ public class ChatService {
             response.setLastMessageTime(conversation.getLastMessageTime().format(DATE_FORMATTER));
         }
 
-        // Get unread count
-        long unreadCount = messageRepository.countByConversationIdAndReadFalseAndSenderIdNot(conversation.getId(), currentUserId);
-        response.setUnreadCount((int) unreadCount);
+        response.setUnreadCount(unreadCount);
 
         // Convert participants
         List<ConversationResponse.ParticipantInfo> participantInfos = conversation.getParticipants().stream()
@@ -510,7 +849,7 @@ public class ChatService {
         return response;
     }
 
-    private GroupResponse convertToGroupResponse(ChatGroup group, String currentUserId) {
+    private GroupResponse convertToGroupResponse(ChatGroup group, String currentUserId, int unreadCount) {
         GroupResponse response = new GroupResponse();
         response.setId(group.getId());
         response.setName(group.getName());
@@ -525,9 +864,7 @@ public class ChatService {
             response.setLastMessageTime(group.getLastMessageTime().format(DATE_FORMATTER));
         }
 
-        // Get unread count
-        long unreadCount = messageRepository.countByGroupIdAndReadFalseAndSenderIdNot(group.getId(), currentUserId);
-        response.setUnreadCount((int) unreadCount);
+        response.setUnreadCount(unreadCount);
 
         // Convert members
         List<GroupResponse.GroupMemberInfo> memberInfos = group.getMembers().stream()
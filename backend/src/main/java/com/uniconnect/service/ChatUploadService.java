@@ -0,0 +1,247 @@
+package com.uniconnect.service;
+
+import com.cloudinary.Cloudinary;
+import com.cloudinary.utils.ObjectUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Chat file uploads, spooled to local disk and streamed to Cloudinary from there, so the heap never
+ * holds a whole file.
+ *
+ * Large files go through resumable sessions: the client starts an upload, PUTs the file in chunks at
+ * increasing offsets and completes it. A dropped connection keeps every byte that reached the disk;
+ * the client asks for the status and continues at the returned offset. Each user may have at most
+ * chat.upload.max-concurrent-per-user sessions open, and idle sessions expire after
+ * chat.upload.session-ttl-ms. Sessions live on the node that started them.
+ */
+@Service
+public class ChatUploadService {
+    private static final int COPY_BUFFER_BYTES = 64 * 1024;
+
+    private final Cloudinary cloudinary;
+    private final Map<String, Upload> uploads = new ConcurrentHashMap<>();
+
+    @Value("${chat.upload.spool-dir:${java.io.tmpdir}/uniconnect-uploads}")
+    private String spoolDir;
+
+    @Value("${chat.upload.max-size-bytes:524288000}")
+    private long maxSizeBytes;
+
+    @Value("${chat.upload.chunk-bytes:8388608}")
+    private long chunkBytes;
+
+    @Value("${chat.upload.max-concurrent-per-user:3}")
+    private int maxConcurrentPerUser;
+
+    @Value("${chat.upload.session-ttl-ms:3600000}")
+    private long sessionTtlMs;
+
+    // Size of the parts sent to Cloudinary for large files (its minimum is 5MB)
+    @Value("${chat.upload.storage-part-bytes:20971520}")
+    private int storagePartBytes;
+
+    public ChatUploadService(Cloudinary cloudinary) {
+        this.cloudinary = cloudinary;
+    }
+
+    /**
+     * Single-request upload: the multipart file is moved to the spool directory and streamed from there.
+     */
+    public String upload(MultipartFile file) throws IOException {
+        Path spooled = newSpoolFile();
+        try {
+            file.transferTo(spooled);
+            return store(spooled, file.getOriginalFilename(), file.getSize());
+        } finally {
+            Files.deleteIfExists(spooled);
+        }
+    }
+
+    public Map<String, Object> start(String userId, String fileName, long size) throws IOException {
+        if (size <= 0 || size > maxSizeBytes) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, "File size must be between 1 and " + maxSizeBytes + " bytes");
+        }
+        synchronized (uploads) {
+            long open = uploads.values().stream().filter(u -> u.userId.equals(userId)).count();
+            if (open >= maxConcurrentPerUser) {
+                throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS,
+                        "At most " + maxConcurrentPerUser + " uploads can be in progress at once");
+            }
+            Upload upload = new Upload(UUID.randomUUID().toString(), userId, fileName, size, newSpoolFile());
+            uploads.put(upload.id, upload);
+            return status(upload);
+        }
+    }
+
+    public Map<String, Object> status(String uploadId, String userId) {
+        Upload upload = find(uploadId, userId);
+        synchronized (upload) {
+            return status(upload);
+        }
+    }
+
+    /**
+     * Appends one chunk, streamed from the request body straight into the spool file. The offset
+     * must equal the bytes received so far; a retried chunk after a timeout therefore gets a 409
+     * with the current status instead of being written twice.
+     */
+    public Map<String, Object> writeChunk(String uploadId, String userId, long offset, InputStream body) throws IOException {
+        Upload upload = find(uploadId, userId);
+        synchronized (upload) {
+            if (offset != upload.received) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "Expected offset " + upload.received);
+            }
+            long limit = Math.min(chunkBytes, upload.size - offset);
+            long written = 0;
+            try (FileChannel out = FileChannel.open(upload.file, StandardOpenOption.WRITE);
+                 ReadableByteChannel in = Channels.newChannel(body)) {
+                out.position(offset);
+                ByteBuffer buffer = ByteBuffer.allocate(COPY_BUFFER_BYTES);
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    if (written + read > limit) {
+                        throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                                "Chunk exceeds " + limit + " bytes at offset " + offset);
+                    }
+                    buffer.flip();
+                    while (buffer.hasRemaining()) {
+                        written += out.write(buffer);
+                    }
+                    buffer.clear();
+                }
+            } finally {
+                // Whatever reached the disk counts, so a dropped connection resumes where it stopped
+                upload.received = offset + written;
+                upload.lastActivity = System.currentTimeMillis();
+            }
+            return status(upload);
+        }
+    }
+
+    public Map<String, String> complete(String uploadId, String userId) throws IOException {
+        Upload upload = find(uploadId, userId);
+        synchronized (upload) {
+            if (upload.received != upload.size) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT,
+                        "Upload incomplete: " + upload.received + " of " + upload.size + " bytes received");
+            }
+            String url = store(upload.file, upload.fileName, upload.size);
+            discard(upload);
+            return Map.of(
+                "url", url,
+                "filename", upload.fileName,
+                "size", String.valueOf(upload.size)
+            );
+        }
+    }
+
+    public void abort(String uploadId, String userId) {
+        Upload upload = find(uploadId, userId);
+        synchronized (upload) {
+            discard(upload);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${chat.upload.cleanup-interval-ms:600000}")
+    public void expireIdleUploads() {
+        long deadline = System.currentTimeMillis() - sessionTtlMs;
+        for (Upload upload : uploads.values()) {
+            if (upload.lastActivity < deadline) {
+                synchronized (upload) {
+                    if (upload.lastActivity < deadline) {
+                        System.out.println("🗑️ Expiring idle chat upload " + upload.id + " (" + upload.fileName + ")");
+                        discard(upload);
+                    }
+                }
+            }
+        }
+    }
+
+    private String store(Path file, String originalFilename, long size) throws IOException {
+        String baseName = originalFilename != null && originalFilename.contains(".")
+            ? originalFilename.substring(0, originalFilename.lastIndexOf(".")) : "file";
+        String publicId = "uniconnect/chat/" + UUID.randomUUID() + "_" + baseName;
+        Map<?, ?> options = ObjectUtils.asMap(
+            "resource_type", "auto",
+            "public_id", publicId,
+            "folder", "uniconnect"
+        );
+
+        // Both read from the file; uploadLarge sends it in storage-part-bytes parts
+        Map<?, ?> uploadResult = size > storagePartBytes
+            ? cloudinary.uploader().uploadLarge(file.toFile(), options, storagePartBytes)
+            : cloudinary.uploader().upload(file.toFile(), options);
+        return (String) uploadResult.get("secure_url");
+    }
+
+    private Upload find(String uploadId, String userId) {
+        Upload upload = uploads.get(uploadId);
+        if (upload == null || !upload.userId.equals(userId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Upload not found");
+        }
+        return upload;
+    }
+
+    private void discard(Upload upload) {
+        uploads.remove(upload.id);
+        try {
+            Files.deleteIfExists(upload.file);
+        } catch (IOException e) {
+            System.err.println("Error deleting spooled upload " + upload.file + ": " + e.getMessage());
+        }
+    }
+
+    private Path newSpoolFile() throws IOException {
+        Path dir = Paths.get(spoolDir);
+        Files.createDirectories(dir);
+        return Files.createTempFile(dir, "chat-", ".part");
+    }
+
+    private Map<String, Object> status(Upload upload) {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("uploadId", upload.id);
+        status.put("fileName", upload.fileName);
+        status.put("size", upload.size);
+        status.put("received", upload.received);
+        status.put("chunkSize", chunkBytes);
+        return status;
+    }
+
+    private static class Upload {
+        private final String id;
+        private final String userId;
+        private final String fileName;
+        private final long size;
+        private final Path file;
+        private long received;
+        private volatile long lastActivity = System.currentTimeMillis();
+
+        Upload(String id, String userId, String fileName, long size, Path file) {
+            this.id = id;
+            this.userId = userId;
+            this.fileName = fileName;
+            this.size = size;
+            this.file = file;
+        }
+    }
+}
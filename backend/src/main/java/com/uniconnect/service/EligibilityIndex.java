@@ -0,0 +1,369 @@
+package com.uniconnect.service;
+
+import com.uniconnect.model.Job;
+import com.uniconnect.model.Student;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * In-memory eligibility of students for open jobs (every job whose status is not Closed).
+ *
+ * Each student gets an ordinal; branch, year, CGPA band (0.5 wide) and skill each map to a BitSet of
+ * ordinals, and a job's eligible students are the AND of the sets its criteria select, kept as one
+ * BitSet per job. A changed job is re-evaluated with a few bitset operations, a changed student is
+ * re-checked against every open job. Built from Mongo at startup, kept up to date by the job and
+ * profile write paths, and rebuilt every placement.eligibility.rebuild-interval-ms to pick up writes
+ * made by other instances. Changes made while a rebuild reads Mongo are recorded and replayed onto the
+ * rebuilt state before it replaces the live one.
+ *
+ * Criteria: Job.branch (empty or "All" = any branch), Job.visibility ("3rd Year Students" = year 3),
+ * Job.minCGPA and Job.skills (every skill required; "Java/Python" accepts either). Job.maxBacklogs is
+ * not evaluated because student profiles do not record backlogs.
+ */
+@Component
+public class EligibilityIndex {
+    public static final String STATUS_CLOSED = "Closed";
+
+    private static final int CGPA_BANDS = 21; // [0, 0.5), [0.5, 1.0) ... [10.0]
+    private static final Pattern YEAR_NUMBER = Pattern.compile("\\b([1-5])(st|nd|rd|th)?\\b", Pattern.CASE_INSENSITIVE);
+    private static final List<String> YEAR_WORDS = List.of("first", "second", "third", "fourth", "fifth");
+
+    private final MongoTemplate mongoTemplate;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private State state = new State();
+    // Changes made while a rebuild is running, null otherwise; guarded by the lock
+    private List<Consumer<State>> changesDuringRebuild;
+    private final Object rebuildMutex = new Object();
+
+    public EligibilityIndex(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${placement.eligibility.rebuild-interval-ms:900000}",
+            fixedDelayString = "${placement.eligibility.rebuild-interval-ms:900000}")
+    public void rebuild() {
+        synchronized (rebuildMutex) {
+            lock.writeLock().lock();
+            try {
+                changesDuringRebuild = new ArrayList<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            State rebuilt = null;
+            try {
+                State read = new State();
+                Query students = new Query();
+                students.fields().include("branch", "year", "cgpa", "skills.name");
+                try (Stream<Student> stream = mongoTemplate.stream(students, Student.class)) {
+                    stream.forEach(s -> read.putStudent(s.getId(), StudentFacts.of(s)));
+                }
+                // Same case-insensitive test as jobChanged, so "closed" or "CLOSED" stay out as well
+                Query jobs = new Query(Criteria.where("status").not().regex("^" + Pattern.quote(STATUS_CLOSED) + "$", "i"));
+                jobs.fields().include("branch", "skills", "minCGPA", "visibility", "status");
+                try (Stream<Job> stream = mongoTemplate.stream(jobs, Job.class)) {
+                    stream.filter(j -> !isClosed(j.getStatus()))
+                            .forEach(j -> read.putJob(j.getId(), JobCriteria.of(j)));
+                }
+                rebuilt = read;
+            } catch (Exception e) {
+                System.err.println("Error rebuilding eligibility index: " + e.getMessage());
+            } finally {
+                lock.writeLock().lock();
+                try {
+                    if (rebuilt != null) {
+                        for (Consumer<State> change : changesDuringRebuild) change.accept(rebuilt);
+                        state = rebuilt;
+                    }
+                    changesDuringRebuild = null;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+            if (rebuilt != null) {
+                System.out.println("🎯 Eligibility index built: " + rebuilt.ordinals.size() + " students, " + rebuilt.jobs.size() + " open jobs");
+            }
+        }
+    }
+
+    public void studentChanged(Student student) {
+        if (student == null || student.getId() == null) return;
+        StudentFacts facts = StudentFacts.of(student);
+        write(s -> s.putStudent(student.getId(), facts));
+    }
+
+    public void studentRemoved(String studentId) {
+        write(s -> s.removeStudent(studentId));
+    }
+
+    /**
+     * Re-evaluates a created or edited job; closed jobs drop out of the index.
+     */
+    public void jobChanged(Job job) {
+        if (job == null || job.getId() == null) return;
+        if (isClosed(job.getStatus())) {
+            jobRemoved(job.getId());
+            return;
+        }
+        JobCriteria criteria = JobCriteria.of(job);
+        write(s -> s.putJob(job.getId(), criteria));
+    }
+
+    public void jobRemoved(String jobId) {
+        write(s -> s.jobs.remove(jobId));
+    }
+
+    /**
+     * Eligible student ids for an open job, in a stable order; empty for closed or unknown jobs.
+     */
+    public Result eligibleStudents(String jobId, int offset, int limit) {
+        lock.readLock().lock();
+        try {
+            JobEntry job = state.jobs.get(jobId);
+            if (job == null) return new Result(List.of(), 0);
+            List<String> ids = new ArrayList<>();
+            int skip = Math.max(offset, 0);
+            for (int i = job.eligible.nextSetBit(0); i >= 0 && ids.size() < limit; i = job.eligible.nextSetBit(i + 1)) {
+                if (skip > 0) {
+                    skip--;
+                } else {
+                    ids.add(state.ids.get(i));
+                }
+            }
+            return new Result(ids, job.eligible.cardinality());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Open jobs the student qualifies for, newest first.
+     */
+    public Result eligibleJobs(String studentId, int offset, int limit) {
+        lock.readLock().lock();
+        try {
+            Integer ordinal = state.ordinals.get(studentId);
+            if (ordinal == null) return new Result(List.of(), 0);
+            List<String> matching = new ArrayList<>();
+            state.jobs.forEach((jobId, job) -> {
+                if (job.eligible.get(ordinal)) matching.add(jobId);
+            });
+            int from = Math.min(Math.max(offset, 0), matching.size());
+            int to = Math.min(from + Math.max(limit, 0), matching.size());
+            return new Result(new ArrayList<>(matching.subList(from, to)), matching.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Students eligible for at least one open job.
+     */
+    public int eligibleStudentCount() {
+        lock.readLock().lock();
+        try {
+            BitSet any = new BitSet();
+            state.jobs.values().forEach(job -> any.or(job.eligible));
+            return any.cardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static boolean isClosed(String status) {
+        return STATUS_CLOSED.equalsIgnoreCase(status);
+    }
+
+    // Applies a change to the live state and, during a rebuild, records it for the rebuilt one
+    private void write(Consumer<State> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(state);
+            if (changesDuringRebuild != null) changesDuringRebuild.add(change);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Year of study from free text ("3", "3rd", "Year 3", "Third Year"), or null.
+     */
+    static Integer parseYear(String text) {
+        if (text == null) return null;
+        Matcher matcher = YEAR_NUMBER.matcher(text);
+        if (matcher.find()) return Integer.parseInt(matcher.group(1));
+        String normalized = normalize(text);
+        for (int i = 0; i < YEAR_WORDS.size(); i++) {
+            if (normalized.contains(YEAR_WORDS.get(i))) return i + 1;
+        }
+        return null;
+    }
+
+    private static int band(double cgpa) {
+        return (int) Math.floor(Math.max(0, Math.min(10, cgpa)) * 2);
+    }
+
+    public record Result(List<String> ids, int total) {}
+
+    record StudentFacts(String branch, Integer year, Double cgpa, Set<String> skills) {
+        static StudentFacts of(Student student) {
+            Set<String> skills = new HashSet<>();
+            if (student.getSkills() != null) {
+                student.getSkills().forEach(skill -> {
+                    String name = normalize(skill.getName());
+                    if (!name.isEmpty()) skills.add(name);
+                });
+            }
+            return new StudentFacts(normalize(student.getBranch()), parseYear(student.getYear()), student.getCgpa(), skills);
+        }
+    }
+
+    record JobCriteria(Set<String> branches, Integer year, double minCgpa, List<Set<String>> skills) {
+        static JobCriteria of(Job job) {
+            Set<String> branches = new HashSet<>();
+            boolean anyBranch = job.getBranch() == null || job.getBranch().isEmpty();
+            if (!anyBranch) {
+                for (String branch : job.getBranch()) {
+                    String normalized = normalize(branch);
+                    if (normalized.startsWith("all")) anyBranch = true;
+                    else if (!normalized.isEmpty()) branches.add(normalized);
+                }
+            }
+            List<Set<String>> skills = new ArrayList<>();
+            if (job.getSkills() != null) {
+                for (String skill : job.getSkills()) {
+                    Set<String> alternatives = new HashSet<>();
+                    for (String alternative : skill.split("/")) {
+                        String normalized = normalize(alternative);
+                        if (!normalized.isEmpty()) alternatives.add(normalized);
+                    }
+                    if (!alternatives.isEmpty()) skills.add(alternatives);
+                }
+            }
+            return new JobCriteria(anyBranch ? Set.of() : branches, parseYear(job.getVisibility()), job.getMinCGPA(), skills);
+        }
+
+        boolean matches(StudentFacts student) {
+            if (!branches.isEmpty() && !branches.contains(student.branch())) return false;
+            if (year != null && !year.equals(student.year())) return false;
+            if (minCgpa > 0 && (student.cgpa() == null || student.cgpa() < minCgpa)) return false;
+            for (Set<String> alternatives : skills) {
+                if (Collections.disjoint(alternatives, student.skills())) return false;
+            }
+            return true;
+        }
+    }
+
+    private record JobEntry(JobCriteria criteria, BitSet eligible) {}
+
+    private static class State {
+        private final Map<String, Integer> ordinals = new HashMap<>();
+        private final List<String> ids = new ArrayList<>();
+        private final List<StudentFacts> facts = new ArrayList<>();
+        private final Deque<Integer> freeOrdinals = new ArrayDeque<>();
+        private final BitSet students = new BitSet();
+
+        private final Map<String, BitSet> byBranch = new HashMap<>();
+        private final Map<Integer, BitSet> byYear = new HashMap<>();
+        private final BitSet[] byCgpaBand = new BitSet[CGPA_BANDS];
+        private final Map<String, BitSet> bySkill = new HashMap<>();
+
+        // Newest job first (ObjectIds sort by creation time)
+        private final NavigableMap<String, JobEntry> jobs = new TreeMap<>(Comparator.reverseOrder());
+
+        State() {
+            for (int i = 0; i < CGPA_BANDS; i++) byCgpaBand[i] = new BitSet();
+        }
+
+        void putStudent(String id, StudentFacts student) {
+            removeStudent(id);
+            int ordinal = freeOrdinals.isEmpty() ? ids.size() : freeOrdinals.pop();
+            if (ordinal == ids.size()) {
+                ids.add(id);
+                facts.add(student);
+            } else {
+                ids.set(ordinal, id);
+                facts.set(ordinal, student);
+            }
+            ordinals.put(id, ordinal);
+            students.set(ordinal);
+            byBranch.computeIfAbsent(student.branch(), k -> new BitSet()).set(ordinal);
+            if (student.year() != null) byYear.computeIfAbsent(student.year(), k -> new BitSet()).set(ordinal);
+            if (student.cgpa() != null) byCgpaBand[band(student.cgpa())].set(ordinal);
+            student.skills().forEach(skill -> bySkill.computeIfAbsent(skill, k -> new BitSet()).set(ordinal));
+
+            jobs.values().forEach(job -> job.eligible.set(ordinal, job.criteria.matches(student)));
+        }
+
+        void removeStudent(String id) {
+            Integer ordinal = ordinals.remove(id);
+            if (ordinal == null) return;
+            StudentFacts student = facts.get(ordinal);
+            students.clear(ordinal);
+            clear(byBranch, student.branch(), ordinal);
+            if (student.year() != null) clear(byYear, student.year(), ordinal);
+            if (student.cgpa() != null) byCgpaBand[band(student.cgpa())].clear(ordinal);
+            student.skills().forEach(skill -> clear(bySkill, skill, ordinal));
+            jobs.values().forEach(job -> job.eligible.clear(ordinal));
+            ids.set(ordinal, null);
+            facts.set(ordinal, null);
+            freeOrdinals.push(ordinal);
+        }
+
+        void putJob(String jobId, JobCriteria criteria) {
+            BitSet eligible = (BitSet) students.clone();
+            if (!criteria.branches().isEmpty()) eligible.and(union(byBranch, criteria.branches()));
+            if (criteria.year() != null) eligible.and(byYear.getOrDefault(criteria.year(), new BitSet()));
+            if (criteria.minCgpa() > 0) eligible.and(cgpaAtLeast(criteria.minCgpa()));
+            for (Set<String> alternatives : criteria.skills()) {
+                eligible.and(union(bySkill, alternatives));
+            }
+            jobs.put(jobId, new JobEntry(criteria, eligible));
+        }
+
+        // Whole bands above the one min falls in, plus the students of that band who reach it
+        private BitSet cgpaAtLeast(double min) {
+            int boundary = band(min);
+            BitSet result = new BitSet();
+            for (int b = boundary + 1; b < CGPA_BANDS; b++) result.or(byCgpaBand[b]);
+            BitSet edge = byCgpaBand[boundary];
+            for (int i = edge.nextSetBit(0); i >= 0; i = edge.nextSetBit(i + 1)) {
+                if (facts.get(i).cgpa() >= min) result.set(i);
+            }
+            return result;
+        }
+
+        private static <K> BitSet union(Map<K, BitSet> index, Collection<K> keys) {
+            BitSet result = new BitSet();
+            for (K key : keys) {
+                BitSet bits = index.get(key);
+                if (bits != null) result.or(bits);
+            }
+            return result;
+        }
+
+        private static <K> void clear(Map<K, BitSet> index, K key, int ordinal) {
+            BitSet bits = index.get(key);
+            if (bits == null) return;
+            bits.clear(ordinal);
+            if (bits.isEmpty()) index.remove(key);
+        }
+    }
+}
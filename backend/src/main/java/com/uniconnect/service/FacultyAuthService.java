@@ -16,10 +16,12 @@ import java.time.Instant;
 public class FacultyAuthService {
     private final FacultyRepository facultyRepository;
     private final PasswordEncoder passwordEncoder;
+    private final AuthorDirectory authorDirectory;
 
-    public FacultyAuthService(FacultyRepository facultyRepository, PasswordEncoder passwordEncoder) {
+    public FacultyAuthService(FacultyRepository facultyRepository, PasswordEncoder passwordEncoder, AuthorDirectory authorDirectory) {
         this.facultyRepository = facultyRepository;
         this.passwordEncoder = passwordEncoder;
+        this.authorDirectory = authorDirectory;
     }
 
     public AuthResponse signUp(SignUpRequest request) {
@@ -33,6 +35,7 @@ public class FacultyAuthService {
 
         Faculty faculty = new Faculty(request.email(), passwordEncoder.encode(request.password()), Instant.now());
         facultyRepository.save(faculty);
+        authorDirectory.invalidate(faculty);
         return new AuthResponse("Account ready to be created", null, faculty.getId());
     }
 
@@ -15,9 +15,11 @@ import java.util.Optional;
 @Service
 public class FacultyProfileService {
     private final FacultyRepository facultyRepository;
+    private final AuthorDirectory authorDirectory;
 
-    public FacultyProfileService(FacultyRepository facultyRepository) {
+    public FacultyProfileService(FacultyRepository facultyRepository, AuthorDirectory authorDirectory) {
         this.facultyRepository = facultyRepository;
+        this.authorDirectory = authorDirectory;
     }
 
     public FacultyProfileResponse getProfileByEmail(String email) {
@@ -62,6 +64,7 @@ public class FacultyProfileService {
                 .map(d -> new Faculty.FacultyDocument(d.name(), d.type(), d.fileUrl(), d.uploadDate())).toList());
 
         Faculty saved = facultyRepository.save(f);
+        authorDirectory.invalidate(saved);
         return toResponse(saved);
     }
 
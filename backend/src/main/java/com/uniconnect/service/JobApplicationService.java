@@ -0,0 +1,493 @@
+package com.uniconnect.service;
+
+import com.uniconnect.model.Job;
+import com.uniconnect.model.JobApplication;
+import com.uniconnect.model.Student;
+import com.uniconnect.repository.JobApplicationRepository;
+import com.uniconnect.repository.StudentRepository;
+import org.bson.Document;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Writes to job applications that the placement statistics view and the job counters have to follow.
+ * Submissions are plain inserts that the unique student_job index turns away when the student already
+ * applied, and status changes and withdrawals are single atomic operations that return the previous
+ * document, so the view and Job.applicants / Job.shortlisted are adjusted by exactly what happened even
+ * when the same student or faculty member acts concurrently.
+ *
+ * Bulk transitions (a company's shortlist) read the affected applications with one $in query and write
+ * them with one bulk update per WRITE_BATCH_SIZE; every update is guarded by the status that was read, so
+ * an application changed in between is reported as a conflict instead of being counted twice.
+ *
+ * Faculty edits of a job go through here too and only $set the edited fields, so they never write back
+ * a stale Job.applicants / Job.shortlisted.
+ */
+@Service
+public class JobApplicationService {
+    public static final Set<String> SHORTLISTED_STATUSES = Set.of("under_review", "interview", "accepted");
+    public static final int MAX_BULK_ITEMS = 5000;
+
+    public static final String RESULT_UPDATED = "updated";
+    public static final String RESULT_UNCHANGED = "unchanged";
+    public static final String RESULT_NOT_FOUND = "not_found";
+    public static final String RESULT_CONFLICT = "conflict";
+    public static final String RESULT_STUDENT_NOT_FOUND = "student_not_found";
+    public static final String RESULT_NOT_APPLIED = "not_applied";
+
+    private static final int WRITE_BATCH_SIZE = 500;
+
+    private final JobApplicationRepository jobApplicationRepository;
+    private final StudentRepository studentRepository;
+    private final MongoTemplate mongoTemplate;
+    private final AuthorDirectory authorDirectory;
+    private final PlacementStatsView placementStatsView;
+
+    public JobApplicationService(JobApplicationRepository jobApplicationRepository,
+                                 StudentRepository studentRepository,
+                                 MongoTemplate mongoTemplate,
+                                 AuthorDirectory authorDirectory,
+                                 PlacementStatsView placementStatsView) {
+        this.jobApplicationRepository = jobApplicationRepository;
+        this.studentRepository = studentRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.authorDirectory = authorDirectory;
+        this.placementStatsView = placementStatsView;
+    }
+
+    /**
+     * Outcome of a submission: the stored application, and whether it is a second application of the
+     * same student to the job (a retry with the original Idempotency-Key is not).
+     */
+    public record Submission(JobApplication application, boolean duplicate) {}
+
+    /**
+     * Outcome for one application of a bulk transition.
+     */
+    public record ItemResult(String id, String previousStatus, String result) {}
+
+    /**
+     * Outcome for one row of a shortlist import; applicationId is null when no application matched.
+     */
+    public record ImportRow(int row, String value, String applicationId, String previousStatus, String result) {}
+
+    /**
+     * Stores the application unless the student already applied to the job. The unique index decides,
+     * so of concurrent submissions (a double click, a retry after a timeout) exactly one is inserted and
+     * counted; the others get the stored application back.
+     */
+    public Submission submit(JobApplication application, String idempotencyKey) {
+        application.setId(null);
+        application.setAppliedAt(LocalDateTime.now());
+        application.setUpdatedAt(LocalDateTime.now());
+        if (application.getStatus() == null || application.getStatus().isEmpty()) {
+            application.setStatus("Applied");
+        }
+        application.setIdempotencyKey(idempotencyKey);
+        authorDirectory.findByUserId(application.getStudentId())
+                .ifPresent(student -> application.setBranch(student.getBranch()));
+
+        JobApplication saved;
+        try {
+            saved = jobApplicationRepository.insert(application);
+        } catch (DuplicateKeyException e) {
+            JobApplication existing = jobApplicationRepository
+                    .findByStudentIdAndJobId(application.getStudentId(), application.getJobId())
+                    .orElseThrow(() -> e);
+            boolean retry = idempotencyKey != null && idempotencyKey.equals(existing.getIdempotencyKey());
+            return new Submission(existing, !retry);
+        }
+        placementStatsView.applicationCreated(saved);
+        if (saved.getJobId() != null) {
+            adjustJobCounters(Map.of(saved.getJobId(), new int[] {1, isShortlisted(saved.getStatus()) ? 1 : 0}));
+        }
+        return new Submission(saved, false);
+    }
+
+    /**
+     * @return the application with its new status, or empty if it does not exist
+     */
+    public Optional<JobApplication> updateStatus(String id, String status) {
+        LocalDateTime now = LocalDateTime.now();
+        JobApplication before = mongoTemplate.findAndModify(byId(id),
+                new Update().set("status", status).set("updatedAt", now),
+                FindAndModifyOptions.options().returnNew(false), JobApplication.class);
+        if (before == null) return Optional.empty();
+
+        String previous = before.getStatus();
+        placementStatsView.statusChanged(before, previous, status);
+        adjustJobCounters(counterDeltas(List.of(before), status));
+        before.setStatus(status);
+        before.setUpdatedAt(now);
+        return Optional.of(before);
+    }
+
+    /**
+     * Moves every listed application to status; duplicate ids are reported once.
+     */
+    public List<ItemResult> updateStatuses(Collection<String> ids, String status) {
+        List<String> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        Map<String, JobApplication> current = new HashMap<>();
+        for (int from = 0; from < distinct.size(); from += WRITE_BATCH_SIZE) {
+            List<String> chunk = distinct.subList(from, Math.min(from + WRITE_BATCH_SIZE, distinct.size()));
+            Query query = new Query(Criteria.where("_id").in(chunk));
+            query.fields().include("status", "jobId", "company", "appliedAt", "branch");
+            mongoTemplate.find(query, JobApplication.class).forEach(a -> current.put(a.getId(), a));
+        }
+        return transition(distinct, current, status);
+    }
+
+    /**
+     * Moves the job's applications of the students listed in a CSV shortlist to status. Each row is
+     * matched by the first cell that is a student's email or roll number; a leading header row is skipped.
+     */
+    public List<ImportRow> importShortlist(String jobId, InputStream csv, String status) throws IOException {
+        List<List<String>> rows = readCsv(csv);
+        if (rows.size() > MAX_BULK_ITEMS) {
+            throw new IllegalArgumentException("A shortlist can have at most " + MAX_BULK_ITEMS + " rows");
+        }
+
+        // Resolve every cell that could identify a student with one query per kind
+        Set<String> emails = new HashSet<>();
+        Set<String> rollNumbers = new HashSet<>();
+        for (List<String> row : rows) {
+            for (String cell : row) {
+                if (cell.contains("@")) {
+                    emails.add(cell);
+                    emails.add(cell.toLowerCase());
+                } else {
+                    rollNumbers.add(cell);
+                }
+            }
+        }
+        Map<String, Student> byEmail = new HashMap<>();
+        Map<String, Student> byRollNumber = new HashMap<>();
+        if (!emails.isEmpty()) {
+            studentRepository.findByEmailIn(emails).forEach(s -> byEmail.put(s.getEmail().toLowerCase(), s));
+        }
+        if (!rollNumbers.isEmpty()) {
+            studentRepository.findByRollNumberIn(rollNumbers).forEach(s -> byRollNumber.put(s.getRollNumber(), s));
+        }
+
+        // row index -> matched student (or null) and the cell it matched on
+        List<Student> matched = new ArrayList<>();
+        List<String> values = new ArrayList<>();
+        for (List<String> row : rows) {
+            Student student = null;
+            String value = row.isEmpty() ? "" : row.get(0);
+            for (String cell : row) {
+                student = cell.contains("@") ? byEmail.get(cell.toLowerCase()) : byRollNumber.get(cell);
+                if (student != null) {
+                    value = cell;
+                    break;
+                }
+            }
+            matched.add(student);
+            values.add(value);
+        }
+        int first = !rows.isEmpty() && matched.get(0) == null && isHeader(rows.get(0)) ? 1 : 0;
+
+        // Applications store the student's id, older ones only the email
+        Set<String> studentKeys = new HashSet<>();
+        for (Student student : matched) {
+            if (student == null) continue;
+            studentKeys.add(student.getId());
+            studentKeys.add(student.getEmail());
+        }
+        Map<String, List<JobApplication>> applicationsByStudent = new HashMap<>();
+        Map<String, JobApplication> current = new HashMap<>();
+        if (!studentKeys.isEmpty()) {
+            Query query = new Query(Criteria.where("jobId").is(jobId).orOperator(
+                    Criteria.where("studentId").in(studentKeys),
+                    Criteria.where("studentEmail").in(studentKeys)));
+            query.fields().include("studentId", "studentEmail", "status", "jobId", "company", "appliedAt", "branch");
+            for (JobApplication application : mongoTemplate.find(query, JobApplication.class)) {
+                current.put(application.getId(), application);
+                applicationsByStudent.computeIfAbsent(application.getStudentId(), k -> new ArrayList<>()).add(application);
+                if (application.getStudentEmail() != null && !application.getStudentEmail().equals(application.getStudentId())) {
+                    applicationsByStudent.computeIfAbsent(application.getStudentEmail(), k -> new ArrayList<>()).add(application);
+                }
+            }
+        }
+
+        // Every application of a matched student moves, the row reports the first one
+        Map<Integer, List<String>> applicationIdsByRow = new LinkedHashMap<>();
+        List<String> applicationIds = new ArrayList<>();
+        for (int i = first; i < rows.size(); i++) {
+            Student student = matched.get(i);
+            if (student == null) continue;
+            Set<String> ids = new LinkedHashSet<>();
+            applicationsByStudent.getOrDefault(student.getId(), List.of()).forEach(a -> ids.add(a.getId()));
+            applicationsByStudent.getOrDefault(student.getEmail(), List.of()).forEach(a -> ids.add(a.getId()));
+            applicationIdsByRow.put(i, new ArrayList<>(ids));
+            applicationIds.addAll(ids);
+        }
+        Map<String, ItemResult> results = new HashMap<>();
+        transition(new ArrayList<>(new LinkedHashSet<>(applicationIds)), current, status)
+                .forEach(r -> results.put(r.id(), r));
+
+        List<ImportRow> report = new ArrayList<>();
+        for (int i = first; i < rows.size(); i++) {
+            List<String> ids = applicationIdsByRow.get(i);
+            if (ids == null) {
+                report.add(new ImportRow(i + 1, values.get(i), null, null, RESULT_STUDENT_NOT_FOUND));
+            } else if (ids.isEmpty()) {
+                report.add(new ImportRow(i + 1, values.get(i), null, null, RESULT_NOT_APPLIED));
+            } else {
+                ItemResult result = results.get(ids.get(0));
+                report.add(new ImportRow(i + 1, values.get(i), result.id(), result.previousStatus(), result.result()));
+            }
+        }
+        return report;
+    }
+
+    /**
+     * Sets one document URL field (resumeUrl, certificatesUrl, idProofUrl) without rewriting the rest of
+     * the application, so a concurrent status change is not overwritten.
+     *
+     * @return false if the application does not exist
+     */
+    public boolean setDocumentUrl(String id, String field, String url, LocalDateTime updatedAt) {
+        return mongoTemplate.updateFirst(byId(id), new Update().set(field, url).set("updatedAt", updatedAt),
+                JobApplication.class).getMatchedCount() > 0;
+    }
+
+    /**
+     * @return the withdrawn application, or empty if it did not exist
+     */
+    public Optional<JobApplication> withdraw(String id) {
+        JobApplication removed = mongoTemplate.findAndRemove(byId(id), JobApplication.class);
+        if (removed != null) {
+            placementStatsView.applicationRemoved(removed);
+            adjustJobCounters(counterDeltas(List.of(removed), null));
+        }
+        return Optional.ofNullable(removed);
+    }
+
+    /**
+     * Sets the fields of changes that are present on the job, without writing applicants, shortlisted or
+     * countersUpdatedAt, which concurrent submissions and status changes move with $inc.
+     *
+     * @return the updated job, or empty if it does not exist
+     */
+    public Optional<Job> updateJob(String id, Job changes) {
+        Update update = new Update().set("updatedAt", LocalDateTime.now());
+        if (changes.getCompany() != null) update.set("company", changes.getCompany());
+        if (changes.getPosition() != null) update.set("position", changes.getPosition());
+        if (changes.getSalary() != null) update.set("salary", changes.getSalary());
+        if (changes.getDeadline() != null) update.set("deadline", changes.getDeadline());
+        if (changes.getMinCGPA() > 0) update.set("minCGPA", changes.getMinCGPA());
+        if (changes.getBranch() != null) update.set("branch", changes.getBranch());
+        if (changes.getSkills() != null) update.set("skills", changes.getSkills());
+        if (changes.getMaxBacklogs() >= 0) update.set("maxBacklogs", changes.getMaxBacklogs());
+        if (changes.getStatus() != null) update.set("status", changes.getStatus());
+        if (changes.getVisibility() != null) update.set("visibility", changes.getVisibility());
+        if (changes.getDescription() != null) update.set("description", changes.getDescription());
+        if (changes.getLocation() != null) update.set("location", changes.getLocation());
+        if (changes.getType() != null) update.set("type", changes.getType());
+        if (changes.getExperience() != null) update.set("experience", changes.getExperience());
+        return Optional.ofNullable(mongoTemplate.findAndModify(byId(id), update,
+                FindAndModifyOptions.options().returnNew(true), Job.class));
+    }
+
+    /**
+     * @return the closed job, or empty if it does not exist
+     */
+    public Optional<Job> closeJob(String id) {
+        Update update = new Update().set("status", "Closed").set("updatedAt", LocalDateTime.now());
+        return Optional.ofNullable(mongoTemplate.findAndModify(byId(id), update,
+                FindAndModifyOptions.options().returnNew(true), Job.class));
+    }
+
+    // ids: distinct application ids in report order; current: those that exist, with the status read
+    private List<ItemResult> transition(List<String> ids, Map<String, JobApplication> current, String status) {
+        LocalDateTime now = LocalDateTime.now();
+        List<JobApplication> attempted = new ArrayList<>();
+        long matched = 0;
+        BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, JobApplication.class);
+        for (String id : ids) {
+            JobApplication application = current.get(id);
+            if (application == null || status.equals(application.getStatus())) continue;
+            // Only if nobody changed it since it was read, otherwise the previous status would be wrong
+            ops.updateOne(new Query(Criteria.where("_id").is(id).and("status").is(application.getStatus())),
+                    new Update().set("status", status).set("updatedAt", now));
+            attempted.add(application);
+            if (attempted.size() % WRITE_BATCH_SIZE == 0) {
+                matched += ops.execute().getMatchedCount();
+                ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, JobApplication.class);
+            }
+        }
+        if (attempted.size() % WRITE_BATCH_SIZE != 0) {
+            matched += ops.execute().getMatchedCount();
+        }
+
+        List<JobApplication> applied = attempted;
+        if (matched < attempted.size()) {
+            // Some guards failed: the applications this run moved are the ones stamped with its updatedAt
+            Set<String> moved = new HashSet<>();
+            List<String> attemptedIds = attempted.stream().map(JobApplication::getId).toList();
+            for (int from = 0; from < attemptedIds.size(); from += WRITE_BATCH_SIZE) {
+                List<String> chunk = attemptedIds.subList(from, Math.min(from + WRITE_BATCH_SIZE, attemptedIds.size()));
+                Query query = new Query(Criteria.where("_id").in(chunk).and("status").is(status).and("updatedAt").is(now));
+                query.fields().include("_id");
+                mongoTemplate.find(query, JobApplication.class).forEach(a -> moved.add(a.getId()));
+            }
+            applied = attempted.stream().filter(a -> moved.contains(a.getId())).toList();
+        }
+        placementStatsView.statusesChanged(applied, status);
+        adjustJobCounters(counterDeltas(applied, status));
+
+        Set<String> appliedIds = new HashSet<>();
+        applied.forEach(a -> appliedIds.add(a.getId()));
+        List<ItemResult> results = new ArrayList<>();
+        for (String id : ids) {
+            JobApplication application = current.get(id);
+            String result;
+            if (application == null) result = RESULT_NOT_FOUND;
+            else if (status.equals(application.getStatus())) result = RESULT_UNCHANGED;
+            else if (appliedIds.contains(id)) result = RESULT_UPDATED;
+            else result = RESULT_CONFLICT;
+            results.add(new ItemResult(id, application != null ? application.getStatus() : null, result));
+        }
+        return results;
+    }
+
+    // jobId -> {applicants, shortlisted} change when the applications move from their status to "to";
+    // a null "to" means they were withdrawn
+    private Map<String, int[]> counterDeltas(Collection<JobApplication> applications, String to) {
+        Map<String, int[]> deltas = new HashMap<>();
+        for (JobApplication application : applications) {
+            if (application.getJobId() == null) continue;
+            int[] delta = deltas.computeIfAbsent(application.getJobId(), k -> new int[2]);
+            if (to == null) delta[0]--;
+            delta[1] += (isShortlisted(to) ? 1 : 0) - (isShortlisted(application.getStatus()) ? 1 : 0);
+        }
+        return deltas;
+    }
+
+    private void adjustJobCounters(Map<String, int[]> deltas) {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Job.class);
+            int pending = 0;
+            for (Map.Entry<String, int[]> entry : deltas.entrySet()) {
+                int[] delta = entry.getValue();
+                if (delta[0] == 0 && delta[1] == 0) continue;
+                Update update = new Update().set("countersUpdatedAt", now);
+                if (delta[0] != 0) update.inc("applicants", delta[0]);
+                if (delta[1] != 0) update.inc("shortlisted", delta[1]);
+                ops.updateOne(byId(entry.getKey()), update);
+                pending++;
+            }
+            if (pending > 0) ops.execute();
+        } catch (Exception e) {
+            // recountJobCounters() repairs the counters; the application write itself already happened
+            System.err.println("Error updating job counters: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Recounts Job.applicants and Job.shortlisted from job_applications to correct drift (a crash between the application
+     * write and the $inc, writes that bypass this service). Jobs whose counters moved after the run
+     * started are left alone.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${placement.job-counters.recount-interval-ms:3600000}",
+            fixedDelayString = "${placement.job-counters.recount-interval-ms:3600000}")
+    public void recountJobCounters() {
+        LocalDateTime runStart = LocalDateTime.now();
+        try {
+            Aggregation aggregation = Aggregation.newAggregation(
+                    Aggregation.match(Criteria.where("jobId").ne(null)),
+                    Aggregation.group("jobId").count().as("applicants")
+                            .sum(ConditionalOperators.when(Criteria.where("status").in(SHORTLISTED_STATUSES))
+                                    .then(1).otherwise(0)).as("shortlisted"));
+            Map<String, int[]> expected = new HashMap<>();
+            for (Document row : mongoTemplate.aggregate(aggregation, JobApplication.class, Document.class).getMappedResults()) {
+                expected.put(row.get("_id").toString(), new int[] {
+                        ((Number) row.get("applicants")).intValue(),
+                        ((Number) row.get("shortlisted")).intValue()});
+            }
+
+            Query jobs = new Query();
+            jobs.fields().include("applicants", "shortlisted");
+            BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Job.class);
+            int pending = 0;
+            int corrected = 0;
+            for (Job job : mongoTemplate.find(jobs, Job.class)) {
+                int[] counts = expected.getOrDefault(job.getId(), new int[2]);
+                if (job.getApplicants() == counts[0] && job.getShortlisted() == counts[1]) continue;
+                Query notTouchedSince = new Query(Criteria.where("_id").is(job.getId()).orOperator(
+                        Criteria.where("countersUpdatedAt").lt(runStart),
+                        Criteria.where("countersUpdatedAt").exists(false)));
+                ops.updateOne(notTouchedSince, new Update().set("applicants", counts[0]).set("shortlisted", counts[1]));
+                corrected++;
+                if (++pending >= WRITE_BATCH_SIZE) {
+                    ops.execute();
+                    ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Job.class);
+                    pending = 0;
+                }
+            }
+            if (pending > 0) ops.execute();
+            if (corrected > 0) {
+                System.out.println("📊 Recounted job applicants: " + corrected + " jobs corrected");
+            }
+        } catch (Exception e) {
+            System.err.println("Error recounting job counters: " + e.getMessage());
+        }
+    }
+
+    private static boolean isShortlisted(String status) {
+        return status != null && SHORTLISTED_STATUSES.contains(status);
+    }
+
+    // A header names its columns instead of identifying a student
+    static boolean isHeader(List<String> row) {
+        return row.stream().map(String::toLowerCase).anyMatch(cell -> cell.contains("roll") || cell.contains("email"));
+    }
+
+    // Non-empty trimmed cells of every non-blank line; quotes around a cell are dropped
+    static List<List<String>> readCsv(InputStream csv) throws IOException {
+        List<List<String>> rows = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                List<String> cells = new ArrayList<>();
+                for (String cell : line.split("[,;\\t]")) {
+                    String value = cell.trim();
+                    // Excel's UTF-8 byte order mark, before any quote around the first cell
+                    if (value.startsWith("\uFEFF")) value = value.substring(1).trim();
+                    if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+                        value = value.substring(1, value.length() - 1).trim();
+                    }
+                    if (!value.isEmpty()) cells.add(value);
+                }
+                if (!cells.isEmpty()) rows.add(cells);
+            }
+        }
+        return rows;
+    }
+
+    private Query byId(String id) {
+        return new Query(Criteria.where("_id").is(id));
+    }
+}
@@ -0,0 +1,201 @@
+package com.uniconnect.service;
+
+import com.mongodb.client.model.CreateCollectionOptions;
+import com.uniconnect.model.Message;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Retention tiering for chat messages.
+ *
+ * Messages older than chat.retention.hot-days are moved from messages into messages_archive, a
+ * collection created with a stronger block compressor (chat.retention.archive-compressor) and the
+ * same history indexes. The hot collection then only holds recent chat, which is what stays in
+ * Mongo's cache. Paginated history reads the archive only once a client scrolls past the oldest hot
+ * message. Moving is copy-then-delete in batches and idempotent, so an interrupted run is simply
+ * finished by the next one. A message edited after its batch was read is not deleted from messages;
+ * the next run copies it again over its stale archived copy.
+ *
+ * Archived messages can still be edited and deleted by their sender (edit, remove).
+ */
+@Service
+public class MessageArchive {
+    public static final String COLLECTION = "messages_archive";
+    private static final int DUPLICATE_KEY = 11000;
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${chat.retention.hot-days:365}")
+    private int hotDays;
+
+    @Value("${chat.retention.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${chat.retention.archive-compressor:zstd}")
+    private String archiveCompressor;
+
+    // Newest archived timestamp as last read by this node; null while the archive is empty
+    private volatile LocalDateTime horizon;
+
+    public MessageArchive(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        try {
+            ensureArchiveCollection();
+            refreshHorizon();
+        } catch (Exception e) {
+            System.err.println("Error preparing message archive: " + e.getMessage());
+        }
+    }
+
+    @Scheduled(initialDelayString = "${chat.retention.run-interval-ms:86400000}",
+            fixedDelayString = "${chat.retention.run-interval-ms:86400000}")
+    public void archiveExpired() {
+        if (hotDays <= 0) return;
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(hotDays);
+        long moved = 0;
+        try {
+            while (true) {
+                Query expired = new Query(Criteria.where("timestamp").lt(cutoff))
+                        .with(Sort.by(Sort.Direction.ASC, "timestamp", "_id"))
+                        .limit(batchSize);
+                List<Message> batch = mongoTemplate.find(expired, Message.class);
+                if (batch.isEmpty()) break;
+
+                copyToArchive(batch);
+                // Only messages nobody edited since the batch was read; an edited one stays until the next run
+                BulkOperations removals = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Message.class);
+                for (Message message : batch) {
+                    removals.remove(new Query(Criteria.where("_id").is(message.getId()).and("editedAt").is(message.getEditedAt())));
+                }
+                int removed = removals.execute().getDeletedCount();
+                if (removed == 0) break; // all edited meanwhile or moved by another node, left for the next run
+                moved += removed;
+            }
+            if (moved > 0) {
+                System.out.println("🗄️ Archived " + moved + " chat message(s) older than " + hotDays + " days");
+            }
+        } catch (Exception e) {
+            System.err.println("Error archiving chat messages after " + moved + " moved: " + e.getMessage());
+        }
+        try {
+            // Re-read rather than track locally: another node may have done the moving
+            refreshHorizon();
+        } catch (Exception e) {
+            System.err.println("Error reading message archive horizon: " + e.getMessage());
+        }
+    }
+
+    private void refreshHorizon() {
+        Query newest = new Query().with(Sort.by(Sort.Direction.DESC, "timestamp")).limit(1);
+        newest.fields().include("timestamp");
+        Message message = mongoTemplate.findOne(newest, Message.class, COLLECTION);
+        horizon = message != null ? message.getTimestamp() : null;
+    }
+
+    /**
+     * True if the archive may hold messages newer than the given timestamp, i.e. a "scroll down"
+     * page starting there has to look at it before the hot collection. The horizon can lag behind a
+     * run on another node, so anything older than the hot window counts as well: only such messages
+     * are ever archived.
+     */
+    public boolean mayHoldAfter(LocalDateTime timestamp) {
+        LocalDateTime h = horizon;
+        if (h != null && timestamp.isBefore(h)) return true;
+        return hotDays > 0 && timestamp.isBefore(LocalDateTime.now().minusDays(hotDays));
+    }
+
+    public List<Message> find(Query query) {
+        return mongoTemplate.find(query, Message.class, COLLECTION);
+    }
+
+    public Optional<Message> findById(String messageId) {
+        return Optional.ofNullable(mongoTemplate.findById(messageId, Message.class, COLLECTION));
+    }
+
+    /**
+     * Sets the new content of an archived message.
+     *
+     * @return the edited message, or empty if it is not in the archive
+     */
+    public Optional<Message> edit(String messageId, String content, LocalDateTime editedAt) {
+        Update update = new Update().set("content", content).set("edited", true).set("editedAt", editedAt);
+        return Optional.ofNullable(mongoTemplate.findAndModify(new Query(Criteria.where("_id").is(messageId)), update,
+                FindAndModifyOptions.options().returnNew(true), Message.class, COLLECTION));
+    }
+
+    /**
+     * @return true if the message was in the archive
+     */
+    public boolean remove(String messageId) {
+        return mongoTemplate.remove(new Query(Criteria.where("_id").is(messageId)), Message.class, COLLECTION)
+                .getDeletedCount() > 0;
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("hotDays", hotDays);
+        stats.put("archivedMessages", mongoTemplate.getCollection(COLLECTION).estimatedDocumentCount());
+        stats.put("horizon", horizon != null ? horizon.toString() : null);
+        return stats;
+    }
+
+    private void ensureArchiveCollection() {
+        if (!mongoTemplate.collectionExists(COLLECTION)) {
+            try {
+                Document wiredTiger = new Document("configString", "block_compressor=" + archiveCompressor);
+                mongoTemplate.getDb().createCollection(COLLECTION,
+                        new CreateCollectionOptions().storageEngineOptions(new Document("wiredTiger", wiredTiger)));
+            } catch (Exception e) {
+                // Another node created it first, or the storage engine rejected the option
+                System.out.println("  messages_archive not created with " + archiveCompressor + ": " + e.getMessage());
+            }
+        }
+        mongoTemplate.indexOps(COLLECTION).ensureIndex(new Index()
+                .on("conversationId", Sort.Direction.ASC).on("timestamp", Sort.Direction.ASC).on("_id", Sort.Direction.ASC)
+                .named("conversation_history"));
+        mongoTemplate.indexOps(COLLECTION).ensureIndex(new Index()
+                .on("groupId", Sort.Direction.ASC).on("timestamp", Sort.Direction.ASC).on("_id", Sort.Direction.ASC)
+                .named("group_history"));
+        mongoTemplate.indexOps(COLLECTION).ensureIndex(new Index()
+                .on("timestamp", Sort.Direction.DESC).named("archive_recent"));
+    }
+
+    // Replaces copies left by a run that stopped before deleting them, or made before a later edit
+    private void copyToArchive(List<Message> batch) {
+        BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Message.class, COLLECTION);
+        for (Message message : batch) {
+            ops.replaceOne(new Query(Criteria.where("_id").is(message.getId())), message, FindAndReplaceOptions.options().upsert());
+        }
+        try {
+            ops.execute();
+        } catch (BulkOperationException e) {
+            // Two nodes upserting the same message: the other one's copy is as good
+            boolean onlyDuplicates = e.getErrors().stream().allMatch(err -> err.getCode() == DUPLICATE_KEY);
+            if (!onlyDuplicates) throw e;
+        }
+    }
+}
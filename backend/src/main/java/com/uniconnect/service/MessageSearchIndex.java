@@ -0,0 +1,189 @@
+package com.uniconnect.service;
+
+import com.uniconnect.model.ChatGroup;
+import com.uniconnect.model.Conversation;
+import com.uniconnect.model.Message;
+import com.uniconnect.model.MessageSearchEntry;
+import org.bson.Document;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Inverted index over chat message content, kept in message_search and maintained incrementally
+ * from the send / edit / delete paths (and the write buffer for WebSocket messages).
+ *
+ * All query terms must match; the last one also matches as a prefix so results show up while the
+ * user is still typing. Searches only ever look at the conversations and groups the user is in.
+ * Archived messages stay indexed.
+ *
+ * The backfill of messages that predate the index records its progress in message_search_meta (the
+ * collection being read and the last message id written), so a restart resumes it and a finished one
+ * is never repeated.
+ */
+@Service
+public class MessageSearchIndex {
+    static final Pattern TOKEN = Pattern.compile("[\\p{L}\\p{N}]+");
+    private static final int MAX_TERMS_PER_MESSAGE = 200;
+    private static final int WRITE_BATCH_SIZE = 500;
+    private static final String META_COLLECTION = "message_search_meta";
+    private static final String BACKFILL_ID = "backfill";
+    private static final List<String> BACKFILL_SOURCES = List.of("messages", MessageArchive.COLLECTION);
+
+    private final MongoTemplate mongoTemplate;
+
+    public MessageSearchIndex(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * Indexes every existing message once, resuming where an interrupted backfill stopped.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        try {
+            Document state = mongoTemplate.findById(BACKFILL_ID, Document.class, META_COLLECTION);
+            if (state != null && Boolean.TRUE.equals(state.getBoolean("completed"))) return;
+
+            int from = state != null ? Math.max(0, BACKFILL_SOURCES.indexOf(state.getString("source"))) : 0;
+            String lastId = state != null ? state.getString("lastId") : null;
+            long indexed = 0;
+            for (String source : BACKFILL_SOURCES.subList(from, BACKFILL_SOURCES.size())) {
+                indexed += backfill(source, lastId);
+                lastId = null;
+            }
+            mongoTemplate.upsert(new Query(Criteria.where("_id").is(BACKFILL_ID)),
+                    new Update().set("completed", true).set("completedAt", new Date()), META_COLLECTION);
+            if (indexed > 0) {
+                System.out.println("🔎 Indexed " + indexed + " chat message(s) for search");
+            }
+        } catch (Exception e) {
+            System.err.println("Error building chat search index, will resume on next start: " + e.getMessage());
+        }
+    }
+
+    public void index(Collection<Message> messages) {
+        if (messages.isEmpty()) return;
+        try {
+            BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, MessageSearchEntry.class);
+            messages.forEach(message -> addUpsert(ops, message));
+            ops.execute();
+        } catch (Exception e) {
+            // Search is best effort; a failed update must not fail sending the message
+            System.err.println("Error indexing chat messages: " + e.getMessage());
+        }
+    }
+
+    public void remove(String messageId) {
+        mongoTemplate.remove(new Query(Criteria.where("_id").is(messageId)), MessageSearchEntry.class);
+    }
+
+    /**
+     * Message ids matching the query within the user's chats (or one of them), newest first.
+     */
+    public Result search(String userId, String text, String chatId, int offset, int limit) {
+        List<String> terms = tokenize(text);
+        if (terms.isEmpty()) return new Result(List.of(), 0);
+
+        Set<String> chats = chatsOf(userId);
+        if (chatId != null && !chatId.isEmpty()) {
+            chats = chats.contains(chatId) ? Set.of(chatId) : Set.of();
+        }
+        if (chats.isEmpty()) return new Result(List.of(), 0);
+
+        List<Object> required = new ArrayList<>(terms.subList(0, terms.size() - 1));
+        required.add(Pattern.compile("^" + terms.get(terms.size() - 1)));
+        Criteria criteria = Criteria.where("terms").all(required.toArray()).and("chatId").in(chats);
+
+        long total = mongoTemplate.count(new Query(criteria), MessageSearchEntry.class);
+        Query query = new Query(criteria)
+                .with(Sort.by(Sort.Direction.DESC, "timestamp", "_id"))
+                .skip(offset)
+                .limit(limit);
+        query.fields().include("_id");
+        List<String> ids = mongoTemplate.find(query, MessageSearchEntry.class).stream()
+                .map(MessageSearchEntry::getId)
+                .collect(Collectors.toList());
+        return new Result(ids, total);
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) return tokens;
+        Matcher matcher = TOKEN.matcher(text.toLowerCase(Locale.ROOT));
+        while (matcher.find()) {
+            tokens.add(matcher.group());
+        }
+        return tokens;
+    }
+
+    private long backfill(String collection, String afterId) {
+        Query query = new Query().with(Sort.by(Sort.Direction.ASC, "_id"));
+        if (afterId != null) query.addCriteria(Criteria.where("_id").gt(afterId));
+        long indexed = 0;
+        try (Stream<Message> messages = mongoTemplate.stream(query, Message.class, collection)) {
+            BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, MessageSearchEntry.class);
+            int pending = 0;
+            String lastId = null;
+            for (Message message : (Iterable<Message>) messages::iterator) {
+                lastId = message.getId();
+                if (!addUpsert(ops, message)) continue;
+                indexed++;
+                if (++pending >= WRITE_BATCH_SIZE) {
+                    ops.execute();
+                    saveProgress(collection, lastId);
+                    ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, MessageSearchEntry.class);
+                    pending = 0;
+                }
+            }
+            if (pending > 0) ops.execute();
+            if (lastId != null) saveProgress(collection, lastId);
+        }
+        return indexed;
+    }
+
+    private void saveProgress(String collection, String lastId) {
+        mongoTemplate.upsert(new Query(Criteria.where("_id").is(BACKFILL_ID)),
+                new Update().set("source", collection).set("lastId", lastId).set("completed", false),
+                META_COLLECTION);
+    }
+
+    private boolean addUpsert(BulkOperations ops, Message message) {
+        String chatId = message.getConversationId() != null ? message.getConversationId() : message.getGroupId();
+        if (message.getId() == null || chatId == null) return false;
+        List<String> terms = tokenize(message.getContent()).stream()
+                .distinct()
+                .limit(MAX_TERMS_PER_MESSAGE)
+                .collect(Collectors.toList());
+        ops.upsert(new Query(Criteria.where("_id").is(message.getId())), new Update()
+                .set("chatId", chatId)
+                .set("terms", terms)
+                .set("timestamp", message.getTimestamp()));
+        return true;
+    }
+
+    private Set<String> chatsOf(String userId) {
+        Set<String> chats = new HashSet<>();
+        Query conversations = new Query(Criteria.where("participantIds").is(userId));
+        conversations.fields().include("_id");
+        mongoTemplate.find(conversations, Conversation.class).forEach(c -> chats.add(c.getId()));
+        Query groups = new Query(Criteria.where("members.userId").is(userId));
+        groups.fields().include("_id");
+        mongoTemplate.find(groups, ChatGroup.class).forEach(g -> chats.add(g.getId()));
+        return chats;
+    }
+
+    public record Result(List<String> messageIds, long total) {}
+}
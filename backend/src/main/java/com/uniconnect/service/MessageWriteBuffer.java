@@ -0,0 +1,191 @@
+package com.uniconnect.service;
+
+import com.uniconnect.config.SchedulingConfig;
+import com.uniconnect.model.ChatGroup;
+import com.uniconnect.model.Conversation;
+import com.uniconnect.model.Message;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Write-behind buffer for chat messages sent over the WebSocket.
+ *
+ * Messages get their id up front (so the sender can be acked immediately), wait in a bounded queue and
+ * are written every chat.write-buffer.flush-interval-ms as one insertMany per batch. The lastMessage*
+ * fields of conversations and groups are updated once per batch with the newest message of each.
+ * When the queue stays full for chat.write-buffer.offer-timeout-ms the message is written inline,
+ * which slows the sending session down instead of dropping anything.
+ */
+@Component
+public class MessageWriteBuffer {
+    private static final int DUPLICATE_KEY = 11000;
+
+    private final MongoTemplate mongoTemplate;
+    private final UnreadCounterService unreadCounterService;
+    private final MessageSearchIndex messageSearchIndex;
+    private final BlockingQueue<Message> queue;
+    private final int capacity;
+
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong persisted = new AtomicLong();
+    private final AtomicLong inlineWrites = new AtomicLong();
+    private final AtomicLong failedFlushes = new AtomicLong();
+    private volatile int highWatermark;
+
+    @Value("${chat.write-buffer.batch-size:500}")
+    private int batchSize;
+
+    @Value("${chat.write-buffer.offer-timeout-ms:50}")
+    private long offerTimeoutMs;
+
+    public MessageWriteBuffer(MongoTemplate mongoTemplate,
+                              UnreadCounterService unreadCounterService,
+                              MessageSearchIndex messageSearchIndex,
+                              @Value("${chat.write-buffer.capacity:10000}") int capacity) {
+        this.mongoTemplate = mongoTemplate;
+        this.unreadCounterService = unreadCounterService;
+        this.messageSearchIndex = messageSearchIndex;
+        this.capacity = capacity;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+    }
+
+    /**
+     * Queues a message whose id is already set. Blocks for at most offer-timeout-ms when the buffer
+     * is full, then falls back to writing the message synchronously.
+     */
+    public void enqueue(Message message) {
+        enqueued.incrementAndGet();
+        boolean queued;
+        try {
+            queued = queue.offer(message, offerTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            queued = false;
+        }
+        if (queued) {
+            int depth = queue.size();
+            if (depth > highWatermark) highWatermark = depth;
+            return;
+        }
+        inlineWrites.incrementAndGet();
+        write(List.of(message));
+    }
+
+    @Scheduled(fixedDelayString = "${chat.write-buffer.flush-interval-ms:100}", scheduler = SchedulingConfig.REALTIME)
+    public void flush() {
+        List<Message> batch = new ArrayList<>(Math.min(batchSize, capacity));
+        while (queue.drainTo(batch, batchSize) > 0) {
+            try {
+                write(batch);
+            } catch (Exception e) {
+                failedFlushes.incrementAndGet();
+                System.err.println("Error persisting chat messages, will retry: " + e.getMessage());
+                // Put the batch back; messages that did get inserted are skipped as duplicates next time
+                long dropped = batch.stream().filter(m -> !queue.offer(m)).count();
+                if (dropped > 0) {
+                    System.err.println("⚠️ Chat write buffer full, dropped " + dropped + " message(s) after a failed flush");
+                }
+                return;
+            }
+            batch = new ArrayList<>(Math.min(batchSize, capacity));
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+        if (!queue.isEmpty()) {
+            System.err.println("⚠️ " + queue.size() + " chat message(s) could not be persisted on shutdown");
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("queueDepth", queue.size());
+        stats.put("capacity", capacity);
+        stats.put("highWatermark", highWatermark);
+        stats.put("enqueued", enqueued.get());
+        stats.put("persisted", persisted.get());
+        stats.put("inlineWrites", inlineWrites.get());
+        stats.put("failedFlushes", failedFlushes.get());
+        return stats;
+    }
+
+    private void write(List<Message> batch) {
+        List<Message> inserted = insertIgnoringDuplicates(batch);
+        persisted.addAndGet(inserted.size());
+        // Messages already inserted by an earlier, failed attempt were counted then
+        unreadCounterService.messagesSent(inserted);
+        messageSearchIndex.index(inserted);
+
+        // Coalesce lastMessage* updates: one per conversation / group per batch
+        Map<String, Message> latestByConversation = new HashMap<>();
+        Map<String, Message> latestByGroup = new HashMap<>();
+        for (Message message : batch) {
+            if (message.getConversationId() != null) {
+                latestByConversation.merge(message.getConversationId(), message, MessageWriteBuffer::newer);
+            } else if (message.getGroupId() != null) {
+                latestByGroup.merge(message.getGroupId(), message, MessageWriteBuffer::newer);
+            }
+        }
+        updateLastMessage(latestByConversation, Conversation.class);
+        updateLastMessage(latestByGroup, ChatGroup.class);
+    }
+
+    private List<Message> insertIgnoringDuplicates(List<Message> batch) {
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Message.class).insert(batch).execute();
+            return batch;
+        } catch (BulkOperationException e) {
+            boolean onlyDuplicates = e.getErrors().stream().allMatch(err -> err.getCode() == DUPLICATE_KEY);
+            if (!onlyDuplicates) throw e;
+            Set<Integer> duplicates = new HashSet<>();
+            e.getErrors().forEach(err -> duplicates.add(err.getIndex()));
+            List<Message> inserted = new ArrayList<>();
+            for (int i = 0; i < batch.size(); i++) {
+                if (!duplicates.contains(i)) inserted.add(batch.get(i));
+            }
+            return inserted;
+        }
+    }
+
+    private void updateLastMessage(Map<String, Message> latest, Class<?> type) {
+        if (latest.isEmpty()) return;
+        BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, type);
+        LocalDateTime now = LocalDateTime.now();
+        latest.forEach((id, message) -> {
+            // Never move lastMessage backwards (e.g. a retried batch landing after a newer one)
+            Query query = new Query(new Criteria().andOperator(
+                    Criteria.where("_id").is(id),
+                    new Criteria().orOperator(
+                            Criteria.where("lastMessageTime").is(null),
+                            Criteria.where("lastMessageTime").lte(message.getTimestamp()))));
+            Update update = new Update()
+                    .set("lastMessage", message.getContent())
+                    .set("lastMessageId", message.getId())
+                    .set("lastMessageTime", message.getTimestamp())
+                    .set("updatedAt", now);
+            ops.updateOne(query, update);
+        });
+        ops.execute();
+    }
+
+    private static Message newer(Message a, Message b) {
+        return b.getTimestamp().isBefore(a.getTimestamp()) ? a : b;
+    }
+}
@@ -0,0 +1,119 @@
+package com.uniconnect.service;
+
+import com.uniconnect.model.PlacementStat;
+import com.uniconnect.repository.InterviewRepository;
+import com.uniconnect.repository.JobRepository;
+import com.uniconnect.repository.StudentRepository;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * Placement dashboard roll-ups, read from the placement_stats view (PlacementStatsView) so a dashboard
+ * refresh fetches a handful of counter rows instead of grouping every application.
+ */
+@Service
+public class PlacementAnalyticsService {
+    private static final String[] MONTHS = {"Jan", "Feb", "Mar", "Apr", "May", "Jun", "Jul", "Aug", "Sep", "Oct", "Nov", "Dec"};
+
+    private final PlacementStatsView placementStatsView;
+    private final EligibilityIndex eligibilityIndex;
+    private final StudentRepository studentRepository;
+    private final JobRepository jobRepository;
+    private final InterviewRepository interviewRepository;
+
+    public PlacementAnalyticsService(PlacementStatsView placementStatsView,
+                                     EligibilityIndex eligibilityIndex,
+                                     StudentRepository studentRepository,
+                                     JobRepository jobRepository,
+                                     InterviewRepository interviewRepository) {
+        this.placementStatsView = placementStatsView;
+        this.eligibilityIndex = eligibilityIndex;
+        this.studentRepository = studentRepository;
+        this.jobRepository = jobRepository;
+        this.interviewRepository = interviewRepository;
+    }
+
+    public Map<String, Object> placementStats() {
+        Map<String, Long> applicationsByStatus = applicationsByStatus();
+        long totalApplications = applicationsByStatus.values().stream().mapToLong(Long::longValue).sum();
+        long offersReleased = applicationsByStatus.getOrDefault(PlacementStatsView.STATUS_ACCEPTED, 0L);
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("totalStudents", studentRepository.count());
+        stats.put("totalEligibleStudents", eligibilityIndex.eligibleStudentCount());
+        stats.put("totalApplications", totalApplications);
+        stats.put("totalJobs", jobRepository.count());
+        stats.put("activeJobs", jobRepository.countByStatus("Active"));
+        stats.put("interviewsScheduled", interviewRepository.countByStatus("Scheduled"));
+        stats.put("interviewsCompleted", interviewRepository.countByStatus("Completed"));
+        stats.put("offersReleased", offersReleased);
+        stats.put("studentsPlaced", offersReleased); // Simplified
+        stats.put("applicationsByStatus", applicationsByStatus);
+        stats.put("averageReadinessScore", 72.5); // Placeholder - can be calculated from profiles
+        return stats;
+    }
+
+    /**
+     * Application count per status.
+     */
+    public Map<String, Long> applicationsByStatus() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        placementStatsView.rows(PlacementStatsView.DIM_STATUS).forEach((status, row) -> {
+            if (row.getApplications() > 0) counts.put(status, row.getApplications());
+        });
+        return counts;
+    }
+
+    /**
+     * Applications, offers and conversion rate per company, most applications first.
+     */
+    public List<Map<String, Object>> companyStats() {
+        return rankedStats(PlacementStatsView.DIM_COMPANY, "company");
+    }
+
+    /**
+     * Applications, offers and conversion rate per student branch, most applications first.
+     */
+    public List<Map<String, Object>> branchStats() {
+        return rankedStats(PlacementStatsView.DIM_BRANCH, "branch");
+    }
+
+    /**
+     * Applications, interviews, offers and placements per calendar month of appliedAt (all years
+     * folded together), always twelve rows from Jan to Dec.
+     */
+    public List<Map<String, Object>> monthlyTrends() {
+        Map<String, PlacementStat> rows = placementStatsView.rows(PlacementStatsView.DIM_MONTH);
+        List<Map<String, Object>> trends = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            PlacementStat row = rows.get(String.valueOf(i + 1));
+            long offers = row != null ? row.getOffers() : 0;
+            Map<String, Object> trend = new LinkedHashMap<>();
+            trend.put("month", MONTHS[i]);
+            trend.put("applications", row != null ? row.getApplications() : 0L);
+            trend.put("interviews", row != null ? row.getInterviews() : 0L);
+            trend.put("offers", offers);
+            trend.put("placements", offers);
+            trends.add(trend);
+        }
+        return trends;
+    }
+
+    private List<Map<String, Object>> rankedStats(String dimension, String label) {
+        List<PlacementStat> rows = new ArrayList<>(placementStatsView.rows(dimension).values());
+        rows.removeIf(row -> row.getApplications() <= 0);
+        rows.sort(Comparator.comparingLong(PlacementStat::getApplications).reversed());
+
+        List<Map<String, Object>> stats = new ArrayList<>();
+        for (PlacementStat row : rows) {
+            Map<String, Object> stat = new LinkedHashMap<>();
+            stat.put(label, row.getKey());
+            stat.put("applications", row.getApplications());
+            stat.put("offers", row.getOffers());
+            stat.put("conversionRate", row.getOffers() * 100.0 / row.getApplications());
+            stats.add(stat);
+        }
+        return stats;
+    }
+}
@@ -0,0 +1,273 @@
+package com.uniconnect.service;
+
+import com.uniconnect.model.JobApplication;
+import com.uniconnect.model.PlacementStat;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationExpression;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.aggregation.ComparisonOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.aggregation.ConvertOperators;
+import org.springframework.data.mongodb.core.aggregation.DateOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.*;
+
+/**
+ * Materialized placement statistics in placement_stats: one counter row per status, company, month
+ * applied and student branch.
+ *
+ * Creating, re-statusing and withdrawing applications $inc's the affected rows in one bulk write,
+ * so the dashboard reads a dimension with a single indexed query instead of scanning job_applications.
+ * recompute() rebuilds every row from job_applications with aggregation pipelines to correct drift
+ * (a crash between the application write and the increment, writes that bypass JobApplicationService).
+ */
+@Service
+public class PlacementStatsView {
+    public static final String DIM_STATUS = "status";
+    public static final String DIM_COMPANY = "company";
+    public static final String DIM_MONTH = "month";
+    public static final String DIM_BRANCH = "branch";
+
+    public static final String STATUS_ACCEPTED = "accepted";
+    public static final String STATUS_INTERVIEW = "interview";
+
+    private static final String UNKNOWN = "Unknown";
+    private static final int WRITE_BATCH_SIZE = 500;
+    private static final int DUPLICATE_KEY = 11000;
+
+    private final MongoTemplate mongoTemplate;
+    private final AuthorDirectory authorDirectory;
+
+    public PlacementStatsView(MongoTemplate mongoTemplate, AuthorDirectory authorDirectory) {
+        this.mongoTemplate = mongoTemplate;
+        this.authorDirectory = authorDirectory;
+    }
+
+    public void applicationCreated(JobApplication application) {
+        adjust(application, Map.of(keyOf(application.getStatus()), 1), 1);
+    }
+
+    public void applicationRemoved(JobApplication application) {
+        adjust(application, Map.of(keyOf(application.getStatus()), -1), -1);
+    }
+
+    /**
+     * Moves an application from one status to another; application carries the other dimensions.
+     */
+    public void statusChanged(JobApplication application, String from, String to) {
+        if (keyOf(from).equals(keyOf(to))) return;
+        adjust(application, Map.of(keyOf(from), -1, keyOf(to), 1), 0);
+    }
+
+    /**
+     * Moves many applications to one status with a single bulk write; each application still carries
+     * the status it had before.
+     */
+    public void statusesChanged(Collection<JobApplication> applications, String to) {
+        Map<String, long[]> deltas = new HashMap<>();
+        for (JobApplication application : applications) {
+            String from = application.getStatus();
+            if (keyOf(from).equals(keyOf(to))) continue;
+            accumulate(deltas, application, Map.of(keyOf(from), -1, keyOf(to), 1), 0);
+        }
+        write(deltas);
+    }
+
+    /**
+     * All rows of one dimension (key -> row).
+     */
+    public Map<String, PlacementStat> rows(String dimension) {
+        Map<String, PlacementStat> rows = new LinkedHashMap<>();
+        for (PlacementStat row : mongoTemplate.find(new Query(Criteria.where("dimension").is(dimension)), PlacementStat.class)) {
+            rows.put(row.getKey(), row);
+        }
+        return rows;
+    }
+
+    private void adjust(JobApplication application, Map<String, Integer> statusDeltas, int applications) {
+        Map<String, long[]> deltas = new HashMap<>();
+        accumulate(deltas, application, statusDeltas, applications);
+        write(deltas);
+    }
+
+    // Adds one application's changes to "dimension:key" -> {applications, interviews, offers};
+    // statusDeltas: status -> change of its count; applications: change of the other rows' counts
+    private void accumulate(Map<String, long[]> deltas, JobApplication application,
+                            Map<String, Integer> statusDeltas, int applications) {
+        long interviews = statusDeltas.getOrDefault(STATUS_INTERVIEW, 0);
+        long offers = statusDeltas.getOrDefault(STATUS_ACCEPTED, 0);
+        statusDeltas.forEach((status, delta) ->
+                deltas.computeIfAbsent(DIM_STATUS + ":" + status, k -> new long[3])[0] += delta);
+        for (Map.Entry<String, String> row : rowKeys(application).entrySet()) {
+            long[] counts = deltas.computeIfAbsent(row.getKey() + ":" + row.getValue(), k -> new long[3]);
+            counts[0] += applications;
+            counts[1] += interviews;
+            counts[2] += offers;
+        }
+    }
+
+    private void write(Map<String, long[]> deltas) {
+        try {
+            BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, PlacementStat.class);
+            Instant now = Instant.now();
+            int pending = 0;
+            for (Map.Entry<String, long[]> entry : deltas.entrySet()) {
+                long[] counts = entry.getValue();
+                if (counts[0] == 0 && counts[1] == 0 && counts[2] == 0) continue;
+                String[] row = entry.getKey().split(":", 2);
+                Update update = rowUpdate(row[0], row[1], now);
+                if (counts[0] != 0) update.inc("applications", counts[0]);
+                if (counts[1] != 0) update.inc("interviews", counts[1]);
+                if (counts[2] != 0) update.inc("offers", counts[2]);
+                ops.upsert(new Query(Criteria.where("_id").is(entry.getKey())), update);
+                pending++;
+            }
+            if (pending > 0) ops.execute();
+        } catch (Exception e) {
+            // The next recompute() repairs the view; applying must not fail because of it
+            System.err.println("Error updating placement stats: " + e.getMessage());
+        }
+    }
+
+    // dimension -> key of the rows an application is counted in besides its status row
+    private Map<String, String> rowKeys(JobApplication application) {
+        Map<String, String> keys = new LinkedHashMap<>();
+        keys.put(DIM_COMPANY, keyOf(application.getCompany()));
+        if (application.getAppliedAt() != null) {
+            keys.put(DIM_MONTH, String.valueOf(application.getAppliedAt().getMonthValue()));
+        }
+        keys.put(DIM_BRANCH, keyOf(application.getBranch()));
+        return keys;
+    }
+
+    /**
+     * Rebuilds the view from job_applications. Rows written after the run started are newer than what
+     * it saw: the upsert then fails with a duplicate key instead of overwriting them.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${placement.stats.recompute-interval-ms:3600000}",
+            fixedDelayString = "${placement.stats.recompute-interval-ms:3600000}")
+    public void recompute() {
+        Instant runStart = Instant.now();
+        try {
+            backfillBranches();
+
+            // appliedAt is written from the server's local time, so months are taken in that zone too
+            DateOperators.Timezone zone = DateOperators.Timezone.valueOf(ZoneId.systemDefault().getId());
+            Map<String, long[]> expected = new HashMap<>();
+            count(DIM_STATUS, ConditionalOperators.ifNull("status").then(UNKNOWN), null, expected, "status");
+            count(DIM_COMPANY, ConditionalOperators.ifNull("company").then(UNKNOWN), null, expected, "company", "status");
+            count(DIM_MONTH, ConvertOperators.ToString.toString(DateOperators.Month.monthOf("appliedAt").withTimezone(zone)),
+                    Criteria.where("appliedAt").ne(null), expected, "appliedAt", "status");
+            count(DIM_BRANCH, ConditionalOperators.ifNull("branch").then(UNKNOWN), null, expected, "branch", "status");
+
+            BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, PlacementStat.class);
+            int pending = 0;
+            for (Map.Entry<String, long[]> entry : expected.entrySet()) {
+                String[] row = entry.getKey().split(":", 2);
+                long[] counts = entry.getValue();
+                Query notTouchedSince = new Query(Criteria.where("_id").is(entry.getKey()).and("updatedAt").lt(runStart));
+                ops.upsert(notTouchedSince, rowUpdate(row[0], row[1], runStart)
+                        .set("applications", counts[0]).set("interviews", counts[1]).set("offers", counts[2]));
+                if (++pending >= WRITE_BATCH_SIZE) {
+                    executeIgnoringDuplicates(ops);
+                    ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, PlacementStat.class);
+                    pending = 0;
+                }
+            }
+            if (pending > 0) executeIgnoringDuplicates(ops);
+
+            // Rows with no applications behind them any more (e.g. a company whose applications were all withdrawn)
+            Query stale = new Query(Criteria.where("_id").nin(expected.keySet()).and("updatedAt").lt(runStart));
+            long removed = mongoTemplate.remove(stale, PlacementStat.class).getDeletedCount();
+            System.out.println("📊 Recomputed placement stats: " + expected.size() + " rows, " + removed + " removed");
+        } catch (Exception e) {
+            System.err.println("Error recomputing placement stats: " + e.getMessage());
+        }
+    }
+
+    // Groups job_applications by the key expression into "dimension:key" -> {applications, interviews, offers}.
+    // indexFields: a JobApplication index holding every field the pipeline reads; sorting on it first
+    // lets the planner answer the pipeline from that index instead of scanning the collection.
+    private void count(String dimension, AggregationExpression key, Criteria filter, Map<String, long[]> expected,
+                       String... indexFields) {
+        List<AggregationOperation> stages = new ArrayList<>();
+        if (filter != null) stages.add(Aggregation.match(filter));
+        stages.add(Aggregation.sort(Sort.by(Sort.Direction.ASC, indexFields)));
+        stages.add(Aggregation.project("status").and(key).as("key"));
+        stages.add(Aggregation.group("key").count().as("applications")
+                .sum(statusFlag(STATUS_INTERVIEW)).as("interviews")
+                .sum(statusFlag(STATUS_ACCEPTED)).as("offers"));
+        // Disk use only matters if the index is missing and the sort has to happen in memory
+        Aggregation aggregation = Aggregation.newAggregation(stages)
+                .withOptions(AggregationOptions.builder().allowDiskUse(true).build());
+        for (Document row : mongoTemplate.aggregate(aggregation, JobApplication.class, Document.class).getMappedResults()) {
+            expected.put(dimension + ":" + row.get("_id"), new long[] {
+                    ((Number) row.get("applications")).longValue(),
+                    ((Number) row.get("interviews")).longValue(),
+                    ((Number) row.get("offers")).longValue()});
+        }
+    }
+
+    // Applications made before the branch was copied onto them get it from the student
+    private void backfillBranches() {
+        Query missing = new Query(Criteria.where("branch").exists(false).and("studentId").ne(null));
+        List<String> studentIds = mongoTemplate.findDistinct(missing, "studentId", JobApplication.class, String.class);
+        for (int from = 0; from < studentIds.size(); from += WRITE_BATCH_SIZE) {
+            List<String> chunk = studentIds.subList(from, Math.min(from + WRITE_BATCH_SIZE, studentIds.size()));
+            Map<String, AuthorDirectory.Author> students = new HashMap<>(authorDirectory.findStudentsByIds(chunk));
+            students.putAll(authorDirectory.findByEmails(chunk));
+
+            BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, JobApplication.class);
+            for (String studentId : chunk) {
+                AuthorDirectory.Author student = students.get(studentId);
+                // Unknown students get a null branch so they are not looked up again on every run
+                ops.updateMulti(new Query(Criteria.where("studentId").is(studentId).and("branch").exists(false)),
+                        new Update().set("branch", student != null ? student.getBranch() : null));
+            }
+            ops.execute();
+        }
+    }
+
+    private void executeIgnoringDuplicates(BulkOperations ops) {
+        try {
+            ops.execute();
+        } catch (BulkOperationException e) {
+            boolean onlyDuplicates = e.getErrors().stream().allMatch(err -> err.getCode() == DUPLICATE_KEY);
+            if (!onlyDuplicates) throw e;
+        }
+    }
+
+    // 1 when the application has the given status, 0 otherwise, for $sum inside a $group
+    private static ConditionalOperators.Cond statusFlag(String status) {
+        return ConditionalOperators.when(ComparisonOperators.valueOf("status").equalToValue(status))
+                .then(1)
+                .otherwise(0);
+    }
+
+    private static Update rowUpdate(String dimension, String key, Instant now) {
+        return new Update()
+                .setOnInsert("dimension", dimension)
+                .setOnInsert("key", key)
+                .set("updatedAt", now);
+    }
+
+    private static String keyOf(String value) {
+        return value == null ? UNKNOWN : value;
+    }
+}
@@ -0,0 +1,273 @@
+package com.uniconnect.service;
+
+import com.uniconnect.model.Reel;
+import com.uniconnect.model.ReelComment;
+import com.uniconnect.model.ReelLike;
+import com.uniconnect.model.ReelSave;
+import com.uniconnect.repository.ReelCommentRepository;
+import com.uniconnect.repository.ReelLikeRepository;
+import com.uniconnect.repository.ReelSaveRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Likes, saves and comments on reels.
+ *
+ * In "embedded" mode engagement stays in the reel document's arrays, in "split" mode it lives in the
+ * reel_likes / reel_saves / reel_comments collections. Either way the reel document is only touched
+ * through atomic $inc / $addToSet / $pull / $push updates, never a read-modify-save of the whole reel.
+ */
+@Service
+public class ReelEngagementService {
+    public static final String MODE_EMBEDDED = "embedded";
+    public static final String MODE_SPLIT = "split";
+
+    private final MongoTemplate mongoTemplate;
+    private final ReelLikeRepository reelLikeRepository;
+    private final ReelSaveRepository reelSaveRepository;
+    private final ReelCommentRepository reelCommentRepository;
+
+    @Value("${reels.engagement.mode:embedded}")
+    private String mode;
+
+    public ReelEngagementService(MongoTemplate mongoTemplate,
+                                 ReelLikeRepository reelLikeRepository,
+                                 ReelSaveRepository reelSaveRepository,
+                                 ReelCommentRepository reelCommentRepository) {
+        this.mongoTemplate = mongoTemplate;
+        this.reelLikeRepository = reelLikeRepository;
+        this.reelSaveRepository = reelSaveRepository;
+        this.reelCommentRepository = reelCommentRepository;
+    }
+
+    public boolean isSplitMode() {
+        return MODE_SPLIT.equalsIgnoreCase(mode);
+    }
+
+    public Reel like(String reelId, String studentId) {
+        if (!isSplitMode()) {
+            Query query = new Query(Criteria.where("_id").is(reelId).and("likedByStudents").ne(studentId));
+            return applyOrLoad(reelId, query, new Update().addToSet("likedByStudents", studentId).inc("likes", 1));
+        }
+        try {
+            reelLikeRepository.insert(new ReelLike(reelId, studentId));
+        } catch (DuplicateKeyException e) {
+            return findReel(reelId); // already liked
+        }
+        Reel updated = increment(reelId, "likes", 1);
+        if (updated == null) {
+            reelLikeRepository.deleteByReelIdAndStudentId(reelId, studentId);
+            throw reelNotFound();
+        }
+        return updated;
+    }
+
+    public Reel unlike(String reelId, String studentId) {
+        if (!isSplitMode()) {
+            Query query = new Query(Criteria.where("_id").is(reelId).and("likedByStudents").is(studentId));
+            return applyOrLoad(reelId, query, new Update().pull("likedByStudents", studentId).inc("likes", -1));
+        }
+        if (reelLikeRepository.deleteByReelIdAndStudentId(reelId, studentId) > 0) {
+            return decrement(reelId, "likes");
+        }
+        return findReel(reelId);
+    }
+
+    public Reel save(String reelId, String studentId) {
+        if (!isSplitMode()) {
+            Query query = new Query(Criteria.where("_id").is(reelId).and("savedByStudents").ne(studentId));
+            return applyOrLoad(reelId, query, new Update().addToSet("savedByStudents", studentId).inc("saves", 1));
+        }
+        try {
+            reelSaveRepository.insert(new ReelSave(reelId, studentId));
+        } catch (DuplicateKeyException e) {
+            return findReel(reelId); // already saved
+        }
+        Reel updated = increment(reelId, "saves", 1);
+        if (updated == null) {
+            reelSaveRepository.deleteByReelIdAndStudentId(reelId, studentId);
+            throw reelNotFound();
+        }
+        return updated;
+    }
+
+    public Reel unsave(String reelId, String studentId) {
+        if (!isSplitMode()) {
+            Query query = new Query(Criteria.where("_id").is(reelId).and("savedByStudents").is(studentId));
+            return applyOrLoad(reelId, query, new Update().pull("savedByStudents", studentId).inc("saves", -1));
+        }
+        if (reelSaveRepository.deleteByReelIdAndStudentId(reelId, studentId) > 0) {
+            return decrement(reelId, "saves");
+        }
+        return findReel(reelId);
+    }
+
+    public Reel addComment(String reelId, Reel.Comment comment) {
+        if (!isSplitMode()) {
+            Query query = new Query(Criteria.where("_id").is(reelId));
+            Reel updated = mongoTemplate.findAndModify(query,
+                    new Update().push("commentList", comment).inc("comments", 1),
+                    FindAndModifyOptions.options().returnNew(true), Reel.class);
+            if (updated == null) {
+                throw reelNotFound();
+            }
+            return updated;
+        }
+        if (!mongoTemplate.exists(new Query(Criteria.where("_id").is(reelId)), Reel.class)) {
+            throw reelNotFound();
+        }
+        reelCommentRepository.insert(new ReelComment(reelId, comment));
+        Reel updated = increment(reelId, "comments", 1);
+        if (updated == null) {
+            reelCommentRepository.deleteById(comment.getId());
+            throw reelNotFound();
+        }
+        return updated;
+    }
+
+    /**
+     * Removes the split-mode engagement rows of a deleted reel. No-op in embedded mode.
+     */
+    public void deleteEngagement(String reelId) {
+        if (!isSplitMode()) return;
+        reelLikeRepository.deleteByReelId(reelId);
+        reelSaveRepository.deleteByReelId(reelId);
+        reelCommentRepository.deleteByReelId(reelId);
+    }
+
+    public void deleteAllEngagement() {
+        reelLikeRepository.deleteAll();
+        reelSaveRepository.deleteAll();
+        reelCommentRepository.deleteAll();
+    }
+
+    /**
+     * Resolves liked/saved flags (and optionally comments) for a batch of reels with at most one
+     * query per engagement collection, so mapping a page of reels does not query once per reel.
+     */
+    public Snapshot snapshot(Collection<Reel> reels, String studentId, boolean includeComments) {
+        if (!isSplitMode()) {
+            return Snapshot.embedded(studentId);
+        }
+        List<String> reelIds = reels.stream().map(Reel::getId).collect(Collectors.toList());
+        Set<String> liked = new HashSet<>();
+        Set<String> saved = new HashSet<>();
+        if (studentId != null && !reelIds.isEmpty()) {
+            reelLikeRepository.findByStudentIdAndReelIdIn(studentId, reelIds)
+                    .forEach(l -> liked.add(l.getReelId()));
+            reelSaveRepository.findByStudentIdAndReelIdIn(studentId, reelIds)
+                    .forEach(s -> saved.add(s.getReelId()));
+        }
+        Map<String, List<Reel.Comment>> comments = new HashMap<>();
+        if (includeComments && !reelIds.isEmpty()) {
+            reelCommentRepository.findByReelIdInOrderByCreatedAtAsc(reelIds)
+                    .forEach(c -> comments.computeIfAbsent(c.getReelId(), k -> new ArrayList<>()).add(c.toComment()));
+        }
+        return new Snapshot(studentId, liked, saved, comments);
+    }
+
+    /**
+     * Like {@link #snapshot(Collection, String, boolean)} for reels loaded with a list projection
+     * (likedByStudents / savedByStudents / commentList excluded). Flags come from indexed lookups
+     * instead of the arrays, and no comments are loaded.
+     */
+    public Snapshot listSnapshot(Collection<Reel> reels, String studentId) {
+        if (isSplitMode()) {
+            return snapshot(reels, studentId, false);
+        }
+        Set<String> liked = new HashSet<>();
+        Set<String> saved = new HashSet<>();
+        List<String> reelIds = reels.stream().map(Reel::getId).collect(Collectors.toList());
+        if (studentId != null && !reelIds.isEmpty()) {
+            liked.addAll(matchingReelIds(reelIds, "likedByStudents", studentId));
+            saved.addAll(matchingReelIds(reelIds, "savedByStudents", studentId));
+        }
+        return new Snapshot(studentId, liked, saved, Map.of());
+    }
+
+    public Snapshot snapshot(Reel reel, String studentId) {
+        return snapshot(List.of(reel), studentId, true);
+    }
+
+    private List<String> matchingReelIds(List<String> reelIds, String arrayField, String studentId) {
+        Query query = new Query(Criteria.where("_id").in(reelIds).and(arrayField).is(studentId));
+        query.fields().include("_id");
+        return mongoTemplate.find(query, Reel.class).stream().map(Reel::getId).collect(Collectors.toList());
+    }
+
+    private Reel applyOrLoad(String reelId, Query query, Update update) {
+        Reel updated = mongoTemplate.findAndModify(query, update,
+                FindAndModifyOptions.options().returnNew(true), Reel.class);
+        return updated != null ? updated : findReel(reelId);
+    }
+
+    private Reel increment(String reelId, String field, int delta) {
+        return mongoTemplate.findAndModify(new Query(Criteria.where("_id").is(reelId)),
+                new Update().inc(field, delta), FindAndModifyOptions.options().returnNew(true), Reel.class);
+    }
+
+    private Reel decrement(String reelId, String field) {
+        // Guard against going negative if the counter drifted before the edge row was removed
+        Query query = new Query(Criteria.where("_id").is(reelId).and(field).gt(0));
+        return applyOrLoad(reelId, query, new Update().inc(field, -1));
+    }
+
+    private Reel findReel(String reelId) {
+        Reel reel = mongoTemplate.findById(reelId, Reel.class);
+        if (reel == null) {
+            throw reelNotFound();
+        }
+        return reel;
+    }
+
+    private ResponseStatusException reelNotFound() {
+        return new ResponseStatusException(HttpStatus.NOT_FOUND, "Reel not found");
+    }
+
+    /**
+     * Per-request view of the current student's engagement on a set of reels.
+     */
+    public static class Snapshot {
+        private final String studentId;
+        private final Set<String> likedReelIds;
+        private final Set<String> savedReelIds;
+        private final Map<String, List<Reel.Comment>> comments;
+
+        private Snapshot(String studentId, Set<String> likedReelIds, Set<String> savedReelIds,
+                         Map<String, List<Reel.Comment>> comments) {
+            this.studentId = studentId;
+            this.likedReelIds = likedReelIds;
+            this.savedReelIds = savedReelIds;
+            this.comments = comments;
+        }
+
+        private static Snapshot embedded(String studentId) {
+            return new Snapshot(studentId, null, null, null);
+        }
+
+        public boolean isLiked(Reel reel) {
+            if (studentId == null) return false;
+            return likedReelIds != null ? likedReelIds.contains(reel.getId()) : reel.getLikedByStudents().contains(studentId);
+        }
+
+        public boolean isSaved(Reel reel) {
+            if (studentId == null) return false;
+            return savedReelIds != null ? savedReelIds.contains(reel.getId()) : reel.getSavedByStudents().contains(studentId);
+        }
+
+        public List<Reel.Comment> commentsFor(Reel reel) {
+            return comments != null ? comments.getOrDefault(reel.getId(), List.of()) : reel.getCommentList();
+        }
+    }
+}
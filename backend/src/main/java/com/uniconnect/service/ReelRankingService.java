@@ -0,0 +1,281 @@
+package com.uniconnect.service;
+
+import com.uniconnect.model.Reel;
+import com.uniconnect.model.ReelRanking;
+import com.uniconnect.model.Student;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Trending and personalized reel ranking.
+ *
+ * A time-decayed hotness score (engagement / (age + 2)^gravity) is computed for every reel into the
+ * reel_rankings collection every reels.ranking.refresh-interval-ms. The trending feed is a keyset scan
+ * of that collection; the personalized feed re-ranks the top candidates by the student's branch,
+ * year and skills.
+ */
+@Service
+public class ReelRankingService {
+    public static final String SORT_TRENDING = "trending";
+    public static final String SORT_FOR_YOU = "for-you";
+
+    private static final double LIKE_WEIGHT = 1.0;
+    private static final double SAVE_WEIGHT = 2.0;
+    private static final double COMMENT_WEIGHT = 1.5;
+    private static final double PLACEMENT_READY_BONUS = 3.0;
+    private static final double BRANCH_BOOST = 1.5;
+    private static final double YEAR_BOOST = 1.2;
+    private static final double SKILL_BOOST = 1.5;
+    private static final int WRITE_BATCH_SIZE = 500;
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${reels.ranking.gravity:1.5}")
+    private double gravity;
+
+    @Value("${reels.ranking.personalized-candidates:300}")
+    private int personalizedCandidates;
+
+    public ReelRankingService(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${reels.ranking.refresh-interval-ms:300000}",
+            fixedDelayString = "${reels.ranking.refresh-interval-ms:300000}")
+    public void refresh() {
+        Instant runStart = Instant.now();
+        try {
+            Query query = new Query();
+            query.fields().include("category", "department", "year", "subject", "skill", "createdAt",
+                    "likes", "saves", "comments", "views", "academicScore", "placementReady");
+
+            List<ReelRanking> batch = new ArrayList<>();
+            try (Stream<Reel> reels = mongoTemplate.stream(query, Reel.class)) {
+                for (Reel reel : (Iterable<Reel>) reels::iterator) {
+                    batch.add(toRanking(reel, runStart));
+                    if (batch.size() >= WRITE_BATCH_SIZE) {
+                        write(batch);
+                        batch = new ArrayList<>();
+                    }
+                }
+            }
+            if (!batch.isEmpty()) {
+                write(batch);
+            }
+            // Anything not touched by this run belongs to a deleted reel
+            mongoTemplate.remove(new Query(Criteria.where("computedAt").lt(runStart)), ReelRanking.class);
+        } catch (Exception e) {
+            System.err.println("Error refreshing reel rankings: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Scores a single reel right away (e.g. a new upload) instead of waiting for the next refresh.
+     */
+    public void update(Reel reel) {
+        if (reel == null || reel.getId() == null) return;
+        write(List.of(toRanking(reel, Instant.now())));
+    }
+
+    public void remove(String reelId) {
+        mongoTemplate.remove(new Query(Criteria.where("_id").is(reelId)), ReelRanking.class);
+    }
+
+    public void clear() {
+        mongoTemplate.remove(new Query(), ReelRanking.class);
+    }
+
+    /**
+     * One page of reel ids by hotness. The cursor is opaque and only valid for the trending feed.
+     */
+    public RankedIds trending(String category, String cursor, int limit) {
+        Criteria criteria = categoryCriteria(category);
+        if (cursor != null && !cursor.isEmpty()) {
+            String[] parts = decodeCursor(cursor, SORT_TRENDING);
+            double score;
+            try {
+                score = Double.parseDouble(parts[1]);
+            } catch (NumberFormatException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+            }
+            criteria = new Criteria().andOperator(criteria, new Criteria().orOperator(
+                    Criteria.where("score").lt(score),
+                    Criteria.where("score").is(score).and("_id").lt(parts[2])));
+        }
+
+        Query query = new Query(criteria)
+                .with(Sort.by(Sort.Direction.DESC, "score", "_id"))
+                .limit(limit + 1);
+        query.fields().include("_id", "score");
+        List<ReelRanking> rankings = mongoTemplate.find(query, ReelRanking.class);
+
+        boolean hasMore = rankings.size() > limit;
+        if (hasMore) {
+            rankings = rankings.subList(0, limit);
+        }
+        String nextCursor = null;
+        if (hasMore) {
+            ReelRanking last = rankings.get(rankings.size() - 1);
+            nextCursor = encodeCursor(SORT_TRENDING + "|" + last.getScore() + "|" + last.getId());
+        }
+        return new RankedIds(rankings.stream().map(ReelRanking::getId).collect(Collectors.toList()), nextCursor);
+    }
+
+    /**
+     * Personalized page: the top reels.ranking.personalized-candidates by hotness, re-ranked for the
+     * student. Falls back to trending when the student is unknown.
+     */
+    public RankedIds forStudent(String studentId, String category, String cursor, int limit) {
+        Student profile = studentId != null ? loadProfile(studentId) : null;
+        if (profile == null) {
+            return trending(category, cursor, limit);
+        }
+
+        int offset = 0;
+        if (cursor != null && !cursor.isEmpty()) {
+            try {
+                offset = Integer.parseInt(decodeCursor(cursor, SORT_FOR_YOU)[1]);
+            } catch (NumberFormatException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+            }
+        }
+
+        Query query = new Query(categoryCriteria(category))
+                .with(Sort.by(Sort.Direction.DESC, "score", "_id"))
+                .limit(personalizedCandidates);
+        List<ReelRanking> candidates = new ArrayList<>(mongoTemplate.find(query, ReelRanking.class));
+
+        Set<String> skills = profile.getSkills() == null ? Set.of() : profile.getSkills().stream()
+                .map(Student.Skill::getName)
+                .filter(Objects::nonNull)
+                .map(s -> s.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toSet());
+        Map<String, Double> personalized = new HashMap<>();
+        for (ReelRanking ranking : candidates) {
+            personalized.put(ranking.getId(), ranking.getScore() * affinity(ranking, profile, skills));
+        }
+        candidates.sort(Comparator.<ReelRanking>comparingDouble(r -> personalized.get(r.getId())).reversed()
+                .thenComparing(ReelRanking::getId, Comparator.reverseOrder()));
+
+        int from = Math.min(offset, candidates.size());
+        int to = Math.min(from + limit, candidates.size());
+        String nextCursor = to < candidates.size() ? encodeCursor(SORT_FOR_YOU + "|" + to) : null;
+        List<String> ids = candidates.subList(from, to).stream().map(ReelRanking::getId).collect(Collectors.toList());
+        return new RankedIds(ids, nextCursor);
+    }
+
+    private double affinity(ReelRanking ranking, Student profile, Set<String> skills) {
+        double boost = 1.0;
+        if (profile.getBranch() != null && profile.getBranch().equalsIgnoreCase(ranking.getDepartment())) {
+            boost *= BRANCH_BOOST;
+        }
+        if (profile.getYear() != null && profile.getYear().equals(ranking.getYear())) {
+            boost *= YEAR_BOOST;
+        }
+        if (matchesSkill(ranking.getSkill(), skills) || matchesSkill(ranking.getSubject(), skills)) {
+            boost *= SKILL_BOOST;
+        }
+        return boost;
+    }
+
+    private boolean matchesSkill(String tag, Set<String> skills) {
+        return tag != null && skills.contains(tag.toLowerCase(Locale.ROOT));
+    }
+
+    private Student loadProfile(String studentId) {
+        Query query = new Query(Criteria.where("_id").is(studentId));
+        query.fields().include("branch", "year", "skills");
+        return mongoTemplate.findOne(query, Student.class);
+    }
+
+    private ReelRanking toRanking(Reel reel, Instant now) {
+        ReelRanking ranking = new ReelRanking();
+        ranking.setId(reel.getId());
+        ranking.setScore(hotness(reel, now));
+        ranking.setCategory(reel.getCategory());
+        ranking.setDepartment(reel.getDepartment());
+        ranking.setYear(reel.getYear());
+        ranking.setSubject(reel.getSubject());
+        ranking.setSkill(reel.getSkill());
+        ranking.setCreatedAt(reel.getCreatedAt());
+        ranking.setComputedAt(now);
+        return ranking;
+    }
+
+    private double hotness(Reel reel, Instant now) {
+        double engagement = 1
+                + LIKE_WEIGHT * reel.getLikes()
+                + SAVE_WEIGHT * reel.getSaves()
+                + COMMENT_WEIGHT * reel.getComments()
+                + Math.log1p(Math.max(reel.getViews(), 0))
+                + reel.getAcademicScore() / 25.0
+                + (reel.isPlacementReady() ? PLACEMENT_READY_BONUS : 0);
+        Instant createdAt = reel.getCreatedAt() != null ? reel.getCreatedAt() : now;
+        double ageHours = Math.max(Duration.between(createdAt, now).toMinutes() / 60.0, 0);
+        return engagement / Math.pow(ageHours + 2, gravity);
+    }
+
+    private void write(List<ReelRanking> rankings) {
+        BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ReelRanking.class);
+        for (ReelRanking r : rankings) {
+            Update update = new Update()
+                    .set("score", r.getScore())
+                    .set("category", r.getCategory())
+                    .set("department", r.getDepartment())
+                    .set("year", r.getYear())
+                    .set("subject", r.getSubject())
+                    .set("skill", r.getSkill())
+                    .set("createdAt", r.getCreatedAt())
+                    .set("computedAt", r.getComputedAt());
+            ops.upsert(new Query(Criteria.where("_id").is(r.getId())), update);
+        }
+        ops.execute();
+    }
+
+    private Criteria categoryCriteria(String category) {
+        if (category != null && !category.isEmpty() && !category.equals("All")) {
+            return Criteria.where("category").is(category);
+        }
+        return new Criteria();
+    }
+
+    // Cursor format (base64url): "trending|<score>|<reelId>" or "for-you|<offset>"
+    private String encodeCursor(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String[] decodeCursor(String cursor, String expectedSort) {
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", 3);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+        int expectedParts = SORT_TRENDING.equals(expectedSort) ? 3 : 2;
+        if (parts.length != expectedParts || !parts[0].equals(expectedSort)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cursor does not match sortBy");
+        }
+        return parts;
+    }
+
+    public record RankedIds(List<String> reelIds, String nextCursor) {}
+}
@@ -0,0 +1,247 @@
+package com.uniconnect.service;
+
+import com.uniconnect.model.Reel;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+/**
+ * In-memory inverted index over reel title, description, hashtags, subject and skill.
+ *
+ * Built from Mongo at startup, kept up to date by ReelService on create/delete, and rebuilt every
+ * reels.search.rebuild-interval-ms to pick up writes made by other instances. Changes made while a
+ * rebuild reads Mongo are recorded and replayed onto the new postings before they replace the old
+ * ones, since the rebuild's read may have missed them. Results are ranked by
+ * field-weighted term frequency times IDF; the last query term also matches as a prefix (typeahead).
+ */
+@Component
+public class ReelSearchIndex {
+    private static final int TITLE_WEIGHT = 3;
+    private static final int HASHTAG_WEIGHT = 3;
+    private static final int SUBJECT_WEIGHT = 2;
+    private static final int SKILL_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final int MAX_PREFIX_EXPANSIONS = 50;
+
+    private final MongoTemplate mongoTemplate;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Postings postings = new Postings();
+    // Changes made while a rebuild is running, null otherwise; guarded by the lock
+    private List<UnaryOperator<Postings>> changesDuringRebuild;
+    private final Object rebuildMutex = new Object();
+
+    public ReelSearchIndex(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${reels.search.rebuild-interval-ms:600000}",
+            fixedDelayString = "${reels.search.rebuild-interval-ms:600000}")
+    public void rebuild() {
+        synchronized (rebuildMutex) {
+            lock.writeLock().lock();
+            try {
+                changesDuringRebuild = new ArrayList<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            Postings rebuilt = null;
+            try {
+                Query query = new Query();
+                query.fields().include("title", "description", "hashtags", "subject", "skill", "createdAt");
+                Postings read = new Postings();
+                try (Stream<Reel> reels = mongoTemplate.stream(query, Reel.class)) {
+                    reels.forEach(read::add);
+                }
+                rebuilt = read;
+            } catch (Exception e) {
+                System.err.println("Error rebuilding reel search index: " + e.getMessage());
+            } finally {
+                lock.writeLock().lock();
+                try {
+                    if (rebuilt != null) {
+                        for (UnaryOperator<Postings> change : changesDuringRebuild) {
+                            rebuilt = change.apply(rebuilt);
+                        }
+                        postings = rebuilt;
+                    }
+                    changesDuringRebuild = null;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+        }
+    }
+
+    public void index(Reel reel) {
+        if (reel == null || reel.getId() == null) return;
+        apply(p -> {
+            p.remove(reel.getId());
+            p.add(reel);
+            return p;
+        });
+    }
+
+    public void remove(String reelId) {
+        apply(p -> {
+            p.remove(reelId);
+            return p;
+        });
+    }
+
+    public void clear() {
+        apply(p -> new Postings());
+    }
+
+    // Applies a change to the live postings and, during a rebuild, records it for the rebuilt ones
+    private void apply(UnaryOperator<Postings> change) {
+        lock.writeLock().lock();
+        try {
+            postings = change.apply(postings);
+            if (changesDuringRebuild != null) changesDuringRebuild.add(change);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ranked reel ids for a query, best match first (newest first on equal score).
+     */
+    public Result search(String text, int offset, int limit) {
+        List<String> terms = tokenize(text);
+        if (terms.isEmpty()) return new Result(List.of(), 0);
+
+        lock.readLock().lock();
+        try {
+            Map<String, Double> scores = new HashMap<>();
+            int docCount = Math.max(postings.docTerms.size(), 1);
+            for (int i = 0; i < terms.size(); i++) {
+                boolean last = i == terms.size() - 1;
+                Collection<String> expanded = last ? postings.expand(terms.get(i)) : List.of(terms.get(i));
+                Map<String, Double> termScores = new HashMap<>();
+                for (String term : expanded) {
+                    Map<String, Integer> docs = postings.byTerm.get(term);
+                    if (docs == null) continue;
+                    double idf = Math.log(1 + (double) docCount / docs.size());
+                    // Exact matches outrank prefix completions of the same term
+                    double boost = term.equals(terms.get(i)) ? 1.0 : 0.5;
+                    docs.forEach((reelId, tf) -> termScores.merge(reelId, tf * idf * boost, Math::max));
+                }
+                if (i == 0) {
+                    scores.putAll(termScores);
+                } else {
+                    // Every query term has to match (AND semantics)
+                    scores.keySet().retainAll(termScores.keySet());
+                    termScores.forEach((reelId, score) -> scores.computeIfPresent(reelId, (k, v) -> v + score));
+                }
+                if (scores.isEmpty()) return new Result(List.of(), 0);
+            }
+
+            List<String> ranked = new ArrayList<>(scores.keySet());
+            ranked.sort(Comparator.<String>comparingDouble(scores::get).reversed()
+                    .thenComparing(Comparator.<String>comparingLong(id -> postings.createdAt.getOrDefault(id, 0L)).reversed())
+                    .thenComparing(Comparator.reverseOrder()));
+            int from = Math.min(Math.max(offset, 0), ranked.size());
+            int to = Math.min(from + Math.max(limit, 0), ranked.size());
+            return new Result(new ArrayList<>(ranked.subList(from, to)), ranked.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Indexed terms starting with the given prefix, most common first.
+     */
+    public List<String> suggest(String prefix, int limit) {
+        List<String> terms = tokenize(prefix);
+        if (terms.isEmpty()) return List.of();
+        lock.readLock().lock();
+        try {
+            List<String> matches = new ArrayList<>(postings.expand(terms.get(terms.size() - 1)));
+            matches.sort(Comparator.<String>comparingInt(t -> postings.byTerm.get(t).size()).reversed()
+                    .thenComparing(Comparator.naturalOrder()));
+            return matches.subList(0, Math.min(Math.max(limit, 0), matches.size()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) return tokens;
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) tokens.add(token);
+        }
+        return tokens;
+    }
+
+    public record Result(List<String> reelIds, int total) {}
+
+    /**
+     * Term -> (reel id -> weighted term frequency), plus the reverse mapping used for removal and a
+     * sorted term dictionary for prefix lookups. Guarded by the enclosing lock.
+     */
+    private static class Postings {
+        private final Map<String, Map<String, Integer>> byTerm = new HashMap<>();
+        private final Map<String, Set<String>> docTerms = new HashMap<>();
+        private final Map<String, Long> createdAt = new HashMap<>();
+        private final NavigableSet<String> dictionary = new TreeSet<>();
+
+        void add(Reel reel) {
+            if (reel.getId() == null) return;
+            Map<String, Integer> frequencies = new HashMap<>();
+            addField(frequencies, reel.getTitle(), TITLE_WEIGHT);
+            addField(frequencies, reel.getDescription(), DESCRIPTION_WEIGHT);
+            addField(frequencies, reel.getSubject(), SUBJECT_WEIGHT);
+            addField(frequencies, reel.getSkill(), SKILL_WEIGHT);
+            if (reel.getHashtags() != null) {
+                reel.getHashtags().forEach(tag -> addField(frequencies, tag, HASHTAG_WEIGHT));
+            }
+            frequencies.forEach((term, tf) -> {
+                byTerm.computeIfAbsent(term, k -> new HashMap<>()).put(reel.getId(), tf);
+                dictionary.add(term);
+            });
+            docTerms.put(reel.getId(), frequencies.keySet());
+            createdAt.put(reel.getId(), reel.getCreatedAt() != null ? reel.getCreatedAt().toEpochMilli() : 0L);
+        }
+
+        void remove(String reelId) {
+            Set<String> terms = docTerms.remove(reelId);
+            createdAt.remove(reelId);
+            if (terms == null) return;
+            for (String term : terms) {
+                Map<String, Integer> docs = byTerm.get(term);
+                if (docs == null) continue;
+                docs.remove(reelId);
+                if (docs.isEmpty()) {
+                    byTerm.remove(term);
+                    dictionary.remove(term);
+                }
+            }
+        }
+
+        Collection<String> expand(String prefix) {
+            List<String> terms = new ArrayList<>();
+            for (String term : dictionary.tailSet(prefix, true)) {
+                if (!term.startsWith(prefix) || terms.size() >= MAX_PREFIX_EXPANSIONS) break;
+                terms.add(term);
+            }
+            return terms;
+        }
+
+        private static void addField(Map<String, Integer> frequencies, String text, int weight) {
+            for (String token : tokenize(text)) {
+                frequencies.merge(token, weight, Integer::sum);
+            }
+        }
+    }
+}
@@ -6,31 +6,78 @@ import com.uniconnect.dto.FacultyFeedbackRequest;
 import com.uniconnect.dto.ReelCommentResponse;
 import com.uniconnect.dto.ReelResponse;
 import com.uniconnect.dto.FacultyFeedbackResponse;
+import com.uniconnect.dto.FacultyReelPageResponse;
 import com.uniconnect.dto.ReelFeedResponse;
+import com.uniconnect.dto.ReelListItemResponse;
+import com.uniconnect.dto.ReelPageResponse;
 import com.uniconnect.model.Reel;
 import com.uniconnect.model.Student;
 import com.uniconnect.model.Faculty;
 import com.uniconnect.repository.ReelRepository;
 import com.uniconnect.repository.StudentRepository;
 import com.uniconnect.repository.FacultyRepository;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AccumulatorOperators;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.ArithmeticOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 public class ReelService {
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 50;
+    private static final int DEFAULT_REVIEW_PAGE_SIZE = 50;
+    private static final int MAX_REVIEW_PAGE_SIZE = 200;
+    private static final int DEFAULT_SEARCH_PAGE_SIZE = 20;
+    private static final int MAX_SUGGESTIONS = 10;
+    // Heavy arrays left out of feed list queries
+    private static final String[] LIST_EXCLUDED_FIELDS =
+            {"commentList", "likedByStudents", "savedByStudents", "likedByFaculty", "facultyFeedbacks"};
+
     private final ReelRepository reelRepository;
     private final StudentRepository studentRepository;
     private final FacultyRepository facultyRepository;
-
-    public ReelService(ReelRepository reelRepository, StudentRepository studentRepository, FacultyRepository facultyRepository) {
+    private final ReelEngagementService reelEngagementService;
+    private final ReelViewCounter reelViewCounter;
+    private final MongoTemplate mongoTemplate;
+    private final AuthorDirectory authorDirectory;
+    private final ReelSearchIndex reelSearchIndex;
+    private final ReelRankingService reelRankingService;
+
+    public ReelService(ReelRepository reelRepository, StudentRepository studentRepository, FacultyRepository facultyRepository,
+                       ReelEngagementService reelEngagementService, ReelViewCounter reelViewCounter, MongoTemplate mongoTemplate,
+                       AuthorDirectory authorDirectory, ReelSearchIndex reelSearchIndex, ReelRankingService reelRankingService) {
         this.reelRepository = reelRepository;
         this.studentRepository = studentRepository;
         this.facultyRepository = facultyRepository;
+        this.reelEngagementService = reelEngagementService;
+        this.reelViewCounter = reelViewCounter;
+        this.mongoTemplate = mongoTemplate;
+        this.authorDirectory = authorDirectory;
+        this.reelSearchIndex = reelSearchIndex;
+        this.reelRankingService = reelRankingService;
     }
 
     public ReelResponse createReel(String studentId, CreateReelRequest request) {
@@ -61,6 +108,8 @@ public class ReelService {
         reel.setReelType("STUDENT_CREATED");
 
         Reel savedReel = reelRepository.save(reel);
+        reelSearchIndex.index(savedReel);
+        reelRankingService.update(savedReel);
         return mapToResponse(savedReel, studentId);
     }
 
@@ -68,9 +117,9 @@ public class ReelService {
         Reel reel = reelRepository.findById(reelId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Reel not found"));
 
-        // Increment views
-        reel.setViews(reel.getViews() + 1);
-        reelRepository.save(reel);
+        // Count the view in the write-behind buffer; include unflushed views in the response
+        reelViewCounter.record(reelId);
+        reel.setViews(reel.getViews() + (int) reelViewCounter.pending(reelId));
 
         return mapToResponse(reel, studentId);
     }
@@ -92,84 +141,125 @@ public class ReelService {
         }
         // Default is by createdAt (already sorted)
 
-        return reels.stream()
-                .map(reel -> mapToResponse(reel, studentId))
-                .collect(Collectors.toList());
+        return mapToResponses(reels, studentId);
     }
 
-    public List<ReelResponse> searchReels(String query, String studentId) {
-        List<Reel> reels = reelRepository.findByTitleContainingIgnoreCase(query);
-        return reels.stream()
-                .map(reel -> mapToResponse(reel, studentId))
-                .collect(Collectors.toList());
-    }
+    /**
+     * Keyset-paginated feed. Sorts on createdAt, likes or views (descending) with _id as the
+     * tie-breaker, so each page is an index range scan regardless of how deep the client scrolls.
+     * Comments and the liked/saved arrays are projected out; isLiked/isSaved come from indexed lookups.
+     * "trending" and "for-you" read the precomputed reel_rankings instead of sorting reels.
+     */
+    public ReelPageResponse getFeedPage(String studentId, String category, String sortBy, String cursor, Integer limit) {
+        int pageSize = limit == null || limit <= 0 ? DEFAULT_PAGE_SIZE : Math.min(limit, MAX_PAGE_SIZE);
+        if (ReelRankingService.SORT_TRENDING.equals(sortBy)) {
+            return rankedPage(reelRankingService.trending(category, cursor, pageSize), studentId);
+        }
+        if (ReelRankingService.SORT_FOR_YOU.equals(sortBy)) {
+            return rankedPage(reelRankingService.forStudent(studentId, category, cursor, pageSize), studentId);
+        }
+        String sortField = feedSortField(sortBy);
 
-    public List<ReelResponse> getStudentReels(String studentId) {
-        List<Reel> reels = reelRepository.findByStudentIdOrderByCreatedAtDesc(studentId);
-        return reels.stream()
-                .map(reel -> mapToResponse(reel, studentId))
-                .collect(Collectors.toList());
-    }
+        Criteria criteria = new Criteria();
+        if (category != null && !category.isEmpty() && !category.equals("All")) {
+            criteria = Criteria.where("category").is(category);
+        }
+        if (cursor != null && !cursor.isEmpty()) {
+            criteria = new Criteria().andOperator(criteria, afterCursor(sortField, cursor));
+        }
 
-    public ReelResponse likeReel(String reelId, String studentId) {
-        Reel reel = reelRepository.findById(reelId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Reel not found"));
+        Query query = new Query(criteria)
+                .with(Sort.by(Sort.Direction.DESC, sortField, "_id"))
+                .limit(pageSize + 1);
+        query.fields().exclude(LIST_EXCLUDED_FIELDS);
 
-        if (!reel.getLikedByStudents().contains(studentId)) {
-            reel.getLikedByStudents().add(studentId);
-            reel.setLikes(reel.getLikes() + 1);
+        List<Reel> reels = new ArrayList<>(mongoTemplate.find(query, Reel.class));
+        boolean hasMore = reels.size() > pageSize;
+        if (hasMore) {
+            reels = reels.subList(0, pageSize);
         }
+        String nextCursor = hasMore ? encodeCursor(sortField, reels.get(reels.size() - 1)) : null;
+        return toPage(reels, studentId, nextCursor);
+    }
 
-        Reel savedReel = reelRepository.save(reel);
-        return mapToResponse(savedReel, studentId);
+    private ReelPageResponse rankedPage(ReelRankingService.RankedIds ranked, String studentId) {
+        List<Reel> reels = List.of();
+        if (!ranked.reelIds().isEmpty()) {
+            Query query = new Query(Criteria.where("_id").in(ranked.reelIds()));
+            query.fields().exclude(LIST_EXCLUDED_FIELDS);
+            Map<String, Reel> byId = new HashMap<>();
+            mongoTemplate.find(query, Reel.class).forEach(r -> byId.put(r.getId(), r));
+            // Keep the ranking order; reels deleted since the last refresh are skipped
+            reels = ranked.reelIds().stream().map(byId::get).filter(Objects::nonNull).collect(Collectors.toList());
+        }
+        return toPage(reels, studentId, ranked.nextCursor());
     }
 
-    public ReelResponse unlikeReel(String reelId, String studentId) {
-        Reel reel = reelRepository.findById(reelId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Reel not found"));
+    private ReelPageResponse toPage(List<Reel> reels, String studentId, String nextCursor) {
+        ReelEngagementService.Snapshot engagement = reelEngagementService.listSnapshot(reels, studentId);
+        Map<String, AuthorDirectory.Author> uploaders = resolveUploaders(reels);
+        List<ReelListItemResponse> items = reels.stream()
+                .map(reel -> mapToListItem(reel, engagement, uploaders))
+                .collect(Collectors.toList());
+        return new ReelPageResponse(items, nextCursor, nextCursor != null);
+    }
 
-        if (reel.getLikedByStudents().contains(studentId)) {
-            reel.getLikedByStudents().remove(studentId);
-            reel.setLikes(Math.max(0, reel.getLikes() - 1));
+    /**
+     * Relevance-ranked search over title, description, hashtags, subject and skill.
+     * The last word of the query also matches as a prefix, so partially typed queries find results.
+     */
+    public List<ReelResponse> searchReels(String query, String studentId, Integer page, Integer size) {
+        int pageSize = size == null || size <= 0 ? DEFAULT_SEARCH_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+        int pageNumber = page == null || page < 0 ? 0 : page;
+        ReelSearchIndex.Result result = reelSearchIndex.search(query, pageNumber * pageSize, pageSize);
+        if (result.reelIds().isEmpty()) {
+            return List.of();
         }
 
-        Reel savedReel = reelRepository.save(reel);
-        return mapToResponse(savedReel, studentId);
+        // findAllById does not keep the ranking order
+        Map<String, Reel> byId = new HashMap<>();
+        reelRepository.findAllById(result.reelIds()).forEach(r -> byId.put(r.getId(), r));
+        List<Reel> reels = result.reelIds().stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        return mapToResponses(reels, studentId);
     }
 
-    public ReelResponse saveReel(String reelId, String studentId) {
-        Reel reel = reelRepository.findById(reelId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Reel not found"));
+    public List<String> suggestSearchTerms(String prefix, Integer limit) {
+        int max = limit == null || limit <= 0 ? MAX_SUGGESTIONS : Math.min(limit, MAX_SUGGESTIONS);
+        return reelSearchIndex.suggest(prefix, max);
+    }
 
-        if (!reel.getSavedByStudents().contains(studentId)) {
-            reel.getSavedByStudents().add(studentId);
-            reel.setSaves(reel.getSaves() + 1);
-        }
+    public List<ReelResponse> getStudentReels(String studentId) {
+        List<Reel> reels = reelRepository.findByStudentIdOrderByCreatedAtDesc(studentId);
+        return mapToResponses(reels, studentId);
+    }
 
-        Reel savedReel = reelRepository.save(reel);
-        return mapToResponse(savedReel, studentId);
+    public ReelResponse likeReel(String reelId, String studentId) {
+        Reel reel = reelEngagementService.like(reelId, studentId);
+        return mapToResponse(reel, studentId);
     }
 
-    public ReelResponse unsaveReel(String reelId, String studentId) {
-        Reel reel = reelRepository.findById(reelId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Reel not found"));
+    public ReelResponse unlikeReel(String reelId, String studentId) {
+        Reel reel = reelEngagementService.unlike(reelId, studentId);
+        return mapToResponse(reel, studentId);
+    }
 
-        if (reel.getSavedByStudents().contains(studentId)) {
-            reel.getSavedByStudents().remove(studentId);
-            reel.setSaves(Math.max(0, reel.getSaves() - 1));
-        }
+    public ReelResponse saveReel(String reelId, String studentId) {
+        Reel reel = reelEngagementService.save(reelId, studentId);
+        return mapToResponse(reel, studentId);
+    }
 
-        Reel savedReel = reelRepository.save(reel);
-        return mapToResponse(savedReel, studentId);
+    public ReelResponse unsaveReel(String reelId, String studentId) {
+        Reel reel = reelEngagementService.unsave(reelId, studentId);
+        return mapToResponse(reel, studentId);
     }
 
     public ReelResponse addComment(String reelId, String studentId, AddCommentRequest request) {
         Student student = studentRepository.findById(studentId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Student not found"));
 
-        Reel reel = reelRepository.findById(reelId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Reel not found"));
-
         Reel.Comment comment = new Reel.Comment(
                 studentId,
                 student.getName() != null ? student.getName() : "Anonymous",
@@ -177,11 +267,8 @@ public class ReelService {
                 request.text()
         );
 
-        reel.getCommentList().add(comment);
-        reel.setComments(reel.getComments() + 1);
-
-        Reel savedReel = reelRepository.save(reel);
-        return mapToResponse(savedReel, studentId);
+        Reel reel = reelEngagementService.addComment(reelId, comment);
+        return mapToResponse(reel, studentId);
     }
 
     public ReelResponse deleteReel(String reelId, String studentId) {
@@ -192,18 +279,21 @@ public class ReelService {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "You can only delete your own reels");
         }
 
+        ReelResponse response = mapToResponse(reel, studentId);
         reelRepository.deleteById(reelId);
-        return mapToResponse(reel, studentId);
+        reelEngagementService.deleteEngagement(reelId);
+        reelSearchIndex.remove(reelId);
+        reelRankingService.remove(reelId);
+        return response;
     }
 
     // NEW: Faculty Methods for Reel Management
+    // These only $set / $push the fields they change: a full save would write back the likes, views
+    // and shares counters as they were when the reel was read, undoing concurrent $inc's
     public ReelFeedResponse addFacultyFeedback(String reelId, String facultyId, FacultyFeedbackRequest request) {
         Faculty faculty = facultyRepository.findById(facultyId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Faculty not found"));
 
-        Reel reel = reelRepository.findById(reelId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Reel not found"));
-
         Reel.FacultyFeedback feedback = new Reel.FacultyFeedback(
                 facultyId,
                 faculty.getEmail() != null ? faculty.getEmail() : "Faculty",
@@ -212,128 +302,169 @@ public class ReelService {
         );
         feedback.setTags(request.tags());
 
-        reel.getFacultyFeedbacks().add(feedback);
-        
-        // Update academic score as average of faculty ratings
-        updateAcademicScore(reel);
-        
+        Update update = new Update().push("facultyFeedbacks", feedback).set("updatedAt", Instant.now());
         // Set featured tag if provided
         if (request.featuredTag() != null && !request.featuredTag().isEmpty()) {
-            reel.setFeaturedTag(request.featuredTag());
+            update.set("featuredTag", request.featuredTag());
             if ("PLACEMENT_READY".equals(request.featuredTag())) {
-                reel.setPlacementReady(true);
+                update.set("placementReady", true);
             }
         }
-        
-        reel.setUpdatedAt(Instant.now());
-        Reel savedReel = reelRepository.save(reel);
-        return mapToFeedResponse(savedReel, facultyId, true);
+        updateReel(reelId, update);
+
+        // Academic score is the average faculty rating on a 0-100 scale, computed by Mongo from the
+        // stored feedbacks so concurrent reviews cannot leave it averaging a stale list
+        AggregationUpdate score = AggregationUpdate.update().set("academicScore").toValue(
+                ArithmeticOperators.Multiply.valueOf(
+                        ConditionalOperators.ifNull(AccumulatorOperators.Avg.avgOf("facultyFeedbacks.rating")).then(0))
+                        .multiplyBy(10));
+        return mapToFeedResponse(updateReel(reelId, score), facultyId, true);
     }
 
     public ReelFeedResponse setReelAcademicStatus(String reelId, String facultyId, String status) {
-        Reel reel = reelRepository.findById(reelId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Reel not found"));
-
         // Validate status
         if (!status.matches("PENDING|APPROVED|FLAGGED")) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid academic status");
         }
 
-        reel.setAcademicStatus(status);
-        reel.setUpdatedAt(Instant.now());
-        Reel savedReel = reelRepository.save(reel);
+        Reel savedReel = updateReel(reelId, new Update().set("academicStatus", status).set("updatedAt", Instant.now()));
         return mapToFeedResponse(savedReel, facultyId, true);
     }
 
     public ReelFeedResponse markReelForPlacement(String reelId, String facultyId, boolean isPlacementReady) {
-        Reel reel = reelRepository.findById(reelId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Reel not found"));
-
-        reel.setPlacementReady(isPlacementReady);
-        reel.setPlacementVisibility(isPlacementReady ? "PUBLIC" : "PRIVATE");
-        reel.setUpdatedAt(Instant.now());
-        Reel savedReel = reelRepository.save(reel);
+        Reel savedReel = updateReel(reelId, new Update()
+                .set("placementReady", isPlacementReady)
+                .set("placementVisibility", isPlacementReady ? "PUBLIC" : "PRIVATE")
+                .set("updatedAt", Instant.now()));
         return mapToFeedResponse(savedReel, facultyId, true);
     }
 
     public ReelFeedResponse likReelAsFaculty(String reelId, String facultyId) {
-        Reel reel = reelRepository.findById(reelId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Reel not found"));
-
-        if (!reel.getLikedByFaculty().contains(facultyId)) {
-            reel.getLikedByFaculty().add(facultyId);
-        }
-
-        Reel savedReel = reelRepository.save(reel);
+        Reel savedReel = updateReel(reelId, new Update().addToSet("likedByFaculty", facultyId));
         return mapToFeedResponse(savedReel, facultyId, true);
     }
 
     public ReelFeedResponse shareReelWithAudience(String reelId, String facultyId, String audience) {
         // audience: CLASS, DEPARTMENT, PLACEMENT_CELL
-        Reel reel = reelRepository.findById(reelId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Reel not found"));
-
-        if (!reel.getSharedWith().contains(audience)) {
-            reel.getSharedWith().add(audience);
-        }
-
-        Reel savedReel = reelRepository.save(reel);
+        Reel savedReel = updateReel(reelId, new Update().addToSet("sharedWith", audience));
         return mapToFeedResponse(savedReel, facultyId, true);
     }
 
-    // NEW: Filter reels by academic criteria
-    public List<ReelFeedResponse> getReelsByAcademicFilter(String facultyId, String subject, String skill, String year, String semester) {
-        List<Reel> reels = reelRepository.findAll();
-        
-        List<Reel> filtered = reels.stream()
-                .filter(r -> subject == null || subject.equals(r.getSubject()))
-                .filter(r -> skill == null || skill.equals(r.getSkill()))
-                .filter(r -> year == null || year.equals(r.getYear()))
-                .filter(r -> semester == null || semester.equals(r.getSemester()))
-                .collect(Collectors.toList());
+    // Admin: point a reel at another video without touching its other fields
+    public void replaceVideoUrl(String reelId, String videoUrl) {
+        updateReel(reelId, new Update().set("videoUrl", videoUrl));
+    }
 
-        return filtered.stream()
-                .map(r -> mapToFeedResponse(r, facultyId, true))
-                .collect(Collectors.toList());
+    private Reel updateReel(String reelId, UpdateDefinition update) {
+        Reel reel = mongoTemplate.findAndModify(new Query(Criteria.where("_id").is(reelId)), update,
+                FindAndModifyOptions.options().returnNew(true), Reel.class);
+        if (reel == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Reel not found");
+        }
+        return reel;
+    }
+
+    // NEW: Filter reels by academic criteria (only the given filters are applied, newest first)
+    public FacultyReelPageResponse<ReelFeedResponse> getReelsByAcademicFilter(String facultyId, String subject, String skill, String year,
+                                                                              String semester, String academicStatus, String reelType,
+                                                                              String cursor, Integer size) {
+        Criteria criteria = new Criteria();
+        if (subject != null) criteria = criteria.and("subject").is(subject);
+        if (skill != null) criteria = criteria.and("skill").is(skill);
+        if (year != null) criteria = criteria.and("year").is(year);
+        if (semester != null) criteria = criteria.and("semester").is(semester);
+        if (academicStatus != null) criteria = criteria.and("academicStatus").is(academicStatus);
+        if (reelType != null) criteria = criteria.and("reelType").is(reelType);
+        return facultyPage(criteria, cursor, size, reels -> mapToFeedResponses(reels, facultyId));
     }
 
     // NEW: Get reels requiring faculty review
-    public List<ReelFeedResponse> getReelsRequiringReview(String facultyId) {
-        List<Reel> reels = reelRepository.findAll();
-        List<ReelFeedResponse> needsReview = reels.stream()
-                .filter(r -> "PENDING".equals(r.getAcademicStatus()))
-                .map(r -> mapToFeedResponse(r, facultyId, true))
-                .collect(Collectors.toList());
-        return needsReview;
+    public FacultyReelPageResponse<ReelFeedResponse> getReelsRequiringReview(String facultyId, String cursor, Integer size) {
+        return facultyPage(Criteria.where("academicStatus").is("PENDING"), cursor, size,
+                reels -> mapToFeedResponses(reels, facultyId));
     }
 
     // NEW: Get faculty-created reels
-    public List<ReelResponse> getFacultyReels(String facultyId) {
-        List<Reel> reels = reelRepository.findAll();
-        return reels.stream()
-                .filter(r -> "FACULTY_CREATED".equals(r.getReelType()))
-                .filter(r -> r.getStudentId().equals(facultyId)) // Assuming facultyId is used as studentId for faculty reels
-                .map(r -> mapToResponse(r, facultyId))
-                .collect(Collectors.toList());
+    public FacultyReelPageResponse<ReelResponse> getFacultyReels(String facultyId, String cursor, Integer size) {
+        // Assuming facultyId is used as studentId for faculty reels
+        return facultyPage(Criteria.where("reelType").is("FACULTY_CREATED").and("studentId").is(facultyId), cursor, size,
+                reels -> mapToResponses(reels, facultyId));
     }
 
-    private void updateAcademicScore(Reel reel) {
-        if (reel.getFacultyFeedbacks().isEmpty()) {
-            reel.setAcademicScore(0.0);
-            return;
+    // Faculty review lists are keyset-paged newest first (createdAt, then _id) so memory stays bounded
+    // as the collection grows and no reel is skipped or repeated while new ones arrive
+    private <T> FacultyReelPageResponse<T> facultyPage(Criteria criteria, String cursor, Integer size,
+                                                       Function<List<Reel>, List<T>> mapper) {
+        int pageSize = size == null || size <= 0 ? DEFAULT_REVIEW_PAGE_SIZE : Math.min(size, MAX_REVIEW_PAGE_SIZE);
+        if (cursor != null && !cursor.isEmpty()) {
+            criteria = new Criteria().andOperator(criteria, afterCursor("createdAt", cursor));
+        }
+        Query query = new Query(criteria)
+                .with(Sort.by(Sort.Direction.DESC, "createdAt", "_id"))
+                .limit(pageSize + 1);
+
+        List<Reel> reels = new ArrayList<>(mongoTemplate.find(query, Reel.class));
+        boolean hasMore = reels.size() > pageSize;
+        if (hasMore) {
+            reels = reels.subList(0, pageSize);
         }
+        String nextCursor = hasMore ? encodeCursor("createdAt", reels.get(reels.size() - 1)) : null;
+        return new FacultyReelPageResponse<>(mapper.apply(reels), nextCursor, hasMore);
+    }
+
+    private String feedSortField(String sortBy) {
+        if ("likes".equals(sortBy)) return "likes";
+        if ("views".equals(sortBy)) return "views";
+        return "createdAt";
+    }
+
+    // Cursor format (base64url): "<sortField>|<sortValue>|<reelId>"
+    private String encodeCursor(String sortField, Reel last) {
+        long value = switch (sortField) {
+            case "likes" -> last.getLikes();
+            case "views" -> last.getViews();
+            default -> last.getCreatedAt() != null ? last.getCreatedAt().toEpochMilli() : 0L;
+        };
+        String raw = sortField + "|" + value + "|" + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
 
-        double average = reel.getFacultyFeedbacks().stream()
-                .mapToDouble(Reel.FacultyFeedback::getRating)
-                .average()
-                .orElse(0.0);
+    private Criteria afterCursor(String sortField, String cursor) {
+        String[] parts;
+        long value;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", 3);
+            value = Long.parseLong(parts[1]);
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+        if (parts.length != 3 || !parts[0].equals(sortField)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cursor does not match sortBy");
+        }
+        Object sortValue = "createdAt".equals(sortField) ? Instant.ofEpochMilli(value) : (Object) (int) value;
+        Object lastId = ObjectId.isValid(parts[2]) ? new ObjectId(parts[2]) : parts[2];
+        // (sortField < value) OR (sortField == value AND _id < lastId)
+        return new Criteria().orOperator(
+                Criteria.where(sortField).lt(sortValue),
+                new Criteria().andOperator(Criteria.where(sortField).is(sortValue), Criteria.where("_id").lt(lastId)));
+    }
 
-        // Convert from 0-10 scale to 0-100 scale
-        reel.setAcademicScore(average * 10);
+    private List<ReelResponse> mapToResponses(List<Reel> reels, String currentStudentId) {
+        ReelEngagementService.Snapshot engagement = reelEngagementService.snapshot(reels, currentStudentId, true);
+        Map<String, AuthorDirectory.Author> uploaders = resolveUploaders(reels);
+        return reels.stream()
+                .map(reel -> mapToResponse(reel, currentStudentId, engagement, uploaders))
+                .collect(Collectors.toList());
     }
 
     private ReelResponse mapToResponse(Reel reel, String currentStudentId) {
-        List<ReelCommentResponse> comments = reel.getCommentList().stream()
+        return mapToResponse(reel, currentStudentId, reelEngagementService.snapshot(reel, currentStudentId),
+                resolveUploaders(List.of(reel)));
+    }
+
+    private ReelResponse mapToResponse(Reel reel, String currentStudentId, ReelEngagementService.Snapshot engagement,
+                                       Map<String, AuthorDirectory.Author> uploaders) {
+        List<ReelCommentResponse> comments = engagement.commentsFor(reel).stream()
                 .map(c -> new ReelCommentResponse(
                         c.getId(),
                         c.getStudentId(),
@@ -345,68 +476,19 @@ public class ReelService {
                 ))
                 .collect(Collectors.toList());
 
-        boolean isLiked = currentStudentId != null && reel.getLikedByStudents().contains(currentStudentId);
-        boolean isSaved = currentStudentId != null && reel.getSavedByStudents().contains(currentStudentId);
-        
-        // Determine uploader role based on reelType
-        String uploaderRole = "FACULTY_CREATED".equals(reel.getReelType()) ? "FACULTY" : "STUDENT";
-        
-        // Get uploader info - start with values from reel
-        String[] uploaderInfo = new String[4]; // name, department, year, avatar
-        uploaderInfo[0] = reel.getStudentName();
-        uploaderInfo[1] = reel.getDepartment();
-        uploaderInfo[2] = reel.getYear();
-        uploaderInfo[3] = reel.getAvatar();
-        
-        // If uploader info is missing, try to fetch from student/faculty record
-        if ((uploaderInfo[0] == null || uploaderInfo[0].isEmpty() || "Unknown User".equals(uploaderInfo[0])) 
-                && reel.getStudentId() != null) {
-            if ("FACULTY".equals(uploaderRole)) {
-                // Try faculty lookup - Faculty model only has email, so derive name from it
-                facultyRepository.findById(reel.getStudentId()).ifPresent(faculty -> {
-                    if (uploaderInfo[0] == null || uploaderInfo[0].isEmpty()) {
-                        // Extract name from email (e.g., john.doe@klh.edu.in -> John Doe)
-                        String email = faculty.getEmail();
-                        if (email != null && email.contains("@")) {
-                            String namePart = email.substring(0, email.indexOf("@")).replace(".", " ");
-                            // Capitalize each word
-                            String[] words = namePart.split(" ");
-                            StringBuilder sb = new StringBuilder();
-                            for (String word : words) {
-                                if (!word.isEmpty()) {
-                                    sb.append(Character.toUpperCase(word.charAt(0)));
-                                    if (word.length() > 1) sb.append(word.substring(1));
-                                    sb.append(" ");
-                                }
-                            }
-                            uploaderInfo[0] = sb.toString().trim();
-                        }
-                    }
-                });
-            } else {
-                // Try student lookup
-                studentRepository.findById(reel.getStudentId()).ifPresent(student -> {
-                    if (uploaderInfo[0] == null || uploaderInfo[0].isEmpty()) uploaderInfo[0] = student.getName();
-                    if (uploaderInfo[1] == null || uploaderInfo[1].isEmpty()) uploaderInfo[1] = student.getBranch();
-                    if (uploaderInfo[2] == null || uploaderInfo[2].isEmpty()) uploaderInfo[2] = student.getYear();
-                    if (uploaderInfo[3] == null || uploaderInfo[3].isEmpty()) uploaderInfo[3] = student.getAvatarUrl();
-                });
-            }
-        }
+        boolean isLiked = engagement.isLiked(reel);
+        boolean isSaved = engagement.isSaved(reel);
         
-        // Provide defaults if still missing
-        String uploaderName = (uploaderInfo[0] != null && !uploaderInfo[0].isEmpty()) ? uploaderInfo[0] : "Unknown User";
-        String department = (uploaderInfo[1] != null && !uploaderInfo[1].isEmpty()) ? uploaderInfo[1] : "Unknown";
-        String year = uploaderInfo[2]; // year can be null
-        String avatar = (uploaderInfo[3] != null && !uploaderInfo[3].isEmpty()) ? uploaderInfo[3] : "https://via.placeholder.com/48";
+        String uploaderRole = uploaderRole(reel);
+        String[] uploader = resolveUploaderInfo(reel, uploaderRole, uploaders);
 
         return new ReelResponse(
                 reel.getId(),
                 reel.getStudentId(),
-                uploaderName,
-                department,
-                year,
-                avatar,
+                uploader[0],
+                uploader[1],
+                uploader[2],
+                uploader[3],
                 uploaderRole,
                 reel.getTitle(),
                 reel.getDescription(),
@@ -427,9 +509,136 @@ public class ReelService {
         );
     }
 
+    private ReelListItemResponse mapToListItem(Reel reel, ReelEngagementService.Snapshot engagement,
+                                               Map<String, AuthorDirectory.Author> uploaders) {
+        String uploaderRole = uploaderRole(reel);
+        String[] uploader = resolveUploaderInfo(reel, uploaderRole, uploaders);
+
+        return new ReelListItemResponse(
+                reel.getId(),
+                reel.getStudentId(),
+                uploader[0],
+                uploader[1],
+                uploader[2],
+                uploader[3],
+                uploaderRole,
+                reel.getTitle(),
+                reel.getDescription(),
+                reel.getVideoUrl(),
+                reel.getThumbnailUrl(),
+                reel.getCategory(),
+                reel.getCreatedAt(),
+                reel.getViews() + (int) reelViewCounter.pending(reel.getId()),
+                reel.getLikes(),
+                reel.getComments(),
+                reel.getSaves(),
+                reel.isVerified(),
+                reel.isSafe(),
+                reel.getHashtags(),
+                engagement.isLiked(reel),
+                engagement.isSaved(reel)
+        );
+    }
+
+    // Determine uploader role based on reelType
+    private String uploaderRole(Reel reel) {
+        return "FACULTY_CREATED".equals(reel.getReelType()) ? "FACULTY" : "STUDENT";
+    }
+
+    private boolean needsUploaderLookup(Reel reel) {
+        String name = reel.getStudentName();
+        return (name == null || name.isEmpty() || "Unknown User".equals(name)) && reel.getStudentId() != null;
+    }
+
+    /**
+     * Looks up the uploaders of all reels with missing uploader info in one batch per collection.
+     */
+    private Map<String, AuthorDirectory.Author> resolveUploaders(Collection<Reel> reels) {
+        List<String> studentIds = new ArrayList<>();
+        List<String> facultyIds = new ArrayList<>();
+        for (Reel reel : reels) {
+            if (!needsUploaderLookup(reel)) continue;
+            if ("FACULTY".equals(uploaderRole(reel))) {
+                facultyIds.add(reel.getStudentId());
+            } else {
+                studentIds.add(reel.getStudentId());
+            }
+        }
+        Map<String, AuthorDirectory.Author> uploaders = new HashMap<>();
+        if (!studentIds.isEmpty()) uploaders.putAll(authorDirectory.findStudentsByIds(studentIds));
+        if (!facultyIds.isEmpty()) uploaders.putAll(authorDirectory.findFacultyByIds(facultyIds));
+        return uploaders;
+    }
+
+    /**
+     * Uploader display info as { name, department, year, avatar }, with defaults applied.
+     */
+    private String[] resolveUploaderInfo(Reel reel, String uploaderRole, Map<String, AuthorDirectory.Author> uploaders) {
+        // Get uploader info - start with values from reel
+        String[] uploaderInfo = new String[4]; // name, department, year, avatar
+        uploaderInfo[0] = reel.getStudentName();
+        uploaderInfo[1] = reel.getDepartment();
+        uploaderInfo[2] = reel.getYear();
+        uploaderInfo[3] = reel.getAvatar();
+        
+        // If uploader info is missing, fill it from the student/faculty record
+        AuthorDirectory.Author author = needsUploaderLookup(reel) ? uploaders.get(reel.getStudentId()) : null;
+        if (author != null) {
+            if ("Unknown User".equals(uploaderInfo[0])) uploaderInfo[0] = null;
+            if ("FACULTY".equals(uploaderRole)) {
+                if (uploaderInfo[0] == null || uploaderInfo[0].isEmpty()) {
+                    uploaderInfo[0] = author.getName() != null && !author.getName().isEmpty()
+                            ? author.getName() : nameFromEmail(author.getEmail());
+                }
+            } else {
+                if (uploaderInfo[0] == null || uploaderInfo[0].isEmpty()) uploaderInfo[0] = author.getName();
+                if (uploaderInfo[1] == null || uploaderInfo[1].isEmpty()) uploaderInfo[1] = author.getBranch();
+                if (uploaderInfo[2] == null || uploaderInfo[2].isEmpty()) uploaderInfo[2] = author.getYear();
+                if (uploaderInfo[3] == null || uploaderInfo[3].isEmpty()) uploaderInfo[3] = author.getAvatarUrl();
+            }
+        }
+        
+        // Provide defaults if still missing
+        String uploaderName = (uploaderInfo[0] != null && !uploaderInfo[0].isEmpty()) ? uploaderInfo[0] : "Unknown User";
+        String department = (uploaderInfo[1] != null && !uploaderInfo[1].isEmpty()) ? uploaderInfo[1] : "Unknown";
+        String year = uploaderInfo[2]; // year can be null
+        String avatar = (uploaderInfo[3] != null && !uploaderInfo[3].isEmpty()) ? uploaderInfo[3] : "https://via.placeholder.com/48";
+
+        return new String[] { uploaderName, department, year, avatar };
+    }
+
+    // Extract name from email (e.g., john.doe@klh.edu.in -> John Doe)
+    private String nameFromEmail(String email) {
+        if (email == null || !email.contains("@")) return null;
+        String namePart = email.substring(0, email.indexOf("@")).replace(".", " ");
+        // Capitalize each word
+        String[] words = namePart.split(" ");
+        StringBuilder sb = new StringBuilder();
+        for (String word : words) {
+            if (!word.isEmpty()) {
+                sb.append(Character.toUpperCase(word.charAt(0)));
+                if (word.length() > 1) sb.append(word.substring(1));
+                sb.append(" ");
+            }
+        }
+        return sb.toString().trim();
+    }
+
+    private List<ReelFeedResponse> mapToFeedResponses(List<Reel> reels, String currentFacultyId) {
+        ReelEngagementService.Snapshot engagement = reelEngagementService.snapshot(reels, null, true);
+        return reels.stream()
+                .map(r -> mapToFeedResponse(r, currentFacultyId, true, engagement))
+                .collect(Collectors.toList());
+    }
+
     // NEW: Map to Faculty Feed Response
     private ReelFeedResponse mapToFeedResponse(Reel reel, String currentFacultyId, boolean isFacultyView) {
-        List<ReelCommentResponse> comments = reel.getCommentList().stream()
+        return mapToFeedResponse(reel, currentFacultyId, isFacultyView, reelEngagementService.snapshot(reel, null));
+    }
+
+    private ReelFeedResponse mapToFeedResponse(Reel reel, String currentFacultyId, boolean isFacultyView,
+                                               ReelEngagementService.Snapshot engagement) {
+        List<ReelCommentResponse> comments = engagement.commentsFor(reel).stream()
                 .map(c -> new ReelCommentResponse(
                         c.getId(),
                         c.getStudentId(),
@@ -497,6 +706,9 @@ public class ReelService {
     public long clearAllReels() {
         long count = reelRepository.count();
         reelRepository.deleteAll();
+        reelEngagementService.deleteAllEngagement();
+        reelSearchIndex.clear();
+        reelRankingService.clear();
         return count;
     }
 }
@@ -0,0 +1,91 @@
+package com.uniconnect.service;
+
+import com.uniconnect.model.Reel;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Write-behind buffer for reel view counts.
+ *
+ * Views are counted in memory and flushed to Mongo as bulk $inc updates every
+ * reels.views.flush-interval-ms and on shutdown, so opening a reel is a pure read. Counting (merge) and
+ * draining (remove) are atomic per reel, so a view recorded while its reel is being flushed lands either
+ * in the drained count or in a fresh entry for the next flush.
+ */
+@Component
+public class ReelViewCounter {
+
+    private final MongoTemplate mongoTemplate;
+    private final Map<String, Long> pendingViews = new ConcurrentHashMap<>();
+
+    @Value("${reels.views.flush-batch-size:500}")
+    private int batchSize;
+
+    public ReelViewCounter(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    public void record(String reelId) {
+        pendingViews.merge(reelId, 1L, Long::sum);
+    }
+
+    /**
+     * Views recorded for a reel that have not been written to Mongo yet.
+     */
+    public long pending(String reelId) {
+        return pendingViews.getOrDefault(reelId, 0L);
+    }
+
+    @Scheduled(fixedDelayString = "${reels.views.flush-interval-ms:5000}")
+    public void flush() {
+        if (pendingViews.isEmpty()) return;
+
+        List<Map.Entry<String, Long>> batch = new ArrayList<>();
+        for (String reelId : pendingViews.keySet()) {
+            Long count = pendingViews.remove(reelId);
+            if (count == null) continue;
+            batch.add(Map.entry(reelId, count));
+            if (batch.size() >= batchSize) {
+                write(batch);
+                batch = new ArrayList<>();
+            }
+        }
+        if (!batch.isEmpty()) {
+            write(batch);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void write(List<Map.Entry<String, Long>> batch) {
+        try {
+            BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Reel.class);
+            for (Map.Entry<String, Long> entry : batch) {
+                ops.updateOne(new Query(Criteria.where("_id").is(entry.getKey())), new Update().inc("views", entry.getValue().intValue()));
+            }
+            ops.execute();
+        } catch (Exception e) {
+            System.err.println("Error flushing reel views, will retry: " + e.getMessage());
+            batch.forEach(entry -> requeue(entry.getKey(), entry.getValue()));
+        }
+    }
+
+    private void requeue(String reelId, long count) {
+        pendingViews.merge(reelId, count, Long::sum);
+    }
+}
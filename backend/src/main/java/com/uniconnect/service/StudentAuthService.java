@@ -16,10 +16,15 @@ import java.time.Instant;
 public class StudentAuthService {
     private final StudentRepository studentRepository;
     private final PasswordEncoder passwordEncoder;
+    private final AuthorDirectory authorDirectory;
+    private final EligibilityIndex eligibilityIndex;
 
-    public StudentAuthService(StudentRepository studentRepository, PasswordEncoder passwordEncoder) {
+    public StudentAuthService(StudentRepository studentRepository, PasswordEncoder passwordEncoder, AuthorDirectory authorDirectory,
+                              EligibilityIndex eligibilityIndex) {
         this.studentRepository = studentRepository;
         this.passwordEncoder = passwordEncoder;
+        this.authorDirectory = authorDirectory;
+        this.eligibilityIndex = eligibilityIndex;
     }
 
     public AuthResponse signUp(SignUpRequest request) {
@@ -34,6 +39,8 @@ public class StudentAuthService {
         Student student = new Student(request.email(), passwordEncoder.encode(request.password()), Instant.now());
 
         studentRepository.save(student);
+        authorDirectory.invalidate(student);
+        eligibilityIndex.studentChanged(student);
         String emailPrefix = student.getEmail() != null && student.getEmail().contains("@")
                 ? student.getEmail().split("@")[0] : student.getId();
         return new AuthResponse("Account ready to be created", emailPrefix, null);
@@ -15,9 +15,14 @@ import java.util.Optional;
 @Service
 public class StudentProfileService {
     private final StudentRepository studentRepository;
+    private final AuthorDirectory authorDirectory;
+    private final EligibilityIndex eligibilityIndex;
 
-    public StudentProfileService(StudentRepository studentRepository) {
+    public StudentProfileService(StudentRepository studentRepository, AuthorDirectory authorDirectory,
+                                 EligibilityIndex eligibilityIndex) {
         this.studentRepository = studentRepository;
+        this.authorDirectory = authorDirectory;
+        this.eligibilityIndex = eligibilityIndex;
     }
 
     public StudentProfileResponse getProfileByEmail(String email) {
@@ -81,6 +86,8 @@ public class StudentProfileService {
         if (request.internships() != null) student.setInternships(mapInternships(request.internships()));
 
         Student saved = studentRepository.save(student);
+        authorDirectory.invalidate(saved);
+        eligibilityIndex.studentChanged(saved);
         return toResponse(saved);
     }
 
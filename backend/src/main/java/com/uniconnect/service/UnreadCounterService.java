@@ -0,0 +1,366 @@
+package com.uniconnect.service;
+
+import com.uniconnect.model.ChatGroup;
+import com.uniconnect.model.Conversation;
+import com.uniconnect.model.Message;
+import com.uniconnect.model.UnreadCounter;
+import org.bson.Document;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Per-user unread counts for conversations and groups, kept in unread_counters.
+ *
+ * Sending a message $inc's the counter of every other participant (one bulk write per batch of
+ * messages), reading a chat resets the reader's counter and advances their read watermark in one
+ * upsert, and the inbox reads all of a user's counters with a single query. Counters can drift (a
+ * crash between the message insert and the increment, a deleted message), so reconcile()
+ * periodically recomputes them from the messages collection.
+ *
+ * Group read state is tracked by the watermarks only; the single Message.read flag is kept for
+ * conversations, where it has exactly one reader. Every group member therefore needs a watermark:
+ * it is seeded when they join (see seedWatermarks) and, for members from before watermarks, once by
+ * GroupReadWatermarkBackfill.
+ */
+@Service
+public class UnreadCounterService {
+    private static final int WRITE_BATCH_SIZE = 500;
+    private static final int DUPLICATE_KEY = 11000;
+
+    private final MongoTemplate mongoTemplate;
+
+    public UnreadCounterService(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * Counts newly persisted messages as unread for everyone in the chat except the sender.
+     */
+    public void messagesSent(Collection<Message> messages) {
+        adjust(messages, 1);
+    }
+
+    /**
+     * Takes a deleted message back out of the counters of those who had not read it yet: the other
+     * participant of an unread conversation message, or the group members whose watermark is before it.
+     */
+    public void messageDeleted(Message message) {
+        if (message.getGroupId() != null) {
+            groupMessageDeleted(message);
+        } else if (!message.isRead()) {
+            adjust(List.of(message), -1);
+        }
+    }
+
+    private void groupMessageDeleted(Message message) {
+        String groupId = message.getGroupId();
+        List<String> recipients = new ArrayList<>(participantsOf(List.of(), List.of(groupId)).getOrDefault(groupId, List.of()));
+        recipients.remove(message.getSenderId());
+        if (recipients.isEmpty()) return;
+        Map<String, LocalDateTime> watermarks = readWatermarks(groupId, recipients);
+        Map<String, Long> decrements = new HashMap<>();
+        for (String userId : recipients) {
+            LocalDateTime readUpTo = watermarks.get(userId);
+            if (readUpTo == null || message.getTimestamp() == null || readUpTo.isBefore(message.getTimestamp())) {
+                decrements.put(key(userId, groupId), -1L);
+            }
+        }
+        write(decrements);
+    }
+
+    private void adjust(Collection<Message> messages, long delta) {
+        if (messages.isEmpty()) return;
+        Set<String> conversationIds = new HashSet<>();
+        Set<String> groupIds = new HashSet<>();
+        for (Message message : messages) {
+            if (message.getConversationId() != null) conversationIds.add(message.getConversationId());
+            else if (message.getGroupId() != null) groupIds.add(message.getGroupId());
+        }
+        Map<String, List<String>> participants = participantsOf(conversationIds, groupIds);
+
+        Map<String, Long> increments = new HashMap<>();
+        for (Message message : messages) {
+            String chatId = message.getConversationId() != null ? message.getConversationId() : message.getGroupId();
+            for (String userId : participants.getOrDefault(chatId, List.of())) {
+                if (!userId.equals(message.getSenderId())) {
+                    increments.merge(key(userId, chatId), delta, Long::sum);
+                }
+            }
+        }
+        write(increments);
+    }
+
+    private void write(Map<String, Long> increments) {
+        if (increments.isEmpty()) return;
+        try {
+            BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, UnreadCounter.class);
+            Instant now = Instant.now();
+            increments.forEach((id, by) -> {
+                if (by > 0) {
+                    ops.upsert(byId(id), counterUpdate(id, now).inc("count", by));
+                } else {
+                    // Never below zero: the counter may already have been reset by a read
+                    ops.updateOne(new Query(Criteria.where("_id").is(id).and("count").gte(-by)), new Update().inc("count", by).set("updatedAt", now));
+                }
+            });
+            ops.execute();
+        } catch (Exception e) {
+            // The next reconcile() repairs the counters; sending must not fail because of them
+            System.err.println("Error updating unread counters: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Moves the user's read watermark up to readUpTo (never back) and resets the counter, in one upsert.
+     */
+    public void markRead(String userId, String chatId, LocalDateTime readUpTo) {
+        String id = key(userId, chatId);
+        Update update = counterUpdate(id, Instant.now()).set("count", 0L).max("lastReadAt", readUpTo);
+        mongoTemplate.upsert(byId(id), update, UnreadCounter.class);
+    }
+
+    /**
+     * Gives the users who have no read watermark in the chat one at readUpTo, so only messages after it
+     * count as unread for them. Existing watermarks and counters are left alone.
+     */
+    public void seedWatermarks(String chatId, Collection<String> userIds, LocalDateTime readUpTo) {
+        if (userIds.isEmpty()) return;
+        Instant now = Instant.now();
+        BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, UnreadCounter.class);
+        for (String userId : userIds) {
+            String id = key(userId, chatId);
+            // A counter that already has a watermark does not match, and the upsert fails with a duplicate key
+            Query withoutWatermark = new Query(Criteria.where("_id").is(id).and("lastReadAt").exists(false));
+            ops.upsert(withoutWatermark, counterUpdate(id, now).set("lastReadAt", readUpTo));
+        }
+        executeIgnoringDuplicates(ops);
+    }
+
+    /**
+     * Read watermarks of the given users in one chat (userId -> lastReadAt); users who never read it are absent.
+     */
+    public Map<String, LocalDateTime> readWatermarks(String chatId, Collection<String> userIds) {
+        Query query = new Query(Criteria.where("chatId").is(chatId).and("userId").in(userIds).and("lastReadAt").ne(null));
+        query.fields().include("userId", "lastReadAt");
+        Map<String, LocalDateTime> watermarks = new HashMap<>();
+        for (UnreadCounter counter : mongoTemplate.find(query, UnreadCounter.class)) {
+            watermarks.put(counter.getUserId(), counter.getLastReadAt());
+        }
+        return watermarks;
+    }
+
+    public int unreadCount(String userId, String chatId) {
+        UnreadCounter counter = mongoTemplate.findById(key(userId, chatId), UnreadCounter.class);
+        return counter != null ? (int) counter.getCount() : 0;
+    }
+
+    /**
+     * All of a user's non-zero counters (chatId -> count) in one query.
+     */
+    public Map<String, Integer> unreadCounts(String userId) {
+        Query query = new Query(Criteria.where("userId").is(userId).and("count").gt(0));
+        query.fields().include("chatId", "count");
+        Map<String, Integer> counts = new HashMap<>();
+        for (UnreadCounter counter : mongoTemplate.find(query, UnreadCounter.class)) {
+            counts.put(counter.getChatId(), (int) counter.getCount());
+        }
+        return counts;
+    }
+
+    /**
+     * Rebuilds every counter from the messages collection and zeroes counters that no longer have
+     * unread messages behind them. Users with a read watermark in a chat count the messages after it;
+     * in conversations, users who have not read it since watermarks were introduced fall back to the
+     * legacy Message.read flag. Group members always have a watermark (seeded on join or by the backfill).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${chat.unread.reconcile-interval-ms:3600000}",
+            fixedDelayString = "${chat.unread.reconcile-interval-ms:3600000}")
+    public void reconcile() {
+        Instant runStart = Instant.now();
+        try {
+            Map<String, Map<String, LocalDateTime>> watermarks = loadWatermarks();
+            Map<String, Long> expected = new HashMap<>();
+            countAfterWatermarks(watermarks, expected);
+            countLegacyUnread(watermarks, expected);
+
+            // Counters written after the run started are newer than what it saw: the upsert then
+            // fails with a duplicate key instead of overwriting them
+            BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, UnreadCounter.class);
+            int pending = 0;
+            for (Map.Entry<String, Long> entry : expected.entrySet()) {
+                Query notTouchedSince = new Query(Criteria.where("_id").is(entry.getKey()).and("updatedAt").lt(runStart));
+                ops.upsert(notTouchedSince, counterUpdate(entry.getKey(), runStart).set("count", entry.getValue()));
+                if (++pending >= WRITE_BATCH_SIZE) {
+                    executeIgnoringDuplicates(ops);
+                    ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, UnreadCounter.class);
+                    pending = 0;
+                }
+            }
+            if (pending > 0) executeIgnoringDuplicates(ops);
+
+            // Non-zero counters without unread messages behind them; skip ones touched since the run started
+            Query stale = new Query(Criteria.where("count").gt(0).and("updatedAt").lt(runStart));
+            stale.fields().include("_id");
+            List<String> staleIds = new ArrayList<>();
+            try (Stream<UnreadCounter> counters = mongoTemplate.stream(stale, UnreadCounter.class)) {
+                counters.map(UnreadCounter::getId).filter(id -> !expected.containsKey(id)).forEach(staleIds::add);
+            }
+            if (!staleIds.isEmpty()) {
+                mongoTemplate.updateMulti(new Query(Criteria.where("_id").in(staleIds).and("updatedAt").lt(runStart)),
+                        new Update().set("count", 0L).set("updatedAt", runStart), UnreadCounter.class);
+            }
+            System.out.println("📬 Reconciled unread counters: " + expected.size() + " non-zero, " + staleIds.size() + " reset");
+        } catch (Exception e) {
+            System.err.println("Error reconciling unread counters: " + e.getMessage());
+        }
+    }
+
+    // chatId -> (userId -> lastReadAt)
+    private Map<String, Map<String, LocalDateTime>> loadWatermarks() {
+        Query query = new Query(Criteria.where("lastReadAt").ne(null));
+        query.fields().include("userId", "chatId", "lastReadAt");
+        Map<String, Map<String, LocalDateTime>> watermarks = new HashMap<>();
+        try (Stream<UnreadCounter> counters = mongoTemplate.stream(query, UnreadCounter.class)) {
+            counters.forEach(c -> watermarks.computeIfAbsent(c.getChatId(), k -> new HashMap<>()).put(c.getUserId(), c.getLastReadAt()));
+        }
+        return watermarks;
+    }
+
+    /**
+     * For each chat with watermarks, reads the (timestamp, senderId) of the messages after the oldest
+     * watermark once and attributes each message to every user whose watermark is before it.
+     */
+    private void countAfterWatermarks(Map<String, Map<String, LocalDateTime>> watermarks, Map<String, Long> expected) {
+        if (watermarks.isEmpty()) return;
+        Map<String, LocalDateTime> lastMessageTimes = new HashMap<>();
+        Map<String, String> chatFields = new HashMap<>();
+        Query conversations = new Query(Criteria.where("_id").in(watermarks.keySet()).and("lastMessageTime").ne(null));
+        conversations.fields().include("lastMessageTime");
+        for (Conversation conversation : mongoTemplate.find(conversations, Conversation.class)) {
+            lastMessageTimes.put(conversation.getId(), conversation.getLastMessageTime());
+            chatFields.put(conversation.getId(), "conversationId");
+        }
+        Query groups = new Query(Criteria.where("_id").in(watermarks.keySet()).and("lastMessageTime").ne(null));
+        groups.fields().include("lastMessageTime");
+        for (ChatGroup group : mongoTemplate.find(groups, ChatGroup.class)) {
+            lastMessageTimes.put(group.getId(), group.getLastMessageTime());
+            chatFields.put(group.getId(), "groupId");
+        }
+
+        watermarks.forEach((chatId, readers) -> {
+            LocalDateTime lastMessageTime = lastMessageTimes.get(chatId);
+            if (lastMessageTime == null) return;
+            LocalDateTime oldest = Collections.min(readers.values());
+            if (!lastMessageTime.isAfter(oldest)) return; // everyone has read everything
+
+            List<Map.Entry<String, LocalDateTime>> byWatermark = new ArrayList<>(readers.entrySet());
+            byWatermark.sort(Map.Entry.comparingByValue());
+            Query query = new Query(Criteria.where(chatFields.get(chatId)).is(chatId).and("timestamp").gt(oldest));
+            query.fields().include("timestamp", "senderId");
+            try (Stream<Message> messages = mongoTemplate.stream(query, Message.class)) {
+                messages.forEach(message -> {
+                    for (Map.Entry<String, LocalDateTime> reader : byWatermark) {
+                        if (!reader.getValue().isBefore(message.getTimestamp())) break;
+                        if (!reader.getKey().equals(message.getSenderId())) {
+                            expected.merge(key(reader.getKey(), chatId), 1L, Long::sum);
+                        }
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Conversation participants without a watermark: unread messages (read = false) not sent by them.
+     * Runs from the partial legacy_unread index, which only holds those messages.
+     */
+    private void countLegacyUnread(Map<String, Map<String, LocalDateTime>> watermarks, Map<String, Long> expected) {
+        // (conversationId, senderId) -> unread messages
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("read").is(false).and("conversationId").exists(true)),
+                Aggregation.group("conversationId", "senderId").count().as("count"));
+        Map<String, Map<String, Long>> bySender = new HashMap<>();
+        for (Document row : mongoTemplate.aggregate(aggregation, Message.class, Document.class).getMappedResults()) {
+            Document id = (Document) row.get("_id");
+            String conversationId = id.getString("conversationId");
+            if (conversationId == null) continue;
+            bySender.computeIfAbsent(conversationId, k -> new HashMap<>())
+                    .merge(String.valueOf(id.getString("senderId")), ((Number) row.get("count")).longValue(), Long::sum);
+        }
+
+        Map<String, List<String>> participants = participantsOf(bySender.keySet(), List.of());
+        bySender.forEach((chatId, senders) -> {
+            Map<String, LocalDateTime> readers = watermarks.getOrDefault(chatId, Map.of());
+            for (String userId : participants.getOrDefault(chatId, List.of())) {
+                if (readers.containsKey(userId)) continue;
+                long unread = senders.entrySet().stream()
+                        .filter(e -> !e.getKey().equals(userId))
+                        .mapToLong(Map.Entry::getValue)
+                        .sum();
+                if (unread > 0) expected.put(key(userId, chatId), unread);
+            }
+        });
+    }
+
+    private void executeIgnoringDuplicates(BulkOperations ops) {
+        try {
+            ops.execute();
+        } catch (BulkOperationException e) {
+            boolean onlyDuplicates = e.getErrors().stream().allMatch(err -> err.getCode() == DUPLICATE_KEY);
+            if (!onlyDuplicates) throw e;
+        }
+    }
+
+    // chatId -> user ids of its participants / members
+    private Map<String, List<String>> participantsOf(Collection<String> conversationIds, Collection<String> groupIds) {
+        Map<String, List<String>> participants = new HashMap<>();
+        if (!conversationIds.isEmpty()) {
+            Query query = new Query(Criteria.where("_id").in(conversationIds));
+            query.fields().include("participantIds");
+            for (Conversation conversation : mongoTemplate.find(query, Conversation.class)) {
+                participants.put(conversation.getId(), conversation.getParticipantIds());
+            }
+        }
+        if (!groupIds.isEmpty()) {
+            Query query = new Query(Criteria.where("_id").in(groupIds));
+            query.fields().include("members.userId");
+            for (ChatGroup group : mongoTemplate.find(query, ChatGroup.class)) {
+                List<String> members = new ArrayList<>();
+                group.getMembers().forEach(m -> members.add(m.getUserId()));
+                participants.put(group.getId(), members);
+            }
+        }
+        return participants;
+    }
+
+    private Update counterUpdate(String id, Instant now) {
+        int split = id.lastIndexOf(':');
+        return new Update()
+                .setOnInsert("userId", id.substring(0, split))
+                .setOnInsert("chatId", id.substring(split + 1))
+                .set("updatedAt", now);
+    }
+
+    private Query byId(String id) {
+        return new Query(Criteria.where("_id").is(id));
+    }
+
+    private static String key(String userId, String chatId) {
+        return userId + ":" + chatId;
+    }
+}
@@ -0,0 +1,85 @@
+package com.uniconnect.websocket;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.Map;
+
+/**
+ * One outgoing chat event, encoded at most once per wire protocol no matter how many sessions it
+ * fans out to: the JSON text and the compact binary form are built lazily and shared.
+ */
+public final class ChatFrame {
+    static final String COMPACT_ATTRIBUTE = "compactProtocol";
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private Map<String, Object> event;
+    private String json;
+    private TextMessage text;
+    private byte[] compact;
+    private boolean compactEncoded;
+
+    private ChatFrame(Map<String, Object> event, String json) {
+        this.event = event;
+        this.json = json;
+    }
+
+    public static ChatFrame of(Map<String, Object> event) {
+        return new ChatFrame(event, null);
+    }
+
+    /**
+     * A frame relayed by another node, which only carries the JSON form.
+     */
+    public static ChatFrame fromJson(String json) {
+        return new ChatFrame(null, json);
+    }
+
+    public synchronized String json() {
+        if (json == null) {
+            try {
+                json = OBJECT_MAPPER.writeValueAsString(event);
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Cannot serialize chat event", e);
+            }
+        }
+        return json;
+    }
+
+    public WebSocketMessage<?> encodeFor(WebSocketSession session) {
+        if (Boolean.TRUE.equals(session.getAttributes().get(COMPACT_ATTRIBUTE))) {
+            byte[] bytes = compact();
+            // A BinaryMessage's ByteBuffer is consumed by the send, so each session gets its own
+            // wrapper around the shared bytes
+            if (bytes != null) return new BinaryMessage(bytes);
+        }
+        return text();
+    }
+
+    private synchronized TextMessage text() {
+        if (text == null) {
+            text = new TextMessage(json());
+        }
+        return text;
+    }
+
+    private synchronized byte[] compact() {
+        if (!compactEncoded) {
+            compactEncoded = true;
+            try {
+                if (event == null) {
+                    event = OBJECT_MAPPER.readValue(json, new TypeReference<Map<String, Object>>() {});
+                }
+                compact = CompactChatCodec.encode(event);
+            } catch (JsonProcessingException e) {
+                compact = null;
+            }
+        }
+        return compact;
+    }
+}
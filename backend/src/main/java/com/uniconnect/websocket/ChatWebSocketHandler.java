@@ -1,11 +1,17 @@
 package com.uniconnect.websocket;
 
+import com.uniconnect.config.SchedulingConfig;
+import com.uniconnect.dto.MessageResponse;
+import com.uniconnect.model.ClusterEvent;
+import com.uniconnect.service.ChatService;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
+import org.springframework.web.socket.BinaryMessage;
 import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.SubProtocolCapable;
 import org.springframework.web.socket.TextMessage;
-import org.springframework.web.socket.WebSocketMessage;
 import org.springframework.web.socket.WebSocketSession;
-import org.springframework.web.socket.handler.TextWebSocketHandler;
+import org.springframework.web.socket.handler.AbstractWebSocketHandler;
 import org.springframework.web.util.UriComponentsBuilder;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -17,52 +23,85 @@ import java.util.concurrent.ConcurrentHashMap;
 /**
  * WebSocket Handler for real-time chat messaging
  * Handles connection, disconnection, and message routing
+ *
+ * Clients that offer the "uniconnect.chat.compact.v1" sub-protocol (or connect with ?protocol=compact)
+ * exchange typing, seen, presence and delivery events as binary frames (see CompactChatCodec); all
+ * other events stay JSON.
  */
 @Component
-public class ChatWebSocketHandler extends TextWebSocketHandler {
+public class ChatWebSocketHandler extends AbstractWebSocketHandler implements SubProtocolCapable {
 
     private final ObjectMapper objectMapper = new ObjectMapper();
-    
-    // Store active connections: userId -> Set of WebSocketSessions
-    private static final Map<String, Set<WebSocketSession>> userSessions = new ConcurrentHashMap<>();
-    
-    // Store online users: userId -> true
-    private static final Map<String, Boolean> onlineUsers = new ConcurrentHashMap<>();
-
-    public ChatWebSocketHandler() {
+    private final ChatService chatService;
+    private final MessageBus messageBus;
+    private final PresenceRegistry presenceRegistry;
+    private final PresenceSubscriptions presenceSubscriptions;
+    private final OutboundSessions outboundSessions;
+    private final GroupMembers groupMembers;
+
+    public static final String SCOPE = "chat";
+
+    // Connections held by this node: userId -> Set of WebSocketSessions
+    private final Map<String, Set<WebSocketSession>> userSessions = new ConcurrentHashMap<>();
+
+    public ChatWebSocketHandler(ChatService chatService, MessageBus messageBus, PresenceRegistry presenceRegistry,
+                                PresenceSubscriptions presenceSubscriptions, OutboundSessions outboundSessions,
+                                GroupMembers groupMembers) {
+        this.chatService = chatService;
+        this.messageBus = messageBus;
+        this.presenceRegistry = presenceRegistry;
+        this.presenceSubscriptions = presenceSubscriptions;
+        this.outboundSessions = outboundSessions;
+        this.groupMembers = groupMembers;
+        // Events produced on other nodes for users connected here
+        messageBus.subscribe(SCOPE, this::onClusterEvent);
+        // Presence deltas from other nodes may have been lost: send everyone connected here the full list
+        messageBus.onResync(this::resendOnlineUsers);
+    }
+
+    @Override
+    public List<String> getSubProtocols() {
+        return List.of(CompactChatCodec.SUBPROTOCOL);
     }
 
     @Override
     public void afterConnectionEstablished(WebSocketSession session) throws Exception {
         // Try to get userId from session attributes first, then from query parameter
         String userId = (String) session.getAttributes().get("userId");
-        
+        Map<String, String> params = Map.of();
+        URI uri = session.getUri();
+        if (uri != null && uri.getQuery() != null) {
+            params = UriComponentsBuilder.fromUri(uri).build().getQueryParams().toSingleValueMap();
+        }
+
         if (userId == null) {
             // Extract userId from query parameter: /ws/chat?userId=xxx
-            URI uri = session.getUri();
-            if (uri != null && uri.getQuery() != null) {
-                Map<String, String> params = UriComponentsBuilder.fromUri(uri).build().getQueryParams().toSingleValueMap();
-                userId = params.get("userId");
-            }
+            userId = params.get("userId");
         }
         
         if (userId != null) {
             // Store userId in session attributes for later use
             session.getAttributes().put("userId", userId);
+            boolean compact = CompactChatCodec.SUBPROTOCOL.equals(session.getAcceptedProtocol())
+                    || "compact".equals(params.get("protocol"));
+            session.getAttributes().put(ChatFrame.COMPACT_ATTRIBUTE, compact);
+            outboundSessions.register(session);
             userSessions.computeIfAbsent(userId, k -> ConcurrentHashMap.newKeySet()).add(session);
-            onlineUsers.put(userId, true);
-            
-            // Broadcast user online status
-            broadcastOnlineStatus(userId, true);
-            
-            // Send the user the current online users list
-            sendMessageToUser(userId, new TextMessage(objectMapper.writeValueAsString(
+
+            // Contacts hear about it on the next presence tick (only if the user was offline on every node)
+            if (presenceRegistry.connected(SCOPE, userId)) {
+                presenceSubscriptions.statusChanged(userId, true);
+            }
+
+            // Send the user which of their contacts are online
+            Set<String> onlineContacts = presenceSubscriptions.subscribe(userId);
+            outboundSessions.send(session, ChatFrame.of(
                 Map.of(
                     "type", "online-users",
-                    "users", new ArrayList<>(onlineUsers.keySet()),
+                    "users", new ArrayList<>(onlineContacts),
                     "timestamp", System.currentTimeMillis()
                 )
-            )));
+            ).encodeFor(session));
             
             System.out.println("✓ Chat user connected: " + userId + " (Session: " + session.getId() + ")");
         } else {
@@ -74,176 +113,198 @@ public class ChatWebSocketHandler extends TextWebSocketHandler {
     @Override
     protected void handleTextMessage(WebSocketSession session, TextMessage message) throws Exception {
         try {
-            String userId = (String) session.getAttributes().get("userId");
-            JsonNode jsonNode = objectMapper.readTree(message.getPayload());
-            
-            String eventType = jsonNode.get("type").asText();
-            
-            switch (eventType) {
-                case "message":
-                    handleChatMessage(userId, jsonNode, session);
-                    break;
-                case "group-message":
-                    handleGroupMessage(userId, jsonNode, session);
-                    break;
-                case "typing":
-                    handleTypingIndicator(userId, jsonNode);
-                    break;
-                case "stop-typing":
-                    handleStopTyping(userId, jsonNode);
-                    break;
-                case "group-typing":
-                    handleGroupTyping(userId, jsonNode);
-                    break;
-                case "group-stop-typing":
-                    handleGroupStopTyping(userId, jsonNode);
-                    break;
-                case "message-seen":
-                    handleMessageSeen(userId, jsonNode);
-                    break;
-                case "message-deleted":
-                    handleMessageDeleted(userId, jsonNode);
-                    break;
-                case "message-edited":
-                    handleMessageEdited(userId, jsonNode);
-                    break;
-                case "call-offer":
-                case "call-answer":
-                case "call-reject":
-                case "call-end":
-                case "ice-candidate":
-                    handleCallSignaling(userId, eventType, jsonNode);
-                    break;
-                default:
-                    System.out.println("Unknown event type: " + eventType);
-            }
+            dispatch(session, objectMapper.readTree(message.getPayload()));
         } catch (Exception e) {
             System.err.println("Error handling WebSocket message: " + e.getMessage());
             e.printStackTrace();
         }
     }
 
+    @Override
+    protected void handleBinaryMessage(WebSocketSession session, BinaryMessage message) {
+        try {
+            dispatch(session, CompactChatCodec.decode(message.getPayload(), objectMapper));
+        } catch (Exception e) {
+            System.err.println("Error handling compact WebSocket frame: " + e.getMessage());
+        }
+    }
+
+    private void dispatch(WebSocketSession session, JsonNode jsonNode) throws IOException {
+        String userId = (String) session.getAttributes().get("userId");
+        String eventType = jsonNode.get("type").asText();
+        
+        switch (eventType) {
+            case "message":
+                handleChatMessage(userId, jsonNode, session);
+                break;
+            case "group-message":
+                handleGroupMessage(userId, jsonNode, session);
+                break;
+            case "typing":
+                handleTypingIndicator(userId, jsonNode);
+                break;
+            case "stop-typing":
+                handleStopTyping(userId, jsonNode);
+                break;
+            case "group-typing":
+                handleGroupTyping(userId, jsonNode);
+                break;
+            case "group-stop-typing":
+                handleGroupStopTyping(userId, jsonNode);
+                break;
+            case "message-seen":
+                handleMessageSeen(userId, jsonNode);
+                break;
+            case "message-deleted":
+                handleMessageDeleted(userId, jsonNode);
+                break;
+            case "message-edited":
+                handleMessageEdited(userId, jsonNode);
+                break;
+            case "call-offer":
+            case "call-answer":
+            case "call-reject":
+            case "call-end":
+            case "ice-candidate":
+                handleCallSignaling(userId, eventType, jsonNode);
+                break;
+            default:
+                System.out.println("Unknown event type: " + eventType);
+        }
+    }
+
     private void handleChatMessage(String senderId, JsonNode data, WebSocketSession session) throws IOException {
         String conversationId = data.get("conversationId").asText();
         String receiverId = data.get("receiverId").asText();
         String content = data.get("content").asText();
         String messageType = data.has("messageType") ? data.get("messageType").asText() : "text";
-        
-        // Save message to database
-        // var message = chatService.saveMessage(conversationId, senderId, content, messageType);
-        
+
+        // The WebSocket is the write path: persist through the write buffer, the ack carries the stored id
+        MessageResponse saved = chatService.queueMessage(conversationId, null, senderId, content, messageType,
+                textOrNull(data, "fileUrl"), textOrNull(data, "fileName"),
+                data.has("fileSize") ? data.get("fileSize").asLong() : null,
+                textOrNull(data, "replyToMessageId"));
+        String messageId = saved.getId();
+        String senderName = saved.getSenderName();
+
         // Send to receiver
-        sendMessageToUser(receiverId, new TextMessage(objectMapper.writeValueAsString(
-            Map.of(
-                "type", "message",
-                "senderId", senderId,
-                "conversationId", conversationId,
-                "content", content,
-                "messageType", messageType,
-                "timestamp", System.currentTimeMillis()
-            )
-        )));
-        
+        Map<String, Object> outgoing = new HashMap<>();
+        outgoing.put("type", "message");
+        outgoing.put("messageId", messageId);
+        outgoing.put("senderId", senderId);
+        outgoing.put("senderName", senderName != null ? senderName : senderId);
+        outgoing.put("conversationId", conversationId);
+        outgoing.put("content", content);
+        outgoing.put("messageType", messageType);
+        outgoing.put("timestamp", System.currentTimeMillis());
+        sendMessageToUser(receiverId, ChatFrame.of(outgoing));
+
         // Send delivery confirmation back to sender
-        session.sendMessage(new TextMessage(objectMapper.writeValueAsString(
-            Map.of(
-                "type", "message-delivered",
-                "conversationId", conversationId,
-                "timestamp", System.currentTimeMillis()
-            )
-        )));
+        outboundSessions.send(session, ChatFrame.of(
+            deliveryAck("conversationId", conversationId, messageId, data)
+        ).encodeFor(session));
+    }
+
+    private Map<String, Object> deliveryAck(String chatKey, String chatId, String messageId, JsonNode data) {
+        Map<String, Object> ack = new HashMap<>();
+        ack.put("type", "message-delivered");
+        ack.put(chatKey, chatId);
+        ack.put("messageId", messageId);
+        // Lets the client match the ack to its optimistic copy of the message
+        String clientMessageId = textOrNull(data, "clientMessageId");
+        if (clientMessageId != null) ack.put("clientMessageId", clientMessageId);
+        ack.put("timestamp", System.currentTimeMillis());
+        return ack;
+    }
+
+    private String textOrNull(JsonNode data, String field) {
+        JsonNode node = data.get(field);
+        return node == null || node.isNull() ? null : node.asText();
     }
 
     private void handleTypingIndicator(String userId, JsonNode data) throws IOException {
         String receiverId = data.get("receiverId").asText();
         
-        sendMessageToUser(receiverId, new TextMessage(objectMapper.writeValueAsString(
+        sendMessageToUser(receiverId, ChatFrame.of(
             Map.of(
                 "type", "user-typing",
                 "userId", userId,
                 "timestamp", System.currentTimeMillis()
             )
-        )));
+        ));
     }
 
     private void handleStopTyping(String userId, JsonNode data) throws IOException {
         String receiverId = data.get("receiverId").asText();
         
-        sendMessageToUser(receiverId, new TextMessage(objectMapper.writeValueAsString(
+        sendMessageToUser(receiverId, ChatFrame.of(
             Map.of(
                 "type", "user-stop-typing",
                 "userId", userId,
                 "timestamp", System.currentTimeMillis()
             )
-        )));
+        ));
     }
 
     private void handleMessageSeen(String userId, JsonNode data) throws IOException {
         String messageId = data.get("messageId").asText();
         String senderId = data.get("senderId").asText();
         
-        // Update message status in database
-        // chatService.markMessageAsSeen(messageId);
-        
         // Notify sender
-        sendMessageToUser(senderId, new TextMessage(objectMapper.writeValueAsString(
+        sendMessageToUser(senderId, ChatFrame.of(
             Map.of(
                 "type", "message-seen",
                 "messageId", messageId,
                 "timestamp", System.currentTimeMillis()
             )
-        )));
+        ));
     }
 
     private void handleGroupMessage(String senderId, JsonNode data, WebSocketSession session) throws IOException {
         String groupId = data.get("groupId").asText();
-        String content = data.get("content").asText();
-        
-        // Send to all group members who are online (the frontend handles who's in the group)
-        if (data.has("memberIds")) {
-            for (JsonNode memberId : data.get("memberIds")) {
-                String id = memberId.asText();
-                if (!id.equals(senderId)) {
-                    sendMessageToUser(id, new TextMessage(objectMapper.writeValueAsString(
-                        Map.of(
-                            "type", "group-message",
-                            "senderId", senderId,
-                            "groupId", groupId,
-                            "content", content,
-                            "timestamp", System.currentTimeMillis()
-                        )
-                    )));
-                }
-            }
+        if (!groupMembers.isMember(groupId, senderId)) {
+            System.out.println("Ignoring group message from non-member " + senderId + " in group " + groupId);
+            return;
         }
+        String content = data.get("content").asText();
+        String messageType = data.has("messageType") ? data.get("messageType").asText() : "text";
+
+        // The WebSocket is the write path: persist through the write buffer, the ack carries the stored id
+        String messageId = chatService.queueMessage(null, groupId, senderId, content, messageType,
+                textOrNull(data, "fileUrl"), textOrNull(data, "fileName"),
+                data.has("fileSize") ? data.get("fileSize").asLong() : null,
+                textOrNull(data, "replyToMessageId")).getId();
+
+        // Send to the other members who are online (membership comes from the group, not the client)
+        Map<String, Object> outgoing = new HashMap<>();
+        outgoing.put("type", "group-message");
+        outgoing.put("messageId", messageId);
+        outgoing.put("senderId", senderId);
+        outgoing.put("groupId", groupId);
+        outgoing.put("content", content);
+        outgoing.put("messageType", messageType);
+        outgoing.put("timestamp", System.currentTimeMillis());
+        sendToGroup(groupId, senderId, ChatFrame.of(outgoing));
+
+        outboundSessions.send(session, ChatFrame.of(
+            deliveryAck("groupId", groupId, messageId, data)
+        ).encodeFor(session));
     }
 
     private void handleGroupTyping(String userId, JsonNode data) throws IOException {
         String groupId = data.get("groupId").asText();
-        if (data.has("memberIds")) {
-            for (JsonNode memberId : data.get("memberIds")) {
-                String id = memberId.asText();
-                if (!id.equals(userId)) {
-                    sendMessageToUser(id, new TextMessage(objectMapper.writeValueAsString(
-                        Map.of("type", "group-typing", "userId", userId, "groupId", groupId, "timestamp", System.currentTimeMillis())
-                    )));
-                }
-            }
-        }
+        if (!groupMembers.isMember(groupId, userId)) return;
+        sendToGroup(groupId, userId, ChatFrame.of(
+            Map.of("type", "group-typing", "userId", userId, "groupId", groupId, "timestamp", System.currentTimeMillis())
+        ));
     }
 
     private void handleGroupStopTyping(String userId, JsonNode data) throws IOException {
         String groupId = data.get("groupId").asText();
-        if (data.has("memberIds")) {
-            for (JsonNode memberId : data.get("memberIds")) {
-                String id = memberId.asText();
-                if (!id.equals(userId)) {
-                    sendMessageToUser(id, new TextMessage(objectMapper.writeValueAsString(
-                        Map.of("type", "group-stop-typing", "userId", userId, "groupId", groupId, "timestamp", System.currentTimeMillis())
-                    )));
-                }
-            }
-        }
+        if (!groupMembers.isMember(groupId, userId)) return;
+        sendToGroup(groupId, userId, ChatFrame.of(
+            Map.of("type", "group-stop-typing", "userId", userId, "groupId", groupId, "timestamp", System.currentTimeMillis())
+        ));
     }
 
     private void handleMessageDeleted(String userId, JsonNode data) throws IOException {
@@ -251,9 +312,9 @@ public class ChatWebSocketHandler extends TextWebSocketHandler {
         String receiverId = data.has("receiverId") ? data.get("receiverId").asText() : null;
         
         if (receiverId != null) {
-            sendMessageToUser(receiverId, new TextMessage(objectMapper.writeValueAsString(
+            sendMessageToUser(receiverId, ChatFrame.of(
                 Map.of("type", "message-deleted", "messageId", messageId, "userId", userId, "timestamp", System.currentTimeMillis())
-            )));
+            ));
         }
     }
 
@@ -263,9 +324,9 @@ public class ChatWebSocketHandler extends TextWebSocketHandler {
         String receiverId = data.has("receiverId") ? data.get("receiverId").asText() : null;
         
         if (receiverId != null) {
-            sendMessageToUser(receiverId, new TextMessage(objectMapper.writeValueAsString(
+            sendMessageToUser(receiverId, ChatFrame.of(
                 Map.of("type", "message-edited", "messageId", messageId, "content", content, "userId", userId, "timestamp", System.currentTimeMillis())
-            )));
+            ));
         }
     }
 
@@ -287,50 +348,101 @@ public class ChatWebSocketHandler extends TextWebSocketHandler {
         if (data.has("answer")) signalingMsg.put("answer", data.get("answer"));
         if (data.has("candidate")) signalingMsg.put("candidate", data.get("candidate"));
 
-        sendMessageToUser(receiverId, new TextMessage(objectMapper.writeValueAsString(signalingMsg)));
+        sendMessageToUser(receiverId, ChatFrame.of(signalingMsg));
     }
 
-    private void sendMessageToUser(String userId, TextMessage message) {
+    private void sendMessageToUser(String userId, ChatFrame frame) {
+        deliverLocally(userId, frame);
+
+        // Forward to the other nodes this user is connected to
+        Set<String> remoteNodes = new HashSet<>(presenceRegistry.nodesFor(SCOPE, userId));
+        remoteNodes.remove(messageBus.nodeId());
+        if (!remoteNodes.isEmpty()) {
+            ClusterEvent event = new ClusterEvent(SCOPE, ClusterEvent.KIND_USER, userId, frame.json());
+            event.setTargetNodes(new ArrayList<>(remoteNodes));
+            messageBus.publish(event);
+        }
+    }
+
+    /**
+     * Fans a group event out to every member except excludeUserId. Local sessions only get the frame
+     * enqueued (OutboundSessions writes them in parallel); other nodes get one relay for the whole
+     * group and resolve the members themselves.
+     */
+    private void sendToGroup(String groupId, String excludeUserId, ChatFrame frame) {
+        Set<String> recipients = new HashSet<>(groupMembers.membersOf(groupId));
+        recipients.remove(excludeUserId);
+        if (recipients.isEmpty()) return;
+        recipients.forEach(id -> deliverLocally(id, frame));
+
+        Set<String> remoteNodes = new HashSet<>();
+        presenceRegistry.nodesForAll(SCOPE, recipients).values().forEach(remoteNodes::addAll);
+        remoteNodes.remove(messageBus.nodeId());
+        if (!remoteNodes.isEmpty()) {
+            ClusterEvent event = new ClusterEvent(SCOPE, ClusterEvent.KIND_TOPIC, groupId, frame.json());
+            event.setExcludeUserId(excludeUserId);
+            event.setTargetNodes(new ArrayList<>(remoteNodes));
+            messageBus.publish(event);
+        }
+    }
+
+    private void deliverLocally(String userId, ChatFrame frame) {
         Set<WebSocketSession> sessions = userSessions.get(userId);
         if (sessions != null) {
-            sessions.forEach(session -> {
-                try {
-                    if (session.isOpen()) {
-                        session.sendMessage(message);
-                    }
-                } catch (IOException e) {
-                    System.err.println("Error sending message to user " + userId + ": " + e.getMessage());
-                }
-            });
+            sessions.forEach(session -> outboundSessions.send(session, frame.encodeFor(session)));
         }
     }
 
-    private void broadcastOnlineStatus(String userId, boolean isOnline) throws IOException {
-        TextMessage statusMessage = new TextMessage(objectMapper.writeValueAsString(
-            Map.of(
-                "type", "user-status",
-                "userId", userId,
-                "status", isOnline ? "online" : "offline",
-                "timestamp", System.currentTimeMillis()
-            )
-        ));
-        
-        // Broadcast to all connected users
-        userSessions.forEach((id, sessions) -> {
-            sessions.forEach(session -> {
-                try {
-                    if (session.isOpen() && !id.equals(userId)) {
-                        session.sendMessage(statusMessage);
-                    }
-                } catch (IOException e) {
-                    System.err.println("Error broadcasting status: " + e.getMessage());
-                }
-            });
+    private void onClusterEvent(ClusterEvent event) {
+        if (ClusterEvent.KIND_USER.equals(event.getKind())) {
+            deliverLocally(event.getKey(), ChatFrame.fromJson(event.getPayload()));
+        } else if (ClusterEvent.KIND_TOPIC.equals(event.getKind())) {
+            // A group event: the key is the group id
+            ChatFrame frame = ChatFrame.fromJson(event.getPayload());
+            for (String memberId : groupMembers.membersOf(event.getKey())) {
+                if (!memberId.equals(event.getExcludeUserId())) deliverLocally(memberId, frame);
+            }
+        }
+    }
+
+    // Sends each watcher connected here one coalesced presence delta per tick
+    @Scheduled(fixedDelayString = "${chat.presence.tick-ms:1000}", scheduler = SchedulingConfig.REALTIME)
+    public void flushPresence() {
+        presenceSubscriptions.drain().forEach((watcherId, delta) -> {
+            try {
+                deliverLocally(watcherId, ChatFrame.of(
+                    Map.of(
+                        "type", "presence-delta",
+                        "online", delta.online(),
+                        "offline", delta.offline(),
+                        "timestamp", System.currentTimeMillis()
+                    )
+                ));
+            } catch (RuntimeException e) {
+                System.err.println("Error sending presence to user " + watcherId + ": " + e.getMessage());
+            }
         });
     }
 
+    private void resendOnlineUsers() {
+        for (String userId : userSessions.keySet()) {
+            try {
+                deliverLocally(userId, ChatFrame.of(
+                    Map.of(
+                        "type", "online-users",
+                        "users", new ArrayList<>(presenceSubscriptions.onlineContacts(userId)),
+                        "timestamp", System.currentTimeMillis()
+                    )
+                ));
+            } catch (RuntimeException e) {
+                System.err.println("Error resending presence to user " + userId + ": " + e.getMessage());
+            }
+        }
+    }
+
     @Override
     public void afterConnectionClosed(WebSocketSession session, CloseStatus status) throws Exception {
+        outboundSessions.unregister(session);
         String userId = (String) session.getAttributes().get("userId");
         
         if (userId != null) {
@@ -339,10 +451,12 @@ public class ChatWebSocketHandler extends TextWebSocketHandler {
                 sessions.remove(session);
                 if (sessions.isEmpty()) {
                     userSessions.remove(userId);
-                    onlineUsers.remove(userId);
-                    
-                    // Broadcast user offline status
-                    broadcastOnlineStatus(userId, false);
+                    presenceSubscriptions.unsubscribe(userId);
+
+                    // Contacts see the user go offline once they have no session on any node
+                    if (presenceRegistry.disconnected(SCOPE, userId)) {
+                        presenceSubscriptions.statusChanged(userId, false);
+                    }
                 }
             }
             
@@ -350,17 +464,4 @@ public class ChatWebSocketHandler extends TextWebSocketHandler {
         }
     }
 
-    /**
-     * Get list of all online users
-     */
-    public static List<String> getOnlineUsers() {
-        return new ArrayList<>(onlineUsers.keySet());
-    }
-
-    /**
-     * Check if user is online
-     */
-    public static boolean isUserOnline(String userId) {
-        return onlineUsers.containsKey(userId) && onlineUsers.get(userId);
-    }
 }
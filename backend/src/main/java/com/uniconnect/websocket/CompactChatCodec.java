@@ -0,0 +1,159 @@
+package com.uniconnect.websocket;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fixed-layout binary frames for the high-frequency chat events, used by sessions that negotiate the
+ * "uniconnect.chat.compact.v1" sub-protocol. Everything else (messages, edits, call signaling) stays
+ * JSON text frames on those sessions too.
+ *
+ * A frame is one opcode byte followed by its fields in order. Strings are a varint (unsigned LEB128)
+ * byte length plus UTF-8 bytes, lists are a varint count plus their items. There are no field names
+ * and no timestamps; clients use the receive time. Bytes after the last field are ignored.
+ *
+ *   Server to client                          Client to server
+ *   0x01 user-typing        userId            0x41 typing             receiverId
+ *   0x02 user-stop-typing   userId            0x42 stop-typing        receiverId
+ *   0x03 group-typing       userId, groupId   0x43 group-typing       groupId
+ *   0x04 group-stop-typing  userId, groupId   0x44 group-stop-typing  groupId
+ *   0x05 message-seen       messageId         0x45 message-seen       messageId, senderId
+ *   0x06 presence-delta     [online], [offline]
+ *   0x07 message-delivered  kind (0 conversation, 1 group), chatId, messageId, clientMessageId ("" if none)
+ */
+final class CompactChatCodec {
+    static final String SUBPROTOCOL = "uniconnect.chat.compact.v1";
+
+    private static final byte USER_TYPING = 0x01;
+    private static final byte USER_STOP_TYPING = 0x02;
+    private static final byte GROUP_TYPING = 0x03;
+    private static final byte GROUP_STOP_TYPING = 0x04;
+    private static final byte MESSAGE_SEEN = 0x05;
+    private static final byte PRESENCE_DELTA = 0x06;
+    private static final byte MESSAGE_DELIVERED = 0x07;
+
+    private static final byte IN_TYPING = 0x41;
+    private static final byte IN_STOP_TYPING = 0x42;
+    private static final byte IN_GROUP_TYPING = 0x43;
+    private static final byte IN_GROUP_STOP_TYPING = 0x44;
+    private static final byte IN_MESSAGE_SEEN = 0x45;
+
+    private CompactChatCodec() {
+    }
+
+    /**
+     * @return the binary frame for the event, or null if its type has no compact form
+     */
+    static byte[] encode(Map<String, Object> event) {
+        Object type = event.get("type");
+        if (!(type instanceof String)) return null;
+        Writer out = new Writer();
+        switch ((String) type) {
+            case "user-typing" -> out.op(USER_TYPING).string(event.get("userId"));
+            case "user-stop-typing" -> out.op(USER_STOP_TYPING).string(event.get("userId"));
+            case "group-typing" -> out.op(GROUP_TYPING).string(event.get("userId")).string(event.get("groupId"));
+            case "group-stop-typing" -> out.op(GROUP_STOP_TYPING).string(event.get("userId")).string(event.get("groupId"));
+            case "message-seen" -> out.op(MESSAGE_SEEN).string(event.get("messageId"));
+            case "presence-delta" -> out.op(PRESENCE_DELTA).list(event.get("online")).list(event.get("offline"));
+            case "message-delivered" -> {
+                boolean group = event.containsKey("groupId");
+                out.op(MESSAGE_DELIVERED)
+                        .varint(group ? 1 : 0)
+                        .string(event.get(group ? "groupId" : "conversationId"))
+                        .string(event.get("messageId"))
+                        .string(event.get("clientMessageId"));
+            }
+            default -> {
+                return null;
+            }
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Turns an inbound binary frame into the same JSON shape the text protocol uses, so both go
+     * through one dispatch.
+     */
+    static ObjectNode decode(ByteBuffer frame, ObjectMapper objectMapper) {
+        ObjectNode node = objectMapper.createObjectNode();
+        try {
+            byte op = frame.get();
+            switch (op) {
+                case IN_TYPING -> node.put("type", "typing").put("receiverId", readString(frame));
+                case IN_STOP_TYPING -> node.put("type", "stop-typing").put("receiverId", readString(frame));
+                case IN_GROUP_TYPING, IN_GROUP_STOP_TYPING -> {
+                    node.put("type", op == IN_GROUP_TYPING ? "group-typing" : "group-stop-typing");
+                    node.put("groupId", readString(frame));
+                }
+                case IN_MESSAGE_SEEN -> node.put("type", "message-seen")
+                        .put("messageId", readString(frame))
+                        .put("senderId", readString(frame));
+                default -> throw new IllegalArgumentException("Unknown compact opcode " + op);
+            }
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated compact frame");
+        }
+        return node;
+    }
+
+    private static int readVarint(ByteBuffer in) {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            byte b = in.get();
+            value |= (b & 0x7f) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IllegalArgumentException("Varint too long");
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = readVarint(in);
+        if (length > in.remaining()) throw new BufferUnderflowException();
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static final class Writer {
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream(64);
+
+        Writer op(byte op) {
+            out.write(op);
+            return this;
+        }
+
+        Writer varint(int value) {
+            while ((value & ~0x7f) != 0) {
+                out.write((value & 0x7f) | 0x80);
+                value >>>= 7;
+            }
+            out.write(value);
+            return this;
+        }
+
+        Writer string(Object value) {
+            byte[] bytes = value == null ? new byte[0] : value.toString().getBytes(StandardCharsets.UTF_8);
+            varint(bytes.length);
+            out.write(bytes, 0, bytes.length);
+            return this;
+        }
+
+        Writer list(Object value) {
+            List<?> items = value instanceof List<?> list ? list : List.of();
+            varint(items.size());
+            items.forEach(this::string);
+            return this;
+        }
+
+        byte[] toByteArray() {
+            return out.toByteArray();
+        }
+    }
+}
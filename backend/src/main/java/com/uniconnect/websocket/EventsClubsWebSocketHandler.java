@@ -12,10 +12,16 @@ import java.util.concurrent.ConcurrentHashMap;
 public class EventsClubsWebSocketHandler extends TextWebSocketHandler {
     private final Map<String, WebSocketSession> sessions = new ConcurrentHashMap<>();
     private final ObjectMapper objectMapper = new ObjectMapper();
+    private final OutboundSessions outboundSessions;
+
+    public EventsClubsWebSocketHandler(OutboundSessions outboundSessions) {
+        this.outboundSessions = outboundSessions;
+    }
 
     @Override
     public void afterConnectionEstablished(WebSocketSession session) throws Exception {
         sessions.put(session.getId(), session);
+        outboundSessions.register(session);
         sendMessage(session, Map.of("type", "connection", "message", "Connected to Events & Clubs live updates"));
     }
 
@@ -85,11 +91,12 @@ public class EventsClubsWebSocketHandler extends TextWebSocketHandler {
     @Override
     public void afterConnectionClosed(WebSocketSession session, org.springframework.web.socket.CloseStatus status) {
         sessions.remove(session.getId());
+        outboundSessions.unregister(session);
     }
 
     private void sendMessage(WebSocketSession session, Map<String, Object> data) throws Exception {
         if (session.isOpen()) {
-            session.sendMessage(new TextMessage(objectMapper.writeValueAsString(data)));
+            outboundSessions.send(session, new TextMessage(objectMapper.writeValueAsString(data)));
         }
     }
 
@@ -0,0 +1,107 @@
+package com.uniconnect.websocket;
+
+import com.uniconnect.model.ChatGroup;
+import com.uniconnect.model.ClusterEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cached member ids of each chat group, so group fan-out does not depend on the member list the
+ * client sends with every frame.
+ *
+ * Entries expire after chat.groups.members-cache-ttl-seconds. ChatService invalidates a group when its
+ * members change; the invalidation is forwarded to the other nodes over the message bus, the TTL only
+ * covers writes that bypass ChatService.
+ */
+@Component
+public class GroupMembers {
+    private static final String CHANNEL = "chat-groups";
+
+    private final MongoTemplate mongoTemplate;
+    private final MessageBus messageBus;
+    private final long ttlMillis;
+    private final Map<String, CacheEntry> cache;
+
+    // Bumped on every invalidation so a load that raced with one is not cached
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public GroupMembers(MongoTemplate mongoTemplate,
+                        MessageBus messageBus,
+                        @Value("${chat.groups.members-cache-max-entries:5000}") int maxEntries,
+                        @Value("${chat.groups.members-cache-ttl-seconds:300}") long ttlSeconds) {
+        this.mongoTemplate = mongoTemplate;
+        this.messageBus = messageBus;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CacheEntry> eldest) {
+                return size() > maxEntries;
+            }
+        });
+        messageBus.subscribe(CHANNEL, event -> evict(event.getKey()));
+        // Invalidations may have been among the lost events
+        messageBus.onResync(this::evictAll);
+    }
+
+    /**
+     * Member user ids of the group; empty if the group does not exist.
+     */
+    public Set<String> membersOf(String groupId) {
+        if (groupId == null) return Set.of();
+        long now = System.currentTimeMillis();
+        CacheEntry entry = cache.get(groupId);
+        if (entry != null && entry.expiresAt > now) {
+            return entry.memberIds;
+        }
+
+        long generation = invalidations.get();
+        Query query = new Query(Criteria.where("_id").is(groupId));
+        query.fields().include("members.userId");
+        ChatGroup group = mongoTemplate.findOne(query, ChatGroup.class);
+        if (group == null) return Set.of();
+
+        Set<String> loaded = new HashSet<>();
+        group.getMembers().forEach(m -> loaded.add(m.getUserId()));
+        loaded.remove(null);
+        Set<String> memberIds = Collections.unmodifiableSet(loaded);
+        if (generation == invalidations.get()) {
+            cache.put(groupId, new CacheEntry(memberIds, now + ttlMillis));
+        }
+        return memberIds;
+    }
+
+    public boolean isMember(String groupId, String userId) {
+        return membersOf(groupId).contains(userId);
+    }
+
+    /**
+     * Drops the cached members of the group on this node and on every other node.
+     */
+    public void invalidate(String groupId) {
+        if (groupId == null) return;
+        evict(groupId);
+        try {
+            messageBus.publish(new ClusterEvent(CHANNEL, ClusterEvent.KIND_BROADCAST, groupId, null));
+        } catch (Exception e) {
+            System.err.println("Error publishing group membership change: " + e.getMessage());
+        }
+    }
+
+    private void evict(String groupId) {
+        invalidations.incrementAndGet();
+        cache.remove(groupId);
+    }
+
+    private void evictAll() {
+        invalidations.incrementAndGet();
+        cache.clear();
+    }
+
+    private record CacheEntry(Set<String> memberIds, long expiresAt) {}
+}
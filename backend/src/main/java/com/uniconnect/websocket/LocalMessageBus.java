@@ -0,0 +1,70 @@
+package com.uniconnect.websocket;
+
+import com.uniconnect.model.ClusterEvent;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * In-process bus. With a single backend instance there is nobody to publish to; several application
+ * contexts started in the same JVM (e.g. integration tests) see each other as separate nodes.
+ */
+@Component
+@ConditionalOnProperty(name = "cluster.bus", havingValue = "local", matchIfMissing = true)
+public class LocalMessageBus implements MessageBus {
+
+    private static final List<LocalMessageBus> NODES = new CopyOnWriteArrayList<>();
+
+    private final String nodeId;
+    private final Map<String, List<Consumer<ClusterEvent>>> listeners = new ConcurrentHashMap<>();
+
+    public LocalMessageBus(@Value("${cluster.node-id:}") String nodeId) {
+        this.nodeId = nodeId.isEmpty() ? UUID.randomUUID().toString() : nodeId;
+        NODES.add(this);
+    }
+
+    @Override
+    public String nodeId() {
+        return nodeId;
+    }
+
+    @Override
+    public void publish(ClusterEvent event) {
+        event.setOriginNode(nodeId);
+        event.setCreatedAt(Instant.now());
+        for (LocalMessageBus node : NODES) {
+            if (node == this) continue;
+            if (event.getTargetNodes() != null && !event.getTargetNodes().contains(node.nodeId)) continue;
+            node.deliver(event);
+        }
+    }
+
+    @Override
+    public void subscribe(String channel, Consumer<ClusterEvent> listener) {
+        listeners.computeIfAbsent(channel, k -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    @PreDestroy
+    public void close() {
+        NODES.remove(this);
+    }
+
+    private void deliver(ClusterEvent event) {
+        for (Consumer<ClusterEvent> listener : listeners.getOrDefault(event.getChannel(), List.of())) {
+            try {
+                listener.accept(event);
+            } catch (Exception e) {
+                System.err.println("Error delivering cluster event: " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.uniconnect.websocket;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * In-process presence, shared by every node in the JVM (pairs with LocalMessageBus).
+ */
+@Component
+@ConditionalOnProperty(name = "cluster.bus", havingValue = "local", matchIfMissing = true)
+public class LocalPresenceRegistry implements PresenceRegistry {
+
+    // "scope:userId" -> nodes holding a session
+    private static final Map<String, Set<String>> PRESENCE = new ConcurrentHashMap<>();
+
+    private final MessageBus messageBus;
+
+    public LocalPresenceRegistry(MessageBus messageBus) {
+        this.messageBus = messageBus;
+    }
+
+    @Override
+    public boolean connected(String scope, String userId) {
+        boolean[] cameOnline = {false};
+        PRESENCE.compute(key(scope, userId), (k, nodes) -> {
+            if (nodes == null) {
+                nodes = ConcurrentHashMap.newKeySet();
+                cameOnline[0] = true;
+            }
+            nodes.add(messageBus.nodeId());
+            return nodes;
+        });
+        return cameOnline[0];
+    }
+
+    @Override
+    public boolean disconnected(String scope, String userId) {
+        boolean[] wentOffline = {false};
+        PRESENCE.computeIfPresent(key(scope, userId), (k, nodes) -> {
+            nodes.remove(messageBus.nodeId());
+            wentOffline[0] = nodes.isEmpty();
+            return nodes.isEmpty() ? null : nodes;
+        });
+        return wentOffline[0];
+    }
+
+    @Override
+    public Set<String> nodesFor(String scope, String userId) {
+        Set<String> nodes = PRESENCE.get(key(scope, userId));
+        return nodes != null ? Set.copyOf(nodes) : Set.of();
+    }
+
+    @Override
+    public List<String> onlineUsers(String scope) {
+        String prefix = scope + ":";
+        return PRESENCE.keySet().stream()
+                .filter(k -> k.startsWith(prefix))
+                .map(k -> k.substring(prefix.length()))
+                .collect(Collectors.toList());
+    }
+
+    private static String key(String scope, String userId) {
+        return scope + ":" + userId;
+    }
+}
@@ -0,0 +1,34 @@
+package com.uniconnect.websocket;
+
+import com.uniconnect.model.ClusterEvent;
+
+import java.util.function.Consumer;
+
+/**
+ * Carries WebSocket events between backend nodes, so a user connected to one node receives events
+ * produced on another. Handlers deliver to their own sessions directly and publish only what other
+ * nodes have to deliver.
+ *
+ * Selected with cluster.bus: "local" (single node / in-process, default) or "mongo".
+ */
+public interface MessageBus {
+
+    /**
+     * Id of this node, as recorded in the presence registry.
+     */
+    String nodeId();
+
+    /**
+     * Sends the event to every other node subscribed to its channel (restricted to targetNodes when set).
+     * Events are never delivered back to the publishing node.
+     */
+    void publish(ClusterEvent event);
+
+    void subscribe(String channel, Consumer<ClusterEvent> listener);
+
+    /**
+     * Runs the listener when this node may have missed events (e.g. they were overwritten before it read
+     * them), so state built from events can be reloaded. Buses that cannot lose events never call it.
+     */
+    default void onResync(Runnable listener) {}
+}
@@ -0,0 +1,204 @@
+package com.uniconnect.websocket;
+
+import com.mongodb.CursorType;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.Filters;
+import com.uniconnect.model.ClusterEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.CollectionOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Bus over a capped Mongo collection (cluster_events). Every node appends events and follows the
+ * collection with a tailable cursor on a background thread. Capped collections and tailable cursors
+ * work on a standalone mongod as well as on replica sets / Atlas, so this runs locally unchanged.
+ *
+ * A reopened cursor resumes after the last event handled. Ids come from different nodes' clocks, so the
+ * resume point is moved back by cluster.bus.resume-skew-seconds and recently handled ids are skipped.
+ * When the last handled event has already been overwritten, events were lost and the resync listeners
+ * run.
+ */
+@Component
+@ConditionalOnProperty(name = "cluster.bus", havingValue = "mongo")
+public class MongoMessageBus implements MessageBus {
+    private static final String COLLECTION = "cluster_events";
+    private static final String CHANNEL_SYSTEM = "system";
+
+    private final MongoTemplate mongoTemplate;
+    private final String nodeId;
+    private final Map<String, List<Consumer<ClusterEvent>>> listeners = new ConcurrentHashMap<>();
+    private final List<Runnable> resyncListeners = new CopyOnWriteArrayList<>();
+
+    @Value("${cluster.bus.capped-size-bytes:16777216}")
+    private long cappedSizeBytes;
+
+    @Value("${cluster.bus.capped-max-events:50000}")
+    private long cappedMaxEvents;
+
+    @Value("${cluster.bus.resume-skew-seconds:5}")
+    private long resumeSkewSeconds;
+
+    @Value("${cluster.bus.recent-ids:10000}")
+    private int recentIdsLimit;
+
+    private volatile boolean running;
+    private Thread tailer;
+
+    public MongoMessageBus(MongoTemplate mongoTemplate, @Value("${cluster.node-id:}") String nodeId) {
+        this.mongoTemplate = mongoTemplate;
+        this.nodeId = nodeId.isEmpty() ? UUID.randomUUID().toString() : nodeId;
+    }
+
+    @PostConstruct
+    public void start() {
+        ensureCappedCollection();
+        // A marker of our own gives the tailable cursor a starting point (it dies on an empty collection)
+        ClusterEvent marker = new ClusterEvent(CHANNEL_SYSTEM, ClusterEvent.KIND_BROADCAST, "node-up", null);
+        publish(marker);
+
+        running = true;
+        ObjectId startAfter = new ObjectId(marker.getId());
+        tailer = new Thread(() -> tail(startAfter), "cluster-bus-tailer");
+        tailer.setDaemon(true);
+        tailer.start();
+        System.out.println("🔗 Cluster bus (mongo) started on node " + nodeId);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (tailer != null) {
+            tailer.interrupt();
+        }
+    }
+
+    @Override
+    public String nodeId() {
+        return nodeId;
+    }
+
+    @Override
+    public void publish(ClusterEvent event) {
+        event.setOriginNode(nodeId);
+        event.setCreatedAt(Instant.now());
+        mongoTemplate.insert(event, COLLECTION);
+    }
+
+    @Override
+    public void subscribe(String channel, Consumer<ClusterEvent> listener) {
+        listeners.computeIfAbsent(channel, k -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    @Override
+    public void onResync(Runnable listener) {
+        resyncListeners.add(listener);
+    }
+
+    private void tail(ObjectId startAfter) {
+        ObjectId lastSeen = startAfter;
+        // Only touched by the tailer thread
+        Map<ObjectId, Boolean> recentIds = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ObjectId, Boolean> eldest) {
+                return size() > recentIdsLimit;
+            }
+        };
+        recentIds.put(startAfter, Boolean.TRUE);
+        boolean reopened = false;
+        while (running) {
+            try {
+                if (reopened && !mongoTemplate.exists(new Query(Criteria.where("_id").is(lastSeen)), COLLECTION)) {
+                    System.err.println("⚠️ Cluster bus events were overwritten before this node read them, resyncing");
+                    resync();
+                }
+                reopened = true;
+                // Smallest id of the second the resume window starts at
+                long resumeFrom = lastSeen.getTimestamp() - resumeSkewSeconds;
+                ObjectId floor = new ObjectId(String.format("%08x%016x", resumeFrom, 0));
+                try (MongoCursor<Document> cursor = mongoTemplate.getCollection(COLLECTION)
+                        .find(Filters.gte("_id", floor))
+                        .cursorType(CursorType.TailableAwait)
+                        .maxAwaitTime(1, TimeUnit.SECONDS)
+                        .iterator()) {
+                    while (running) {
+                        Document doc = cursor.tryNext();
+                        if (doc == null) {
+                            if (cursor.getServerCursor() == null) break; // dead cursor, reopen
+                            continue;
+                        }
+                        ObjectId id = doc.getObjectId("_id");
+                        if (recentIds.put(id, Boolean.TRUE) != null) continue;
+                        if (id.compareTo(lastSeen) > 0) lastSeen = id;
+                        dispatch(doc);
+                    }
+                }
+            } catch (Exception e) {
+                if (running) {
+                    System.err.println("Cluster bus cursor failed, reconnecting: " + e.getMessage());
+                }
+            }
+            pause();
+        }
+    }
+
+    private void resync() {
+        for (Runnable listener : resyncListeners) {
+            try {
+                listener.run();
+            } catch (Exception e) {
+                System.err.println("Error resyncing after lost cluster events: " + e.getMessage());
+            }
+        }
+    }
+
+    private void dispatch(Document doc) {
+        if (nodeId.equals(doc.getString("originNode"))) return;
+        ClusterEvent event = mongoTemplate.getConverter().read(ClusterEvent.class, doc);
+        if (event.getTargetNodes() != null && !event.getTargetNodes().contains(nodeId)) return;
+        for (Consumer<ClusterEvent> listener : listeners.getOrDefault(event.getChannel(), List.of())) {
+            try {
+                listener.accept(event);
+            } catch (Exception e) {
+                System.err.println("Error delivering cluster event: " + e.getMessage());
+            }
+        }
+    }
+
+    private void ensureCappedCollection() {
+        if (mongoTemplate.collectionExists(COLLECTION)) return;
+        try {
+            mongoTemplate.createCollection(COLLECTION,
+                    CollectionOptions.empty().capped().size(cappedSizeBytes).maxDocuments(cappedMaxEvents));
+        } catch (Exception e) {
+            // Another node created it first
+            System.out.println("  cluster_events already created: " + e.getMessage());
+        }
+    }
+
+    private void pause() {
+        if (!running) return;
+        try {
+            Thread.sleep(500);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.uniconnect.websocket;
+
+import com.uniconnect.config.SchedulingConfig;
+import com.uniconnect.model.ClusterNode;
+import com.uniconnect.model.UserPresence;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Presence shared through the user_presence collection. Each node heart-beats into cluster_nodes;
+ * nodes that miss three heartbeats (crashed, killed by a redeploy) are removed from every user.
+ */
+@Component
+@ConditionalOnProperty(name = "cluster.bus", havingValue = "mongo")
+public class MongoPresenceRegistry implements PresenceRegistry {
+    private static final int MISSED_HEARTBEATS = 3;
+
+    private final MongoTemplate mongoTemplate;
+    private final MessageBus messageBus;
+
+    @Value("${cluster.heartbeat-interval-ms:10000}")
+    private long heartbeatIntervalMs;
+
+    public MongoPresenceRegistry(MongoTemplate mongoTemplate, MessageBus messageBus) {
+        this.mongoTemplate = mongoTemplate;
+        this.messageBus = messageBus;
+    }
+
+    @PostConstruct
+    public void register() {
+        heartbeat();
+    }
+
+    @PreDestroy
+    public void unregister() {
+        removeNode(messageBus.nodeId());
+    }
+
+    @Override
+    public boolean connected(String scope, String userId) {
+        Update update = new Update()
+                .addToSet("nodes", messageBus.nodeId())
+                .set("scope", scope)
+                .set("userId", userId)
+                .set("updatedAt", Instant.now());
+        UserPresence before = mongoTemplate.findAndModify(byId(scope, userId), update,
+                FindAndModifyOptions.options().upsert(true).returnNew(false), UserPresence.class);
+        return before == null || before.getNodes() == null || before.getNodes().isEmpty();
+    }
+
+    @Override
+    public boolean disconnected(String scope, String userId) {
+        UserPresence after = mongoTemplate.findAndModify(byId(scope, userId),
+                new Update().pull("nodes", messageBus.nodeId()).set("updatedAt", Instant.now()),
+                FindAndModifyOptions.options().returnNew(true), UserPresence.class);
+        if (after == null || !after.getNodes().isEmpty()) {
+            return false;
+        }
+        // Only delete if nobody reconnected in the meantime
+        mongoTemplate.remove(new Query(Criteria.where("_id").is(after.getId()).and("nodes").size(0)), UserPresence.class);
+        return true;
+    }
+
+    @Override
+    public Set<String> nodesFor(String scope, String userId) {
+        UserPresence presence = mongoTemplate.findOne(byId(scope, userId), UserPresence.class);
+        return presence != null ? new HashSet<>(presence.getNodes()) : Set.of();
+    }
+
+    @Override
+    public List<String> onlineUsers(String scope) {
+        Query query = new Query(Criteria.where("scope").is(scope).and("nodes.0").exists(true));
+        query.fields().include("userId");
+        return mongoTemplate.find(query, UserPresence.class).stream()
+                .map(UserPresence::getUserId)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Map<String, Set<String>> nodesForAll(String scope, Collection<String> userIds) {
+        if (userIds.isEmpty()) return Map.of();
+        List<String> ids = userIds.stream().map(id -> scope + ":" + id).collect(Collectors.toList());
+        Query query = new Query(Criteria.where("_id").in(ids).and("nodes.0").exists(true));
+        query.fields().include("userId").include("nodes");
+        Map<String, Set<String>> nodes = new HashMap<>();
+        for (UserPresence presence : mongoTemplate.find(query, UserPresence.class)) {
+            nodes.put(presence.getUserId(), new HashSet<>(presence.getNodes()));
+        }
+        return nodes;
+    }
+
+    @Override
+    public Set<String> onlineAmong(String scope, Collection<String> userIds) {
+        if (userIds.isEmpty()) return Set.of();
+        List<String> ids = userIds.stream().map(id -> scope + ":" + id).collect(Collectors.toList());
+        Query query = new Query(Criteria.where("_id").in(ids).and("nodes.0").exists(true));
+        query.fields().include("userId");
+        return mongoTemplate.find(query, UserPresence.class).stream()
+                .map(UserPresence::getUserId)
+                .collect(Collectors.toSet());
+    }
+
+    @Scheduled(fixedDelayString = "${cluster.heartbeat-interval-ms:10000}", scheduler = SchedulingConfig.REALTIME)
+    public void heartbeat() {
+        try {
+            Instant now = Instant.now();
+            mongoTemplate.upsert(new Query(Criteria.where("_id").is(messageBus.nodeId())),
+                    new Update().set("lastSeen", now), ClusterNode.class);
+
+            Instant deadline = now.minusMillis(heartbeatIntervalMs * MISSED_HEARTBEATS);
+            for (ClusterNode dead : mongoTemplate.find(new Query(Criteria.where("lastSeen").lt(deadline)), ClusterNode.class)) {
+                System.out.println("🔗 Removing presence of unresponsive node " + dead.getId());
+                removeNode(dead.getId());
+            }
+        } catch (Exception e) {
+            System.err.println("Error updating cluster presence: " + e.getMessage());
+        }
+    }
+
+    private void removeNode(String nodeId) {
+        mongoTemplate.updateMulti(new Query(Criteria.where("nodes").is(nodeId)),
+                new Update().pull("nodes", nodeId), UserPresence.class);
+        mongoTemplate.remove(new Query(Criteria.where("nodes").size(0)), UserPresence.class);
+        mongoTemplate.remove(new Query(Criteria.where("_id").is(nodeId)), ClusterNode.class);
+    }
+
+    private Query byId(String scope, String userId) {
+        return new Query(Criteria.where("_id").is(scope + ":" + userId));
+    }
+}
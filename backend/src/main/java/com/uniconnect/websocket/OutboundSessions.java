@@ -0,0 +1,243 @@
+package com.uniconnect.websocket;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.adapter.NativeWebSocketSession;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded outbound queue per WebSocket session, shared by all handlers.
+ *
+ * send() only enqueues, so the thread handling an inbound event never blocks on someone else's slow
+ * connection. Each session is drained in order by at most one writer from a small shared pool.
+ * A session whose queue exceeds websocket.outbound.max-queued-messages / max-buffered-bytes, or whose
+ * current write has taken longer than send-time-limit-ms, is a slow consumer: with overflow=drop the
+ * oldest queued frames are discarded, with overflow=close the session is closed so the client reconnects
+ * and resyncs.
+ *
+ * A session's outbox exists from register() to unregister(); send() enqueues inside computeIfPresent, so a
+ * frame racing with unregister() is either cleared with the outbox or dropped, and never recreates it.
+ */
+@Component
+public class OutboundSessions {
+    public static final String OVERFLOW_DROP = "drop";
+    public static final String OVERFLOW_CLOSE = "close";
+
+    // Tomcat's own limit for a single blocking write, so a stuck client cannot pin a writer thread
+    private static final String TOMCAT_BLOCKING_SEND_TIMEOUT = "org.apache.tomcat.websocket.BLOCKING_SEND_TIMEOUT";
+
+    private final Map<String, Outbox> outboxes = new ConcurrentHashMap<>();
+    private final ExecutorService writers;
+
+    private final AtomicLong framesSent = new AtomicLong();
+    private final AtomicLong framesDropped = new AtomicLong();
+    private final AtomicLong slowConsumersClosed = new AtomicLong();
+
+    @Value("${websocket.outbound.max-queued-messages:1000}")
+    private int maxQueuedMessages;
+
+    @Value("${websocket.outbound.max-buffered-bytes:1048576}")
+    private long maxBufferedBytes;
+
+    @Value("${websocket.outbound.send-time-limit-ms:10000}")
+    private long sendTimeLimitMs;
+
+    @Value("${websocket.outbound.overflow:drop}")
+    private String overflow;
+
+    public OutboundSessions(@Value("${websocket.outbound.writer-threads:8}") int writerThreads) {
+        AtomicInteger counter = new AtomicInteger();
+        this.writers = Executors.newFixedThreadPool(writerThreads, r -> {
+            Thread t = new Thread(r, "ws-writer-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public void register(WebSocketSession session) {
+        outboxes.computeIfAbsent(session.getId(), id -> {
+            limitBlockingSend(session);
+            return new Outbox(session);
+        });
+    }
+
+    public void unregister(WebSocketSession session) {
+        Outbox outbox = outboxes.remove(session.getId());
+        if (outbox != null) {
+            outbox.clear();
+        }
+    }
+
+    /**
+     * Queues a frame for the session and returns immediately; dropped if the session is not registered.
+     */
+    public void send(WebSocketSession session, WebSocketMessage<?> message) {
+        if (!session.isOpen()) return;
+        Outbox outbox = outboxes.computeIfPresent(session.getId(), (id, existing) -> {
+            existing.add(message);
+            return existing;
+        });
+        if (outbox == null) return;
+
+        long sendingSince = outbox.sendingSince;
+        if (sendingSince != 0 && System.currentTimeMillis() - sendingSince > sendTimeLimitMs) {
+            closeSlowConsumer(outbox, "send time limit exceeded");
+            return;
+        }
+        if (outbox.isOverLimit()) {
+            if (OVERFLOW_CLOSE.equalsIgnoreCase(overflow)) {
+                closeSlowConsumer(outbox, "outbound buffer limit exceeded");
+                return;
+            }
+            while (outbox.isOverLimit() && outbox.dropOldest()) {
+                framesDropped.incrementAndGet();
+            }
+        }
+        schedule(outbox);
+    }
+
+    public Map<String, Object> stats() {
+        int queued = 0;
+        long bytes = 0;
+        int maxDepth = 0;
+        for (Outbox outbox : outboxes.values()) {
+            int depth = outbox.count.get();
+            queued += depth;
+            bytes += outbox.bytes.get();
+            maxDepth = Math.max(maxDepth, depth);
+        }
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("sessions", outboxes.size());
+        stats.put("queuedFrames", queued);
+        stats.put("queuedBytes", bytes);
+        stats.put("maxSessionDepth", maxDepth);
+        stats.put("framesSent", framesSent.get());
+        stats.put("framesDropped", framesDropped.get());
+        stats.put("slowConsumersClosed", slowConsumersClosed.get());
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        writers.shutdown();
+    }
+
+    private void limitBlockingSend(WebSocketSession session) {
+        if (session instanceof NativeWebSocketSession nativeSession) {
+            jakarta.websocket.Session jakartaSession = nativeSession.getNativeSession(jakarta.websocket.Session.class);
+            if (jakartaSession != null) {
+                jakartaSession.getUserProperties().put(TOMCAT_BLOCKING_SEND_TIMEOUT, sendTimeLimitMs);
+            }
+        }
+    }
+
+    private void schedule(Outbox outbox) {
+        if (outbox.scheduled.compareAndSet(false, true)) {
+            try {
+                writers.execute(() -> drain(outbox));
+            } catch (RejectedExecutionException e) {
+                outbox.scheduled.set(false);
+            }
+        }
+    }
+
+    private void drain(Outbox outbox) {
+        try {
+            WebSocketMessage<?> message;
+            while ((message = outbox.poll()) != null) {
+                if (!outbox.session.isOpen()) {
+                    outbox.clear();
+                    break;
+                }
+                outbox.sendingSince = System.currentTimeMillis();
+                try {
+                    outbox.session.sendMessage(message);
+                    framesSent.incrementAndGet();
+                } catch (IOException | IllegalStateException e) {
+                    System.err.println("Error sending to session " + outbox.session.getId() + ": " + e.getMessage());
+                    outbox.clear();
+                    break;
+                } finally {
+                    outbox.sendingSince = 0;
+                }
+            }
+        } finally {
+            outbox.scheduled.set(false);
+            // A frame may have been queued after the last poll but before the flag was cleared
+            if (!outbox.isEmpty() && outbox.session.isOpen()) {
+                schedule(outbox);
+            }
+        }
+    }
+
+    private void closeSlowConsumer(Outbox outbox, String reason) {
+        if (outboxes.remove(outbox.session.getId(), outbox)) {
+            slowConsumersClosed.incrementAndGet();
+            framesDropped.addAndGet(outbox.count.get());
+            outbox.clear();
+            System.err.println("⚠️ Closing slow WebSocket consumer " + outbox.session.getId() + ": " + reason);
+            try {
+                outbox.session.close(CloseStatus.SESSION_NOT_RELIABLE.withReason(reason));
+            } catch (IOException e) {
+                System.err.println("Error closing slow session: " + e.getMessage());
+            }
+        }
+    }
+
+    private class Outbox {
+        private final WebSocketSession session;
+        private final ConcurrentLinkedQueue<WebSocketMessage<?>> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger count = new AtomicInteger();
+        private final AtomicLong bytes = new AtomicLong();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile long sendingSince;
+
+        Outbox(WebSocketSession session) {
+            this.session = session;
+        }
+
+        void add(WebSocketMessage<?> message) {
+            queue.add(message);
+            count.incrementAndGet();
+            bytes.addAndGet(message.getPayloadLength());
+        }
+
+        WebSocketMessage<?> poll() {
+            WebSocketMessage<?> message = queue.poll();
+            if (message != null) {
+                count.decrementAndGet();
+                bytes.addAndGet(-message.getPayloadLength());
+            }
+            return message;
+        }
+
+        boolean dropOldest() {
+            return poll() != null;
+        }
+
+        boolean isOverLimit() {
+            return count.get() > maxQueuedMessages || bytes.get() > maxBufferedBytes;
+        }
+
+        boolean isEmpty() {
+            return queue.isEmpty();
+        }
+
+        void clear() {
+            while (poll() != null) {
+                // discard
+            }
+        }
+    }
+}
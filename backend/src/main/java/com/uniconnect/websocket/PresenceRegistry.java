@@ -0,0 +1,52 @@
+package com.uniconnect.websocket;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Cluster-wide record of which nodes hold sessions of which users, per WebSocket scope
+ * ("chat", "reels"). Handlers report a user's first / last session on this node.
+ */
+public interface PresenceRegistry {
+
+    /**
+     * @return true if the user was not connected to any node before (i.e. just came online)
+     */
+    boolean connected(String scope, String userId);
+
+    /**
+     * @return true if this was the user's last node (i.e. the user just went offline)
+     */
+    boolean disconnected(String scope, String userId);
+
+    Set<String> nodesFor(String scope, String userId);
+
+    List<String> onlineUsers(String scope);
+
+    default boolean isOnline(String scope, String userId) {
+        return !nodesFor(scope, userId).isEmpty();
+    }
+
+    /**
+     * Nodes holding sessions of each of the given users; users that are offline are absent.
+     */
+    default Map<String, Set<String>> nodesForAll(String scope, Collection<String> userIds) {
+        Map<String, Set<String>> nodes = new HashMap<>();
+        for (String userId : userIds) {
+            Set<String> userNodes = nodesFor(scope, userId);
+            if (!userNodes.isEmpty()) nodes.put(userId, userNodes);
+        }
+        return nodes;
+    }
+
+    /**
+     * The subset of the given users that is online.
+     */
+    default Set<String> onlineAmong(String scope, Collection<String> userIds) {
+        return userIds.stream().filter(id -> isOnline(scope, id)).collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,185 @@
+package com.uniconnect.websocket;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.uniconnect.model.ChatGroup;
+import com.uniconnect.model.ClusterEvent;
+import com.uniconnect.model.Conversation;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Chat presence scoped to each user's contacts (conversation partners and group co-members).
+ *
+ * Users connected to this node subscribe to their contacts when they connect. Status changes are
+ * collected and handed out once per tick as one delta per watcher, with flips inside the tick
+ * (reconnects, page reloads) cancelled out. Changes made here are forwarded to the other nodes
+ * once per tick as well.
+ */
+@Component
+public class PresenceSubscriptions {
+    private static final String CHANNEL = "chat-presence";
+
+    private final MongoTemplate mongoTemplate;
+    private final PresenceRegistry presenceRegistry;
+    private final MessageBus messageBus;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    // Local watcher -> the users it gets presence for, and the reverse index
+    private final Map<String, Set<String>> contactsByWatcher = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> watchersByUser = new ConcurrentHashMap<>();
+
+    // userId -> online state before this tick / latest state (guarded by `this`)
+    private Map<String, Boolean> initialState = new HashMap<>();
+    private Map<String, Boolean> latestState = new HashMap<>();
+    private Map<String, Boolean> localChanges = new HashMap<>();
+
+    public PresenceSubscriptions(MongoTemplate mongoTemplate, PresenceRegistry presenceRegistry, MessageBus messageBus) {
+        this.mongoTemplate = mongoTemplate;
+        this.presenceRegistry = presenceRegistry;
+        this.messageBus = messageBus;
+        messageBus.subscribe(CHANNEL, this::onRemoteChanges);
+    }
+
+    /**
+     * Registers a user connected to this node as a watcher of their contacts.
+     *
+     * @return the contacts that are online right now
+     */
+    public Set<String> subscribe(String watcherId) {
+        Set<String> contacts = loadContacts(watcherId);
+        Set<String> previous = contactsByWatcher.put(watcherId, ConcurrentHashMap.newKeySet());
+        if (previous != null) {
+            previous.forEach(contact -> unwatch(watcherId, contact));
+        }
+        contacts.forEach(contact -> watch(watcherId, contact));
+        return presenceRegistry.onlineAmong(ChatWebSocketHandler.SCOPE, contacts);
+    }
+
+    /**
+     * Contacts of a local watcher that are online right now, read from the registry.
+     */
+    public Set<String> onlineContacts(String watcherId) {
+        Set<String> contacts = contactsByWatcher.get(watcherId);
+        if (contacts == null) return Set.of();
+        return presenceRegistry.onlineAmong(ChatWebSocketHandler.SCOPE, new HashSet<>(contacts));
+    }
+
+    public void unsubscribe(String watcherId) {
+        Set<String> contacts = contactsByWatcher.remove(watcherId);
+        if (contacts != null) {
+            contacts.forEach(contact -> unwatch(watcherId, contact));
+        }
+    }
+
+    /**
+     * Makes new contacts (a new conversation, a group member added) visible to users connected here.
+     */
+    public void addContacts(String userId, Collection<String> others) {
+        if (!contactsByWatcher.containsKey(userId)) return;
+        for (String other : others) {
+            if (!other.equals(userId)) watch(userId, other);
+        }
+    }
+
+    public synchronized void statusChanged(String userId, boolean online) {
+        record(userId, online);
+        localChanges.put(userId, online);
+    }
+
+    /**
+     * Returns the pending delta of each local watcher and forwards this node's changes to the cluster.
+     */
+    public Map<String, Delta> drain() {
+        Map<String, Boolean> changes;
+        Map<String, Boolean> forward;
+        synchronized (this) {
+            changes = new HashMap<>();
+            latestState.forEach((userId, online) -> {
+                if (!online.equals(initialState.get(userId))) changes.put(userId, online);
+            });
+            forward = localChanges;
+            initialState = new HashMap<>();
+            latestState = new HashMap<>();
+            localChanges = new HashMap<>();
+        }
+        if (!forward.isEmpty()) {
+            publish(forward);
+        }
+
+        Map<String, Delta> deltas = new HashMap<>();
+        changes.forEach((userId, online) -> {
+            for (String watcher : watchersByUser.getOrDefault(userId, Set.of())) {
+                Delta delta = deltas.computeIfAbsent(watcher, k -> new Delta(new ArrayList<>(), new ArrayList<>()));
+                (online ? delta.online() : delta.offline()).add(userId);
+            }
+        });
+        return deltas;
+    }
+
+    private void record(String userId, boolean online) {
+        initialState.putIfAbsent(userId, !online);
+        latestState.put(userId, online);
+    }
+
+    private void publish(Map<String, Boolean> changes) {
+        try {
+            messageBus.publish(new ClusterEvent(CHANNEL, ClusterEvent.KIND_BROADCAST, null,
+                    objectMapper.writeValueAsString(changes)));
+        } catch (Exception e) {
+            System.err.println("Error publishing presence changes: " + e.getMessage());
+        }
+    }
+
+    private void onRemoteChanges(ClusterEvent event) {
+        try {
+            Map<String, Boolean> changes = objectMapper.readValue(event.getPayload(), new TypeReference<Map<String, Boolean>>() {});
+            synchronized (this) {
+                changes.forEach(this::record);
+            }
+        } catch (Exception e) {
+            System.err.println("Error reading presence changes: " + e.getMessage());
+        }
+    }
+
+    private void watch(String watcherId, String userId) {
+        Set<String> contacts = contactsByWatcher.get(watcherId);
+        if (contacts == null) return;
+        contacts.add(userId);
+        watchersByUser.computeIfAbsent(userId, k -> ConcurrentHashMap.newKeySet()).add(watcherId);
+    }
+
+    private void unwatch(String watcherId, String userId) {
+        watchersByUser.computeIfPresent(userId, (k, watchers) -> {
+            watchers.remove(watcherId);
+            return watchers.isEmpty() ? null : watchers;
+        });
+    }
+
+    private Set<String> loadContacts(String userId) {
+        Set<String> contacts = new HashSet<>();
+
+        Query conversations = new Query(Criteria.where("participantIds").is(userId));
+        conversations.fields().include("participantIds");
+        for (Conversation conversation : mongoTemplate.find(conversations, Conversation.class)) {
+            contacts.addAll(conversation.getParticipantIds());
+        }
+
+        Query groups = new Query(Criteria.where("members.userId").is(userId));
+        groups.fields().include("members.userId");
+        for (ChatGroup group : mongoTemplate.find(groups, ChatGroup.class)) {
+            group.getMembers().forEach(m -> contacts.add(m.getUserId()));
+        }
+
+        contacts.remove(userId);
+        contacts.remove(null);
+        return contacts;
+    }
+
+    public record Delta(List<String> online, List<String> offline) {}
+}
@@ -2,6 +2,7 @@ package com.uniconnect.websocket;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.uniconnect.model.ClusterEvent;
 import org.springframework.stereotype.Component;
 import org.springframework.web.socket.CloseStatus;
 import org.springframework.web.socket.TextMessage;
@@ -19,25 +20,39 @@ import java.util.concurrent.ConcurrentHashMap;
 @Component
 public class ReelWebSocketHandler extends TextWebSocketHandler {
 
+    public static final String SCOPE = "reels";
+
     private final ObjectMapper objectMapper = new ObjectMapper();
+    private final MessageBus messageBus;
+    private final PresenceRegistry presenceRegistry;
+    private final OutboundSessions outboundSessions;
+
+    // Connections held by this node: userId/facultyId -> Set of WebSocketSessions
+    private final Map<String, Set<WebSocketSession>> userSessions = new ConcurrentHashMap<>();
 
-    // Store active connections: userId/facultyId -> Set of WebSocketSessions
-    private static final Map<String, Set<WebSocketSession>> userSessions = new ConcurrentHashMap<>();
+    // Subscriptions of users connected to this node: reelId -> Set of subscriber IDs
+    private final Map<String, Set<String>> reelSubscribers = new ConcurrentHashMap<>();
 
-    // Store subscriptions: reelId -> Set of subscriber IDs
-    private static final Map<String, Set<String>> reelSubscribers = new ConcurrentHashMap<>();
+    // Roles of users connected to this node
+    private final Map<String, String> userType = new ConcurrentHashMap<>(); // userId -> STUDENT|FACULTY
 
-    // Store online users
-    private static final Map<String, String> userType = new ConcurrentHashMap<>(); // userId -> STUDENT|FACULTY
+    public ReelWebSocketHandler(MessageBus messageBus, PresenceRegistry presenceRegistry, OutboundSessions outboundSessions) {
+        this.messageBus = messageBus;
+        this.presenceRegistry = presenceRegistry;
+        this.outboundSessions = outboundSessions;
+        messageBus.subscribe(SCOPE, this::onClusterEvent);
+    }
 
     @Override
     public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+        outboundSessions.register(session);
         String userId = (String) session.getAttributes().get("userId");
         String role = (String) session.getAttributes().get("role");
 
         if (userId != null) {
             userSessions.computeIfAbsent(userId, k -> ConcurrentHashMap.newKeySet()).add(session);
             userType.put(userId, role != null ? role : "STUDENT");
+            presenceRegistry.connected(SCOPE, userId);
             System.out.println("✓ User connected to Reel WebSocket: " + userId + " (" + role + ")");
         }
     }
@@ -81,6 +96,7 @@ public class ReelWebSocketHandler extends TextWebSocketHandler {
 
     @Override
     public void afterConnectionClosed(WebSocketSession session, CloseStatus status) throws Exception {
+        outboundSessions.unregister(session);
         String userId = (String) session.getAttributes().get("userId");
         if (userId != null) {
             Set<WebSocketSession> sessions = userSessions.get(userId);
@@ -89,6 +105,7 @@ public class ReelWebSocketHandler extends TextWebSocketHandler {
                 if (sessions.isEmpty()) {
                     userSessions.remove(userId);
                     userType.remove(userId);
+                    presenceRegistry.disconnected(SCOPE, userId);
                 }
             }
             System.out.println("✓ User disconnected from Reel WebSocket: " + userId);
@@ -101,7 +118,7 @@ public class ReelWebSocketHandler extends TextWebSocketHandler {
         reelSubscribers.computeIfAbsent(reelId, k -> ConcurrentHashMap.newKeySet()).add(userId);
         
         try {
-            session.sendMessage(new TextMessage(objectMapper.writeValueAsString(
+            outboundSessions.send(session, new TextMessage(objectMapper.writeValueAsString(
                 Map.of("type", "SUBSCRIPTION_CONFIRMED", "reelId", reelId)
             )));
         } catch (IOException e) {
@@ -124,16 +141,27 @@ public class ReelWebSocketHandler extends TextWebSocketHandler {
     // Broadcast reel update to all subscribers
     private void broadcastReelUpdate(JsonNode updateData, String updateType) {
         String reelId = updateData.get("reelId").asText();
-        Set<String> subscribers = reelSubscribers.get(reelId);
 
-        if (subscribers != null) {
-            Map<String, Object> message = new HashMap<>();
-            message.put("type", "REEL_UPDATE");
-            message.put("updateType", updateType);
-            message.put("reelId", reelId);
-            message.put("data", updateData);
+        Map<String, Object> message = new HashMap<>();
+        message.put("type", "REEL_UPDATE");
+        message.put("updateType", updateType);
+        message.put("reelId", reelId);
+        message.put("data", updateData);
+
+        try {
+            String payload = objectMapper.writeValueAsString(message);
+            deliverToSubscribers(reelId, payload);
+            // Subscribers connected to other nodes are tracked there
+            messageBus.publish(new ClusterEvent(SCOPE, ClusterEvent.KIND_TOPIC, reelId, payload));
+        } catch (IOException e) {
+            System.err.println("Error broadcasting reel update: " + e.getMessage());
+        }
+    }
 
-            subscribers.forEach(userId -> sendToUser(userId, message));
+    private void deliverToSubscribers(String reelId, String payload) {
+        Set<String> subscribers = reelSubscribers.get(reelId);
+        if (subscribers != null) {
+            subscribers.forEach(userId -> deliverLocally(userId, payload));
         }
     }
 
@@ -152,45 +180,57 @@ public class ReelWebSocketHandler extends TextWebSocketHandler {
         sendToUser(studentId, message);
     }
 
-    // Send message to specific user's all sessions
+    // Send message to specific user's all sessions, on whichever nodes they are connected to
     private void sendToUser(String userId, Map<String, Object> message) {
+        try {
+            String payload = objectMapper.writeValueAsString(message);
+            deliverLocally(userId, payload);
+
+            Set<String> remoteNodes = new HashSet<>(presenceRegistry.nodesFor(SCOPE, userId));
+            remoteNodes.remove(messageBus.nodeId());
+            if (!remoteNodes.isEmpty()) {
+                ClusterEvent event = new ClusterEvent(SCOPE, ClusterEvent.KIND_USER, userId, payload);
+                event.setTargetNodes(new ArrayList<>(remoteNodes));
+                messageBus.publish(event);
+            }
+        } catch (IOException e) {
+            System.err.println("Error sending message to user " + userId + ": " + e.getMessage());
+        }
+    }
+
+    private void deliverLocally(String userId, String payload) {
         Set<WebSocketSession> sessions = userSessions.get(userId);
         if (sessions != null) {
-            try {
-                String payload = objectMapper.writeValueAsString(message);
-                for (WebSocketSession session : sessions) {
-                    if (session.isOpen()) {
-                        session.sendMessage(new TextMessage(payload));
-                    }
-                }
-            } catch (IOException e) {
-                System.err.println("Error sending message to user " + userId + ": " + e.getMessage());
-            }
+            TextMessage message = new TextMessage(payload);
+            sessions.forEach(session -> outboundSessions.send(session, message));
         }
     }
 
     // Send notification to all faculty members
-    public static void broadcastToFaculty(Map<String, Object> message) {
+    public void broadcastToFaculty(Map<String, Object> message) {
         try {
-            String payload = new ObjectMapper().writeValueAsString(message);
-            userType.forEach((userId, type) -> {
-                if ("FACULTY".equals(type)) {
-                    Set<WebSocketSession> sessions = userSessions.get(userId);
-                    if (sessions != null) {
-                        for (WebSocketSession session : sessions) {
-                            if (session.isOpen()) {
-                                try {
-                                    session.sendMessage(new TextMessage(payload));
-                                } catch (IOException e) {
-                                    System.err.println("Error sending to faculty: " + e.getMessage());
-                                }
-                            }
-                        }
-                    }
-                }
-            });
+            String payload = objectMapper.writeValueAsString(message);
+            deliverToRole("FACULTY", payload);
+            messageBus.publish(new ClusterEvent(SCOPE, ClusterEvent.KIND_ROLE, "FACULTY", payload));
         } catch (IOException e) {
             System.err.println("Error broadcasting to faculty: " + e.getMessage());
         }
     }
+
+    private void deliverToRole(String role, String payload) {
+        userType.forEach((userId, type) -> {
+            if (role.equals(type)) {
+                deliverLocally(userId, payload);
+            }
+        });
+    }
+
+    private void onClusterEvent(ClusterEvent event) {
+        switch (event.getKind()) {
+            case ClusterEvent.KIND_USER -> deliverLocally(event.getKey(), event.getPayload());
+            case ClusterEvent.KIND_TOPIC -> deliverToSubscribers(event.getKey(), event.getPayload());
+            case ClusterEvent.KIND_ROLE -> deliverToRole(event.getKey(), event.getPayload());
+            default -> { }
+        }
+    }
 }
@@ -0,0 +1,41 @@
+package com.uniconnect.service;
+
+import com.uniconnect.model.Message;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ChatServiceCursorTest {
+
+    @Test
+    void historyCursorRoundTrips() {
+        Message message = new Message();
+        message.setId("65f1c0ffee00000000000001");
+        message.setTimestamp(LocalDateTime.of(2024, 3, 9, 14, 5, 0, 123_456_789));
+
+        String cursor = ChatService.encodeHistoryCursor(message);
+        ChatService.MessageKey key = ChatService.decodeHistoryCursor(cursor);
+
+        assertThat(cursor).doesNotContain("=", "+", "/");
+        assertThat(key.timestamp()).isEqualTo(message.getTimestamp());
+        assertThat(key.id()).isEqualTo(message.getId());
+    }
+
+    @Test
+    void rejectsMalformedCursors() {
+        String noSeparator = Base64.getUrlEncoder().encodeToString("2024-03-09T14:05".getBytes(StandardCharsets.UTF_8));
+        String badTimestamp = Base64.getUrlEncoder().encodeToString("yesterday|abc".getBytes(StandardCharsets.UTF_8));
+
+        for (String cursor : new String[] {"not base64!", noSeparator, badTimestamp}) {
+            assertThatThrownBy(() -> ChatService.decodeHistoryCursor(cursor))
+                    .isInstanceOf(ResponseStatusException.class)
+                    .hasMessageContaining("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.uniconnect.service;
+
+import com.uniconnect.model.Job;
+import com.uniconnect.model.Student;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class EligibilityIndexTest {
+
+    @Test
+    void parsesYearFromFreeText() {
+        assertThat(EligibilityIndex.parseYear("3")).isEqualTo(3);
+        assertThat(EligibilityIndex.parseYear("3rd")).isEqualTo(3);
+        assertThat(EligibilityIndex.parseYear("Year 2")).isEqualTo(2);
+        assertThat(EligibilityIndex.parseYear("Fourth Year")).isEqualTo(4);
+        assertThat(EligibilityIndex.parseYear("1ST YEAR")).isEqualTo(1);
+        assertThat(EligibilityIndex.parseYear("2024")).isNull();
+        assertThat(EligibilityIndex.parseYear("All students")).isNull();
+        assertThat(EligibilityIndex.parseYear(null)).isNull();
+    }
+
+    @Test
+    void matchesBranchYearCgpaAndSkills() {
+        EligibilityIndex.JobCriteria criteria = EligibilityIndex.JobCriteria.of(
+                job(List.of("CSE", " IT "), "Final year - 4th", 7.5, List.of("Java", "React/Angular")));
+
+        assertThat(criteria.matches(facts("cse", "4", 8.0, "java", "angular"))).isTrue();
+        assertThat(criteria.matches(facts("IT", "Fourth", 7.5, "Java", "React", "SQL"))).isTrue();
+        assertThat(criteria.matches(facts("ECE", "4", 9.0, "java", "react"))).isFalse();
+        assertThat(criteria.matches(facts("CSE", "3", 9.0, "java", "react"))).isFalse();
+        assertThat(criteria.matches(facts("CSE", "4", 7.4, "java", "react"))).isFalse();
+        assertThat(criteria.matches(facts("CSE", "4", null, "java", "react"))).isFalse();
+        assertThat(criteria.matches(facts("CSE", "4", 9.0, "java"))).isFalse();
+    }
+
+    @Test
+    void openJobsMatchEveryone() {
+        EligibilityIndex.JobCriteria criteria = EligibilityIndex.JobCriteria.of(job(List.of("All Branches"), null, 0, null));
+
+        assertThat(criteria.matches(facts("mech", null, null))).isTrue();
+        assertThat(criteria.matches(facts("", "2", 5.0, "excel"))).isTrue();
+    }
+
+    @Test
+    void keepsChangesMadeWhileARebuildReadsMongo() {
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        EligibilityIndex index = new EligibilityIndex(mongoTemplate);
+        when(mongoTemplate.stream(any(Query.class), eq(Student.class))).thenAnswer(invocation -> Stream.of(student("s1", "CSE")));
+        // The rebuild's read started before "j2" was created and before "j1" was closed
+        when(mongoTemplate.stream(any(Query.class), eq(Job.class))).thenAnswer(invocation -> Stream.of(
+                job("j1", "Open"),
+                job("j3", "closed")
+        ).peek(job -> {
+            if (job.getId().equals("j1")) {
+                index.jobChanged(job("j2", "Open"));
+                index.jobChanged(job("j1", "Closed"));
+            }
+        }));
+
+        index.rebuild();
+
+        assertThat(index.eligibleJobs("s1", 0, 10).ids()).containsExactly("j2");
+    }
+
+    private static Job job(String id, String status) {
+        Job job = job(List.of("All"), null, 0, null);
+        job.setId(id);
+        job.setStatus(status);
+        return job;
+    }
+
+    private static Student student(String id, String branch) {
+        Student student = new Student();
+        student.setId(id);
+        student.setBranch(branch);
+        return student;
+    }
+
+    private static Job job(List<String> branches, String visibility, double minCgpa, List<String> skills) {
+        Job job = new Job();
+        job.setBranch(branches);
+        job.setVisibility(visibility);
+        job.setMinCGPA(minCgpa);
+        job.setSkills(skills);
+        return job;
+    }
+
+    private static EligibilityIndex.StudentFacts facts(String branch, String year, Double cgpa, String... skills) {
+        Student student = new Student();
+        student.setBranch(branch);
+        student.setYear(year);
+        student.setCgpa(cgpa);
+        student.setSkills(Arrays.stream(skills)
+                .map(name -> new Student.Skill(name, null, null, null, null))
+                .toList());
+        return EligibilityIndex.StudentFacts.of(student);
+    }
+}
@@ -0,0 +1,203 @@
+package com.uniconnect.service;
+
+import com.uniconnect.model.Job;
+import com.uniconnect.model.JobApplication;
+import com.uniconnect.repository.JobApplicationRepository;
+import com.uniconnect.repository.StudentRepository;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.invocation.Invocation;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * submit() against an in-memory stand-in for the unique {studentId, jobId} index: concurrent submissions
+ * of the same application must store it once and $inc the job counters once.
+ */
+class JobApplicationServiceTest {
+    private static final int THREADS = 16;
+
+    private final Map<String, JobApplication> stored = new ConcurrentHashMap<>();
+    private JobApplicationRepository repository;
+    private MongoTemplate mongoTemplate;
+    private BulkOperations jobOps;
+    private PlacementStatsView placementStatsView;
+    private JobApplicationService service;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(JobApplicationRepository.class);
+        mongoTemplate = mock(MongoTemplate.class);
+        jobOps = mock(BulkOperations.class);
+        placementStatsView = mock(PlacementStatsView.class);
+        AuthorDirectory authorDirectory = mock(AuthorDirectory.class);
+
+        when(authorDirectory.findByUserId(anyString())).thenReturn(Optional.empty());
+        when(mongoTemplate.bulkOps(any(BulkOperations.BulkMode.class), eq(Job.class))).thenReturn(jobOps);
+        when(repository.insert(any(JobApplication.class))).thenAnswer(invocation -> {
+            JobApplication application = invocation.getArgument(0);
+            JobApplication copy = copyOf(application, UUID.randomUUID().toString());
+            if (stored.putIfAbsent(key(application.getStudentId(), application.getJobId()), copy) != null) {
+                throw new DuplicateKeyException("E11000 duplicate key error index: student_job");
+            }
+            return copy;
+        });
+        when(repository.findByStudentIdAndJobId(anyString(), anyString())).thenAnswer(invocation ->
+                Optional.ofNullable(stored.get(key(invocation.getArgument(0), invocation.getArgument(1)))));
+
+        service = new JobApplicationService(repository, mock(StudentRepository.class), mongoTemplate,
+                authorDirectory, placementStatsView);
+    }
+
+    @Test
+    void concurrentRetriesWithTheSameKeyStoreOneApplication() throws Exception {
+        List<JobApplicationService.Submission> results = submitConcurrently(i -> application("s1", "job1"), i -> "key-1");
+
+        assertThat(stored).hasSize(1);
+        String id = stored.values().iterator().next().getId();
+        assertThat(results).allSatisfy(result -> {
+            assertThat(result.application().getId()).isEqualTo(id);
+            assertThat(result.duplicate()).isFalse();
+        });
+        assertThat(applicantIncrements()).containsExactly(Map.entry("job1", 1));
+        verify(placementStatsView, times(1)).applicationCreated(any());
+    }
+
+    @Test
+    void concurrentSubmissionsWithDifferentKeysStoreOneApplication() throws Exception {
+        List<JobApplicationService.Submission> results = submitConcurrently(i -> application("s1", "job1"), i -> "key-" + i);
+
+        assertThat(stored).hasSize(1);
+        assertThat(results).extracting(r -> r.application().getId()).containsOnly(stored.get(key("s1", "job1")).getId());
+        assertThat(results).filteredOn(r -> !r.duplicate()).hasSize(1);
+        assertThat(applicantIncrements()).containsExactly(Map.entry("job1", 1));
+        verify(placementStatsView, times(1)).applicationCreated(any());
+    }
+
+    @Test
+    void eachStudentIsCountedOncePerJob() throws Exception {
+        // 4 students, each submitting 4 times with their own key
+        submitConcurrently(i -> application("s" + (i % 4), "job1"), i -> "key-s" + (i % 4));
+
+        assertThat(stored).hasSize(4);
+        assertThat(applicantIncrements()).hasSize(4).allSatisfy(entry -> {
+            assertThat(entry.getKey()).isEqualTo("job1");
+            assertThat(entry.getValue()).isEqualTo(1);
+        });
+    }
+
+    @Test
+    void readsShortlistCsvCells() throws Exception {
+        String csv = "\uFEFF\"Roll No\";Email\n 21CS001 , a@x.edu\n\n\"21CS002\"\t\n";
+        List<List<String>> rows = JobApplicationService.readCsv(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(rows).containsExactly(
+                List.of("Roll No", "Email"),
+                List.of("21CS001", "a@x.edu"),
+                List.of("21CS002"));
+        assertThat(JobApplicationService.isHeader(rows.get(0))).isTrue();
+        assertThat(JobApplicationService.isHeader(rows.get(1))).isFalse();
+    }
+
+    @Test
+    void editingAJobNeverWritesItsCounters() {
+        Job changes = new Job();
+        changes.setPosition("Backend Engineer");
+        changes.setApplicants(0);
+        changes.setShortlisted(0);
+
+        service.updateJob("job1", changes);
+        service.closeJob("job1");
+
+        ArgumentCaptor<UpdateDefinition> updates = ArgumentCaptor.forClass(UpdateDefinition.class);
+        verify(mongoTemplate, times(2)).findAndModify(any(Query.class), updates.capture(),
+                any(FindAndModifyOptions.class), eq(Job.class));
+        assertThat(updates.getAllValues()).allSatisfy(update -> {
+            Document set = (Document) update.getUpdateObject().get("$set");
+            assertThat(update.getUpdateObject().keySet()).containsExactly("$set");
+            assertThat(set).doesNotContainKeys("applicants", "shortlisted", "countersUpdatedAt");
+        });
+        assertThat((Document) updates.getAllValues().get(0).getUpdateObject().get("$set"))
+                .containsEntry("position", "Backend Engineer");
+        assertThat((Document) updates.getAllValues().get(1).getUpdateObject().get("$set"))
+                .containsEntry("status", "Closed");
+    }
+
+    private List<JobApplicationService.Submission> submitConcurrently(
+            IntFunction<JobApplication> application,
+            IntFunction<String> idempotencyKey) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<JobApplicationService.Submission>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                int n = i;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return service.submit(application.apply(n), idempotencyKey.apply(n));
+                }));
+            }
+            start.countDown();
+            List<JobApplicationService.Submission> results = new ArrayList<>();
+            for (Future<JobApplicationService.Submission> future : futures) {
+                results.add(future.get(10, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // jobId -> $inc of applicants, one entry per queued job update
+    private List<Map.Entry<String, Integer>> applicantIncrements() {
+        return mockingDetails(jobOps).getInvocations().stream()
+                .filter(invocation -> invocation.getMethod().getName().equals("updateOne"))
+                .map(JobApplicationServiceTest::applicantIncrement)
+                .collect(Collectors.toList());
+    }
+
+    private static Map.Entry<String, Integer> applicantIncrement(Invocation invocation) {
+        Query query = invocation.getArgument(0);
+        UpdateDefinition update = invocation.getArgument(1);
+        Document inc = (Document) update.getUpdateObject().get("$inc");
+        return Map.entry(query.getQueryObject().get("_id").toString(), ((Number) inc.get("applicants")).intValue());
+    }
+
+    private static JobApplication application(String studentId, String jobId) {
+        JobApplication application = new JobApplication();
+        application.setStudentId(studentId);
+        application.setJobId(jobId);
+        return application;
+    }
+
+    private static JobApplication copyOf(JobApplication application, String id) {
+        JobApplication copy = application(application.getStudentId(), application.getJobId());
+        copy.setId(id);
+        copy.setStatus(application.getStatus());
+        copy.setIdempotencyKey(application.getIdempotencyKey());
+        return copy;
+    }
+
+    private static String key(String studentId, String jobId) {
+        return studentId + "|" + jobId;
+    }
+}
@@ -0,0 +1,59 @@
+package com.uniconnect.service;
+
+import com.mongodb.bulk.BulkWriteResult;
+import com.uniconnect.model.Message;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class MessageArchiveTest {
+    private static final LocalDateTime EDITED_AT = LocalDateTime.of(2023, 5, 1, 9, 30);
+
+    @Test
+    void removesFromMessagesOnlyWhatWasNotEditedSinceTheBatchWasRead() {
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        BulkOperations copies = mock(BulkOperations.class);
+        BulkOperations removals = mock(BulkOperations.class);
+        when(mongoTemplate.bulkOps(any(BulkOperations.BulkMode.class), eq(Message.class), eq(MessageArchive.COLLECTION)))
+                .thenReturn(copies);
+        when(mongoTemplate.bulkOps(any(BulkOperations.BulkMode.class), eq(Message.class))).thenReturn(removals);
+        when(mongoTemplate.find(any(Query.class), eq(Message.class)))
+                .thenReturn(List.of(message("m1", null), message("m2", EDITED_AT)))
+                .thenReturn(List.of());
+        // m2 was edited again after the batch was read, so only m1 matches
+        when(removals.execute()).thenReturn(BulkWriteResult.acknowledged(0, 0, 1, 0, List.of(), List.of()));
+
+        MessageArchive archive = new MessageArchive(mongoTemplate);
+        ReflectionTestUtils.setField(archive, "hotDays", 365);
+        ReflectionTestUtils.setField(archive, "batchSize", 1000);
+        archive.archiveExpired();
+
+        verify(copies, times(2)).replaceOne(any(Query.class), any(Message.class), any(FindAndReplaceOptions.class));
+        ArgumentCaptor<Query> removed = ArgumentCaptor.forClass(Query.class);
+        verify(removals, times(2)).remove(removed.capture());
+        assertThat(removed.getAllValues()).extracting(Query::getQueryObject).containsExactly(
+                new Document("_id", "m1").append("editedAt", null),
+                new Document("_id", "m2").append("editedAt", EDITED_AT));
+    }
+
+    private static Message message(String id, LocalDateTime editedAt) {
+        Message message = new Message();
+        message.setId(id);
+        message.setTimestamp(LocalDateTime.of(2023, 1, 1, 12, 0));
+        message.setEditedAt(editedAt);
+        return message;
+    }
+}
@@ -0,0 +1,85 @@
+package com.uniconnect.service;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.uniconnect.model.JobApplication;
+import com.uniconnect.model.PlacementStat;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Placement stats on 500k applications against a real mongod; skipped unless run with
+ * -Dplacement.benchmark.mongo-uri=mongodb://localhost:27017 (uses and drops the uniconnect_benchmark database).
+ * Prints the time of a full recompute() and of the dashboard reads.
+ */
+@EnabledIfSystemProperty(named = "placement.benchmark.mongo-uri", matches = ".+")
+class PlacementStatsBenchmarkTest {
+    private static final int APPLICATIONS = 500_000;
+    private static final String[] STATUSES = {"applied", "under_review", "interview", "rejected", "accepted"};
+    private static final String[] BRANCHES = {"CSE", "IT", "ECE", "EEE", "MECH", "CIVIL"};
+
+    @Test
+    void recomputeAndReadFiveHundredThousandApplications() {
+        try (MongoClient client = MongoClients.create(System.getProperty("placement.benchmark.mongo-uri"))) {
+            MongoTemplate mongoTemplate = new MongoTemplate(client, "uniconnect_benchmark");
+            try {
+                mongoTemplate.getDb().drop();
+                MongoMappingContext mappingContext = (MongoMappingContext) mongoTemplate.getConverter().getMappingContext();
+                new MongoPersistentEntityIndexResolver(mappingContext).resolveIndexFor(JobApplication.class)
+                        .forEach(mongoTemplate.indexOps(JobApplication.class)::ensureIndex);
+                insertApplications(mongoTemplate);
+
+                PlacementStatsView view = new PlacementStatsView(mongoTemplate, mock(AuthorDirectory.class));
+                long start = System.nanoTime();
+                view.recompute();
+                long recomputeMs = (System.nanoTime() - start) / 1_000_000;
+
+                start = System.nanoTime();
+                long total = view.rows(PlacementStatsView.DIM_STATUS).values().stream()
+                        .mapToLong(PlacementStat::getApplications).sum();
+                view.rows(PlacementStatsView.DIM_COMPANY);
+                view.rows(PlacementStatsView.DIM_MONTH);
+                view.rows(PlacementStatsView.DIM_BRANCH);
+                long readMicros = (System.nanoTime() - start) / 1_000;
+
+                assertThat(total).isEqualTo(APPLICATIONS);
+                System.out.println("Placement stats, " + APPLICATIONS + " applications: recompute " + recomputeMs
+                        + " ms, dashboard read of all four dimensions " + readMicros + " µs");
+            } finally {
+                mongoTemplate.getDb().drop();
+            }
+        }
+    }
+
+    private static void insertApplications(MongoTemplate mongoTemplate) {
+        Random random = new Random(42);
+        LocalDateTime now = LocalDateTime.now();
+        List<JobApplication> batch = new ArrayList<>();
+        for (int i = 0; i < APPLICATIONS; i++) {
+            JobApplication application = new JobApplication();
+            application.setStudentId("student-" + random.nextInt(50_000));
+            application.setJobId("job-" + random.nextInt(2_000));
+            application.setCompany("Company " + random.nextInt(300));
+            application.setBranch(BRANCHES[random.nextInt(BRANCHES.length)]);
+            application.setStatus(STATUSES[random.nextInt(STATUSES.length)]);
+            application.setAppliedAt(now.minusDays(random.nextInt(730)));
+            batch.add(application);
+            if (batch.size() == 10_000) {
+                mongoTemplate.insertAll(batch);
+                batch = new ArrayList<>();
+            }
+        }
+        if (!batch.isEmpty()) mongoTemplate.insertAll(batch);
+    }
+}
@@ -0,0 +1,85 @@
+package com.uniconnect.service;
+
+import com.mongodb.client.result.DeleteResult;
+import com.uniconnect.model.JobApplication;
+import com.uniconnect.model.PlacementStat;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class PlacementStatsViewTest {
+
+    @Test
+    void everyRecomputePipelineSortsOnAJobApplicationIndexFirst() {
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        when(mongoTemplate.findDistinct(any(Query.class), anyString(), eq(JobApplication.class), eq(String.class))).thenReturn(List.of());
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq(JobApplication.class), eq(Document.class)))
+                .thenReturn(new AggregationResults<>(List.of(), new Document()));
+        when(mongoTemplate.bulkOps(any(BulkOperations.BulkMode.class), eq(PlacementStat.class))).thenReturn(mock(BulkOperations.class));
+        when(mongoTemplate.remove(any(Query.class), eq(PlacementStat.class))).thenReturn(DeleteResult.acknowledged(0));
+
+        new PlacementStatsView(mongoTemplate, mock(AuthorDirectory.class)).recompute();
+
+        ArgumentCaptor<Aggregation> aggregations = ArgumentCaptor.forClass(Aggregation.class);
+        verify(mongoTemplate, times(4)).aggregate(aggregations.capture(), eq(JobApplication.class), eq(Document.class));
+        Set<Document> indexes = jobApplicationIndexes();
+        for (Aggregation aggregation : aggregations.getAllValues()) {
+            List<Document> pipeline = aggregation.toPipeline(Aggregation.DEFAULT_CONTEXT);
+            Document first = pipeline.get(0).containsKey("$match") ? pipeline.get(1) : pipeline.get(0);
+
+            assertThat(first).containsKey("$sort");
+            Document sort = new Document((Document) first.get("$sort"));
+            assertThat(indexes).as("index for %s", sort).contains(sort);
+            // The projection reads only fields of that index, so the plan can be covered
+            Document project = (Document) pipeline.get(pipeline.indexOf(first) + 1).get("$project");
+            assertThat(referencedFields(project)).isSubsetOf(sort.keySet());
+        }
+    }
+
+    private static Set<Document> jobApplicationIndexes() {
+        CompoundIndexes annotation = JobApplication.class.getAnnotation(CompoundIndexes.class);
+        Set<Document> indexes = new HashSet<>();
+        for (CompoundIndex index : annotation.value()) indexes.add(Document.parse(index.def()));
+        return indexes;
+    }
+
+    // Field paths ("$field") used anywhere in the projection, plus plain included fields
+    private static Set<String> referencedFields(Document project) {
+        List<String> fields = new ArrayList<>();
+        project.forEach((name, value) -> {
+            if (Integer.valueOf(1).equals(value) || Boolean.TRUE.equals(value)) fields.add(name);
+            else collectPaths(value, fields);
+        });
+        fields.remove("_id");
+        return fields.stream().collect(Collectors.toSet());
+    }
+
+    private static void collectPaths(Object value, List<String> fields) {
+        if (value instanceof String path && path.startsWith("$") && !path.startsWith("$$")) {
+            fields.add(path.substring(1));
+        } else if (value instanceof Document document) {
+            document.values().forEach(nested -> collectPaths(nested, fields));
+        } else if (value instanceof List<?> list) {
+            list.forEach(nested -> collectPaths(nested, fields));
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.uniconnect.service;
+
+import com.uniconnect.model.Reel;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ReelSearchIndexTest {
+
+    @Test
+    void keepsChangesMadeWhileARebuildReadsMongo() {
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        ReelSearchIndex index = new ReelSearchIndex(mongoTemplate);
+        // The rebuild's read started before "fresh" was created and still sees "deleted"
+        when(mongoTemplate.stream(any(Query.class), eq(Reel.class))).thenAnswer(invocation -> Stream.of(
+                reel("kept", "Graph algorithms"),
+                reel("deleted", "Graph theory basics")
+        ).peek(reel -> {
+            if (reel.getId().equals("deleted")) {
+                index.index(reel("fresh", "Graph coloring"));
+                index.remove("deleted");
+            }
+        }));
+
+        index.rebuild();
+
+        assertThat(index.search("graph", 0, 10).reelIds()).containsExactlyInAnyOrder("kept", "fresh");
+    }
+
+    @Test
+    void failedRebuildKeepsTheCurrentPostings() {
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        ReelSearchIndex index = new ReelSearchIndex(mongoTemplate);
+        index.index(reel("r1", "Operating systems"));
+        when(mongoTemplate.stream(any(Query.class), eq(Reel.class))).thenThrow(new IllegalStateException("connection lost"));
+
+        index.rebuild();
+        index.index(reel("r2", "Operating theatre"));
+
+        assertThat(index.search("operating", 0, 10).reelIds()).containsExactlyInAnyOrder("r1", "r2");
+    }
+
+    @Test
+    void lastTermMatchesAsPrefixAndTitlesOutrankDescriptions() {
+        ReelSearchIndex index = new ReelSearchIndex(mock(MongoTemplate.class));
+        Reel inDescription = reel("desc", "Lecture 4");
+        inDescription.setDescription("covers recursion");
+        index.index(inDescription);
+        index.index(reel("title", "Recursion explained"));
+
+        assertThat(index.search("recur", 0, 10).reelIds()).isEqualTo(List.of("title", "desc"));
+        assertThat(index.suggest("rec", 5)).containsExactly("recursion");
+    }
+
+    private static Reel reel(String id, String title) {
+        Reel reel = new Reel();
+        reel.setId(id);
+        reel.setTitle(title);
+        reel.setCreatedAt(Instant.parse("2024-01-01T00:00:00Z"));
+        return reel;
+    }
+}
@@ -0,0 +1,65 @@
+package com.uniconnect.service;
+
+import com.uniconnect.model.Reel;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ReelViewCounterTest {
+    private static final int THREADS = 8;
+    private static final int VIEWS_PER_THREAD = 20_000;
+    private static final int REELS = 10;
+
+    @Test
+    void flushingWhileViewsArriveLosesNone() throws Exception {
+        AtomicLong written = new AtomicLong();
+        BulkOperations ops = mock(BulkOperations.class);
+        when(ops.updateOne(any(), any(Update.class))).thenAnswer(invocation -> {
+            Update update = invocation.getArgument(1);
+            written.addAndGet(((Number) ((Document) update.getUpdateObject().get("$inc")).get("views")).longValue());
+            return ops;
+        });
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        when(mongoTemplate.bulkOps(any(BulkOperations.BulkMode.class), eq(Reel.class))).thenReturn(ops);
+        ReelViewCounter counter = new ReelViewCounter(mongoTemplate);
+        ReflectionTestUtils.setField(counter, "batchSize", 3);
+
+        ExecutorService viewers = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch done = new CountDownLatch(THREADS);
+        for (int t = 0; t < THREADS; t++) {
+            viewers.submit(() -> {
+                for (int i = 0; i < VIEWS_PER_THREAD; i++) counter.record("reel-" + (i % REELS));
+                done.countDown();
+            });
+        }
+        // Flush (and drain idle reels) continuously while the views are being recorded
+        while (!done.await(1, TimeUnit.MILLISECONDS)) counter.flush();
+        viewers.shutdown();
+
+        long pending = 0;
+        List<String> reelIds = new ArrayList<>();
+        for (int r = 0; r < REELS; r++) reelIds.add("reel-" + r);
+        for (String reelId : reelIds) pending += counter.pending(reelId);
+        assertThat(written.get() + pending).isEqualTo((long) THREADS * VIEWS_PER_THREAD);
+
+        counter.flush();
+        assertThat(written.get()).isEqualTo((long) THREADS * VIEWS_PER_THREAD);
+        assertThat(reelIds).allSatisfy(reelId -> assertThat(counter.pending(reelId)).isZero());
+    }
+}
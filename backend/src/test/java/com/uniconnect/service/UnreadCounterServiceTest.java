@@ -0,0 +1,101 @@
+package com.uniconnect.service;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.uniconnect.model.ChatGroup;
+import com.uniconnect.model.Message;
+import com.uniconnect.model.UnreadCounter;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class UnreadCounterServiceTest {
+    private static final LocalDateTime SENT_AT = LocalDateTime.of(2024, 3, 1, 12, 0);
+
+    @Test
+    void deletingAGroupMessageDecrementsOnlyMembersWhoHadNotReadIt() {
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        BulkOperations ops = mock(BulkOperations.class);
+        when(mongoTemplate.bulkOps(any(BulkOperations.BulkMode.class), eq(UnreadCounter.class))).thenReturn(ops);
+        when(mongoTemplate.find(any(Query.class), eq(ChatGroup.class)))
+                .thenReturn(List.of(group("sender", "readAfter", "readBefore", "neverRead")));
+        when(mongoTemplate.find(any(Query.class), eq(UnreadCounter.class))).thenReturn(List.of(
+                watermark("readAfter", SENT_AT.plusMinutes(5)),
+                watermark("readBefore", SENT_AT.minusMinutes(5))));
+
+        Message message = new Message();
+        message.setGroupId("g1");
+        message.setSenderId("sender");
+        message.setTimestamp(SENT_AT);
+        new UnreadCounterService(mongoTemplate).messageDeleted(message);
+
+        ArgumentCaptor<Query> decremented = ArgumentCaptor.forClass(Query.class);
+        verify(ops, times(2)).updateOne(decremented.capture(), any(Update.class));
+        assertThat(decremented.getAllValues()).extracting(query -> query.getQueryObject().get("_id"))
+                .containsExactlyInAnyOrder("readBefore:g1", "neverRead:g1");
+        verify(ops).execute();
+    }
+
+    @Test
+    void seedingLeavesExistingWatermarksAlone() {
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        BulkOperations ops = mock(BulkOperations.class);
+        when(mongoTemplate.bulkOps(any(BulkOperations.BulkMode.class), eq(UnreadCounter.class))).thenReturn(ops);
+        // readBefore already has a watermark: its upsert does not match and collides on _id
+        BulkWriteResult result = BulkWriteResult.acknowledged(1, 0, 0, 0, List.of(), List.of());
+        when(ops.execute()).thenThrow(new BulkOperationException("E11000", new MongoBulkWriteException(result,
+                List.of(new BulkWriteError(11000, "duplicate key", new BsonDocument(), 1)), null, new ServerAddress(), Set.of())));
+
+        new UnreadCounterService(mongoTemplate).seedWatermarks("g1", List.of("neverRead", "readBefore"), SENT_AT);
+
+        ArgumentCaptor<Query> seeded = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+        verify(ops, times(2)).upsert(seeded.capture(), updates.capture());
+        assertThat(seeded.getAllValues()).allSatisfy(query ->
+                assertThat(query.getQueryObject().get("lastReadAt")).isEqualTo(new Document("$exists", false)));
+        assertThat(updates.getAllValues()).allSatisfy(update -> {
+            Document set = (Document) update.getUpdateObject().get("$set");
+            assertThat(set).containsEntry("lastReadAt", SENT_AT).doesNotContainKey("count");
+        });
+    }
+
+    private static ChatGroup group(String... userIds) {
+        List<ChatGroup.GroupMember> members = new ArrayList<>();
+        for (String userId : userIds) {
+            ChatGroup.GroupMember member = new ChatGroup.GroupMember();
+            member.setUserId(userId);
+            members.add(member);
+        }
+        ChatGroup group = new ChatGroup();
+        group.setId("g1");
+        group.setMembers(members);
+        return group;
+    }
+
+    private static UnreadCounter watermark(String userId, LocalDateTime lastReadAt) {
+        UnreadCounter counter = new UnreadCounter();
+        counter.setId(userId + ":g1");
+        counter.setUserId(userId);
+        counter.setChatId("g1");
+        counter.setLastReadAt(lastReadAt);
+        return counter;
+    }
+}
@@ -0,0 +1,234 @@
+package com.uniconnect.websocket;
+
+import com.uniconnect.dto.MessageResponse;
+import com.uniconnect.model.ChatGroup;
+import com.uniconnect.service.ChatService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.mockito.MockSettings;
+import org.mockito.invocation.Invocation;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.net.URI;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Group fan-out of ChatWebSocketHandler for a 500-member group: recipients come from GroupMembers (one
+ * Mongo read, cached until invalidated), the frame is encoded once for all of them.
+ * Run with -Dchat.benchmark.fan-out=true to also print delivery throughput through the writer pool.
+ */
+class ChatWebSocketHandlerGroupTest {
+    private static final int MEMBERS = 500;
+
+    private final AtomicLong messageIds = new AtomicLong();
+    private MongoTemplate mongoTemplate;
+    private LocalMessageBus bus;
+    private GroupMembers groupMembers;
+    private ChatService chatService;
+    private List<String> memberIds;
+
+    @BeforeEach
+    void setUp() {
+        memberIds = new ArrayList<>();
+        for (int i = 0; i < MEMBERS; i++) memberIds.add("u" + i);
+        mongoTemplate = mock(MongoTemplate.class);
+        when(mongoTemplate.findOne(any(Query.class), eq(ChatGroup.class)))
+                .thenAnswer(invocation -> GroupMembersTest.group(memberIds.toArray(new String[0])));
+        bus = new LocalMessageBus("node-1");
+        groupMembers = new GroupMembers(mongoTemplate, bus, 100, 300);
+
+        chatService = mock(ChatService.class);
+        when(chatService.queueMessage(any(), any(), any(), any(), any(), any(), any(), any(), any())).thenAnswer(invocation -> {
+            MessageResponse response = new MessageResponse();
+            response.setId("m" + messageIds.incrementAndGet());
+            return response;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        bus.close();
+    }
+
+    @Test
+    void fansOutOneEncodedFrameToEveryOtherMember() throws Exception {
+        OutboundSessions outbound = mock(OutboundSessions.class);
+        ChatWebSocketHandler handler = handler(outbound);
+        Map<String, WebSocketSession> sessions = connectAll(handler, memberIds);
+        clearInvocations(outbound);
+
+        handler.handleTextMessage(sessions.get("u0"),
+                new TextMessage("{\"type\":\"group-message\",\"groupId\":\"g1\",\"content\":\"hello\",\"clientMessageId\":\"c1\"}"));
+
+        Map<WebSocketSession, List<WebSocketMessage<?>>> sent = sentBySession(outbound);
+        assertThat(sent).hasSize(MEMBERS);
+        assertThat(sent.get(sessions.get("u0"))).singleElement()
+                .satisfies(ack -> assertThat(payload(ack)).contains("message-delivered", "\"clientMessageId\":\"c1\""));
+
+        Set<WebSocketMessage<?>> groupFrames = Collections.newSetFromMap(new IdentityHashMap<>());
+        memberIds.subList(1, MEMBERS).forEach(member -> {
+            List<WebSocketMessage<?>> received = sent.get(sessions.get(member));
+            assertThat(received).hasSize(1);
+            groupFrames.add(received.get(0));
+        });
+        // One TextMessage instance shared by all 499 recipients
+        assertThat(groupFrames).singleElement().satisfies(frame -> assertThat(payload(frame)).contains("\"group-message\""));
+    }
+
+    @Test
+    void readsMembershipOnceAndAgainAfterAMemberJoins() throws Exception {
+        OutboundSessions outbound = mock(OutboundSessions.class);
+        ChatWebSocketHandler handler = handler(outbound);
+        Map<String, WebSocketSession> sessions = connectAll(handler, memberIds);
+        WebSocketSession newcomer = connect(handler, "u-new");
+        clearInvocations(outbound);
+
+        for (int i = 0; i < 20; i++) sendGroupMessage(handler, sessions.get("u1"));
+        verify(mongoTemplate, times(1)).findOne(any(Query.class), eq(ChatGroup.class));
+        verify(outbound, never()).send(eq(newcomer), any());
+
+        memberIds.add("u-new");
+        groupMembers.invalidate("g1");
+        sendGroupMessage(handler, sessions.get("u1"));
+
+        verify(mongoTemplate, times(2)).findOne(any(Query.class), eq(ChatGroup.class));
+        verify(outbound, times(1)).send(eq(newcomer), any());
+    }
+
+    @Test
+    void ignoresEventsFromNonMembers() throws Exception {
+        OutboundSessions outbound = mock(OutboundSessions.class);
+        ChatWebSocketHandler handler = handler(outbound);
+        connectAll(handler, memberIds.subList(0, 10));
+        WebSocketSession outsider = connect(handler, "outsider");
+        clearInvocations(outbound);
+
+        sendGroupMessage(handler, outsider);
+        handler.handleTextMessage(outsider, new TextMessage("{\"type\":\"group-typing\",\"groupId\":\"g1\"}"));
+
+        verify(outbound, never()).send(any(), any());
+        verify(chatService, never()).queueMessage(any(), any(), any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void deliversToEveryMemberThroughTheWriterPool() throws Exception {
+        // 50 of the 500 members connected to this node
+        assertThat(deliverThroughWriterPool(20, 50, TimeUnit.SECONDS.toNanos(5))).isEqualTo(20L * 49);
+    }
+
+    /**
+     * Not a pass/fail benchmark: prints how long 200 messages to a 500-member group take to reach every
+     * session through the real OutboundSessions writer pool. Skipped unless run with -Dchat.benchmark.fan-out=true.
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "chat.benchmark.fan-out", matches = "true")
+    void timesDeliveryToFiveHundredMembers() throws Exception {
+        int messages = 200;
+        long start = System.nanoTime();
+        long delivered = deliverThroughWriterPool(messages, MEMBERS, TimeUnit.SECONDS.toNanos(30));
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertThat(delivered).isEqualTo((long) messages * (MEMBERS - 1));
+        System.out.println("Group fan-out: " + messages + " messages x " + (MEMBERS - 1) + " recipients in "
+                + elapsedMs + " ms (" + (delivered * 1000L / Math.max(1, elapsedMs)) + " frames/s)");
+    }
+
+    // Connects the first `connected` members, sends the messages round-robin from them and waits (up to
+    // timeoutNanos) for every frame to be written; returns the group-message frames written
+    private long deliverThroughWriterPool(int messages, int connected, long timeoutNanos) throws Exception {
+        OutboundSessions outbound = new OutboundSessions(8);
+        ReflectionTestUtils.setField(outbound, "maxQueuedMessages", 1000);
+        ReflectionTestUtils.setField(outbound, "maxBufferedBytes", 1_048_576L);
+        ReflectionTestUtils.setField(outbound, "sendTimeLimitMs", 10_000L);
+        ReflectionTestUtils.setField(outbound, "overflow", OutboundSessions.OVERFLOW_DROP);
+        AtomicInteger delivered = new AtomicInteger();
+        try {
+            ChatWebSocketHandler handler = handler(outbound);
+            Map<String, WebSocketSession> sessions = new HashMap<>();
+            for (String member : memberIds.subList(0, connected)) {
+                WebSocketSession session = session(member, withSettings().stubOnly());
+                doAnswer(invocation -> {
+                    if (payload(invocation.getArgument(0)).contains("\"group-message\"")) delivered.incrementAndGet();
+                    return null;
+                }).when(session).sendMessage(any());
+                handler.afterConnectionEstablished(session);
+                sessions.put(member, session);
+            }
+
+            int expected = messages * (connected - 1);
+            for (int i = 0; i < messages; i++) sendGroupMessage(handler, sessions.get("u" + (i % connected)));
+            long deadline = System.nanoTime() + timeoutNanos;
+            while (delivered.get() < expected && System.nanoTime() < deadline) Thread.sleep(5);
+            return delivered.get();
+        } finally {
+            outbound.shutdown();
+        }
+    }
+
+    private ChatWebSocketHandler handler(OutboundSessions outbound) {
+        return new ChatWebSocketHandler(chatService, bus, mock(PresenceRegistry.class),
+                mock(PresenceSubscriptions.class), outbound, groupMembers);
+    }
+
+    private void sendGroupMessage(ChatWebSocketHandler handler, WebSocketSession from) throws Exception {
+        handler.handleTextMessage(from, new TextMessage("{\"type\":\"group-message\",\"groupId\":\"g1\",\"content\":\"hi\"}"));
+    }
+
+    private static Map<String, WebSocketSession> connectAll(ChatWebSocketHandler handler, List<String> userIds) throws Exception {
+        Map<String, WebSocketSession> sessions = new HashMap<>();
+        for (String userId : userIds) sessions.put(userId, connect(handler, userId));
+        return sessions;
+    }
+
+    private static WebSocketSession connect(ChatWebSocketHandler handler, String userId) throws Exception {
+        WebSocketSession session = session(userId);
+        handler.afterConnectionEstablished(session);
+        return session;
+    }
+
+    private static WebSocketSession session(String userId) {
+        return session(userId, withSettings());
+    }
+
+    // stubOnly sessions do not record calls, so Mockito stays out of the benchmark's numbers
+    private static WebSocketSession session(String userId, MockSettings settings) {
+        WebSocketSession session = mock(WebSocketSession.class, settings);
+        when(session.getId()).thenReturn("session-" + userId);
+        when(session.getAttributes()).thenReturn(new ConcurrentHashMap<>());
+        when(session.getUri()).thenReturn(URI.create("ws://localhost/ws/chat?userId=" + userId));
+        when(session.isOpen()).thenReturn(true);
+        return session;
+    }
+
+    private static Map<WebSocketSession, List<WebSocketMessage<?>>> sentBySession(OutboundSessions outbound) {
+        return mockingDetails(outbound).getInvocations().stream()
+                .filter(invocation -> invocation.getMethod().getName().equals("send"))
+                .collect(Collectors.groupingBy(invocation -> (WebSocketSession) invocation.getArgument(0),
+                        Collectors.mapping(ChatWebSocketHandlerGroupTest::message, Collectors.toList())));
+    }
+
+    private static WebSocketMessage<?> message(Invocation invocation) {
+        return invocation.getArgument(1);
+    }
+
+    private static String payload(WebSocketMessage<?> message) {
+        return String.valueOf(message.getPayload());
+    }
+}
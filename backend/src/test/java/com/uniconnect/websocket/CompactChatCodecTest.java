@@ -0,0 +1,120 @@
+package com.uniconnect.websocket;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CompactChatCodecTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void encodesTypingWithItsOpcode() {
+        ByteBuffer frame = ByteBuffer.wrap(CompactChatCodec.encode(Map.of("type", "group-typing", "userId", "u1", "groupId", "g1")));
+
+        assertThat(frame.get()).isEqualTo((byte) 0x03);
+        assertThat(readString(frame)).isEqualTo("u1");
+        assertThat(readString(frame)).isEqualTo("g1");
+        assertThat(frame.hasRemaining()).isFalse();
+    }
+
+    @Test
+    void encodesPresenceListsWithMultiByteLengths() {
+        String longId = "ü".repeat(100); // 200 UTF-8 bytes, a two byte varint
+        ByteBuffer frame = ByteBuffer.wrap(CompactChatCodec.encode(Map.of(
+                "type", "presence-delta", "online", List.of("a", longId), "offline", List.of())));
+
+        assertThat(frame.get()).isEqualTo((byte) 0x06);
+        assertThat(readList(frame)).containsExactly("a", longId);
+        assertThat(readList(frame)).isEmpty();
+    }
+
+    @Test
+    void encodesDeliveryOfGroupAndConversationMessages() {
+        ByteBuffer group = ByteBuffer.wrap(CompactChatCodec.encode(Map.of(
+                "type", "message-delivered", "groupId", "g1", "messageId", "m1", "clientMessageId", "c1")));
+        assertThat(group.get()).isEqualTo((byte) 0x07);
+        assertThat(readVarint(group)).isEqualTo(1);
+        assertThat(List.of(readString(group), readString(group), readString(group))).containsExactly("g1", "m1", "c1");
+
+        ByteBuffer conversation = ByteBuffer.wrap(CompactChatCodec.encode(Map.of(
+                "type", "message-delivered", "conversationId", "c9", "messageId", "m2")));
+        assertThat(conversation.get()).isEqualTo((byte) 0x07);
+        assertThat(readVarint(conversation)).isEqualTo(0);
+        assertThat(List.of(readString(conversation), readString(conversation), readString(conversation)))
+                .containsExactly("c9", "m2", "");
+    }
+
+    @Test
+    void leavesEventsWithoutCompactFormToJson() {
+        assertThat(CompactChatCodec.encode(Map.of("type", "message", "content", "hi"))).isNull();
+        assertThat(CompactChatCodec.encode(Map.of("content", "hi"))).isNull();
+    }
+
+    @Test
+    void decodesClientFramesToTheJsonShape() {
+        ObjectNode seen = CompactChatCodec.decode(frame(0x45, "m1", "sender-é"), objectMapper);
+        assertThat(seen.get("type").asText()).isEqualTo("message-seen");
+        assertThat(seen.get("messageId").asText()).isEqualTo("m1");
+        assertThat(seen.get("senderId").asText()).isEqualTo("sender-é");
+
+        ObjectNode stopTyping = CompactChatCodec.decode(frame(0x44, "g1"), objectMapper);
+        assertThat(stopTyping.get("type").asText()).isEqualTo("group-stop-typing");
+        assertThat(stopTyping.get("groupId").asText()).isEqualTo("g1");
+    }
+
+    @Test
+    void rejectsTruncatedAndUnknownFrames() {
+        ByteBuffer truncated = frame(0x41, "receiver");
+        truncated.limit(truncated.limit() - 2);
+        assertThatThrownBy(() -> CompactChatCodec.decode(truncated, objectMapper)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CompactChatCodec.decode(frame(0x7f), objectMapper)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static ByteBuffer frame(int op, String... strings) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(op);
+        for (String value : strings) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            int length = bytes.length;
+            while ((length & ~0x7f) != 0) {
+                out.write((length & 0x7f) | 0x80);
+                length >>>= 7;
+            }
+            out.write(length);
+            out.write(bytes, 0, bytes.length);
+        }
+        return ByteBuffer.wrap(out.toByteArray());
+    }
+
+    private static int readVarint(ByteBuffer in) {
+        int value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = in.get();
+            value |= (b & 0x7f) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+    }
+
+    private static String readString(ByteBuffer in) {
+        byte[] bytes = new byte[readVarint(in)];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static List<String> readList(ByteBuffer in) {
+        int count = readVarint(in);
+        List<String> items = new ArrayList<>();
+        for (int i = 0; i < count; i++) items.add(readString(in));
+        return items;
+    }
+}
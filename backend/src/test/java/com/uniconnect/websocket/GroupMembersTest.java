@@ -0,0 +1,100 @@
+package com.uniconnect.websocket;
+
+import com.uniconnect.model.ChatGroup;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class GroupMembersTest {
+    private final List<LocalMessageBus> buses = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        buses.forEach(LocalMessageBus::close);
+    }
+
+    @Test
+    void servesMembersFromCacheUntilInvalidated() {
+        AtomicReference<ChatGroup> group = new AtomicReference<>(group("u1", "u2"));
+        MongoTemplate mongoTemplate = mongoReturning(group);
+        GroupMembers members = new GroupMembers(mongoTemplate, bus("a"), 100, 300);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(members.membersOf("g1")).containsExactlyInAnyOrder("u1", "u2");
+        }
+        verify(mongoTemplate, times(1)).findOne(any(Query.class), eq(ChatGroup.class));
+
+        group.set(group("u1", "u2", "u3"));
+        assertThat(members.isMember("g1", "u3")).isFalse();
+        members.invalidate("g1");
+        assertThat(members.isMember("g1", "u3")).isTrue();
+        verify(mongoTemplate, times(2)).findOne(any(Query.class), eq(ChatGroup.class));
+    }
+
+    @Test
+    void invalidationReachesOtherNodes() {
+        AtomicReference<ChatGroup> group = new AtomicReference<>(group("u1", "u2"));
+        GroupMembers nodeA = new GroupMembers(mongoReturning(group), bus("a"), 100, 300);
+        GroupMembers nodeB = new GroupMembers(mongoReturning(group), bus("b"), 100, 300);
+        assertThat(nodeB.membersOf("g1")).containsExactlyInAnyOrder("u1", "u2");
+
+        group.set(group("u1"));
+        nodeA.invalidate("g1");
+
+        assertThat(nodeB.membersOf("g1")).containsExactly("u1");
+    }
+
+    @Test
+    void expiredEntriesAreReloaded() {
+        MongoTemplate mongoTemplate = mongoReturning(new AtomicReference<>(group("u1")));
+        GroupMembers members = new GroupMembers(mongoTemplate, bus("a"), 100, 0);
+
+        members.membersOf("g1");
+        members.membersOf("g1");
+
+        verify(mongoTemplate, times(2)).findOne(any(Query.class), eq(ChatGroup.class));
+    }
+
+    @Test
+    void unknownGroupsHaveNoMembers() {
+        GroupMembers members = new GroupMembers(mongoReturning(new AtomicReference<>()), bus("a"), 100, 300);
+
+        assertThat(members.membersOf("missing")).isEmpty();
+        assertThat(members.membersOf(null)).isEmpty();
+    }
+
+    private LocalMessageBus bus(String nodeId) {
+        LocalMessageBus bus = new LocalMessageBus(nodeId);
+        buses.add(bus);
+        return bus;
+    }
+
+    private static MongoTemplate mongoReturning(AtomicReference<ChatGroup> group) {
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        when(mongoTemplate.findOne(any(Query.class), eq(ChatGroup.class))).thenAnswer(invocation -> group.get());
+        return mongoTemplate;
+    }
+
+    static ChatGroup group(String... userIds) {
+        List<ChatGroup.GroupMember> members = new ArrayList<>();
+        for (String userId : userIds) {
+            ChatGroup.GroupMember member = new ChatGroup.GroupMember();
+            member.setUserId(userId);
+            members.add(member);
+        }
+        ChatGroup group = new ChatGroup();
+        group.setId("g1");
+        group.setMembers(members);
+        return group;
+    }
+}
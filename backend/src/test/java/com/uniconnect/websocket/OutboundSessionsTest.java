@@ -0,0 +1,79 @@
+package com.uniconnect.websocket;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockSettings;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class OutboundSessionsTest {
+    private final OutboundSessions outbound = new OutboundSessions(2);
+
+    OutboundSessionsTest() {
+        ReflectionTestUtils.setField(outbound, "maxQueuedMessages", 1000);
+        ReflectionTestUtils.setField(outbound, "maxBufferedBytes", 1_048_576L);
+        ReflectionTestUtils.setField(outbound, "sendTimeLimitMs", 10_000L);
+        ReflectionTestUtils.setField(outbound, "overflow", OutboundSessions.OVERFLOW_DROP);
+    }
+
+    @AfterEach
+    void tearDown() {
+        outbound.shutdown();
+    }
+
+    @Test
+    void dropsFramesForSessionsThatAreNotRegistered() throws Exception {
+        WebSocketSession session = session("s1", withSettings());
+
+        outbound.send(session, new TextMessage("before register"));
+        outbound.register(session);
+        outbound.unregister(session);
+        outbound.send(session, new TextMessage("after unregister"));
+
+        assertThat(outbound.stats()).containsEntry("sessions", 0).containsEntry("queuedFrames", 0);
+        verify(session, after(100).never()).sendMessage(any());
+    }
+
+    @Test
+    void sendsRacingWithUnregisterNeverRecreateTheOutbox() throws Exception {
+        ExecutorService senders = Executors.newFixedThreadPool(4);
+        try {
+            for (int round = 0; round < 200; round++) {
+                WebSocketSession session = session("s" + round, withSettings().stubOnly());
+                outbound.register(session);
+                CountDownLatch start = new CountDownLatch(1);
+                for (int t = 0; t < 4; t++) {
+                    senders.submit(() -> {
+                        start.await();
+                        for (int i = 0; i < 50; i++) outbound.send(session, new TextMessage("frame"));
+                        return null;
+                    });
+                }
+                start.countDown();
+                outbound.unregister(session);
+            }
+        } finally {
+            senders.shutdown();
+            assertThat(senders.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        }
+
+        assertThat(outbound.stats()).containsEntry("sessions", 0);
+    }
+
+    private static WebSocketSession session(String id, MockSettings settings) {
+        WebSocketSession session = mock(WebSocketSession.class, settings);
+        when(session.getId()).thenReturn(id);
+        when(session.isOpen()).thenReturn(true);
+        return session;
+    }
+}
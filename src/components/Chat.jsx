@@ -4,6 +4,7 @@ import {
   X, Plus, Image, FileText, UserPlus, ArrowLeft, Check,
   CheckCheck, MoreVertical, Trash2
 } from 'lucide-react';
+import chatAPI, { mergeNewestPage } from '../services/chatAPI';
 
 const Chat = ({ studentId, email, onBack }) => {
   const [activeTab, setActiveTab] = useState('chats'); // 'chats' or 'groups'
@@ -11,6 +12,8 @@ const Chat = ({ studentId, email, onBack }) => {
   const [groups, setGroups] = useState([]);
   const [selectedChat, setSelectedChat] = useState(null);
   const [messages, setMessages] = useState([]);
+  const [olderCursor, setOlderCursor] = useState(null);
+  const [loadingOlder, setLoadingOlder] = useState(false);
   const [newMessage, setNewMessage] = useState('');
   const [searchTerm, setSearchTerm] = useState('');
   const [searchResults, setSearchResults] = useState([]);
@@ -25,6 +28,8 @@ const Chat = ({ studentId, email, onBack }) => {
   const [memberSearchResults, setMemberSearchResults] = useState([]);
   const messagesEndRef = useRef(null);
   const fileInputRef = useRef(null);
+  const messagesRef = useRef([]);
+  const skipAutoScrollRef = useRef(false);
 
   const API_BASE = 'http://localhost:8085';
 
@@ -64,6 +69,12 @@ const Chat = ({ studentId, email, onBack }) => {
   }, [actualStudentId, selectedChat]);
 
   useEffect(() => {
+    messagesRef.current = messages;
+    // Loading older history should keep the reader where they are
+    if (skipAutoScrollRef.current) {
+      skipAutoScrollRef.current = false;
+      return;
+    }
     scrollToBottom();
   }, [messages]);
 
@@ -106,35 +117,49 @@ const Chat = ({ studentId, email, onBack }) => {
     if (!selectedChat) return;
     
     try {
-      const url = selectedChat.type === 'group' 
-        ? `${API_BASE}/api/groups/${selectedChat.id}/messages`
-        : `${API_BASE}/api/chat/conversations/${selectedChat.id}/messages`;
-      
-      const response = await fetch(url);
-      if (response.ok) {
-        const data = await response.json();
-        setMessages(data);
-        
-        // Mark messages as read
-        if (selectedChat.type === 'group') {
-          await fetch(`${API_BASE}/api/groups/${selectedChat.id}/read`, {
-            method: 'POST',
-            headers: { 'Content-Type': 'application/json' },
-            body: JSON.stringify({ userId: actualStudentId })
-          });
-        } else {
-          await fetch(`${API_BASE}/api/chat/conversations/${selectedChat.id}/read`, {
-            method: 'POST',
-            headers: { 'Content-Type': 'application/json' },
-            body: JSON.stringify({ userId: actualStudentId })
-          });
-        }
+      const page = await chatAPI.getMessagePage(selectedChat.type, selectedChat.id);
+      const merged = mergeNewestPage(messagesRef.current, page.items);
+      if (merged === null) {
+        setMessages(page.items);
+        setOlderCursor(page.hasOlder ? page.olderCursor : null);
+      } else {
+        setMessages(merged);
+      }
+
+      // Mark messages as read
+      if (selectedChat.type === 'group') {
+        await fetch(`${API_BASE}/api/groups/${selectedChat.id}/read`, {
+          method: 'POST',
+          headers: { 'Content-Type': 'application/json' },
+          body: JSON.stringify({ userId: actualStudentId })
+        });
+      } else {
+        await fetch(`${API_BASE}/api/chat/conversations/${selectedChat.id}/read`, {
+          method: 'POST',
+          headers: { 'Content-Type': 'application/json' },
+          body: JSON.stringify({ userId: actualStudentId })
+        });
       }
     } catch (error) {
       console.error('Failed to load messages:', error);
     }
   };
 
+  const loadOlderMessages = async () => {
+    if (!selectedChat || !olderCursor || loadingOlder) return;
+    setLoadingOlder(true);
+    try {
+      const page = await chatAPI.getMessagePage(selectedChat.type, selectedChat.id, { before: olderCursor });
+      skipAutoScrollRef.current = true;
+      setMessages(prev => [...page.items, ...prev]);
+      setOlderCursor(page.hasOlder ? page.olderCursor : null);
+    } catch (error) {
+      console.error('Failed to load older messages:', error);
+    } finally {
+      setLoadingOlder(false);
+    }
+  };
+
   const searchUsers = async (term) => {
     if (term.length < 3) {
       setSearchResults([]);
@@ -281,6 +306,7 @@ const Chat = ({ studentId, email, onBack }) => {
   const selectChat = (chat) => {
     setSelectedChat(chat);
     setMessages([]);
+    setOlderCursor(null);
   };
 
   const searchMembers = async (term) => {
@@ -556,6 +582,17 @@ const Chat = ({ studentId, email, onBack }) => {
 
                   {/* Messages */}
                   <div className="flex-1 overflow-y-auto p-4 space-y-4">
+                    {olderCursor && (
+                      <div className="text-center">
+                        <button
+                          onClick={loadOlderMessages}
+                          disabled={loadingOlder}
+                          className="text-sm text-blue-600 hover:text-blue-700 disabled:opacity-50"
+                        >
+                          {loadingOlder ? 'Loading...' : 'Load older messages'}
+                        </button>
+                      </div>
+                    )}
                     {messages.map((msg) => (
                       <div
                         key={msg.id}
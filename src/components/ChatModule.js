@@ -44,6 +44,8 @@ export default function ChatModule({ email, onBack, userRole = 'student', openWi
   const [showChatInfo, setShowChatInfo] = useState(false);
   const [loading, setLoading] = useState(false);
   const [msgLoading, setMsgLoading] = useState(false);
+  const [olderCursor, setOlderCursor] = useState(null); // null when the oldest message is loaded
+  const [loadingOlder, setLoadingOlder] = useState(false);
 
   // ─── Call State ───
   const [callState, setCallState] = useState(null); // null | { status: 'calling'|'ringing'|'connected'|'ended', callType: 'audio'|'video', remoteName, remoteEmail, isCaller }
@@ -57,6 +59,7 @@ export default function ChatModule({ email, onBack, userRole = 'student', openWi
   const fileInputRef = useRef(null);
   const inputRef = useRef(null);
   const pollRef = useRef(null);
+  const skipAutoScrollRef = useRef(false);
   const peerConnectionRef = useRef(null);
   const localStreamRef = useRef(null);
   const remoteStreamRef = useRef(null);
@@ -115,6 +118,14 @@ export default function ChatModule({ email, onBack, userRole = 'student', openWi
       case 'online-users':
         setOnlineUsers(new Set(data.users || []));
         break;
+      case 'presence-delta':
+        setOnlineUsers(prev => {
+          const next = new Set(prev);
+          (data.online || []).forEach(id => next.add(id));
+          (data.offline || []).forEach(id => next.delete(id));
+          return next;
+        });
+        break;
       case 'user-status':
         setOnlineUsers(prev => {
           const next = new Set(prev);
@@ -143,19 +154,28 @@ export default function ChatModule({ email, onBack, userRole = 'student', openWi
         loadConversations();
         break;
       case 'group-message':
-        setMessages(prev => [...prev, {
-          id: `ws-${Date.now()}`,
-          groupId: data.groupId,
-          senderId: data.senderId,
-          content: data.content,
-          type: 'text',
-          timestamp: new Date(data.timestamp).toLocaleString(),
-          read: false,
-          reactions: []
-        }]);
+        setMessages(prev => {
+          if (prev.some(m => m.id === data.messageId)) return prev;
+          return [...prev, {
+            id: data.messageId || `ws-${Date.now()}`,
+            groupId: data.groupId,
+            senderId: data.senderId,
+            content: data.content,
+            type: data.messageType || 'text',
+            timestamp: new Date(data.timestamp).toLocaleString(),
+            read: false,
+            reactions: []
+          }];
+        });
         loadGroups();
         break;
       case 'message-delivered':
+        // The server stored our message: swap the optimistic copy's temporary id for the real one
+        setMessages(prev => prev.map(m => m.clientMessageId && m.clientMessageId === data.clientMessageId
+          ? { ...m, id: data.messageId, pending: false }
+          : m));
+        if (data.groupId) loadGroups();
+        else loadConversations();
         break;
       case 'message-seen':
         setMessages(prev => prev.map(m => m.id === data.messageId ? { ...m, read: true } : m));
@@ -298,16 +318,18 @@ export default function ChatModule({ email, onBack, userRole = 'student', openWi
     }
   };
 
+  const messagePageEndpoint = (chatType, chatId) => chatType === 'conversation'
+    ? `${API_BASE}/api/chat/conversations/${chatId}/messages/page`
+    : `${API_BASE}/api/groups/${chatId}/messages/page`;
+
   const loadMessages = async (chatType, chatId) => {
     setMsgLoading(true);
     try {
-      const endpoint = chatType === 'conversation'
-        ? `${API_BASE}/api/chat/conversations/${chatId}/messages`
-        : `${API_BASE}/api/groups/${chatId}/messages`;
-      const res = await fetch(endpoint);
+      const res = await fetch(messagePageEndpoint(chatType, chatId));
       if (res.ok) {
         const data = await res.json();
-        setMessages(data);
+        setMessages(data.items);
+        setOlderCursor(data.hasOlder ? data.olderCursor : null);
       }
     } catch (err) {
       console.error('Failed to load messages:', err);
@@ -316,8 +338,30 @@ export default function ChatModule({ email, onBack, userRole = 'student', openWi
     }
   };
 
+  const loadOlderMessages = async () => {
+    if (!selectedChat || !olderCursor || loadingOlder) return;
+    setLoadingOlder(true);
+    try {
+      const res = await fetch(`${messagePageEndpoint(selectedChat.type, selectedChat.data.id)}?before=${encodeURIComponent(olderCursor)}`);
+      if (res.ok) {
+        const data = await res.json();
+        skipAutoScrollRef.current = true;
+        setMessages(prev => [...data.items, ...prev]);
+        setOlderCursor(data.hasOlder ? data.olderCursor : null);
+      }
+    } catch (err) {
+      console.error('Failed to load older messages:', err);
+    } finally {
+      setLoadingOlder(false);
+    }
+  };
+
   // ─── Auto-scroll ───
   useEffect(() => {
+    if (skipAutoScrollRef.current) {
+      skipAutoScrollRef.current = false;
+      return;
+    }
     messagesEndRef.current?.scrollIntoView({ behavior: 'smooth' });
   }, [messages]);
 
@@ -325,6 +369,7 @@ export default function ChatModule({ email, onBack, userRole = 'student', openWi
   const selectChat = (type, data) => {
     setSelectedChat({ type, data });
     setMessages([]);
+    setOlderCursor(null);
     setReplyingTo(null);
     setEditingMessage(null);
     setShowChatInfo(false);
@@ -424,6 +469,51 @@ export default function ChatModule({ email, onBack, userRole = 'student', openWi
     const chatType = selectedChat.type;
     const chatId = selectedChat.data.id;
 
+    // The WebSocket is the write path: the server persists the message and acks it with the stored id
+    if (wsRef.current?.readyState === WebSocket.OPEN) {
+      const clientMessageId = `c-${Date.now().toString(36)}-${Math.random().toString(36).slice(2)}`;
+      const replyToMessageId = replyingTo?.id || null;
+      setMessages(prev => [...prev, {
+        id: clientMessageId,
+        clientMessageId,
+        pending: true,
+        conversationId: chatType === 'conversation' ? chatId : undefined,
+        groupId: chatType === 'group' ? chatId : undefined,
+        senderId: email,
+        senderName: email.split('@')[0],
+        content: text,
+        type: 'text',
+        replyToMessageId,
+        timestamp: new Date().toLocaleString(),
+        read: false,
+        reactions: []
+      }]);
+      if (chatType === 'conversation') {
+        wsRef.current.send(JSON.stringify({
+          type: 'message',
+          conversationId: chatId,
+          receiverId: selectedChat.data.otherUserEmail || selectedChat.data.otherUserId,
+          content: text,
+          messageType: 'text',
+          replyToMessageId,
+          clientMessageId
+        }));
+      } else {
+        wsRef.current.send(JSON.stringify({
+          type: 'group-message',
+          groupId: chatId,
+          content: text,
+          messageType: 'text',
+          replyToMessageId,
+          clientMessageId
+        }));
+      }
+      setInputMessage('');
+      setReplyingTo(null);
+      return;
+    }
+
+    // Fallback while the WebSocket is reconnecting
     try {
       let res;
       if (chatType === 'conversation') {
@@ -455,30 +545,6 @@ export default function ChatModule({ email, onBack, userRole = 'student', openWi
         setMessages(prev => [...prev, newMsg]);
         setInputMessage('');
         setReplyingTo(null);
-
-        // Send via WebSocket for real-time delivery
-        if (wsRef.current?.readyState === WebSocket.OPEN) {
-          if (chatType === 'conversation') {
-            const receiverId = selectedChat.data.otherUserEmail || selectedChat.data.otherUserId;
-            wsRef.current.send(JSON.stringify({
-              type: 'message',
-              conversationId: chatId,
-              receiverId,
-              content: text,
-              messageType: 'text',
-              messageId: newMsg.id,
-              senderName: email.split('@')[0]
-            }));
-          } else {
-            const memberIds = (selectedChat.data.members || []).map(m => m.email || m.userId);
-            wsRef.current.send(JSON.stringify({
-              type: 'group-message',
-              groupId: chatId,
-              content: text,
-              memberIds
-            }));
-          }
-        }
         loadConversations();
         loadGroups();
       }
@@ -558,8 +624,7 @@ export default function ChatModule({ email, onBack, userRole = 'student', openWi
       const receiverId = selectedChat.data.otherUserEmail || selectedChat.data.otherUserId;
       wsRef.current.send(JSON.stringify({ type: 'typing', receiverId }));
     } else {
-      const memberIds = (selectedChat.data.members || []).map(m => m.email || m.userId);
-      wsRef.current.send(JSON.stringify({ type: 'group-typing', groupId: selectedChat.data.id, memberIds }));
+      wsRef.current.send(JSON.stringify({ type: 'group-typing', groupId: selectedChat.data.id }));
     }
 
     clearTimeout(typingTimeoutRef.current);
@@ -569,8 +634,7 @@ export default function ChatModule({ email, onBack, userRole = 'student', openWi
         const receiverId = selectedChat.data.otherUserEmail || selectedChat.data.otherUserId;
         wsRef.current.send(JSON.stringify({ type: 'stop-typing', receiverId }));
       } else {
-        const memberIds = (selectedChat.data.members || []).map(m => m.email || m.userId);
-        wsRef.current.send(JSON.stringify({ type: 'group-stop-typing', groupId: selectedChat.data.id, memberIds }));
+        wsRef.current.send(JSON.stringify({ type: 'group-stop-typing', groupId: selectedChat.data.id }));
       }
     }, 2000);
   };
@@ -1207,9 +1271,11 @@ export default function ChatModule({ email, onBack, userRole = 'student', openWi
                 <span className={`text-[10px] ${isMine ? 'text-blue-200' : 'text-slate-400'}`}>(edited)</span>
               )}
               {isMine && (
-                msg.read
-                  ? <CheckCheck className="h-3 w-3 text-blue-200" />
-                  : <Check className="h-3 w-3 text-blue-300" />
+                msg.pending
+                  ? <Clock className="h-3 w-3 text-blue-300" />
+                  : msg.read
+                    ? <CheckCheck className="h-3 w-3 text-blue-200" />
+                    : <Check className="h-3 w-3 text-blue-300" />
               )}
             </div>
           </div>
@@ -1560,7 +1626,20 @@ export default function ChatModule({ email, onBack, userRole = 'student', openWi
               <p className="text-sm text-slate-400">No messages yet. Say hello! 👋</p>
             </div>
           ) : (
-            messages.map((msg, idx) => renderMessage(msg, idx))
+            <>
+              {olderCursor && (
+                <div className="flex justify-center py-2">
+                  <button
+                    onClick={loadOlderMessages}
+                    disabled={loadingOlder}
+                    className="text-xs text-blue-600 hover:underline disabled:text-slate-400"
+                  >
+                    {loadingOlder ? 'Loading…' : 'Load earlier messages'}
+                  </button>
+                </div>
+              )}
+              {messages.map((msg, idx) => renderMessage(msg, idx))}
+            </>
           )}
           <div ref={messagesEndRef} />
         </div>
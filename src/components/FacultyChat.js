@@ -1,11 +1,14 @@
 import React, { useState, useEffect, useRef } from 'react';
 import { Plus, Send, Search, Phone, Info, MoreVertical, Paperclip, Smile, X } from 'lucide-react';
+import chatAPI, { mergeNewestPage } from '../services/chatAPI';
 
 const API_BASE = import.meta.env.VITE_API_BASE ?? 'http://localhost:8085';
 
 const FacultyChat = ({ email = '', onBack = () => {} }) => {
   const [chats, setChats] = useState([]);
   const [messages, setMessages] = useState([]);
+  const [olderCursor, setOlderCursor] = useState(null);
+  const [loadingOlder, setLoadingOlder] = useState(false);
   const [selectedChat, setSelectedChat] = useState(null);
   const [messageInput, setMessageInput] = useState('');
   const [showSearch, setShowSearch] = useState(false);
@@ -16,6 +19,8 @@ const FacultyChat = ({ email = '', onBack = () => {} }) => {
   const messagesEndRef = useRef(null);
   const typingTimeoutRef = useRef(null);
   const fileInputRef = useRef(null);
+  const messagesRef = useRef([]);
+  const skipAutoScrollRef = useRef(false);
 
   const facultyId = email?.split('@')[0] || localStorage.getItem('klhFacultyId') || '';
 
@@ -34,8 +39,13 @@ const FacultyChat = ({ email = '', onBack = () => {} }) => {
     return () => clearInterval(interval);
   }, [selectedChat]);
 
-  // Scroll to bottom when messages change
+  // Scroll to bottom when messages change, except when older history was put on top
   useEffect(() => {
+    messagesRef.current = messages;
+    if (skipAutoScrollRef.current) {
+      skipAutoScrollRef.current = false;
+      return;
+    }
     messagesEndRef.current?.scrollIntoView({ behavior: 'smooth' });
   }, [messages]);
 
@@ -112,28 +122,43 @@ const FacultyChat = ({ email = '', onBack = () => {} }) => {
   const loadMessages = async () => {
     if (!selectedChat) return;
     try {
-      const url = selectedChat.type === 'group'
-        ? `${API_BASE}/api/groups/${selectedChat.id}/messages`
-        : `${API_BASE}/api/chat/conversations/${selectedChat.id}/messages`;
-      const response = await fetch(url);
-      if (response.ok) {
-        const data = await response.json();
-        setMessages(data);
-        // Mark messages as read
-        const readUrl = selectedChat.type === 'group'
-          ? `${API_BASE}/api/groups/${selectedChat.id}/read`
-          : `${API_BASE}/api/chat/conversations/${selectedChat.id}/read`;
-        await fetch(readUrl, {
-          method: 'POST',
-          headers: { 'Content-Type': 'application/json' },
-          body: JSON.stringify({ userId: facultyId })
-        }).catch(() => {});
+      const page = await chatAPI.getMessagePage(selectedChat.type, selectedChat.id);
+      const merged = mergeNewestPage(messagesRef.current, page.items);
+      if (merged === null) {
+        setMessages(page.items);
+        setOlderCursor(page.hasOlder ? page.olderCursor : null);
+      } else {
+        setMessages(merged);
       }
+      // Mark messages as read
+      const readUrl = selectedChat.type === 'group'
+        ? `${API_BASE}/api/groups/${selectedChat.id}/read`
+        : `${API_BASE}/api/chat/conversations/${selectedChat.id}/read`;
+      await fetch(readUrl, {
+        method: 'POST',
+        headers: { 'Content-Type': 'application/json' },
+        body: JSON.stringify({ userId: facultyId })
+      }).catch(() => {});
     } catch (error) {
       console.error('Failed to load messages:', error);
     }
   };
 
+  const loadOlderMessages = async () => {
+    if (!selectedChat || !olderCursor || loadingOlder) return;
+    setLoadingOlder(true);
+    try {
+      const page = await chatAPI.getMessagePage(selectedChat.type, selectedChat.id, { before: olderCursor });
+      skipAutoScrollRef.current = true;
+      setMessages(prev => [...page.items, ...prev]);
+      setOlderCursor(page.hasOlder ? page.olderCursor : null);
+    } catch (error) {
+      console.error('Failed to load older messages:', error);
+    } finally {
+      setLoadingOlder(false);
+    }
+  };
+
   const handleSendMessage = async () => {
     if (!messageInput.trim() && !selectedFile) return;
     if (!selectedChat) return;
@@ -391,6 +416,17 @@ const FacultyChat = ({ email = '', onBack = () => {} }) => {
 
           {/* Messages */}
           <div className="flex-1 overflow-y-auto p-4 space-y-3">
+            {olderCursor && (
+              <div className="text-center">
+                <button
+                  onClick={loadOlderMessages}
+                  disabled={loadingOlder}
+                  className="rounded-lg px-3 py-1 text-xs text-slate-400 transition hover:bg-slate-700 disabled:opacity-50"
+                >
+                  {loadingOlder ? 'Loading...' : 'Load older messages'}
+                </button>
+              </div>
+            )}
             {currentMessages.length === 0 ? (
               <div className="flex h-full items-center justify-center">
                 <p className="text-center text-slate-500">
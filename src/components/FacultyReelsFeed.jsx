@@ -35,6 +35,8 @@ const FacultyReelsFeed = ({ facultyId, department, onRequireSignIn }) => {
   const [reels, setReels] = useState([]);
   const [filteredReels, setFilteredReels] = useState([]);
   const [loading, setLoading] = useState(true);
+  const [nextCursor, setNextCursor] = useState(null);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [activeTab, setActiveTab] = useState('review-queue'); // review-queue, all-reels, my-reels, analytics
   const [searchQuery, setSearchQuery] = useState('');
   const [sortBy, setSortBy] = useState('recent');
@@ -87,30 +89,58 @@ const FacultyReelsFeed = ({ facultyId, department, onRequireSignIn }) => {
     applyFiltersAndSort();
   }, [reels, searchQuery, sortBy, filters]);
 
+  // The faculty endpoints return one page at a time: { items, nextCursor, hasMore }
+  const fetchReelsPage = async (cursor) => {
+    let endpoint = '/api/reels/faculty/review-queue';
+
+    if (activeTab === 'all-reels') {
+      endpoint = '/api/reels/faculty/filter';
+    } else if (activeTab === 'my-reels') {
+      endpoint = '/api/reels/faculty/my-reels';
+    }
+    if (cursor) {
+      endpoint += `?cursor=${encodeURIComponent(cursor)}`;
+    }
+
+    const response = await fetch(endpoint, {
+      headers: { 'X-Faculty-Id': facultyId }
+    });
+    const data = await response.json();
+    return {
+      items: Array.isArray(data?.items) ? data.items : [],
+      nextCursor: data?.hasMore ? data.nextCursor : null
+    };
+  };
+
   const loadReels = async () => {
     try {
       setLoading(true);
-      let endpoint = '/api/reels/faculty/review-queue';
-      
-      if (activeTab === 'all-reels') {
-        endpoint = '/api/reels/faculty/filter';
-      } else if (activeTab === 'my-reels') {
-        endpoint = '/api/reels/faculty/my-reels';
-      }
-
-      const response = await fetch(endpoint, {
-        headers: { 'X-Faculty-Id': facultyId }
-      });
-      const data = await response.json();
-      setReels(Array.isArray(data) ? data : []);
+      const page = await fetchReelsPage(null);
+      setReels(page.items);
+      setNextCursor(page.nextCursor);
     } catch (error) {
       console.error('Error loading reels:', error);
       setReels([]);
+      setNextCursor(null);
     } finally {
       setLoading(false);
     }
   };
 
+  const loadMoreReels = async () => {
+    if (!nextCursor || loadingMore) return;
+    try {
+      setLoadingMore(true);
+      const page = await fetchReelsPage(nextCursor);
+      setReels(prev => [...prev, ...page.items.filter(r => !prev.some(p => p.id === r.id))]);
+      setNextCursor(page.nextCursor);
+    } catch (error) {
+      console.error('Error loading more reels:', error);
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   const setupWebSocket = () => {
     try {
       const ws = new WebSocket(`ws://localhost:8085/ws/reels?userId=${facultyId}&role=FACULTY`);
@@ -401,18 +431,31 @@ const FacultyReelsFeed = ({ facultyId, department, onRequireSignIn }) => {
             <p className="text-gray-600">No reels found in this category.</p>
           </div>
         ) : (
-          <div className="grid grid-cols-1 lg:grid-cols-3 gap-6">
-            {filteredReels.map(reel => (
-              <FacultyReelCard
-                key={reel.id}
-                reel={reel}
-                onOpenFeedback={() => setFeedbackModal({ open: true, reel })}
-                onMarkPlacementReady={handleMarkPlacementReady}
-                onShare={handleShareReel}
-                onLike={handleLikeReel}
-              />
-            ))}
-          </div>
+          <>
+            <div className="grid grid-cols-1 lg:grid-cols-3 gap-6">
+              {filteredReels.map(reel => (
+                <FacultyReelCard
+                  key={reel.id}
+                  reel={reel}
+                  onOpenFeedback={() => setFeedbackModal({ open: true, reel })}
+                  onMarkPlacementReady={handleMarkPlacementReady}
+                  onShare={handleShareReel}
+                  onLike={handleLikeReel}
+                />
+              ))}
+            </div>
+            {nextCursor && (
+              <div className="text-center mt-8">
+                <button
+                  onClick={loadMoreReels}
+                  disabled={loadingMore}
+                  className="px-6 py-2 bg-purple-600 text-white rounded-lg hover:bg-purple-700 transition disabled:opacity-50"
+                >
+                  {loadingMore ? 'Loading...' : 'Load more reels'}
+                </button>
+              </div>
+            )}
+          </>
         )}
       </div>
 
@@ -36,6 +36,7 @@ const API_BASE = import.meta.env.VITE_API_BASE ?? 'http://localhost:8085';
 const InstagramStyleFacultyReelsFeed = ({ facultyId, onBack, onRequireSignIn }) => {
   const [reels, setReels] = useState([]);
   const [currentIndex, setCurrentIndex] = useState(0);
+  const [nextCursor, setNextCursor] = useState(null);
   const [loading, setLoading] = useState(true);
   const [searchQuery, setSearchQuery] = useState('');
   const [activeTab, setActiveTab] = useState('review'); // 'review', 'all', 'guidance'
@@ -60,6 +61,7 @@ const InstagramStyleFacultyReelsFeed = ({ facultyId, onBack, onRequireSignIn })
   const containerRef = useRef(null);
   const videoRef = useRef(null);
   const lastTapRef = useRef(0);
+  const loadingMoreRef = useRef(false);
 
   const departments = ['All Departments', 'CS', 'EC', 'ME', 'CE', 'EE'];
   const subjects = ['All Subjects', 'Data Structures', 'Web Dev', 'AI/ML', 'Database', 'Mobile Dev'];
@@ -73,58 +75,90 @@ const InstagramStyleFacultyReelsFeed = ({ facultyId, onBack, onRequireSignIn })
     }
   }, [facultyId, activeTab, filterCriteria, searchQuery]);
 
-  const loadReels = async () => {
-    try {
-      setLoading(true);
-      let endpoint = '/api/reels';
-
-      if (activeTab === 'review') {
-        endpoint = '/api/reels/faculty/review-queue';
-      } else if (activeTab === 'guidance') {
-        endpoint = '/api/reels/faculty/guidance-reels';
-      } else {
-        endpoint = '/api/reels/faculty/filter';
-      }
+  // review-queue and filter return one page at a time ({ items, nextCursor, hasMore }); guidance-reels a plain list
+  const fetchReelsPage = async (cursor) => {
+    let endpoint = '/api/reels';
 
-      const params = new URLSearchParams();
-      if (filterCriteria.department && filterCriteria.department !== 'All Departments') {
-        params.append('department', filterCriteria.department);
-      }
-      if (filterCriteria.subject && filterCriteria.subject !== 'All Subjects') {
-        params.append('subject', filterCriteria.subject);
-      }
-      if (filterCriteria.skill && filterCriteria.skill !== 'All Skills') {
-        params.append('skill', filterCriteria.skill);
-      }
-      if (filterCriteria.year && filterCriteria.year !== 'All Years') {
-        params.append('year', filterCriteria.year);
-      }
+    if (activeTab === 'review') {
+      endpoint = '/api/reels/faculty/review-queue';
+    } else if (activeTab === 'guidance') {
+      endpoint = '/api/reels/faculty/guidance-reels';
+    } else {
+      endpoint = '/api/reels/faculty/filter';
+    }
 
-      const url = params.toString() ? `${API_BASE}${endpoint}?${params}` : `${API_BASE}${endpoint}`;
+    const params = new URLSearchParams();
+    if (filterCriteria.department && filterCriteria.department !== 'All Departments') {
+      params.append('department', filterCriteria.department);
+    }
+    if (filterCriteria.subject && filterCriteria.subject !== 'All Subjects') {
+      params.append('subject', filterCriteria.subject);
+    }
+    if (filterCriteria.skill && filterCriteria.skill !== 'All Skills') {
+      params.append('skill', filterCriteria.skill);
+    }
+    if (filterCriteria.year && filterCriteria.year !== 'All Years') {
+      params.append('year', filterCriteria.year);
+    }
+    if (cursor) {
+      params.append('cursor', cursor);
+    }
 
-      const response = await fetch(url, {
-        headers: { 'X-Faculty-Id': facultyId }
-      });
-      const data = await response.json();
-      let filtered = Array.isArray(data) ? data : [];
-
-      if (searchQuery) {
-        filtered = filtered.filter(r =>
-          r.title.toLowerCase().includes(searchQuery.toLowerCase()) ||
-          r.studentName.toLowerCase().includes(searchQuery.toLowerCase())
-        );
-      }
+    const url = params.toString() ? `${API_BASE}${endpoint}?${params}` : `${API_BASE}${endpoint}`;
+
+    const response = await fetch(url, {
+      headers: { 'X-Faculty-Id': facultyId }
+    });
+    const data = await response.json();
+    const items = Array.isArray(data) ? data : Array.isArray(data?.items) ? data.items : [];
+    return {
+      items: searchQuery
+        ? items.filter(r =>
+            r.title.toLowerCase().includes(searchQuery.toLowerCase()) ||
+            r.studentName.toLowerCase().includes(searchQuery.toLowerCase())
+          )
+        : items,
+      nextCursor: data?.hasMore ? data.nextCursor : null
+    };
+  };
 
-      setReels(filtered);
+  const loadReels = async () => {
+    try {
+      setLoading(true);
+      const page = await fetchReelsPage(null);
+      setReels(page.items);
+      setNextCursor(page.nextCursor);
       setCurrentIndex(0);
     } catch (error) {
       console.error('Error loading reels:', error);
       setReels([]);
+      setNextCursor(null);
     } finally {
       setLoading(false);
     }
   };
 
+  const loadMoreReels = async () => {
+    if (!nextCursor || loadingMoreRef.current) return;
+    loadingMoreRef.current = true;
+    try {
+      const page = await fetchReelsPage(nextCursor);
+      setReels(prev => [...prev, ...page.items.filter(r => !prev.some(p => p.id === r.id))]);
+      setNextCursor(page.nextCursor);
+    } catch (error) {
+      console.error('Error loading more reels:', error);
+    } finally {
+      loadingMoreRef.current = false;
+    }
+  };
+
+  // Fetch the next page a few reels before the end so swiping does not wrap around early
+  useEffect(() => {
+    if (nextCursor && reels.length > 0 && currentIndex >= reels.length - 3) {
+      loadMoreReels();
+    }
+  }, [currentIndex, reels.length, nextCursor]);
+
   const setupWebSocket = () => {
     try {
       const ws = new WebSocket(`ws://localhost:8085/ws/reels?userId=${facultyId}&role=FACULTY`);
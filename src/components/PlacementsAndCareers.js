@@ -34,6 +34,7 @@ import {
   AlertCircle,
   Star
 } from 'lucide-react';
+import { useIdempotencyKeys } from '../hooks/useIdempotencyKeys';
 
 const API_BASE = import.meta.env.VITE_API_BASE ?? 'http://localhost:8085';
 
@@ -190,6 +191,8 @@ const PlacementsAndCareers = ({ onBack = () => {}, studentId = '', email = '' })
     setShowApplyModal(true);
   };
 
+  const applyKeyFor = useIdempotencyKeys();
+
   const handleApplySubmit = async () => {
     if (!selectedJob || !actualStudentId) return;
     
@@ -197,7 +200,7 @@ const PlacementsAndCareers = ({ onBack = () => {}, studentId = '', email = '' })
     try {
       const response = await fetch(`${API_BASE}/api/jobs/apply`, {
         method: 'POST',
-        headers: { 'Content-Type': 'application/json' },
+        headers: { 'Content-Type': 'application/json', 'Idempotency-Key': applyKeyFor(selectedJob.id) },
         body: JSON.stringify({
           studentId: actualStudentId,
           jobId: String(selectedJob.id),
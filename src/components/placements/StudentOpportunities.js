@@ -4,6 +4,7 @@ import {
   Filter, Search, Calendar, AlertCircle, ChevronRight, Loader2, Star,
   BookmarkPlus, ExternalLink, X
 } from 'lucide-react';
+import { useIdempotencyKeys } from '../../hooks/useIdempotencyKeys';
 
 const API_BASE = import.meta.env.VITE_API_BASE ?? 'http://localhost:8085';
 
@@ -56,12 +57,14 @@ const StudentOpportunities = ({ studentId, email }) => {
     }
   };
 
+  const applyKeyFor = useIdempotencyKeys();
+
   const handleApply = async (job) => {
     setApplying(true);
     try {
       const response = await fetch(`${API_BASE}/api/placements/applications`, {
         method: 'POST',
-        headers: { 'Content-Type': 'application/json' },
+        headers: { 'Content-Type': 'application/json', 'Idempotency-Key': applyKeyFor(job.id) },
         body: JSON.stringify({
           studentId,
           jobId: job.id,
@@ -3,6 +3,7 @@ import {
   Briefcase, Search, MapPin, Building2, DollarSign, Clock, Filter,
   ChevronDown, ExternalLink, BookOpen, Star, CheckCircle, AlertCircle, Loader2, X
 } from 'lucide-react';
+import { useIdempotencyKeys } from '../../hooks/useIdempotencyKeys';
 
 const API_BASE = import.meta.env.VITE_API_BASE ?? 'http://localhost:8085';
 
@@ -56,6 +57,8 @@ const StudentOpportunitiesTab = ({ studentId, email }) => {
     } catch (e) { console.error('Failed to fetch applications:', e); }
   };
 
+  const applyKeyFor = useIdempotencyKeys();
+
   const handleApply = async (job) => {
     if (!studentId) {
       alert('Please log in to apply for jobs.');
@@ -65,7 +68,7 @@ const StudentOpportunitiesTab = ({ studentId, email }) => {
     try {
       const res = await fetch(`${API_BASE}/api/placements/applications`, {
         method: 'POST',
-        headers: { 'Content-Type': 'application/json' },
+        headers: { 'Content-Type': 'application/json', 'Idempotency-Key': applyKeyFor(job.id) },
         body: JSON.stringify({
           jobId: job.id,
           studentId: studentId,
@@ -0,0 +1,13 @@
+import { useCallback, useRef } from 'react';
+
+// One Idempotency-Key per target (e.g. job id) for the lifetime of the component: a double click or a
+// retry of the same request sends the same key, so the server hands back what it already stored
+export const useIdempotencyKeys = () => {
+  const keys = useRef({});
+  return useCallback((target) => {
+    if (!keys.current[target]) {
+      keys.current[target] = `${Date.now().toString(36)}-${Math.random().toString(36).slice(2)}`;
+    }
+    return keys.current[target];
+  }, []);
+};
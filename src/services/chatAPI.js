@@ -3,7 +3,7 @@
 
 import axios from 'axios';
 
-const API_BASE_URL = 'http://localhost:8085/api';
+const API_BASE_URL = `${import.meta.env.VITE_API_BASE ?? 'http://localhost:8085'}/api`;
 
 const chatAPI = {
   // Search users by email
@@ -57,6 +57,21 @@ const chatAPI = {
     }
   },
 
+  // Get one window of chat history, oldest message first: { items, olderCursor, newerCursor, hasOlder, hasNewer }.
+  // Without before/after this is the newest page.
+  getMessagePage: async (chatType, chatId, { before, after, limit } = {}) => {
+    try {
+      const url = chatType === 'group'
+        ? `${API_BASE_URL}/groups/${chatId}/messages/page`
+        : `${API_BASE_URL}/chat/conversations/${chatId}/messages/page`;
+      const response = await axios.get(url, { params: { before, after, limit } });
+      return response.data;
+    } catch (error) {
+      console.error('Error fetching message page:', error);
+      throw error;
+    }
+  },
+
   // Send message
   sendMessage: async (chatId, content, type = 'text', replyTo = null) => {
     try {
@@ -150,4 +165,12 @@ const chatAPI = {
   }
 };
 
+// Puts a freshly polled newest page on top of the history already loaded: messages older than the
+// page are kept, the rest is replaced by the page (so edits and deletions show up). Returns null when
+// the page is empty or does not overlap what is loaded; the caller should then start over from the page.
+export const mergeNewestPage = (loaded, items) => {
+  const start = items.length === 0 ? -1 : loaded.findIndex(m => m.id === items[0].id);
+  return start < 0 ? null : [...loaded.slice(0, start), ...items];
+};
+
 export default chatAPI;